@@ -0,0 +1,188 @@
+package ticketSales.analytics;
+
+import ticketSales.controllers.Controller;
+import ticketSales.models.Event;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToIntFunction;
+
+/**
+ * The SalesAnalytics class computes sales, revenue and cancellation aggregates per event, per day and per user from a
+ * {@link SalesLedger}. The ledger is split into chunk-aligned partitions that are aggregated in parallel with
+ * fork/join and then merged. Aggregates are kept between refreshes, so each refresh only processes the entries
+ * appended since the previous one.
+ */
+public class SalesAnalytics {
+
+    // Attributes
+    /**
+     * The ledger being analyzed.
+     */
+    private final SalesLedger ledger;
+
+    /**
+     * Gives the available seats of an event, by name.
+     */
+    private final ToIntFunction<String> availableSeats;
+
+    /**
+     * The zone that defines day boundaries.
+     */
+    private final ZoneId zone;
+
+    /**
+     * The pool running the aggregation.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The number of ledger entries already aggregated.
+     */
+    private int processed;
+
+    /**
+     * The aggregates of the processed entries.
+     */
+    private final Partial totals;
+
+    // Constructor
+    /**
+     * Constructs a new SalesAnalytics over the sales of a controller, with days in the system zone.
+     *
+     * @param controller The controller whose sales are analyzed.
+     */
+    public SalesAnalytics(Controller controller) {
+        this(controller.getSalesLedger(), name -> {
+            Event event = controller.findEvent(name);
+            return event == null ? 0 : event.getAvailableSeatCount();
+        }, ZoneId.systemDefault(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new SalesAnalytics.
+     *
+     * @param ledger The ledger being analyzed.
+     * @param availableSeats Gives the available seats of an event, by name.
+     * @param zone The zone that defines day boundaries.
+     * @param pool The pool running the aggregation.
+     */
+    public SalesAnalytics(SalesLedger ledger, ToIntFunction<String> availableSeats, ZoneId zone, ForkJoinPool pool) {
+        this.ledger = ledger;
+        this.availableSeats = availableSeats;
+        this.zone = zone;
+        this.pool = pool;
+        this.totals = new Partial();
+    }
+
+    // Class Methods
+    /**
+     * Aggregates the entries appended since the previous refresh and returns a report over the whole ledger.
+     *
+     * @return The report.
+     */
+    public synchronized SalesReport refresh() {
+        int end = ledger.size();
+        if (end > processed) {
+            totals.merge(pool.invoke(new PartitionTask(processed, end)));
+            processed = end;
+        }
+        Map<String, SalesTotals> byEvent = new HashMap<>();
+        Map<String, Integer> seats = new HashMap<>();
+        for (Map.Entry<Integer, SalesTotals> entry : totals.byEvent.entrySet()) {
+            String name = ledger.getEventName(entry.getKey());
+            byEvent.put(name, entry.getValue().copy());
+            seats.put(name, availableSeats.applyAsInt(name));
+        }
+        Map<LocalDate, SalesTotals> byDay = new HashMap<>();
+        for (Map.Entry<Long, SalesTotals> entry : totals.byDay.entrySet()) {
+            byDay.put(LocalDate.ofEpochDay(entry.getKey()), entry.getValue().copy());
+        }
+        Map<String, SalesTotals> byUser = new HashMap<>();
+        for (Map.Entry<Integer, SalesTotals> entry : totals.byUser.entrySet()) {
+            byUser.put(ledger.getUserLogin(entry.getKey()), entry.getValue().copy());
+        }
+        return new SalesReport(processed, byEvent, byDay, byUser, seats);
+    }
+
+    /**
+     * The Partial class holds the aggregates of a range of ledger entries, keyed by ledger numbers and epoch days.
+     */
+    private static final class Partial {
+
+        private final HashMap<Integer, SalesTotals> byEvent = new HashMap<>();
+        private final HashMap<Long, SalesTotals> byDay = new HashMap<>();
+        private final HashMap<Integer, SalesTotals> byUser = new HashMap<>();
+
+        private void merge(Partial other) {
+            other.byEvent.forEach((key, value) -> byEvent.computeIfAbsent(key, k -> new SalesTotals()).merge(value));
+            other.byDay.forEach((key, value) -> byDay.computeIfAbsent(key, k -> new SalesTotals()).merge(value));
+            other.byUser.forEach((key, value) -> byUser.computeIfAbsent(key, k -> new SalesTotals()).merge(value));
+        }
+    }
+
+    /**
+     * The PartitionTask class aggregates a range of ledger entries, splitting it at chunk boundaries until each task
+     * covers at most one chunk.
+     */
+    private final class PartitionTask extends RecursiveTask<Partial> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        private PartitionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            int firstChunk = from / SalesLedger.CHUNK_SIZE;
+            int lastChunk = (to - 1) / SalesLedger.CHUNK_SIZE;
+            if (firstChunk == lastChunk) {
+                return aggregate();
+            }
+            int middle = (firstChunk + (lastChunk - firstChunk + 1) / 2) * SalesLedger.CHUNK_SIZE;
+            PartitionTask left = new PartitionTask(from, middle);
+            PartitionTask right = new PartitionTask(middle, to);
+            left.fork();
+            Partial result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private Partial aggregate() {
+            Partial partial = new Partial();
+            SalesLedger.Chunk chunk = ledger.chunkOf(from);
+            int start = from % SalesLedger.CHUNK_SIZE;
+            int end = start + (to - from);
+            long dayStart = Long.MAX_VALUE;
+            long dayEnd = Long.MIN_VALUE;
+            SalesTotals day = null;
+            for (int i = start; i < end; i++) {
+                float price = chunk.prices[i];
+                boolean cancellation = chunk.cancellations[i];
+                long timestamp = chunk.timestamps[i];
+                if (timestamp < dayStart || timestamp >= dayEnd) {
+                    LocalDate date = Instant.ofEpochMilli(timestamp).atZone(zone).toLocalDate();
+                    ZonedDateTime startOfDay = date.atStartOfDay(zone);
+                    dayStart = startOfDay.toInstant().toEpochMilli();
+                    dayEnd = startOfDay.plusDays(1).toInstant().toEpochMilli();
+                    day = partial.byDay.computeIfAbsent(date.toEpochDay(), k -> new SalesTotals());
+                }
+                day.add(price, cancellation);
+                partial.byEvent.computeIfAbsent(chunk.events[i], k -> new SalesTotals()).add(price, cancellation);
+                partial.byUser.computeIfAbsent(chunk.users[i], k -> new SalesTotals()).add(price, cancellation);
+            }
+            return partial;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package ticketSales.analytics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The SalesLedger class is an append-only log of ticket sales and cancellations, kept in columnar chunks so millions of
+ * entries take a few bytes each. Event names and user logins are stored once and referenced by number.
+ * Entries are never modified, so readers can scan any prefix of the ledger while new entries are appended.
+ * <p>
+ * Appends do not lock: each writer reserves its slot with an atomic increment, fills it and marks it committed, then
+ * moves the visible size past every committed slot. Locks are only taken to install a new chunk and to number an event
+ * or user seen for the first time.
+ */
+public class SalesLedger {
+
+    // Constants
+    /**
+     * The number of entries per chunk.
+     */
+    public static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Accesses the commit flags of a chunk with volatile semantics.
+     */
+    private static final VarHandle COMMITTED = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    // Attributes
+    /**
+     * The chunks holding the entries, by chunk number. Replaced by a larger copy when full.
+     */
+    private volatile AtomicReferenceArray<Chunk> chunks;
+
+    /**
+     * The number of slots reserved by writers.
+     */
+    private final AtomicInteger reserved;
+
+    /**
+     * The number of entries visible to readers: every slot below it is committed.
+     */
+    private final AtomicInteger size;
+
+    /**
+     * The numbers assigned to event names.
+     */
+    private final ConcurrentHashMap<String, Integer> eventIds;
+
+    /**
+     * The event names, by number. Guarded by itself.
+     */
+    private final List<String> eventNames;
+
+    /**
+     * The numbers assigned to user logins.
+     */
+    private final ConcurrentHashMap<String, Integer> userIds;
+
+    /**
+     * The user logins, by number. Guarded by itself.
+     */
+    private final List<String> userLogins;
+
+    // Constructor
+    /**
+     * Constructs a new, empty SalesLedger.
+     */
+    public SalesLedger() {
+        this.chunks = new AtomicReferenceArray<>(16);
+        this.reserved = new AtomicInteger();
+        this.size = new AtomicInteger();
+        this.eventIds = new ConcurrentHashMap<>();
+        this.eventNames = new ArrayList<>();
+        this.userIds = new ConcurrentHashMap<>();
+        this.userLogins = new ArrayList<>();
+    }
+
+    // Getters
+    /**
+     * Gets the number of entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Gets the name of an event by its ledger number.
+     *
+     * @param eventId The ledger number of the event.
+     * @return The event name.
+     */
+    public String getEventName(int eventId) {
+        synchronized (eventNames) {
+            return eventNames.get(eventId);
+        }
+    }
+
+    /**
+     * Gets the login of a user by its ledger number.
+     *
+     * @param userId The ledger number of the user.
+     * @return The user login.
+     */
+    public String getUserLogin(int userId) {
+        synchronized (userLogins) {
+            return userLogins.get(userId);
+        }
+    }
+
+    // Class Methods
+    /**
+     * Appends a ticket sale.
+     *
+     * @param eventName The name of the event.
+     * @param userLogin The login of the buyer.
+     * @param price The price of the ticket.
+     * @param timestamp When the sale happened, in milliseconds since the epoch.
+     */
+    public void recordSale(String eventName, String userLogin, float price, long timestamp) {
+        append(eventName, userLogin, price, timestamp, false);
+    }
+
+    /**
+     * Appends a ticket cancellation.
+     *
+     * @param eventName The name of the event.
+     * @param userLogin The login of the ticket holder.
+     * @param price The price of the cancelled ticket.
+     * @param timestamp When the cancellation happened, in milliseconds since the epoch.
+     */
+    public void recordCancellation(String eventName, String userLogin, float price, long timestamp) {
+        append(eventName, userLogin, price, timestamp, true);
+    }
+
+    private void append(String eventName, String userLogin, float price, long timestamp, boolean cancellation) {
+        int event = idOf(eventIds, eventNames, eventName);
+        int user = idOf(userIds, userLogins, userLogin);
+        int index = reserved.getAndIncrement();
+        Chunk chunk = chunkFor(index);
+        int offset = index % CHUNK_SIZE;
+        chunk.events[offset] = event;
+        chunk.users[offset] = user;
+        chunk.prices[offset] = price;
+        chunk.timestamps[offset] = timestamp;
+        chunk.cancellations[offset] = cancellation;
+        COMMITTED.setVolatile(chunk.committed, offset, (byte) 1);
+        publish();
+    }
+
+    /**
+     * Moves the visible size past every committed slot. Whichever writer commits the slot at the current size moves
+     * it, so no writer waits for another.
+     */
+    private void publish() {
+        while (true) {
+            int visible = size.get();
+            if (visible == reserved.get()) {
+                return;
+            }
+            AtomicReferenceArray<Chunk> current = chunks;
+            int number = visible / CHUNK_SIZE;
+            Chunk chunk = number < current.length() ? current.get(number) : null;
+            if (chunk == null || (byte) COMMITTED.getVolatile(chunk.committed, visible % CHUNK_SIZE) == 0) {
+                return;
+            }
+            size.compareAndSet(visible, visible + 1);
+        }
+    }
+
+    /**
+     * Gets the chunk for a reserved slot, installing it if it is the first slot reserved in it.
+     *
+     * @param index The slot index.
+     * @return The chunk.
+     */
+    private Chunk chunkFor(int index) {
+        int number = index / CHUNK_SIZE;
+        AtomicReferenceArray<Chunk> current = chunks;
+        if (number < current.length()) {
+            Chunk chunk = current.get(number);
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+        synchronized (this) {
+            current = chunks;
+            if (number >= current.length()) {
+                AtomicReferenceArray<Chunk> larger = new AtomicReferenceArray<>(Math.max(number + 1,
+                        current.length() * 2));
+                for (int i = 0; i < current.length(); i++) {
+                    larger.set(i, current.get(i));
+                }
+                chunks = larger;
+                current = larger;
+            }
+            Chunk chunk = current.get(number);
+            if (chunk == null) {
+                chunk = new Chunk();
+                current.set(number, chunk);
+            }
+            return chunk;
+        }
+    }
+
+    private static int idOf(ConcurrentHashMap<String, Integer> ids, List<String> names, String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (names) {
+            id = ids.get(name);
+            if (id == null) {
+                id = names.size();
+                names.add(name);
+                ids.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Gets the chunk holding an entry. Only entries below {@link #size()} may be read.
+     *
+     * @param index The entry index.
+     * @return The chunk.
+     */
+    Chunk chunkOf(int index) {
+        return chunks.get(index / CHUNK_SIZE);
+    }
+
+    /**
+     * The Chunk class holds {@link #CHUNK_SIZE} entries, one array per column, and the commit flag of each entry.
+     */
+    static final class Chunk {
+
+        final int[] events = new int[CHUNK_SIZE];
+        final int[] users = new int[CHUNK_SIZE];
+        final float[] prices = new float[CHUNK_SIZE];
+        final long[] timestamps = new long[CHUNK_SIZE];
+        final boolean[] cancellations = new boolean[CHUNK_SIZE];
+        final byte[] committed = new byte[CHUNK_SIZE];
+    }
+}
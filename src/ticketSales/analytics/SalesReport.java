@@ -0,0 +1,106 @@
+package ticketSales.analytics;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The SalesReport class holds the sales aggregates computed by {@link SalesAnalytics} up to a point of the ledger.
+ */
+public class SalesReport {
+
+    // Attributes
+    /**
+     * The number of ledger entries covered by the report.
+     */
+    private final int entriesProcessed;
+
+    /**
+     * The totals per event name.
+     */
+    private final Map<String, SalesTotals> byEvent;
+
+    /**
+     * The totals per day.
+     */
+    private final Map<LocalDate, SalesTotals> byDay;
+
+    /**
+     * The totals per user login.
+     */
+    private final Map<String, SalesTotals> byUser;
+
+    /**
+     * The available seats per event name when the report was computed.
+     */
+    private final Map<String, Integer> availableSeats;
+
+    // Constructor
+    /**
+     * Constructs a new SalesReport.
+     *
+     * @param entriesProcessed The number of ledger entries covered.
+     * @param byEvent The totals per event name.
+     * @param byDay The totals per day.
+     * @param byUser The totals per user login.
+     * @param availableSeats The available seats per event name.
+     */
+    public SalesReport(int entriesProcessed, Map<String, SalesTotals> byEvent, Map<LocalDate, SalesTotals> byDay,
+                       Map<String, SalesTotals> byUser, Map<String, Integer> availableSeats) {
+        this.entriesProcessed = entriesProcessed;
+        this.byEvent = Collections.unmodifiableMap(byEvent);
+        this.byDay = Collections.unmodifiableMap(byDay);
+        this.byUser = Collections.unmodifiableMap(byUser);
+        this.availableSeats = Collections.unmodifiableMap(availableSeats);
+    }
+
+    // Getters
+    /**
+     * Gets the number of ledger entries covered by the report.
+     *
+     * @return The number of entries.
+     */
+    public int getEntriesProcessed() {
+        return entriesProcessed;
+    }
+
+    /**
+     * Gets the totals per event name.
+     *
+     * @return An unmodifiable map of totals.
+     */
+    public Map<String, SalesTotals> getByEvent() {
+        return byEvent;
+    }
+
+    /**
+     * Gets the totals per day.
+     *
+     * @return An unmodifiable map of totals.
+     */
+    public Map<LocalDate, SalesTotals> getByDay() {
+        return byDay;
+    }
+
+    /**
+     * Gets the totals per user login.
+     *
+     * @return An unmodifiable map of totals.
+     */
+    public Map<String, SalesTotals> getByUser() {
+        return byUser;
+    }
+
+    /**
+     * Gets the share of an event's seats that are sold: net tickets sold over net tickets sold plus available seats.
+     *
+     * @param eventName The name of the event.
+     * @return The sell-through, between 0 and 1, or 0 if the event has neither sales nor seats.
+     */
+    public double getSellThrough(String eventName) {
+        SalesTotals totals = byEvent.get(eventName);
+        long sold = totals == null ? 0 : totals.getNetTicketsSold();
+        long capacity = sold + availableSeats.getOrDefault(eventName, 0);
+        return capacity == 0 ? 0 : (double) sold / capacity;
+    }
+}
@@ -0,0 +1,135 @@
+package ticketSales.analytics;
+
+/**
+ * The SalesTotals class accumulates the sales and cancellations of one group of tickets, such as an event, a day or a
+ * user.
+ */
+public class SalesTotals {
+
+    // Attributes
+    /**
+     * The number of tickets sold.
+     */
+    private long ticketsSold;
+
+    /**
+     * The number of tickets cancelled.
+     */
+    private long ticketsCancelled;
+
+    /**
+     * The total price of the tickets sold.
+     */
+    private double grossRevenue;
+
+    /**
+     * The total price of the tickets cancelled.
+     */
+    private double refundedRevenue;
+
+    // Getters
+    /**
+     * Gets the number of tickets sold.
+     *
+     * @return The number of tickets sold, including the ones cancelled later.
+     */
+    public long getTicketsSold() {
+        return ticketsSold;
+    }
+
+    /**
+     * Gets the number of tickets cancelled.
+     *
+     * @return The number of tickets cancelled.
+     */
+    public long getTicketsCancelled() {
+        return ticketsCancelled;
+    }
+
+    /**
+     * Gets the number of tickets sold and not cancelled.
+     *
+     * @return The net number of tickets sold.
+     */
+    public long getNetTicketsSold() {
+        return ticketsSold - ticketsCancelled;
+    }
+
+    /**
+     * Gets the total price of the tickets sold.
+     *
+     * @return The gross revenue.
+     */
+    public double getGrossRevenue() {
+        return grossRevenue;
+    }
+
+    /**
+     * Gets the total price of the tickets sold minus the tickets cancelled.
+     *
+     * @return The net revenue.
+     */
+    public double getNetRevenue() {
+        return grossRevenue - refundedRevenue;
+    }
+
+    /**
+     * Gets the share of sold tickets that were cancelled.
+     *
+     * @return The cancellation rate, between 0 and 1, or 0 if no tickets were sold.
+     */
+    public double getCancellationRate() {
+        return ticketsSold == 0 ? 0 : (double) ticketsCancelled / ticketsSold;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "SalesTotals{" +
+                "ticketsSold=" + ticketsSold +
+                ", ticketsCancelled=" + ticketsCancelled +
+                ", grossRevenue=" + grossRevenue +
+                ", refundedRevenue=" + refundedRevenue +
+                '}';
+    }
+
+    // Class Methods
+    /**
+     * Adds a ledger entry.
+     *
+     * @param price The price of the ticket.
+     * @param cancellation Whether the entry is a cancellation.
+     */
+    void add(float price, boolean cancellation) {
+        if (cancellation) {
+            ticketsCancelled++;
+            refundedRevenue += price;
+        } else {
+            ticketsSold++;
+            grossRevenue += price;
+        }
+    }
+
+    /**
+     * Adds the totals of another group.
+     *
+     * @param other The totals to be added.
+     */
+    void merge(SalesTotals other) {
+        ticketsSold += other.ticketsSold;
+        ticketsCancelled += other.ticketsCancelled;
+        grossRevenue += other.grossRevenue;
+        refundedRevenue += other.refundedRevenue;
+    }
+
+    /**
+     * Creates an independent copy of these totals.
+     *
+     * @return The copy.
+     */
+    SalesTotals copy() {
+        SalesTotals copy = new SalesTotals();
+        copy.merge(this);
+        return copy;
+    }
+}
@@ -0,0 +1,154 @@
+package ticketSales.archive;
+
+import ticketSales.models.EventState;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The ArchivedEvent class is the read-only record of an event moved out of memory by an {@link EventArchive},
+ * together with the tickets that were held for it.
+ */
+public class ArchivedEvent {
+
+    // Attributes
+    /**
+     * The unique identifier of the event.
+     */
+    private final long id;
+
+    /**
+     * The name of the event.
+     */
+    private final String name;
+
+    /**
+     * The description of the event.
+     */
+    private final String description;
+
+    /**
+     * The date of the event.
+     */
+    private final Date date;
+
+    /**
+     * The state of the event when it was archived.
+     */
+    private final EventState state;
+
+    /**
+     * The number of seats left unsold.
+     */
+    private final int availableSeatCount;
+
+    /**
+     * The tickets held for the event when it was archived.
+     */
+    private final List<ArchivedTicket> tickets;
+
+    // Constructor
+    /**
+     * Constructs a new ArchivedEvent.
+     *
+     * @param id The unique identifier of the event.
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event.
+     * @param state The state of the event when it was archived.
+     * @param availableSeatCount The number of seats left unsold.
+     * @param tickets The tickets held for the event.
+     */
+    public ArchivedEvent(long id, String name, String description, Date date, EventState state,
+                         int availableSeatCount, List<ArchivedTicket> tickets) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.date = new Date(date.getTime());
+        this.state = state;
+        this.availableSeatCount = availableSeatCount;
+        this.tickets = List.copyOf(tickets);
+    }
+
+    // Getters
+    /**
+     * Gets the unique identifier of the event, the same as before it was archived.
+     *
+     * @return The identifier.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the name of the event.
+     *
+     * @return The event name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the description of the event.
+     *
+     * @return The event description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the date of the event.
+     *
+     * @return A copy of the event date.
+     */
+    public Date getDate() {
+        return new Date(date.getTime());
+    }
+
+    /**
+     * Gets the state of the event when it was archived.
+     *
+     * @return The state, either past or cancelled.
+     */
+    public EventState getState() {
+        return state;
+    }
+
+    /**
+     * Gets the number of seats left unsold.
+     *
+     * @return The number of seats.
+     */
+    public int getAvailableSeatCount() {
+        return availableSeatCount;
+    }
+
+    /**
+     * Gets the tickets held for the event when it was archived.
+     *
+     * @return An unmodifiable list of tickets.
+     */
+    public List<ArchivedTicket> getTickets() {
+        return tickets;
+    }
+
+    // Overridden Methods
+    /**
+     * Returns a string representation of the ArchivedEvent object.
+     *
+     * @return A string containing the event details.
+     */
+    @Override
+    public String toString() {
+        return "ArchivedEvent{" +
+                "name='" + name + '\'' +
+                ", description='" + description + '\'' +
+                ", date=" + date +
+                ", state=" + state +
+                ", availableSeatCount=" + availableSeatCount +
+                ", tickets=" + tickets.size() +
+                '}';
+    }
+}
@@ -0,0 +1,130 @@
+package ticketSales.archive;
+
+/**
+ * The ArchivedTicket class is the read-only record of a ticket of an archived event.
+ */
+public class ArchivedTicket {
+
+    // Attributes
+    /**
+     * The unique identifier of the ticket.
+     */
+    private final long id;
+
+    /**
+     * The seat of the ticket.
+     */
+    private final String seat;
+
+    /**
+     * The price of the ticket.
+     */
+    private final float price;
+
+    /**
+     * The id of the user who held the ticket when it was archived.
+     */
+    private final long holderId;
+
+    /**
+     * The login of the user who held the ticket when it was archived.
+     */
+    private final String holderLogin;
+
+    /**
+     * Whether the ticket was active when it was archived.
+     */
+    private final boolean isActive;
+
+    // Constructor
+    /**
+     * Constructs a new ArchivedTicket.
+     *
+     * @param id The unique identifier of the ticket.
+     * @param seat The seat of the ticket.
+     * @param price The price of the ticket.
+     * @param holderId The id of the user who held the ticket.
+     * @param holderLogin The login of the user who held the ticket.
+     * @param isActive Whether the ticket was active.
+     */
+    public ArchivedTicket(long id, String seat, float price, long holderId, String holderLogin, boolean isActive) {
+        this.id = id;
+        this.seat = seat;
+        this.price = price;
+        this.holderId = holderId;
+        this.holderLogin = holderLogin;
+        this.isActive = isActive;
+    }
+
+    // Getters
+    /**
+     * Gets the unique identifier of the ticket, the same as before it was archived.
+     *
+     * @return The identifier.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the seat of the ticket.
+     *
+     * @return The seat.
+     */
+    public String getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the price of the ticket.
+     *
+     * @return The price.
+     */
+    public float getPrice() {
+        return price;
+    }
+
+    /**
+     * Gets the id of the user who held the ticket when it was archived.
+     *
+     * @return The holder's id.
+     */
+    public long getHolderId() {
+        return holderId;
+    }
+
+    /**
+     * Gets the login of the user who held the ticket when it was archived.
+     *
+     * @return The holder's login.
+     */
+    public String getHolderLogin() {
+        return holderLogin;
+    }
+
+    /**
+     * Checks whether the ticket was active when it was archived.
+     *
+     * @return {@code true} if the ticket was active, {@code false} otherwise.
+     */
+    public boolean isActive() {
+        return isActive;
+    }
+
+    // Overridden Methods
+    /**
+     * Returns a string representation of the ArchivedTicket object.
+     *
+     * @return A string containing the ticket details.
+     */
+    @Override
+    public String toString() {
+        return "ArchivedTicket{" +
+                "id=" + id +
+                ", seat='" + seat + '\'' +
+                ", price=" + price +
+                ", holderLogin='" + holderLogin + '\'' +
+                ", isActive=" + isActive +
+                '}';
+    }
+}
@@ -0,0 +1,287 @@
+package ticketSales.archive;
+
+import ticketSales.cache.ExpiringCache;
+import ticketSales.io.Json;
+import ticketSales.models.Event;
+import ticketSales.models.EventState;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The EventArchive class keeps events that are over, and the tickets held for them, in compressed segment files so
+ * they can be dropped from memory. Each archiving run writes one GZIP segment of JSON lines: an event line followed by
+ * one line per ticket. Events, tickets and holders keep their ids, so archived records can be matched with the ones
+ * other nodes and logs refer to, and are looked up by id, since events may share a name. Only the segment of each
+ * event id is kept in memory; segments are read on demand and the events they hold are cached for a while.
+ */
+public class EventArchive {
+
+    // Constants
+    /**
+     * The default number of archived events cached in memory.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    /**
+     * The default time an archived event stays cached after it is read.
+     */
+    public static final Duration DEFAULT_CACHE_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".jsonl.gz";
+
+    // Attributes
+    /**
+     * The directory holding the segments.
+     */
+    private final Path directory;
+
+    /**
+     * The segment holding each archived event, by event id.
+     */
+    private final ConcurrentHashMap<Long, Path> segments;
+
+    /**
+     * The archived events read recently, by id.
+     */
+    private final ExpiringCache<Long, ArchivedEvent> loaded;
+
+    /**
+     * The number of the next segment. Guarded by the archive lock.
+     */
+    private long nextSegment;
+
+    // Constructor
+    /**
+     * Opens the archive in a directory with the default cache, creating the directory if needed.
+     *
+     * @param directory The directory holding the segments.
+     * @throws IOException If the directory or its segments cannot be read.
+     */
+    public EventArchive(Path directory) throws IOException {
+        this(directory, DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TIME_TO_LIVE, Clock.systemUTC());
+    }
+
+    /**
+     * Opens the archive in a directory, creating the directory if needed. The segments already in the directory are
+     * scanned to find the events they hold.
+     *
+     * @param directory The directory holding the segments.
+     * @param cacheSize The number of archived events cached in memory.
+     * @param cacheTimeToLive The time an archived event stays cached after it is read.
+     * @param clock The clock used to expire cached events.
+     * @throws IOException If the directory or its segments cannot be read.
+     */
+    public EventArchive(Path directory, int cacheSize, Duration cacheTimeToLive, Clock clock) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segments = new ConcurrentHashMap<>();
+        this.loaded = new ExpiringCache<>(cacheSize, cacheTimeToLive, clock);
+        List<Path> existing = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : stream) {
+                existing.add(segment);
+            }
+        }
+        Collections.sort(existing);
+        for (Path segment : existing) {
+            for (ArchivedEvent event : readSegment(segment)) {
+                segments.put(event.getId(), segment);
+            }
+            String fileName = segment.getFileName().toString();
+            long number = Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(),
+                    fileName.length() - SEGMENT_SUFFIX.length()));
+            nextSegment = Math.max(nextSegment, number + 1);
+        }
+    }
+
+    // Getters
+    /**
+     * Gets the ids of the archived events.
+     *
+     * @return An unmodifiable view of the ids.
+     */
+    public Set<Long> getEventIds() {
+        return Collections.unmodifiableSet(segments.keySet());
+    }
+
+    /**
+     * Gets the number of archived events.
+     *
+     * @return The number of events.
+     */
+    public int size() {
+        return segments.size();
+    }
+
+    /**
+     * Checks whether an event is archived.
+     *
+     * @param id The id of the event.
+     * @return {@code true} if the event is archived, {@code false} otherwise.
+     */
+    public boolean contains(long id) {
+        return segments.containsKey(id);
+    }
+
+    // Class Methods
+    /**
+     * Writes events and their held tickets into a new segment. An event archived again replaces its older record.
+     *
+     * @param events The events to be archived.
+     * @param ticketsOf Gives the tickets of an event; tickets nobody holds are skipped.
+     * @return The number of events archived.
+     * @throws IOException If the segment cannot be written; no event is archived then.
+     */
+    public synchronized int archive(Collection<Event> events, Function<Event, ? extends Collection<Ticket>> ticketsOf)
+            throws IOException {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        Path segment = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextSegment, SEGMENT_SUFFIX));
+        Path temporary = Files.createTempFile(directory, SEGMENT_PREFIX, ".tmp");
+        try {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temporary)), StandardCharsets.UTF_8))) {
+                StringBuilder line = new StringBuilder(256);
+                for (Event event : events) {
+                    line.setLength(0);
+                    appendEvent(line, event);
+                    writer.append(line);
+                    for (Ticket ticket : ticketsOf.apply(event)) {
+                        User holder = ticket.getHolder();
+                        if (holder != null) {
+                            line.setLength(0);
+                            appendTicket(line, ticket, holder);
+                            writer.append(line);
+                        }
+                    }
+                }
+            }
+            Files.move(temporary, segment, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        nextSegment++;
+        for (Event event : events) {
+            segments.put(event.getId(), segment);
+            loaded.remove(event.getId());
+        }
+        return events.size();
+    }
+
+    /**
+     * Finds an archived event, reading its segment if it is not cached.
+     *
+     * @param id The id of the event.
+     * @return The archived event, or {@code null} if no event with that id is archived.
+     * @throws IOException If the segment cannot be read.
+     */
+    public ArchivedEvent find(long id) throws IOException {
+        ArchivedEvent cached = loaded.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        Path segment = segments.get(id);
+        if (segment == null) {
+            return null;
+        }
+        ArchivedEvent found = null;
+        for (ArchivedEvent event : readSegment(segment)) {
+            if (segment.equals(segments.get(event.getId()))) {
+                loaded.put(event.getId(), event);
+                if (event.getId() == id) {
+                    found = event;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static void appendEvent(StringBuilder line, Event event) {
+        line.append("{\"type\":\"event\",\"id\":").append(event.getId()).append(",\"name\":");
+        Json.appendString(line, event.getName());
+        line.append(",\"description\":");
+        Json.appendString(line, event.getDescription());
+        line.append(",\"date\":");
+        Json.appendString(line, event.getDate().toInstant().toString());
+        line.append(",\"state\":");
+        Json.appendString(line, event.getState().name());
+        line.append(",\"availableSeats\":").append(event.getSeatInventory().availableCount()).append("}\n");
+    }
+
+    private static void appendTicket(StringBuilder line, Ticket ticket, User holder) {
+        line.append("{\"type\":\"ticket\",\"id\":").append(ticket.getId()).append(",\"seat\":");
+        Json.appendString(line, ticket.getSeat());
+        line.append(",\"price\":").append(ticket.getPrice()).append(",\"holderId\":").append(holder.getId())
+                .append(",\"holder\":");
+        Json.appendString(line, holder.getLogin());
+        line.append(",\"active\":").append(ticket.isActive()).append("}\n");
+    }
+
+    private static List<ArchivedEvent> readSegment(Path segment) throws IOException {
+        List<ArchivedEvent> events = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment)), StandardCharsets.UTF_8))) {
+            Map<String, String> event = null;
+            List<ArchivedTicket> tickets = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, String> record = Json.parseObject(line);
+                if ("event".equals(record.get("type"))) {
+                    if (event != null) {
+                        events.add(toEvent(event, tickets));
+                        tickets = new ArrayList<>();
+                    }
+                    event = record;
+                } else if (event != null) {
+                    tickets.add(new ArchivedTicket(Long.parseLong(record.get("id")), record.get("seat"),
+                            Float.parseFloat(record.get("price")), Long.parseLong(record.get("holderId")),
+                            record.get("holder"), Boolean.parseBoolean(record.get("active"))));
+                } else {
+                    throw new IOException("Ticket before any event in " + segment + ".");
+                }
+            }
+            if (event != null) {
+                events.add(toEvent(event, tickets));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt segment " + segment + ".", e);
+        }
+        return events;
+    }
+
+    private static ArchivedEvent toEvent(Map<String, String> event, List<ArchivedTicket> tickets) {
+        return new ArchivedEvent(Long.parseLong(event.get("id")), event.get("name"), event.get("description"),
+                Date.from(Instant.parse(event.get("date"))), EventState.valueOf(event.get("state")),
+                Integer.parseInt(event.get("availableSeats")), tickets);
+    }
+}
@@ -0,0 +1,87 @@
+package ticketSales.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The AuditReport class gathers the audits of several events.
+ */
+public class AuditReport {
+
+    // Attributes
+    /**
+     * The audit of each event, in the order the events were given.
+     */
+    private final List<EventAudit> eventAudits;
+
+    // Constructor
+    /**
+     * Constructs a new AuditReport.
+     *
+     * @param eventAudits The audit of each event.
+     */
+    public AuditReport(List<EventAudit> eventAudits) {
+        this.eventAudits = List.copyOf(eventAudits);
+    }
+
+    // Getters
+    /**
+     * Gets the audit of each event.
+     *
+     * @return An unmodifiable list of audits.
+     */
+    public List<EventAudit> getEventAudits() {
+        return eventAudits;
+    }
+
+    /**
+     * Gets the audit of an event.
+     *
+     * @param eventName The name of the event.
+     * @return The audit, or {@code null} if the event was not audited.
+     */
+    public EventAudit getEventAudit(String eventName) {
+        for (EventAudit audit : eventAudits) {
+            if (audit.getEventName().equals(eventName)) {
+                return audit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the confirmed discrepancies of every event.
+     *
+     * @return A list of discrepancies.
+     */
+    public List<SeatDiscrepancy> getDiscrepancies() {
+        List<SeatDiscrepancy> discrepancies = new ArrayList<>();
+        for (EventAudit audit : eventAudits) {
+            discrepancies.addAll(audit.getDiscrepancies());
+        }
+        return discrepancies;
+    }
+
+    /**
+     * Checks if no discrepancy was confirmed in any event.
+     *
+     * @return {@code true} if every event is consistent, {@code false} otherwise.
+     */
+    public boolean isConsistent() {
+        for (EventAudit audit : eventAudits) {
+            if (!audit.isConsistent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "AuditReport{" +
+                "events=" + eventAudits.size() +
+                ", discrepancies=" + getDiscrepancies().size() +
+                '}';
+    }
+}
@@ -0,0 +1,139 @@
+package ticketSales.audit;
+
+import java.util.List;
+
+/**
+ * The EventAudit class is the result of reconciling one event's seat inventory against its active tickets.
+ */
+public class EventAudit {
+
+    // Attributes
+    /**
+     * The name of the event.
+     */
+    private final String eventName;
+
+    /**
+     * The seat map version the audit was based on.
+     */
+    private final long seatMapVersion;
+
+    /**
+     * The number of seats available at that version.
+     */
+    private final int availableSeats;
+
+    /**
+     * The number of active tickets found for the event.
+     */
+    private final int activeTickets;
+
+    /**
+     * The confirmed discrepancies.
+     */
+    private final List<SeatDiscrepancy> discrepancies;
+
+    /**
+     * The number of suspect seats that changed while the audit ran and were left unchecked.
+     */
+    private final int unsettledSeats;
+
+    // Constructor
+    /**
+     * Constructs a new EventAudit.
+     *
+     * @param eventName The name of the event.
+     * @param seatMapVersion The seat map version the audit was based on.
+     * @param availableSeats The number of seats available at that version.
+     * @param activeTickets The number of active tickets found for the event.
+     * @param discrepancies The confirmed discrepancies.
+     * @param unsettledSeats The number of suspect seats that changed while the audit ran.
+     */
+    public EventAudit(String eventName, long seatMapVersion, int availableSeats, int activeTickets,
+                      List<SeatDiscrepancy> discrepancies, int unsettledSeats) {
+        this.eventName = eventName;
+        this.seatMapVersion = seatMapVersion;
+        this.availableSeats = availableSeats;
+        this.activeTickets = activeTickets;
+        this.discrepancies = List.copyOf(discrepancies);
+        this.unsettledSeats = unsettledSeats;
+    }
+
+    // Getters
+    /**
+     * Gets the name of the event.
+     *
+     * @return The event name.
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Gets the seat map version the audit was based on.
+     *
+     * @return The version.
+     */
+    public long getSeatMapVersion() {
+        return seatMapVersion;
+    }
+
+    /**
+     * Gets the number of seats available at the audited version.
+     *
+     * @return The number of seats.
+     */
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    /**
+     * Gets the number of active tickets found for the event.
+     *
+     * @return The number of tickets.
+     */
+    public int getActiveTickets() {
+        return activeTickets;
+    }
+
+    /**
+     * Gets the confirmed discrepancies.
+     *
+     * @return An unmodifiable list of discrepancies.
+     */
+    public List<SeatDiscrepancy> getDiscrepancies() {
+        return discrepancies;
+    }
+
+    /**
+     * Gets the number of suspect seats that changed while the audit ran. They are neither confirmed nor cleared and
+     * should be checked again by a later audit.
+     *
+     * @return The number of seats.
+     */
+    public int getUnsettledSeats() {
+        return unsettledSeats;
+    }
+
+    /**
+     * Checks if no discrepancy was confirmed.
+     *
+     * @return {@code true} if the event is consistent, {@code false} otherwise.
+     */
+    public boolean isConsistent() {
+        return discrepancies.isEmpty();
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "EventAudit{" +
+                "eventName='" + eventName + '\'' +
+                ", seatMapVersion=" + seatMapVersion +
+                ", availableSeats=" + availableSeats +
+                ", activeTickets=" + activeTickets +
+                ", discrepancies=" + discrepancies.size() +
+                ", unsettledSeats=" + unsettledSeats +
+                '}';
+    }
+}
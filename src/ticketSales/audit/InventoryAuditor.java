@@ -0,0 +1,296 @@
+package ticketSales.audit;
+
+import ticketSales.cancellation.TicketIndex;
+import ticketSales.inventory.SeatChange;
+import ticketSales.inventory.SeatInventory;
+import ticketSales.inventory.SeatMapDelta;
+import ticketSales.inventory.SeatMapSnapshot;
+import ticketSales.models.Event;
+import ticketSales.models.SeatChangeListener;
+import ticketSales.models.Ticket;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+/**
+ * The InventoryAuditor class reconciles the seat inventory of events against the active tickets issued for them,
+ * auditing the events in parallel while sales go on.
+ * <p>
+ * Each event is audited against the seat map snapshot of one version and the tickets indexed for it. Since tickets
+ * are read after the snapshot, a sale or cancellation in progress can look like a discrepancy; each suspect seat is
+ * therefore checked again a few times, and only reported if its seat map entry did not change since the snapshot
+ * version and the same discrepancy is still found. Seats that changed are counted as unsettled instead.
+ * <p>
+ * A seat lost by both the inventory and the tickets is only found if the inventory
+ * {@link SeatInventory#remembersSeats() remembers} its taken seats. For inventories that forget them, the auditor
+ * keeps the set of seats each {@link #track(Event) tracked} event was given, from its seat changes; an event audited
+ * without being tracked is tracked from then on, so seats it lost before its first audit are not found. Seats released
+ * to a waitlist are neither available nor ticketed, so the caller tells which seats are reserved and they are not
+ * reported. The audits run on a pool owned by the auditor and reused across audits; its threads stop when idle.
+ */
+public class InventoryAuditor implements AutoCloseable {
+
+    // Constants
+    /**
+     * The number of times a suspect seat is checked again before it is reported.
+     */
+    public static final int CONFIRMATION_ROUNDS = 3;
+
+    /**
+     * How long an idle pool thread is kept, in seconds.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    // Attributes
+    /**
+     * The pool auditing the events.
+     */
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * Every seat each tracked event was given, by event id.
+     */
+    private final ConcurrentHashMap<Long, Set<String>> seatsByEvent;
+
+    /**
+     * The listener adding the seats given to tracked events.
+     */
+    private final SeatChangeListener seatTracker;
+
+    // Constructor
+    /**
+     * Constructs a new InventoryAuditor using one thread per available processor.
+     */
+    public InventoryAuditor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new InventoryAuditor.
+     *
+     * @param parallelism The number of events audited at the same time.
+     * @throws IllegalArgumentException If the parallelism is not positive.
+     */
+    public InventoryAuditor(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.pool = new ThreadPoolExecutor(parallelism, parallelism, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "inventory-audit");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.pool.allowCoreThreadTimeOut(true);
+        this.seatsByEvent = new ConcurrentHashMap<>();
+        this.seatTracker = (event, change) -> {
+            Set<String> seats = seatsByEvent.get(event.getId());
+            if (seats != null && change.isAvailable()) {
+                seats.add(change.getSeat());
+            }
+        };
+    }
+
+    // Overridden Methods
+    /**
+     * Stops the pool once the audits in progress are done.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Class Methods
+    /**
+     * Starts keeping the set of seats an event was given, so seats lost by both the inventory and the tickets are
+     * found. Tracking an event twice, or an event whose inventory remembers its taken seats, has no effect.
+     *
+     * @param event The event to be tracked.
+     */
+    public void track(Event event) {
+        if (event.getSeatInventory().remembersSeats()) {
+            return;
+        }
+        Set<String> seats = ConcurrentHashMap.newKeySet();
+        if (seatsByEvent.putIfAbsent(event.getId(), seats) == null) {
+            event.addSeatChangeListener(seatTracker);
+            seats.addAll(event.getAvailableSeats());
+        }
+    }
+
+    /**
+     * Stops tracking an event, for instance once it is archived.
+     *
+     * @param event The event.
+     */
+    public void forget(Event event) {
+        if (seatsByEvent.remove(event.getId()) != null) {
+            event.removeSeatChangeListener(seatTracker);
+        }
+    }
+
+    /**
+     * Audits events in parallel, with no reserved seats.
+     *
+     * @param events The events to be audited.
+     * @param index The index of the tickets issued for the events.
+     * @return The report, with the audits in the order of the events.
+     */
+    public AuditReport audit(Collection<Event> events, TicketIndex index) {
+        return audit(events, index, (event, seat) -> false);
+    }
+
+    /**
+     * Audits events in parallel.
+     *
+     * @param events The events to be audited.
+     * @param index The index of the tickets issued for the events.
+     * @param reserved Tells whether a seat of an event is held out of its inventory without a ticket, and so is not
+     * leaked.
+     * @return The report, with the audits in the order of the events.
+     */
+    public AuditReport audit(Collection<Event> events, TicketIndex index, BiPredicate<Event, String> reserved) {
+        try {
+            List<Future<EventAudit>> futures = new ArrayList<>(events.size());
+            for (Event event : events) {
+                futures.add(pool.submit(() -> audit(event, index, reserved)));
+            }
+            List<EventAudit> audits = new ArrayList<>(futures.size());
+            for (Future<EventAudit> future : futures) {
+                audits.add(future.get());
+            }
+            return new AuditReport(audits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while auditing events.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to audit events.", e.getCause());
+        }
+    }
+
+    /**
+     * Audits one event with no reserved seats, tracking it from now on if it is not tracked yet.
+     *
+     * @param event The event to be audited.
+     * @param index The index of the tickets issued for the event.
+     * @return The audit of the event.
+     */
+    public EventAudit audit(Event event, TicketIndex index) {
+        return audit(event, index, (e, seat) -> false);
+    }
+
+    /**
+     * Audits one event, tracking it from now on if it is not tracked yet.
+     *
+     * @param event The event to be audited.
+     * @param index The index of the tickets issued for the event.
+     * @param reserved Tells whether a seat of the event is held out of its inventory without a ticket, and so is not
+     * leaked.
+     * @return The audit of the event.
+     */
+    public EventAudit audit(Event event, TicketIndex index, BiPredicate<Event, String> reserved) {
+        track(event);
+        SeatMapSnapshot snapshot = event.getSeatMapSnapshot();
+        SeatInventory inventory = event.getSeatInventory();
+        Set<String> tracked = seatsByEvent.get(event.getId());
+        Collection<String> taken = inventory.remembersSeats() ? inventory.unavailableSeats() : tracked;
+        Set<String> available = new HashSet<>(snapshot.getSeats());
+        Map<String, List<Ticket>> ticketsBySeat = activeTicketsBySeat(index.ticketsOf(event));
+        int activeTickets = 0;
+        List<SeatDiscrepancy> suspects = new ArrayList<>();
+        for (Map.Entry<String, List<Ticket>> seat : ticketsBySeat.entrySet()) {
+            activeTickets += seat.getValue().size();
+            if (tracked != null) {
+                tracked.add(seat.getKey());
+            }
+            SeatDiscrepancy discrepancy = check(event, seat.getKey(), available.contains(seat.getKey()),
+                    seat.getValue());
+            if (discrepancy != null) {
+                suspects.add(discrepancy);
+            }
+        }
+        if (taken != null) {
+            for (String seat : taken) {
+                if (!available.contains(seat) && !ticketsBySeat.containsKey(seat) && !reserved.test(event, seat)) {
+                    suspects.add(new SeatDiscrepancy(SeatDiscrepancy.Type.LEAKED, event.getName(), seat, List.of()));
+                }
+            }
+        }
+        int unsettled = 0;
+        for (int round = 0; round < CONFIRMATION_ROUNDS && !suspects.isEmpty(); round++) {
+            Thread.yield();
+            SeatMapDelta delta = event.getSeatChangesSince(snapshot.getVersion());
+            if (delta.isResyncRequired()) {
+                unsettled += suspects.size();
+                suspects.clear();
+                break;
+            }
+            Set<String> changed = new HashSet<>();
+            for (SeatChange change : delta.getChanges()) {
+                changed.add(change.getSeat());
+            }
+            Map<String, List<Ticket>> current = activeTicketsBySeat(index.ticketsOf(event));
+            List<SeatDiscrepancy> confirmed = new ArrayList<>(suspects.size());
+            for (SeatDiscrepancy suspect : suspects) {
+                String seat = suspect.getSeat();
+                if (changed.contains(seat)) {
+                    unsettled++;
+                    continue;
+                }
+                SeatDiscrepancy again = check(event, seat, available.contains(seat),
+                        current.getOrDefault(seat, List.of()));
+                if (again != null && again.getType() == suspect.getType()
+                        && (again.getType() != SeatDiscrepancy.Type.LEAKED || !reserved.test(event, seat))) {
+                    confirmed.add(again);
+                }
+            }
+            suspects = confirmed;
+        }
+        return new EventAudit(event.getName(), snapshot.getVersion(), available.size(), activeTickets, suspects,
+                unsettled);
+    }
+
+    private static Map<String, List<Ticket>> activeTicketsBySeat(List<Ticket> tickets) {
+        Map<String, List<Ticket>> bySeat = new HashMap<>();
+        for (Ticket ticket : tickets) {
+            if (ticket.isActive()) {
+                bySeat.computeIfAbsent(ticket.getSeat(), seat -> new ArrayList<>(1)).add(ticket);
+            }
+        }
+        return bySeat;
+    }
+
+    private static SeatDiscrepancy check(Event event, String seat, boolean available, List<Ticket> tickets) {
+        int held = 0;
+        for (Ticket ticket : tickets) {
+            if (ticket.getHolder() != null) {
+                held++;
+            }
+        }
+        SeatDiscrepancy.Type type;
+        if (held > 1) {
+            type = SeatDiscrepancy.Type.OVERSOLD;
+        } else if (held < tickets.size()) {
+            type = SeatDiscrepancy.Type.ORPHANED;
+        } else if (held == 1 && available) {
+            type = SeatDiscrepancy.Type.MISSING;
+        } else if (tickets.isEmpty() && !available) {
+            type = SeatDiscrepancy.Type.LEAKED;
+        } else {
+            return null;
+        }
+        return new SeatDiscrepancy(type, event.getName(), seat, tickets);
+    }
+}
@@ -0,0 +1,125 @@
+package ticketSales.audit;
+
+import ticketSales.models.Ticket;
+
+import java.util.List;
+
+/**
+ * The SeatDiscrepancy class describes a seat of an event whose inventory does not match the active tickets issued
+ * for it.
+ */
+public class SeatDiscrepancy {
+
+    /**
+     * The Type enum lists the ways a seat can drift from its tickets.
+     */
+    public enum Type {
+
+        /**
+         * More than one active ticket is held for the seat.
+         */
+        OVERSOLD,
+
+        /**
+         * An active ticket for the seat is held by nobody, so the seat left the inventory without reaching a user.
+         */
+        ORPHANED,
+
+        /**
+         * An active ticket is held for the seat but the seat is still available, so the sale is missing from the
+         * inventory and the seat can be sold again.
+         */
+        MISSING,
+
+        /**
+         * The seat is neither available nor held by an active ticket, so it is missing from both and can no longer be
+         * sold.
+         */
+        LEAKED
+    }
+
+    // Attributes
+    /**
+     * The kind of discrepancy.
+     */
+    private final Type type;
+
+    /**
+     * The name of the event.
+     */
+    private final String eventName;
+
+    /**
+     * The seat.
+     */
+    private final String seat;
+
+    /**
+     * The active tickets issued for the seat.
+     */
+    private final List<Ticket> tickets;
+
+    // Constructor
+    /**
+     * Constructs a new SeatDiscrepancy.
+     *
+     * @param type The kind of discrepancy.
+     * @param eventName The name of the event.
+     * @param seat The seat.
+     * @param tickets The active tickets issued for the seat.
+     */
+    public SeatDiscrepancy(Type type, String eventName, String seat, List<Ticket> tickets) {
+        this.type = type;
+        this.eventName = eventName;
+        this.seat = seat;
+        this.tickets = List.copyOf(tickets);
+    }
+
+    // Getters
+    /**
+     * Gets the kind of discrepancy.
+     *
+     * @return The type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the name of the event.
+     *
+     * @return The event name.
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Gets the seat.
+     *
+     * @return The seat.
+     */
+    public String getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the active tickets issued for the seat.
+     *
+     * @return An unmodifiable list of tickets.
+     */
+    public List<Ticket> getTickets() {
+        return tickets;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "SeatDiscrepancy{" +
+                "type=" + type +
+                ", eventName='" + eventName + '\'' +
+                ", seat='" + seat + '\'' +
+                ", tickets=" + tickets.size() +
+                '}';
+    }
+}
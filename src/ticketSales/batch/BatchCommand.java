@@ -0,0 +1,260 @@
+package ticketSales.batch;
+
+import ticketSales.models.User;
+
+import java.util.Date;
+
+/**
+ * The BatchCommand class is one operation of a batch submitted to
+ * {@link ticketSales.controllers.Controller#executeBatch(java.util.List)}. Commands are created with the static
+ * factory of their {@link Type}; each one targets a single event or user, which is how a batch is grouped. Commands
+ * on an existing event can address it by id, which tells apart events sharing a name; commands by name target the
+ * first event registered with it.
+ */
+public class BatchCommand {
+
+    /**
+     * The Type enum lists the operations a batch can hold.
+     */
+    public enum Type {
+        REGISTER_EVENT,
+        ADD_EVENT_SEAT,
+        UPDATE_USER,
+        PURCHASE_TICKET
+    }
+
+    // Attributes
+    /**
+     * The operation.
+     */
+    private final Type type;
+
+    /**
+     * The user performing the operation, or {@code null} for operations that need none.
+     */
+    private final User user;
+
+    /**
+     * The name of the target event, or {@code null} for user updates and commands addressing their event by id.
+     */
+    private final String eventName;
+
+    /**
+     * The id of the target event, or {@code null} for commands addressing their event by name and user updates.
+     */
+    private final Long eventId;
+
+    /**
+     * The description of the event to be registered.
+     */
+    private final String description;
+
+    /**
+     * The date of the event to be registered.
+     */
+    private final Date date;
+
+    /**
+     * The seat to be added or purchased.
+     */
+    private final String seat;
+
+    /**
+     * The information to be updated: login, password, name, cpf or email.
+     */
+    private final String infoToUpdate;
+
+    /**
+     * The new value of the updated information.
+     */
+    private final String newInfo;
+
+    // Constructor
+    private BatchCommand(Type type, User user, String eventName, Long eventId, String description, Date date,
+                         String seat, String infoToUpdate, String newInfo) {
+        this.type = type;
+        this.user = user;
+        this.eventName = eventName;
+        this.eventId = eventId;
+        this.description = description;
+        this.date = date == null ? null : new Date(date.getTime());
+        this.seat = seat;
+        this.infoToUpdate = infoToUpdate;
+        this.newInfo = newInfo;
+    }
+
+    /**
+     * Creates the command registering a new event.
+     *
+     * @param user The administrator registering the event.
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event.
+     * @return The command.
+     */
+    public static BatchCommand registerEvent(User user, String name, String description, Date date) {
+        return new BatchCommand(Type.REGISTER_EVENT, user, name, null, description, date, null, null, null);
+    }
+
+    /**
+     * Creates the command adding an available seat to an event.
+     *
+     * @param name The name of the event.
+     * @param seat The seat to be added.
+     * @return The command.
+     */
+    public static BatchCommand addEventSeat(String name, String seat) {
+        return new BatchCommand(Type.ADD_EVENT_SEAT, null, name, null, null, null, seat, null, null);
+    }
+
+    /**
+     * Creates the command adding an available seat to an event addressed by id.
+     *
+     * @param eventId The id of the event.
+     * @param seat The seat to be added.
+     * @return The command.
+     */
+    public static BatchCommand addEventSeat(long eventId, String seat) {
+        return new BatchCommand(Type.ADD_EVENT_SEAT, null, null, eventId, null, null, seat, null, null);
+    }
+
+    /**
+     * Creates the command updating the data of a user.
+     *
+     * @param user The user to be updated.
+     * @param infoToUpdate The information to be updated: login, password, name, cpf or email.
+     * @param newInfo The new value.
+     * @return The command.
+     */
+    public static BatchCommand updateUser(User user, String infoToUpdate, String newInfo) {
+        return new BatchCommand(Type.UPDATE_USER, user, null, null, null, null, null, infoToUpdate, newInfo);
+    }
+
+    /**
+     * Creates the command purchasing a ticket.
+     *
+     * @param user The user buying the ticket.
+     * @param name The name of the event.
+     * @param seat The chosen seat.
+     * @return The command.
+     */
+    public static BatchCommand purchaseTicket(User user, String name, String seat) {
+        return new BatchCommand(Type.PURCHASE_TICKET, user, name, null, null, null, seat, null, null);
+    }
+
+    /**
+     * Creates the command purchasing a ticket of an event addressed by id.
+     *
+     * @param user The user buying the ticket.
+     * @param eventId The id of the event.
+     * @param seat The chosen seat.
+     * @return The command.
+     */
+    public static BatchCommand purchaseTicket(User user, long eventId, String seat) {
+        return new BatchCommand(Type.PURCHASE_TICKET, user, null, eventId, null, null, seat, null, null);
+    }
+
+    // Getters
+    /**
+     * Gets the operation.
+     *
+     * @return The type of the command.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the user performing the operation.
+     *
+     * @return The user, or {@code null} for operations that need none.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Gets the name of the target event.
+     *
+     * @return The event name, or {@code null} for user updates and commands addressing their event by id.
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Gets the id of the target event.
+     *
+     * @return The event id, or {@code null} for commands addressing their event by name and user updates.
+     */
+    public Long getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Gets the description of the event to be registered.
+     *
+     * @return The description, or {@code null} for other operations.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the date of the event to be registered.
+     *
+     * @return A copy of the date, or {@code null} for other operations.
+     */
+    public Date getDate() {
+        return date == null ? null : new Date(date.getTime());
+    }
+
+    /**
+     * Gets the seat to be added or purchased.
+     *
+     * @return The seat, or {@code null} for other operations.
+     */
+    public String getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the information to be updated.
+     *
+     * @return The information name, or {@code null} for other operations.
+     */
+    public String getInfoToUpdate() {
+        return infoToUpdate;
+    }
+
+    /**
+     * Gets the new value of the updated information.
+     *
+     * @return The new value, or {@code null} for other operations.
+     */
+    public String getNewInfo() {
+        return newInfo;
+    }
+
+    /**
+     * Checks whether the command targets an event rather than a user.
+     *
+     * @return {@code true} for event operations, {@code false} for user updates.
+     */
+    public boolean targetsEvent() {
+        return type != Type.UPDATE_USER;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "BatchCommand{" +
+                "type=" + type +
+                (user != null ? ", user='" + user.getLogin() + '\'' : "") +
+                (eventName != null ? ", event='" + eventName + '\'' : "") +
+                (eventId != null ? ", eventId=" + eventId : "") +
+                (seat != null ? ", seat='" + seat + '\'' : "") +
+                (infoToUpdate != null ? ", info='" + infoToUpdate + '\'' : "") +
+                '}';
+    }
+}
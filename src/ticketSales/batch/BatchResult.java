@@ -0,0 +1,119 @@
+package ticketSales.batch;
+
+/**
+ * The BatchResult class is the outcome of one {@link BatchCommand} of a batch: either the value the operation
+ * returned or the exception it threw.
+ */
+public class BatchResult {
+
+    // Attributes
+    /**
+     * The position of the command in the batch.
+     */
+    private final int index;
+
+    /**
+     * The command.
+     */
+    private final BatchCommand command;
+
+    /**
+     * The value returned by the operation: the registered event, the updated user, the purchased ticket, or
+     * {@code null} for added seats.
+     */
+    private final Object value;
+
+    /**
+     * The exception thrown by the operation, or {@code null} if it succeeded.
+     */
+    private final RuntimeException error;
+
+    // Constructor
+    private BatchResult(int index, BatchCommand command, Object value, RuntimeException error) {
+        this.index = index;
+        this.command = command;
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Creates the result of a command that succeeded.
+     *
+     * @param index The position of the command in the batch.
+     * @param command The command.
+     * @param value The value returned by the operation.
+     * @return The result.
+     */
+    public static BatchResult success(int index, BatchCommand command, Object value) {
+        return new BatchResult(index, command, value, null);
+    }
+
+    /**
+     * Creates the result of a command that failed.
+     *
+     * @param index The position of the command in the batch.
+     * @param command The command.
+     * @param error The exception thrown by the operation.
+     * @return The result.
+     */
+    public static BatchResult failure(int index, BatchCommand command, RuntimeException error) {
+        return new BatchResult(index, command, null, error);
+    }
+
+    // Getters
+    /**
+     * Gets the position of the command in the batch.
+     *
+     * @return The index, starting at 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the command.
+     *
+     * @return The command.
+     */
+    public BatchCommand getCommand() {
+        return command;
+    }
+
+    /**
+     * Checks whether the command succeeded.
+     *
+     * @return {@code true} if the command succeeded, {@code false} otherwise.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Gets the value returned by the operation.
+     *
+     * @return The registered event, the updated user, the purchased ticket, or {@code null} for added seats and
+     * failed commands.
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the exception thrown by the operation.
+     *
+     * @return The exception, or {@code null} if the command succeeded.
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "index=" + index +
+                ", command=" + command +
+                (error == null ? ", value=" + value : ", error=" + error.getMessage()) +
+                '}';
+    }
+}
@@ -0,0 +1,119 @@
+package ticketSales.cache;
+
+/**
+ * The CacheStats class is a snapshot of the counters of a cache.
+ */
+public class CacheStats {
+
+    // Attributes
+    /**
+     * The number of lookups that found a value.
+     */
+    private final long hitCount;
+
+    /**
+     * The number of lookups that found no value.
+     */
+    private final long missCount;
+
+    /**
+     * The number of values loaded after a miss.
+     */
+    private final long loadCount;
+
+    /**
+     * The number of entries evicted to stay within the size limit.
+     */
+    private final long evictionCount;
+
+    /**
+     * The number of entries removed because their value changed.
+     */
+    private final long invalidationCount;
+
+    // Constructor
+    /**
+     * Constructs a new CacheStats.
+     *
+     * @param hitCount The number of lookups that found a value.
+     * @param missCount The number of lookups that found no value.
+     * @param loadCount The number of values loaded after a miss.
+     * @param evictionCount The number of entries evicted to stay within the size limit.
+     * @param invalidationCount The number of entries removed because their value changed.
+     */
+    public CacheStats(long hitCount, long missCount, long loadCount, long evictionCount, long invalidationCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.evictionCount = evictionCount;
+        this.invalidationCount = invalidationCount;
+    }
+
+    // Getters
+    /**
+     * Gets the number of lookups that found a value.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups that found no value.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of values loaded after a miss.
+     *
+     * @return The load count.
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Gets the number of entries evicted to stay within the size limit.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the number of entries removed because their value changed.
+     *
+     * @return The invalidation count.
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * Gets the share of lookups that found a value.
+     *
+     * @return The hit rate, from 0 to 1, or 1 if there was no lookup.
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", loadCount=" + loadCount +
+                ", evictionCount=" + evictionCount +
+                ", invalidationCount=" + invalidationCount +
+                '}';
+    }
+}
@@ -0,0 +1,213 @@
+package ticketSales.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The ExpiringCache class is a bounded, thread-safe map whose entries expire a fixed time after they are written.
+ * Lookups are a single hash map read. When the cache is full, the oldest entries are evicted first, which, with a
+ * fixed time to live, are also the ones closest to expiring.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public class ExpiringCache<K, V> {
+
+    // Attributes
+    /**
+     * The cached entries.
+     */
+    private final ConcurrentHashMap<K, Entry<K, V>> entries;
+
+    /**
+     * The entries in write order, used for eviction. May hold entries already replaced or removed from the map.
+     */
+    private final ConcurrentLinkedQueue<Entry<K, V>> writeOrder;
+
+    /**
+     * The approximate length of the write order queue, whose own size method is not constant time.
+     */
+    private final AtomicInteger writeOrderLength;
+
+    /**
+     * The maximum number of entries.
+     */
+    private final int maximumSize;
+
+    /**
+     * How long an entry stays valid after being written.
+     */
+    private final Duration timeToLive;
+
+    /**
+     * The clock used to expire entries.
+     */
+    private final Clock clock;
+
+    // Constructor
+    /**
+     * Constructs a new ExpiringCache.
+     *
+     * @param maximumSize The maximum number of entries.
+     * @param timeToLive How long an entry stays valid after being written.
+     * @param clock The clock used to expire entries.
+     */
+    public ExpiringCache(int maximumSize, Duration timeToLive, Clock clock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive.");
+        }
+        this.entries = new ConcurrentHashMap<>();
+        this.writeOrder = new ConcurrentLinkedQueue<>();
+        this.writeOrderLength = new AtomicInteger();
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    // Getters
+    /**
+     * Gets the number of entries, including expired entries not yet reclaimed.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the clock used to expire entries.
+     *
+     * @return The clock.
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    // Class Methods
+    /**
+     * Gets the value associated with a key.
+     *
+     * @param key The key.
+     * @return The value, or {@code null} if the key is absent or its entry has expired.
+     */
+    public V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(clock.millis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value.
+     *
+     * @param key The key.
+     * @param value The value.
+     */
+    public void put(K key, V value) {
+        Entry<K, V> entry = new Entry<>(key, value, clock.millis() + timeToLive.toMillis());
+        entries.put(key, entry);
+        track(entry);
+    }
+
+    /**
+     * Gets the value associated with a key, computing and storing it if the key is absent or expired.
+     * Concurrent callers for the same key wait for a single computation.
+     *
+     * @param key The key.
+     * @param mappingFunction The function computing the value.
+     * @return The current or computed value.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        long now = clock.millis();
+        boolean[] created = new boolean[1];
+        Entry<K, V> entry = entries.compute(key, (k, current) -> {
+            if (current != null && !current.isExpired(now)) {
+                return current;
+            }
+            created[0] = true;
+            return new Entry<>(k, mappingFunction.apply(k), now + timeToLive.toMillis());
+        });
+        if (created[0]) {
+            track(entry);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Removes the entry of a key.
+     *
+     * @param key The key.
+     * @return The removed value, or {@code null} if the key was absent.
+     */
+    public V remove(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Removes every entry whose value matches a predicate. This scans the whole cache.
+     *
+     * @param predicate The predicate selecting the values to remove.
+     */
+    public void removeIf(Predicate<? super V> predicate) {
+        entries.values().removeIf(entry -> predicate.test(entry.value));
+    }
+
+    /**
+     * Appends a written entry to the write order, then evicts the oldest entries while the cache is above its
+     * maximum size. Queue nodes of replaced or removed entries are purged once they outnumber the live entries.
+     *
+     * @param entry The written entry.
+     */
+    private void track(Entry<K, V> entry) {
+        writeOrder.add(entry);
+        int length = writeOrderLength.incrementAndGet();
+        while (entries.size() > maximumSize) {
+            Entry<K, V> oldest = writeOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            length = writeOrderLength.decrementAndGet();
+            entries.remove(oldest.key, oldest);
+        }
+        if (length > 2 * maximumSize) {
+            writeOrder.removeIf(queued -> {
+                if (entries.get(queued.key) != queued) {
+                    writeOrderLength.decrementAndGet();
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    /**
+     * The Entry class holds a cached value and the instant it expires.
+     */
+    private static final class Entry<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
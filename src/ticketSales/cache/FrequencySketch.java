@@ -0,0 +1,140 @@
+package ticketSales.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The FrequencySketch class estimates how often keys were seen recently with a count-min sketch of 4-bit counters,
+ * sixteen to a word. Each key is counted in four counters picked by independent hashes, and its estimate is the
+ * smallest of them. Once the number of increments reaches ten times the number of words, every counter is halved
+ * so that old popularity fades. Counters are updated by compare-and-set and may lose an increment under contention,
+ * which only makes the estimate slightly lower.
+ */
+class FrequencySketch {
+
+    // Constants
+    private static final long[] SEEDS = {
+            0x97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAXIMUM_COUNT = 15;
+
+    // Attributes
+    /**
+     * The counters, sixteen per word.
+     */
+    private final AtomicLongArray table;
+
+    /**
+     * The mask selecting a word of the table.
+     */
+    private final int tableMask;
+
+    /**
+     * The number of increments after which counters are halved.
+     */
+    private final int sampleSize;
+
+    /**
+     * The number of increments since counters were last halved.
+     */
+    private final AtomicInteger size;
+
+    // Constructor
+    /**
+     * Constructs a new FrequencySketch.
+     *
+     * @param expectedEntries The number of keys expected to be tracked at once.
+     */
+    FrequencySketch(int expectedEntries) {
+        int words = Integer.highestOneBit(Math.max(16, Math.min(expectedEntries, 1 << 16)) - 1) << 1;
+        this.table = new AtomicLongArray(words);
+        this.tableMask = words - 1;
+        this.sampleSize = 10 * words;
+        this.size = new AtomicInteger();
+    }
+
+    // Class Methods
+    /**
+     * Estimates how often a key was seen recently.
+     *
+     * @param key The key.
+     * @return The estimate, from 0 to 15.
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAXIMUM_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long bits = indexOf(hash, i);
+            int shift = (int) (bits >>> 32) << 2;
+            frequency = Math.min(frequency, (int) ((table.get((int) bits) >>> shift) & 0xF));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records that a key was seen.
+     *
+     * @param key The key.
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long bits = indexOf(hash, i);
+            added |= incrementAt((int) bits, (int) (bits >>> 32) << 2);
+        }
+        if (added && size.incrementAndGet() >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halves every counter.
+     */
+    private void reset() {
+        synchronized (this) {
+            if (size.get() < sampleSize) {
+                return;
+            }
+            for (int i = 0; i < table.length(); i++) {
+                long word;
+                do {
+                    word = table.get(i);
+                } while (!table.compareAndSet(i, word, (word >>> 1) & RESET_MASK));
+            }
+            size.set(sampleSize / 2);
+        }
+    }
+
+    private boolean incrementAt(int index, int shift) {
+        long mask = 0xFL << shift;
+        while (true) {
+            long word = table.get(index);
+            if ((word & mask) == mask) {
+                return false;
+            }
+            if (table.compareAndSet(index, word, word + (1L << shift))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Picks the counter of a key for one of the hashes.
+     *
+     * @param hash The spread hash of the key.
+     * @param i The number of the hash.
+     * @return The counter number within its word in the upper half, and the word index in the lower half.
+     */
+    private long indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return ((h >>> 28) & 0xF) << 32 | ((int) h & tableMask);
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,123 @@
+package ticketSales.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The IdempotencyCache class runs an operation at most once per idempotency key and remembers its outcome for a
+ * limited time. A retry with the same key gets the original result, or the original exception, without the operation
+ * running again; a retry that arrives while the first attempt is still running waits for it. Results the caller marks
+ * as transient are handed to the waiting retries but not remembered, so a later retry runs the operation again.
+ *
+ * @param <V> The type of the operation results.
+ */
+public class IdempotencyCache<V> {
+
+    // Constants
+    /**
+     * The default maximum number of remembered outcomes.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    /**
+     * The default time an outcome is remembered.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    // Attributes
+    /**
+     * The outcomes, by idempotency key.
+     */
+    private final ExpiringCache<String, CompletableFuture<V>> outcomes;
+
+    // Constructor
+    /**
+     * Constructs a new IdempotencyCache with the default limits and the system clock.
+     */
+    public IdempotencyCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a new IdempotencyCache.
+     *
+     * @param maximumSize The maximum number of remembered outcomes; the oldest are forgotten beyond it.
+     * @param timeToLive The time an outcome is remembered.
+     * @param clock The clock used to expire outcomes.
+     */
+    public IdempotencyCache(int maximumSize, Duration timeToLive, Clock clock) {
+        this.outcomes = new ExpiringCache<>(maximumSize, timeToLive, clock);
+    }
+
+    // Class Methods
+    /**
+     * Runs an operation unless an outcome is already remembered for the key.
+     *
+     * @param key The idempotency key.
+     * @param operation The operation to be run.
+     * @return The result of the operation, possibly from an earlier call with the same key.
+     * @throws RuntimeException The exception thrown by the operation, possibly in an earlier call with the same key.
+     * @throws Error An error thrown by the operation, such as an {@link OutOfMemoryError}. Errors are not remembered:
+     * retries already waiting get the error too, but later retries run the operation again.
+     */
+    public V execute(String key, Supplier<V> operation) {
+        return execute(key, operation, result -> true);
+    }
+
+    /**
+     * Runs an operation unless an outcome is already remembered for the key, remembering its result only if it is
+     * final.
+     *
+     * @param key The idempotency key.
+     * @param operation The operation to be run.
+     * @param isFinal Tells whether a result is final; other results are forgotten, so a retry runs the operation again.
+     * @return The result of the operation, possibly from an earlier call with the same key.
+     * @throws RuntimeException The exception thrown by the operation, possibly in an earlier call with the same key.
+     * @throws Error An error thrown by the operation, such as an {@link OutOfMemoryError}. Errors are not remembered:
+     * retries already waiting get the error too, but later retries run the operation again.
+     */
+    public V execute(String key, Supplier<V> operation, Predicate<? super V> isFinal) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> outcome = outcomes.computeIfAbsent(key, k -> created);
+        if (outcome == created) {
+            try {
+                V result = operation.get();
+                if (!isFinal.test(result) && outcomes.get(key) == created) {
+                    outcomes.remove(key);
+                }
+                created.complete(result);
+                return result;
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            } catch (Throwable e) {
+                if (outcomes.get(key) == created) {
+                    outcomes.remove(key);
+                }
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return outcome.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Gets the number of remembered outcomes, including expired outcomes not yet reclaimed.
+     *
+     * @return The number of outcomes.
+     */
+    public int size() {
+        return outcomes.size();
+    }
+}
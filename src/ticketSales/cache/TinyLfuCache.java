@@ -0,0 +1,474 @@
+package ticketSales.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * The TinyLfuCache class is a bounded, thread-safe read-through cache with a W-TinyLFU eviction policy. New entries
+ * enter a small LRU window; entries leaving the window compete with the eviction victim of the main space, and only
+ * the one seen more often recently, according to a {@link FrequencySketch}, is kept. The main space is a segmented
+ * LRU whose protected segment holds the entries hit more than once, so a burst of one-off lookups cannot flush the
+ * popular entries.
+ * <p>
+ * The size limit is a total weight, each entry weighing what the weigher returns for its value. Lookups are a
+ * single hash map read; reordering entries on a hit is skipped when another thread holds the policy lock, which
+ * only makes recency slightly less accurate. Values loaded while their key was invalidated are returned but not
+ * cached, so an invalidation is never lost to a slow load.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public class TinyLfuCache<K, V> {
+
+    // Constants
+    /**
+     * The share of the maximum weight given to the window.
+     */
+    public static final double WINDOW_SHARE = 0.01;
+
+    /**
+     * The share of the main space given to the protected segment.
+     */
+    public static final double PROTECTED_SHARE = 0.8;
+
+    private static final int STRIPES = 64;
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    // Attributes
+    /**
+     * The cached entries.
+     */
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+
+    /**
+     * The estimates of how often keys were looked up recently.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Gives the weight of a value.
+     */
+    private final ToIntFunction<? super V> weigher;
+
+    /**
+     * The maximum total weight.
+     */
+    private final long maximumWeight;
+
+    /**
+     * The maximum weight of the window.
+     */
+    private final long windowMaximum;
+
+    /**
+     * The maximum weight of the protected segment.
+     */
+    private final long protectedMaximum;
+
+    /**
+     * The number of invalidations of the keys of each stripe, checked before storing a loaded value.
+     */
+    private final AtomicLongArray invalidations;
+
+    /**
+     * The lock guarding the queues and weights.
+     */
+    private final ReentrantLock policyLock;
+
+    /**
+     * The window queue: the sentinel of a circular list ordered from most to least recently used.
+     */
+    private final Node<K, V> window;
+
+    /**
+     * The probation queue of the main space, holding the entries not hit since they left the window.
+     */
+    private final Node<K, V> probation;
+
+    /**
+     * The protected queue of the main space, holding the entries hit while on probation.
+     */
+    private final Node<K, V> protectedSegment;
+
+    /**
+     * The weight of the window. Guarded by the policy lock.
+     */
+    private long windowWeight;
+
+    /**
+     * The weight of the protected segment. Guarded by the policy lock.
+     */
+    private long protectedWeight;
+
+    /**
+     * The weight of every entry. Guarded by the policy lock.
+     */
+    private long totalWeight;
+
+    /**
+     * The number of lookups that found a value.
+     */
+    private final LongAdder hits;
+
+    /**
+     * The number of lookups that found no value.
+     */
+    private final LongAdder misses;
+
+    /**
+     * The number of values loaded after a miss.
+     */
+    private final LongAdder loads;
+
+    /**
+     * The number of entries evicted to stay within the maximum weight.
+     */
+    private final LongAdder evictions;
+
+    /**
+     * The number of entries removed by invalidation.
+     */
+    private final LongAdder invalidationCount;
+
+    // Constructor
+    /**
+     * Constructs a new TinyLfuCache bounded by the number of entries.
+     *
+     * @param maximumSize The maximum number of entries.
+     */
+    public TinyLfuCache(long maximumSize) {
+        this(maximumSize, value -> 1);
+    }
+
+    /**
+     * Constructs a new TinyLfuCache bounded by the total weight of its values.
+     *
+     * @param maximumWeight The maximum total weight.
+     * @param weigher Gives the weight of a value, at least zero.
+     * @throws IllegalArgumentException If the maximum weight is not positive.
+     */
+    public TinyLfuCache(long maximumWeight, ToIntFunction<? super V> weigher) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive.");
+        }
+        this.data = new ConcurrentHashMap<>();
+        this.sketch = new FrequencySketch((int) Math.min(maximumWeight, Integer.MAX_VALUE));
+        this.weigher = weigher;
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, (long) (maximumWeight * WINDOW_SHARE));
+        this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * PROTECTED_SHARE);
+        this.invalidations = new AtomicLongArray(STRIPES);
+        this.policyLock = new ReentrantLock();
+        this.window = Node.sentinel();
+        this.probation = Node.sentinel();
+        this.protectedSegment = Node.sentinel();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.loads = new LongAdder();
+        this.evictions = new LongAdder();
+        this.invalidationCount = new LongAdder();
+    }
+
+    // Getters
+    /**
+     * Gets the number of entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Gets the total weight of the entries.
+     *
+     * @return The weight.
+     */
+    public long weightedSize() {
+        policyLock.lock();
+        try {
+            return totalWeight;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the maximum total weight.
+     *
+     * @return The maximum weight.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Gets a snapshot of the counters of the cache.
+     *
+     * @return The counters.
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), loads.sum(), evictions.sum(), invalidationCount.sum());
+    }
+
+    // Class Methods
+    /**
+     * Gets the value of a key if it is cached.
+     *
+     * @param key The key.
+     * @return The value, or {@code null} if the key is not cached.
+     */
+    public V getIfPresent(K key) {
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (policyLock.tryLock()) {
+            try {
+                onHit(node);
+            } finally {
+                policyLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * Gets the value of a key, loading and caching it on a miss. Concurrent misses on the same key may each load it.
+     *
+     * @param key The key.
+     * @param loader Loads the value of a key, or returns {@code null} if there is none; nothing is cached then.
+     * @return The cached or loaded value, or {@code null} if the loader returned none.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        int stripe = stripeOf(key);
+        long invalidated = invalidations.get(stripe);
+        value = loader.apply(key);
+        loads.increment();
+        if (value != null) {
+            insert(key, value, stripe, invalidated);
+        }
+        return value;
+    }
+
+    /**
+     * Caches a value, replacing the previous value of the key.
+     *
+     * @param key The key.
+     * @param value The value.
+     */
+    public void put(K key, V value) {
+        int stripe = stripeOf(key);
+        insert(key, value, stripe, invalidations.get(stripe));
+    }
+
+    /**
+     * Removes the value of a key, and keeps values loaded meanwhile from being cached.
+     *
+     * @param key The key.
+     */
+    public void invalidate(K key) {
+        invalidations.incrementAndGet(stripeOf(key));
+        if (!data.containsKey(key)) {
+            return;
+        }
+        policyLock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+                invalidationCount.increment();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Removes every value.
+     */
+    public void invalidateAll() {
+        policyLock.lock();
+        try {
+            for (int i = 0; i < STRIPES; i++) {
+                invalidations.incrementAndGet(i);
+            }
+            for (Node<K, V> node : data.values()) {
+                if (data.remove(node.key, node)) {
+                    unlink(node);
+                    invalidationCount.increment();
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void insert(K key, V value, int stripe, long invalidated) {
+        int weight = weigher.applyAsInt(value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative.");
+        }
+        Node<K, V> node = new Node<>(key, value, weight);
+        policyLock.lock();
+        try {
+            if (invalidations.get(stripe) != invalidated) {
+                return;
+            }
+            Node<K, V> previous = data.put(key, node);
+            if (previous != null) {
+                unlink(previous);
+            }
+            node.queue = WINDOW;
+            linkFirst(window, node);
+            windowWeight += weight;
+            totalWeight += weight;
+            evict();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Moves a hit entry to the front of its queue, promoting it from probation to the protected segment.
+     * Must be called with the policy lock held.
+     *
+     * @param node The entry.
+     */
+    private void onHit(Node<K, V> node) {
+        if (node.prev == null) {
+            return;
+        }
+        unlinkNode(node);
+        if (node.queue == WINDOW) {
+            linkFirst(window, node);
+        } else if (node.queue == PROTECTED) {
+            linkFirst(protectedSegment, node);
+        } else {
+            node.queue = PROTECTED;
+            linkFirst(protectedSegment, node);
+            protectedWeight += node.weight;
+            while (protectedWeight > protectedMaximum) {
+                Node<K, V> demoted = protectedSegment.prev;
+                unlinkNode(demoted);
+                protectedWeight -= demoted.weight;
+                demoted.queue = PROBATION;
+                linkFirst(probation, demoted);
+            }
+        }
+    }
+
+    /**
+     * Moves the entries that overflow the window into the main space, admitting each one only if it was seen more
+     * often than the entry it would evict, then evicts until the cache is within its maximum weight.
+     * Must be called with the policy lock held.
+     */
+    private void evict() {
+        while (windowWeight > windowMaximum && window.prev != window) {
+            Node<K, V> candidate = window.prev;
+            unlinkNode(candidate);
+            windowWeight -= candidate.weight;
+            candidate.queue = PROBATION;
+            linkFirst(probation, candidate);
+            while (totalWeight > maximumWeight && candidate.prev != null) {
+                Node<K, V> victim = probation.prev != candidate ? probation.prev : protectedSegment.prev;
+                if (victim == protectedSegment || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                    evictNode(candidate);
+                } else {
+                    evictNode(victim);
+                }
+            }
+        }
+        while (totalWeight > maximumWeight) {
+            Node<K, V> victim = probation.prev != probation ? probation.prev
+                    : protectedSegment.prev != protectedSegment ? protectedSegment.prev : window.prev;
+            if (victim == window) {
+                break;
+            }
+            evictNode(victim);
+        }
+    }
+
+    private void evictNode(Node<K, V> node) {
+        if (data.remove(node.key, node)) {
+            evictions.increment();
+        }
+        unlink(node);
+    }
+
+    /**
+     * Unlinks an entry from its queue and removes its weight. Must be called with the policy lock held.
+     *
+     * @param node The entry.
+     */
+    private void unlink(Node<K, V> node) {
+        if (node.prev == null) {
+            return;
+        }
+        unlinkNode(node);
+        totalWeight -= node.weight;
+        if (node.queue == WINDOW) {
+            windowWeight -= node.weight;
+        } else if (node.queue == PROTECTED) {
+            protectedWeight -= node.weight;
+        }
+    }
+
+    private static <K, V> void unlinkNode(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static <K, V> void linkFirst(Node<K, V> sentinel, Node<K, V> node) {
+        node.prev = sentinel;
+        node.next = sentinel.next;
+        sentinel.next.prev = node;
+        sentinel.next = node;
+    }
+
+    private static int stripeOf(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * The Node class holds a cached value and its links in the queue it belongs to.
+     */
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private final int weight;
+        private byte queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        private static <K, V> Node<K, V> sentinel() {
+            Node<K, V> sentinel = new Node<>(null, null, 0);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+    }
+}
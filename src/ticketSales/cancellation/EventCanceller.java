@@ -0,0 +1,221 @@
+package ticketSales.cancellation;
+
+import ticketSales.analytics.SalesLedger;
+import ticketSales.models.Event;
+import ticketSales.models.EventState;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The EventCanceller class cancels an event and every ticket held for it. The tickets are found through a
+ * {@link TicketIndex}, split into batches and processed in parallel: each ticket is taken from its holder and cancelled
+ * in one step, the cancellation is recorded in the sales ledger and the price is refunded through a
+ * {@link RefundProcessor}. A failed refund does not stop the others; the ticket is reported so it can be retried.
+ * <p>
+ * The batches run on a pool owned by the canceller and reused across cancellations; its threads stop when idle.
+ * Tickets caught between holders by a transfer are retried with a growing pause rather than a busy loop.
+ */
+public class EventCanceller implements AutoCloseable {
+
+    // Constants
+    /**
+     * The default number of tickets processed by one task.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * The first pause before retrying tickets that are between holders, in nanoseconds.
+     */
+    private static final long MIN_BACKOFF_NANOS = 10_000;
+
+    /**
+     * The longest pause before retrying tickets that are between holders, in nanoseconds.
+     */
+    private static final long MAX_BACKOFF_NANOS = 1_000_000;
+
+    /**
+     * How long an idle pool thread is kept, in seconds.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    // Attributes
+    /**
+     * The ledger recording the cancellations.
+     */
+    private final SalesLedger ledger;
+
+    /**
+     * The clock giving the time of the cancellations.
+     */
+    private final Clock clock;
+
+    /**
+     * The number of tickets processed by one task.
+     */
+    private final int batchSize;
+
+    /**
+     * The pool processing the batches.
+     */
+    private final ThreadPoolExecutor pool;
+
+    // Constructor
+    /**
+     * Constructs a new EventCanceller with one thread per processor and the default batch size.
+     *
+     * @param ledger The ledger recording the cancellations.
+     * @param clock The clock giving the time of the cancellations.
+     */
+    public EventCanceller(SalesLedger ledger, Clock clock) {
+        this(ledger, clock, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a new EventCanceller.
+     *
+     * @param ledger The ledger recording the cancellations.
+     * @param clock The clock giving the time of the cancellations.
+     * @param parallelism The number of batches processed at once.
+     * @param batchSize The number of tickets processed by one task.
+     */
+    public EventCanceller(SalesLedger ledger, Clock clock, int parallelism, int batchSize) {
+        if (parallelism <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Parallelism and batch size must be positive.");
+        }
+        this.ledger = ledger;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.pool = new ThreadPoolExecutor(parallelism, parallelism, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "event-cancellation");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    // Overridden Methods
+    /**
+     * Stops the pool once the cancellations in progress are done.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Class Methods
+    /**
+     * Cancels an event, then cancels and refunds every ticket indexed for it. No ticket can be bought or transferred
+     * once the event is cancelled, so this returns when every indexed ticket has been processed.
+     *
+     * @param event The event to be cancelled.
+     * @param index The index of the tickets of each event; processed tickets are removed from it.
+     * @param refundProcessor The processor paying back the holders.
+     * @return The report of the cancellation.
+     * @throws IllegalArgumentException If the event was already cancelled.
+     */
+    public RefundReport cancel(Event event, TicketIndex index, RefundProcessor refundProcessor) {
+        if (!event.transitionTo(EventState.CANCELLED)) {
+            throw new IllegalArgumentException("Event already cancelled.");
+        }
+        Totals totals = new Totals();
+        try {
+            long backoff = MIN_BACKOFF_NANOS;
+            List<Ticket> tickets;
+            while (!(tickets = index.ticketsOf(event)).isEmpty()) {
+                List<Future<Integer>> batches = new ArrayList<>();
+                for (int from = 0; from < tickets.size(); from += batchSize) {
+                    List<Ticket> batch = tickets.subList(from, Math.min(from + batchSize, tickets.size()));
+                    batches.add(pool.submit(() -> processBatch(event, index, batch, refundProcessor, totals)));
+                }
+                int resolved = 0;
+                for (Future<Integer> batch : batches) {
+                    resolved += batch.get();
+                }
+                if (resolved > 0) {
+                    backoff = MIN_BACKOFF_NANOS;
+                } else {
+                    LockSupport.parkNanos(backoff);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while cancelling " + event.getName() + ".", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to cancel " + event.getName() + ".", e.getCause());
+        }
+        return new RefundReport(event.getName(), totals.cancelled.get(), totals.refunded.get(),
+                totals.amount.sum(), new ArrayList<>(totals.failed));
+    }
+
+    private int processBatch(Event event, TicketIndex index, List<Ticket> batch, RefundProcessor refundProcessor,
+                             Totals totals) {
+        int resolved = 0;
+        for (Ticket ticket : batch) {
+            if (process(event, index, ticket, refundProcessor, totals)) {
+                resolved++;
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Cancels and refunds one ticket.
+     *
+     * @return {@code true} if the ticket is done with, {@code false} if it is between holders and must be retried.
+     */
+    private boolean process(Event event, TicketIndex index, Ticket ticket, RefundProcessor refundProcessor,
+                            Totals totals) {
+        while (true) {
+            User holder = ticket.getHolder();
+            if (holder == null) {
+                if (ticket.isActive()) {
+                    return false;
+                }
+                index.remove(ticket);
+                return true;
+            }
+            if (holder.cancelTicket(ticket)) {
+                index.remove(ticket);
+                totals.cancelled.incrementAndGet();
+                ledger.recordCancellation(event.getName(), holder.getLogin(), ticket.getPrice(), clock.millis());
+                try {
+                    refundProcessor.refund(holder, ticket);
+                    totals.refunded.incrementAndGet();
+                    totals.amount.add(ticket.getPrice());
+                } catch (RuntimeException e) {
+                    totals.failed.add(ticket);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The Totals class accumulates the outcome of the batches of one cancellation.
+     */
+    private static final class Totals {
+
+        private final AtomicInteger cancelled = new AtomicInteger();
+        private final AtomicInteger refunded = new AtomicInteger();
+        private final DoubleAdder amount = new DoubleAdder();
+        private final ConcurrentLinkedQueue<Ticket> failed = new ConcurrentLinkedQueue<>();
+    }
+}
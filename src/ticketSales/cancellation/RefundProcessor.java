@@ -0,0 +1,25 @@
+package ticketSales.cancellation;
+
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+/**
+ * The RefundProcessor interface pays back the holder of a ticket cancelled along with its event, for instance
+ * through a payment gateway. Implementations are called from several threads at once.
+ */
+public interface RefundProcessor {
+
+    /**
+     * A processor that records nothing, used when refunds are handled outside the system.
+     */
+    RefundProcessor NONE = (holder, ticket) -> { };
+
+    /**
+     * Refunds a cancelled ticket to its holder.
+     *
+     * @param holder The user who held the ticket.
+     * @param ticket The cancelled ticket, whose price is refunded.
+     * @throws RuntimeException If the refund failed; the ticket stays cancelled and is reported as a failed refund.
+     */
+    void refund(User holder, Ticket ticket);
+}
@@ -0,0 +1,120 @@
+package ticketSales.cancellation;
+
+import ticketSales.models.Ticket;
+
+import java.util.List;
+
+/**
+ * The RefundReport class summarizes the cancellation of an event: how many held tickets were cancelled, how many
+ * refunds went through and which ones failed and must be retried.
+ */
+public class RefundReport {
+
+    // Attributes
+    /**
+     * The name of the cancelled event.
+     */
+    private final String eventName;
+
+    /**
+     * The number of held tickets that were cancelled.
+     */
+    private final int ticketsCancelled;
+
+    /**
+     * The number of refunds that went through.
+     */
+    private final int refundsIssued;
+
+    /**
+     * The total amount refunded.
+     */
+    private final double amountRefunded;
+
+    /**
+     * The cancelled tickets whose refund failed.
+     */
+    private final List<Ticket> failedRefunds;
+
+    // Constructor
+    /**
+     * Constructs a new RefundReport.
+     *
+     * @param eventName The name of the cancelled event.
+     * @param ticketsCancelled The number of held tickets that were cancelled.
+     * @param refundsIssued The number of refunds that went through.
+     * @param amountRefunded The total amount refunded.
+     * @param failedRefunds The cancelled tickets whose refund failed.
+     */
+    public RefundReport(String eventName, int ticketsCancelled, int refundsIssued, double amountRefunded,
+                        List<Ticket> failedRefunds) {
+        this.eventName = eventName;
+        this.ticketsCancelled = ticketsCancelled;
+        this.refundsIssued = refundsIssued;
+        this.amountRefunded = amountRefunded;
+        this.failedRefunds = List.copyOf(failedRefunds);
+    }
+
+    // Getters
+    /**
+     * Gets the name of the cancelled event.
+     *
+     * @return The event name.
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Gets the number of held tickets that were cancelled.
+     *
+     * @return The number of tickets.
+     */
+    public int getTicketsCancelled() {
+        return ticketsCancelled;
+    }
+
+    /**
+     * Gets the number of refunds that went through.
+     *
+     * @return The number of refunds.
+     */
+    public int getRefundsIssued() {
+        return refundsIssued;
+    }
+
+    /**
+     * Gets the total amount refunded.
+     *
+     * @return The amount.
+     */
+    public double getAmountRefunded() {
+        return amountRefunded;
+    }
+
+    /**
+     * Gets the cancelled tickets whose refund failed.
+     *
+     * @return An unmodifiable list of tickets.
+     */
+    public List<Ticket> getFailedRefunds() {
+        return failedRefunds;
+    }
+
+    // Overridden Methods
+    /**
+     * Returns a string representation of the RefundReport object.
+     *
+     * @return A string containing the report totals.
+     */
+    @Override
+    public String toString() {
+        return "RefundReport{" +
+                "eventName='" + eventName + '\'' +
+                ", ticketsCancelled=" + ticketsCancelled +
+                ", refundsIssued=" + refundsIssued +
+                ", amountRefunded=" + amountRefunded +
+                ", failedRefunds=" + failedRefunds.size() +
+                '}';
+    }
+}
@@ -0,0 +1,87 @@
+package ticketSales.cancellation;
+
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The TicketIndex class maps each event to the tickets issued for it that may still be held, so the holders of an
+ * event can be found without scanning every user. Tickets are keyed by id, so adding and removing one never blocks
+ * other threads.
+ */
+public class TicketIndex {
+
+    // Attributes
+    /**
+     * The tickets of each event, by event id, so events sharing a name keep their tickets apart.
+     */
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Ticket>> ticketsByEvent;
+
+    // Constructor
+    /**
+     * Constructs a new, empty TicketIndex.
+     */
+    public TicketIndex() {
+        this.ticketsByEvent = new ConcurrentHashMap<>();
+    }
+
+    // Class Methods
+    /**
+     * Adds a ticket to the index of its event.
+     *
+     * @param ticket The ticket to be added.
+     */
+    public void add(Ticket ticket) {
+        ticketsByEvent.computeIfAbsent(ticket.getEvent().getId(), id -> new ConcurrentHashMap<>())
+                .put(ticket.getId(), ticket);
+    }
+
+    /**
+     * Removes a ticket from the index of its event.
+     *
+     * @param ticket The ticket to be removed.
+     * @return {@code true} if the ticket was indexed, {@code false} otherwise.
+     */
+    public boolean remove(Ticket ticket) {
+        ConcurrentHashMap<Long, Ticket> tickets = ticketsByEvent.get(ticket.getEvent().getId());
+        return tickets != null && tickets.remove(ticket.getId(), ticket);
+    }
+
+    /**
+     * Removes all tickets of an event from the index.
+     *
+     * @param event The event.
+     */
+    public void removeEvent(Event event) {
+        ticketsByEvent.remove(event.getId());
+    }
+
+    /**
+     * Gets the tickets indexed for an event.
+     *
+     * @param event The event.
+     * @return A snapshot list of the tickets.
+     */
+    public List<Ticket> ticketsOf(Event event) {
+        ConcurrentHashMap<Long, Ticket> tickets = ticketsByEvent.get(event.getId());
+        if (tickets == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(tickets.values());
+    }
+
+    /**
+     * Gets the number of tickets indexed for an event.
+     *
+     * @param event The event.
+     * @return The number of tickets.
+     */
+    public int countOf(Event event) {
+        ConcurrentHashMap<Long, Ticket> tickets = ticketsByEvent.get(event.getId());
+        return tickets == null ? 0 : tickets.size();
+    }
+}
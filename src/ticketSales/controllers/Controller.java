@@ -1,31 +1,280 @@
 package ticketSales.controllers;
 
+import ticketSales.analytics.SalesLedger;
+import ticketSales.archive.EventArchive;
+import ticketSales.audit.AuditReport;
+import ticketSales.audit.InventoryAuditor;
+import ticketSales.batch.BatchCommand;
+import ticketSales.batch.BatchResult;
+import ticketSales.cache.CacheStats;
+import ticketSales.cache.IdempotencyCache;
+import ticketSales.cache.TinyLfuCache;
+import ticketSales.cancellation.EventCanceller;
+import ticketSales.cancellation.RefundProcessor;
+import ticketSales.cancellation.RefundReport;
+import ticketSales.cancellation.TicketIndex;
+import ticketSales.feed.SeatChangeBatch;
+import ticketSales.feed.SeatChangeFeed;
+import ticketSales.gate.GateValidator;
+import ticketSales.gate.ScanResult;
+import ticketSales.inventory.SeatInventory;
+import ticketSales.inventory.SectionedSeatInventory;
+import ticketSales.lifecycle.LifecycleScheduler;
+import ticketSales.metrics.MetricsRegistry;
 import ticketSales.models.Event;
+import ticketSales.models.EventDetails;
+import ticketSales.models.EventState;
+import ticketSales.models.EventStateListener;
+import ticketSales.models.PurchaseResult;
+import ticketSales.models.SeatChangeListener;
 import ticketSales.models.Ticket;
 import ticketSales.models.User;
+import ticketSales.security.PasswordHasher;
+import ticketSales.security.PurchaseLimiter;
+import ticketSales.security.SessionManager;
+import ticketSales.waitlist.SeatHold;
+import ticketSales.waitlist.WaitlistManager;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Clock;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
 
 /**
  * The Controller class manages events, users, and their interactions, such as event registration, ticket purchase, and cancellation.
  */
-public class Controller {
+public class Controller implements AutoCloseable {
+
+    // Constants
+    /**
+     * The maximum weight of the cached event details, where the details of an event weigh one plus its number of
+     * available seats.
+     */
+    public static final long EVENT_DETAILS_CACHE_WEIGHT = 1 << 20;
 
     // Attributes
     /**
-     * List of events managed by the controller.
+     * List of events managed by the controller. Registrations are rare compared to lookups,
+     * so the list is copied on write and can be iterated without locking.
+     */
+    private final CopyOnWriteArrayList<Event> events;
+
+    /**
+     * The first registered event of each name, kept with {@link #events} under this controller's monitor so finding
+     * an event is a single lookup.
+     */
+    private final ConcurrentHashMap<String, Event> eventsByName;
+
+    /**
+     * Registered users, by login.
+     */
+    private final ConcurrentHashMap<String, User> users;
+
+    /**
+     * Sessions of the users that logged in.
      */
-    private final ArrayList<Event> events;
+    private final SessionManager sessions;
+
+    /**
+     * Outcomes of purchases made with an idempotency key.
+     */
+    private final IdempotencyCache<PurchaseResult> purchaseOutcomes;
+
+    /**
+     * Outcomes of cancellations made with an idempotency key.
+     */
+    private final IdempotencyCache<Boolean> cancellationOutcomes;
+
+    /**
+     * Log of every ticket sale and cancellation, used for analytics.
+     */
+    private final SalesLedger salesLedger;
+
+    /**
+     * Clock giving the current time for sales records and event lifecycles.
+     */
+    private final Clock clock;
+
+    /**
+     * Scheduler moving the registered events through their lifecycle.
+     */
+    private final LifecycleScheduler lifecycleScheduler;
+
+    /**
+     * Waitlists of sold-out events, which take the seats released by cancellations.
+     */
+    private final WaitlistManager waitlists;
+
+    /**
+     * Hashes the passwords of the registered users, at registration, password change and login.
+     */
+    private final PasswordHasher passwordHasher;
+
+    /**
+     * Limits on the tickets and purchase requests of each user, checked before any seat is touched.
+     */
+    private final PurchaseLimiter purchaseLimiter;
+
+    /**
+     * Tickets issued for each event that may still be held, used to find the holders of an event.
+     */
+    private final TicketIndex ticketIndex;
+
+    /**
+     * Cancels events and their tickets, on a pool reused across cancellations.
+     */
+    private final EventCanceller eventCanceller;
+
+    /**
+     * Audits the seat inventories, tracking the seats of every registered event.
+     */
+    private final InventoryAuditor inventoryAuditor;
+
+    /**
+     * Issues the gate codes of tickets and validates them at venue entry.
+     */
+    private final GateValidator gateValidator;
+
+    /**
+     * The details of recently viewed events, by name.
+     */
+    private final TinyLfuCache<String, EventDetails> eventDetails;
+
+    /**
+     * Drops the cached details of an event when one of its seats changes.
+     */
+    private final SeatChangeListener seatDetailsInvalidator;
+
+    /**
+     * Drops the cached details of an event when its state changes.
+     */
+    private final EventStateListener stateDetailsInvalidator;
+
+    /**
+     * Feed publishing the seat changes of the registered events, created on the first subscription.
+     */
+    private SeatChangeFeed seatChangeFeed;
+
+    /**
+     * The listeners notified of registered and dropped events and of ticket changes.
+     */
+    private final CopyOnWriteArrayList<ControllerListener> listeners;
+
+    /**
+     * The gauges describing the controller, such as its counts and cache hit rates.
+     */
+    private final MetricsRegistry metrics;
 
     // Constructor
     /**
      * Constructs a new Controller by initializing the list of events.
      */
     public Controller() {
-        this.events = new ArrayList<>();
+        this(new SessionManager());
+    }
+
+    /**
+     * Constructs a new Controller that keeps the sessions of logged-in users in the given session manager.
+     *
+     * @param sessions The session manager.
+     */
+    public Controller(SessionManager sessions) {
+        this(sessions, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a new Controller that reads the current time from the given clock.
+     *
+     * @param sessions The session manager.
+     * @param clock The clock giving the current time.
+     */
+    public Controller(SessionManager sessions, Clock clock) {
+        this(sessions, clock, PurchaseLimiter.unlimited());
+    }
+
+    /**
+     * Constructs a new Controller that limits the tickets and purchase requests of each user.
+     *
+     * @param sessions The session manager.
+     * @param clock The clock giving the current time.
+     * @param purchaseLimiter The limits on the tickets and purchase requests of each user.
+     */
+    public Controller(SessionManager sessions, Clock clock, PurchaseLimiter purchaseLimiter) {
+        this(sessions, clock, purchaseLimiter, new PasswordHasher());
+    }
+
+    /**
+     * Constructs a new Controller that hashes passwords with the given hasher, for instance one with fewer iterations
+     * for tests.
+     *
+     * @param sessions The session manager.
+     * @param clock The clock giving the current time.
+     * @param purchaseLimiter The limits on the tickets and purchase requests of each user.
+     * @param passwordHasher The hasher of the users' passwords.
+     * @throws IllegalStateException If the configured gate key is invalid.
+     */
+    public Controller(SessionManager sessions, Clock clock, PurchaseLimiter purchaseLimiter,
+                      PasswordHasher passwordHasher) {
+        this(sessions, clock, purchaseLimiter, passwordHasher, GateValidator.fromConfiguration());
+    }
+
+    /**
+     * Constructs a new Controller that issues ticket codes with the given validator, whose key is shared with the
+     * gates and the other processes selling the same events.
+     *
+     * @param sessions The session manager.
+     * @param clock The clock giving the current time.
+     * @param purchaseLimiter The limits on the tickets and purchase requests of each user.
+     * @param passwordHasher The hasher of the users' passwords.
+     * @param gateValidator The validator issuing and checking ticket codes.
+     */
+    public Controller(SessionManager sessions, Clock clock, PurchaseLimiter purchaseLimiter,
+                      PasswordHasher passwordHasher, GateValidator gateValidator) {
+        this.passwordHasher = passwordHasher;
+        this.events = new CopyOnWriteArrayList<>();
+        this.eventsByName = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.users = new ConcurrentHashMap<>();
+        this.sessions = sessions;
+        this.purchaseOutcomes = new IdempotencyCache<>();
+        this.cancellationOutcomes = new IdempotencyCache<>();
+        this.salesLedger = new SalesLedger();
+        this.clock = clock;
+        this.lifecycleScheduler = new LifecycleScheduler(clock);
+        this.lifecycleScheduler.start();
+        this.waitlists = new WaitlistManager(clock);
+        this.ticketIndex = new TicketIndex();
+        this.eventCanceller = new EventCanceller(salesLedger, clock);
+        this.inventoryAuditor = new InventoryAuditor();
+        this.gateValidator = gateValidator;
+        this.eventDetails = new TinyLfuCache<>(EVENT_DETAILS_CACHE_WEIGHT,
+                details -> 1 + details.getAvailableSeats().size());
+        this.seatDetailsInvalidator = (event, change) -> eventDetails.invalidate(event.getName());
+        this.stateDetailsInvalidator = (event, previous, next) -> eventDetails.invalidate(event.getName());
+        this.purchaseLimiter = purchaseLimiter;
+        this.metrics = new MetricsRegistry();
+        metrics.register("events.count", events::size);
+        metrics.register("users.count", users::size);
+        metrics.register("events.split", () -> events.stream()
+                .filter(event -> event.getSeatInventory() instanceof SectionedSeatInventory sectioned
+                        && sectioned.isSplit())
+                .count());
+        metrics.register("eventDetails.size", eventDetails::size);
+        metrics.register("eventDetails.hitRate", () -> eventDetails.stats().getHitRate());
     }
 
     // Overridden Methods
@@ -53,6 +302,27 @@ public class Controller {
         return Objects.hash(events);
     }
 
+    /**
+     * Stops the background work of the controller: the seat change feed, if it was created, completes its
+     * subscribers, the waitlists return the seats they hold to their events, and the lifecycle scheduler, event
+     * canceller, waitlists and inventory auditor release their threads. The purchase limiter and gate validator may
+     * be shared with other controllers, so they are left open.
+     */
+    @Override
+    public void close() {
+        SeatChangeFeed feed;
+        synchronized (this) {
+            feed = seatChangeFeed;
+        }
+        if (feed != null) {
+            feed.close();
+        }
+        lifecycleScheduler.close();
+        eventCanceller.close();
+        waitlists.close();
+        inventoryAuditor.close();
+    }
+
     // Class Methods
     /**
      * Registers a new user in the system.
@@ -64,24 +334,104 @@ public class Controller {
      * @param email The user's email.
      * @param isAdmin Indicates whether the user is an administrator.
      * @return The newly registered {@link User} object.
+     * @throws IllegalArgumentException If the login is already in use.
      */
     public User registerUser(String login, String password, String name, String cpf, String email, boolean isAdmin) {
-        return new User(login, password, name, cpf, email, isAdmin);
+        return registerUser(new User(login, password, name, cpf, email, isAdmin));
+    }
+
+    /**
+     * Registers an existing user object in the system. A password given to the user object and not hashed yet is
+     * hashed here, with this controller's hasher.
+     *
+     * @param user The user to be registered.
+     * @return The registered {@link User} object.
+     * @throws IllegalArgumentException If the login is already in use.
+     */
+    public User registerUser(User user) {
+        if (users.putIfAbsent(user.getLogin(), user) != null) {
+            throw new IllegalArgumentException("Login already in use.");
+        }
+        user.hashPassword(passwordHasher);
+        for (ControllerListener listener : listeners) {
+            listener.onUserRegistered(user);
+        }
+        return user;
+    }
+
+    /**
+     * Verifies a user's credentials and opens a session. The password is hashed only here;
+     * the returned token authorizes later calls without verifying the password again.
+     *
+     * @param login The user's login.
+     * @param password The user's password.
+     * @return The session token.
+     * @throws SecurityException If the credentials are invalid.
+     */
+    public String login(String login, String password) {
+        User user = users.get(login);
+        if (user == null || !user.login(login, password, passwordHasher)) {
+            throw new SecurityException("Invalid login or password.");
+        }
+        return sessions.open(user).getToken();
     }
 
     /**
-     * Updates the user's data if the user's login and password match the user's current credentials.
+     * Closes a session.
+     *
+     * @param sessionToken The session token.
+     */
+    public void logout(String sessionToken) {
+        sessions.close(sessionToken);
+    }
+
+    /**
+     * Gets the user of a valid session.
+     *
+     * @param sessionToken The session token.
+     * @return The user the session belongs to.
+     * @throws SecurityException If the session is unknown or expired.
+     */
+    public User authenticate(String sessionToken) {
+        User user = sessions.validate(sessionToken);
+        if (user == null) {
+            throw new SecurityException("Invalid or expired session.");
+        }
+        return user;
+    }
+
+    /**
+     * Updates the data of the user a session belongs to.
+     *
+     * @param sessionToken The session token.
+     * @param infoToUpdate The information to be updated: login, password, name, cpf or email.
+     * @param newInfo The new value.
+     * @return The updated user.
+     * @throws SecurityException If the session is unknown or expired.
+     */
+    public User updateUser(String sessionToken, String infoToUpdate, String newInfo) {
+        return updateUser(authenticate(sessionToken), infoToUpdate, newInfo);
+    }
+
+    /**
+     * Updates the user's data if the user is registered in this controller.
+     * Changing the password closes all sessions of the user.
      *
      * @param user The user trying to update the data.
      **/
     public User updateUser(User user, String infoToUpdate, String newInfo) {
-        if (user.login(user.getLogin(), user.getPassword())) {
+        if (users.get(user.getLogin()) == user) {
             switch (infoToUpdate.toLowerCase()) {
                 case "login":
+                    if (users.putIfAbsent(newInfo, user) != null) {
+                        throw new IllegalArgumentException("Login already in use.");
+                    }
+                    users.remove(user.getLogin(), user);
                     user.setLogin(newInfo);
                     break;
                 case "password":
-                    user.setPassword(newInfo);
+                    user.setPassword(newInfo, passwordHasher);
+                    sessions.closeAll(user);
                     break;
                 case "name":
                     user.setName(newInfo);
@@ -112,9 +462,67 @@ public class Controller {
      * @throws SecurityException If the user is not an administrator.
      */
     public Event registerEvent(User user, String name, String description, Date date) {
+        return registerEvent(user, name, description, date, new SectionedSeatInventory());
+    }
+
+    /**
+     * Registers a new event in the system, if the user of the session is an administrator.
+     *
+     * @param sessionToken The session token of the user attempting to register the event.
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event.
+     * @return The newly registered {@link Event} object.
+     * @throws SecurityException If the session is invalid or its user is not an administrator.
+     */
+    public Event registerEvent(String sessionToken, String name, String description, Date date) {
+        return registerEvent(authenticate(sessionToken), name, description, date);
+    }
+
+    /**
+     * Registers a new event in the system whose seats are kept in the given inventory, if the user is an administrator.
+     *
+     * @param user The user attempting to register the event.
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event.
+     * @param seatInventory The inventory that stores the seats of the event.
+     * @return The newly registered {@link Event} object.
+     * @throws SecurityException If the user is not an administrator.
+     */
+    public Event registerEvent(User user, String name, String description, Date date, SeatInventory seatInventory) {
+        if (!user.isAdmin()) {
+            throw new SecurityException("Only administrators can register events.");
+        }
+        return registerEvent(user, new Event(name, description, date, seatInventory, clock));
+    }
+
+    /**
+     * Registers an existing event object in the system, if the user is an administrator. This lets a caller choose
+     * the event's identifier, for instance to route it to a shard, before the event is registered.
+     *
+     * @param user The user attempting to register the event.
+     * @param event The event to be registered.
+     * @return The registered {@link Event} object.
+     * @throws SecurityException If the user is not an administrator.
+     */
+    public Event registerEvent(User user, Event event) {
         if (user.isAdmin()) {
-            Event event = new Event(name, description, date);
-            events.add(event);
+            event.addSeatChangeListener(seatDetailsInvalidator);
+            event.addStateListener(stateDetailsInvalidator);
+            inventoryAuditor.track(event);
+            lifecycleScheduler.register(event);
+            for (ControllerListener listener : listeners) {
+                listener.onEventRegistered(event);
+            }
+            synchronized (this) {
+                events.add(event);
+                eventsByName.putIfAbsent(event.getName(), event);
+                if (seatChangeFeed != null) {
+                    seatChangeFeed.attach(event);
+                }
+            }
+            eventDetails.invalidate(event.getName());
             return event;
         } else {
             throw new SecurityException("Only administrators can register events.");
@@ -135,6 +543,39 @@ public class Controller {
         }
     }
 
+    /**
+     * Adds several available seats to a specific event with a single event lookup.
+     *
+     * @param name The name of the event.
+     * @param seats The seats to be added.
+     * @return The number of seats that were not already available.
+     * @throws IllegalArgumentException If the event is not found.
+     */
+    public int addEventSeats(String name, Collection<String> seats) {
+        Event event = findEvent(name);
+        if (event == null) {
+            throw new IllegalArgumentException("Event not found.");
+        }
+        return event.addSeats(seats);
+    }
+
+    /**
+     * Adds several available seats of a price tier to a specific event with a single event lookup.
+     *
+     * @param name The name of the event.
+     * @param seats The seats to be added.
+     * @param tier The price tier of the seats.
+     * @return The number of seats that were not already available.
+     * @throws IllegalArgumentException If the event is not found.
+     */
+    public int addEventSeats(String name, Collection<String> seats, String tier) {
+        Event event = findEvent(name);
+        if (event == null) {
+            throw new IllegalArgumentException("Event not found.");
+        }
+        return event.addSeats(seats, tier);
+    }
+
     /**
      * Processes a ticket purchase for a user, removing the seat from the event and adding the ticket to the user's list.
      *
@@ -142,39 +583,549 @@ public class Controller {
      * @param name The name of the event.
      * @param seat The chosen seat for the ticket.
      * @return The newly purchased {@link Ticket} object.
-     * @throws IllegalArgumentException If the seat is unavailable or if the event is not found.
+     * @throws IllegalArgumentException If the seat is unavailable, if the event is not on sale, if the event is not
+     * found or if the user is over a purchase limit.
      */
     public Ticket purchaseTicket(User user, String name, String seat) {
-        for (Event event : events) {
-            if (event.getName().equals(name) && !event.getAvailableSeats().contains(seat)) {
-                throw new IllegalArgumentException("Seat unavailable.");
+        return tryPurchaseTicket(user, name, seat).orThrow();
+    }
+
+    /**
+     * Attempts a ticket purchase without throwing for expected failures. A failed attempt, such as one for a seat
+     * already taken, returns a shared {@link PurchaseResult} constant and allocates nothing, so retries during a rush
+     * do not churn the heap.
+     *
+     * @param user The user buying the ticket.
+     * @param name The name of the event.
+     * @param seat The chosen seat for the ticket.
+     * @return The result of the attempt, holding the ticket if it succeeded.
+     */
+    public PurchaseResult tryPurchaseTicket(User user, String name, String seat) {
+        if (!purchaseLimiter.tryAcquireRequest(user.getId())) {
+            return PurchaseResult.TOO_MANY_REQUESTS;
+        }
+        return trySellSeat(user, findEvent(name), seat);
+    }
+
+    /**
+     * Processes a ticket purchase for whichever seat of the event is available, for users who do not choose their
+     * seat. On a hot event whose seats are split into sections, concurrent requests take seats from different
+     * sections.
+     *
+     * @param user The user buying the ticket.
+     * @param name The name of the event.
+     * @return The newly purchased {@link Ticket} object.
+     * @throws IllegalArgumentException If no seat is available, if the event is not on sale, if the event is not
+     * found or if the user is over a purchase limit.
+     */
+    public Ticket purchaseAnyTicket(User user, String name) {
+        return tryPurchaseAnyTicket(user, name).orThrow();
+    }
+
+    /**
+     * Attempts a ticket purchase for any available seat without throwing for expected failures.
+     *
+     * @param user The user buying the ticket.
+     * @param name The name of the event.
+     * @return The result of the attempt, holding the ticket if it succeeded; {@link PurchaseResult#SEAT_UNAVAILABLE}
+     * if the event is sold out.
+     */
+    public PurchaseResult tryPurchaseAnyTicket(User user, String name) {
+        if (!purchaseLimiter.tryAcquireRequest(user.getId())) {
+            return PurchaseResult.TOO_MANY_REQUESTS;
+        }
+        Event event = findEvent(name);
+        if (event == null) {
+            return PurchaseResult.EVENT_NOT_FOUND;
+        }
+        if (event.getState() != EventState.ON_SALE) {
+            return PurchaseResult.NOT_ON_SALE;
+        }
+        if (!purchaseLimiter.tryReserve(user.getId(), event.getId())) {
+            return PurchaseResult.TICKET_LIMIT_REACHED;
+        }
+        String seat = event.takeAnySeat();
+        if (seat == null) {
+            purchaseLimiter.release(user.getId(), event.getId());
+            return PurchaseResult.SEAT_UNAVAILABLE;
+        }
+        return issueTicket(user, event, seat);
+    }
+
+    /**
+     * Processes a ticket purchase identified by a client-chosen idempotency key. Retrying with the same key returns
+     * the ticket of the first attempt, or throws its exception, without buying another seat. Transient failures, such
+     * as too many requests or sales not open yet, are not remembered, so a retry with the same key tries again.
+     *
+     * @param user The user buying the ticket.
+     * @param name The name of the event.
+     * @param seat The chosen seat for the ticket.
+     * @param idempotencyKey The key identifying the purchase request, unique per user.
+     * @return The purchased {@link Ticket} object.
+     * @throws IllegalArgumentException If the seat is unavailable, if the event is not on sale, if the event is not
+     * found or if the user is over a purchase limit.
+     */
+    public Ticket purchaseTicket(User user, String name, String seat, String idempotencyKey) {
+        return purchaseOutcomes.execute(user.getLogin() + '\u0000' + idempotencyKey,
+                () -> tryPurchaseTicket(user, name, seat), result -> !result.getStatus().isTransient()).orThrow();
+    }
+
+    /**
+     * Executes a batch of operations submitted at once. Commands are grouped by their target event or user, and each
+     * group is run with a single event lookup. Commands addressing an event by id and by name land in the same group
+     * when they resolve to the same event, and same-named events addressed by id stay apart. Commands on the same
+     * target keep their submission order, and groups, whether of events or users, run in the order their first
+     * command appears. A failed command does not stop the others.
+     * <p>
+     * Locks are shared where the seat inventory allows it: consecutive seats added to the same event are stored with
+     * a single {@link Event#addSeats(Collection)} call, which takes each section's lock once. Purchases and user
+     * updates take the same short locks as single calls, one command at a time, so a large batch never holds a lock
+     * that concurrent single calls are waiting for.
+     *
+     * @param commands The commands to be executed.
+     * @return The result of each command, in submission order.
+     */
+    public List<BatchResult> executeBatch(List<BatchCommand> commands) {
+        BatchResult[] results = new BatchResult[commands.size()];
+        Map<Long, Event> byId = new HashMap<>();
+        for (BatchCommand command : commands) {
+            if (command.getEventId() != null) {
+                byId.put(command.getEventId(), null);
+            }
+        }
+        if (!byId.isEmpty()) {
+            for (Event event : events) {
+                if (byId.containsKey(event.getId())) {
+                    byId.put(event.getId(), event);
+                }
+            }
+        }
+        // Events that exist are grouped by identity; commands whose event does not exist yet, by name or id.
+        Map<Event, List<Integer>> eventGroups = new IdentityHashMap<>();
+        Map<Object, List<Integer>> unresolvedGroups = new HashMap<>();
+        Map<User, List<Integer>> userGroups = new IdentityHashMap<>();
+        List<List<Integer>> groups = new ArrayList<>();
+        Map<List<Integer>, Event> targets = new IdentityHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            BatchCommand command = commands.get(i);
+            List<Integer> group;
+            if (!command.targetsEvent()) {
+                group = userGroups.computeIfAbsent(command.getUser(), user -> new ArrayList<>());
+            } else {
+                Object key = command.getEventId() != null ? command.getEventId() : command.getEventName();
+                Event event = command.getEventId() != null ? byId.get(command.getEventId())
+                        : findEvent(command.getEventName());
+                group = event != null
+                        ? eventGroups.computeIfAbsent(event, target -> new ArrayList<>())
+                        : unresolvedGroups.computeIfAbsent(key, target -> new ArrayList<>());
+                targets.putIfAbsent(group, event);
+            }
+            if (group.isEmpty()) {
+                groups.add(group);
+            }
+            group.add(i);
+        }
+        for (List<Integer> group : groups) {
+            BatchCommand first = commands.get(group.get(0));
+            if (first.targetsEvent()) {
+                executeEventGroup(targets.get(group), group, commands, results);
             } else {
-                Ticket ticket = new Ticket(event, 100.0F, seat);
-                event.removeSeat(seat);
-                user.getTickets().add(ticket);
-                return ticket;
+                executeUserGroup(group, commands, results);
             }
         }
-        throw new IllegalArgumentException("Event not found.");
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Adds a user to the waitlist of an event. When a cancellation releases a seat, it is held for the first user in
+     * line instead of going back to the public pool.
+     *
+     * @param user The user joining the waitlist.
+     * @param name The name of the event.
+     * @return {@code true} if the user joined, {@code false} if the user is already waiting or holds a seat.
+     * @throws IllegalArgumentException If the event is not found.
+     */
+    public boolean joinWaitlist(User user, String name) {
+        Event event = findEvent(name);
+        if (event == null) {
+            throw new IllegalArgumentException("Event not found.");
+        }
+        return waitlists.join(event, user);
+    }
+
+    /**
+     * Removes a user from the waitlist of an event.
+     *
+     * @param user The user leaving the waitlist.
+     * @param name The name of the event.
+     * @return {@code true} if the user was waiting, {@code false} otherwise.
+     */
+    public boolean leaveWaitlist(User user, String name) {
+        Event event = findEvent(name);
+        return event != null && waitlists.leave(event, user);
+    }
+
+    /**
+     * Purchases the seat held for a user who was on the waitlist of an event.
+     *
+     * @param user The user claiming the seat.
+     * @param name The name of the event.
+     * @return The newly purchased {@link Ticket} object.
+     * @throws IllegalArgumentException If no seat is held for the user, if the event is not on sale, if the event is
+     * not found or if the user reached the ticket limit of the event.
+     */
+    public Ticket claimHeldSeat(User user, String name) {
+        Event event = findEvent(name);
+        if (event == null) {
+            throw new IllegalArgumentException("Event not found.");
+        }
+        if (!purchaseLimiter.tryReserve(user.getId(), event.getId())) {
+            throw new IllegalArgumentException("Ticket limit reached for this event.");
+        }
+        SeatHold hold = waitlists.claim(event, user);
+        if (hold == null) {
+            purchaseLimiter.release(user.getId(), event.getId());
+            throw new IllegalArgumentException("No seat held.");
+        }
+        if (event.getState() != EventState.ON_SALE) {
+            purchaseLimiter.release(user.getId(), event.getId());
+            event.addSeat(hold.getSeat());
+            throw new IllegalArgumentException("Event is not on sale.");
+        }
+        return issueTicket(user, event, hold.getSeat()).orThrow();
     }
 
     /**
      * Cancels a user's ticket purchase, reactivating the seat in the corresponding event.
+     * If users are waiting for the event, the seat is handed to its waitlist instead.
      *
      * @param user The user canceling the purchase.
      * @param ticket The ticket to be canceled.
      * @return {@code true} if the cancellation was successful, {@code false} otherwise.
      */
     public boolean cancelPurchase(User user, Ticket ticket) {
-        if (user.getTickets().contains(ticket)) {
-            user.getTickets().remove(ticket);
-            ticket.cancel();
-            ticket.getEvent().addSeat(ticket.getSeat());
+        if (user.cancelTicket(ticket)) {
+            ticketIndex.remove(ticket);
+            gateValidator.revoke(ticket);
+            purchaseLimiter.release(user.getId(), ticket.getEvent().getId());
+            if (!waitlists.release(ticket.getEvent(), ticket.getSeat())) {
+                ticket.getEvent().addSeat(ticket.getSeat());
+            }
+            salesLedger.recordCancellation(ticket.getEvent().getName(), user.getLogin(), ticket.getPrice(),
+                    clock.millis());
+            fireTicketChange(ticket, user);
             return true;
         }
         return false;
     }
 
+    /**
+     * Cancels a ticket purchase identified by a client-chosen idempotency key. Retrying with the same key returns
+     * the result of the first attempt without cancelling again.
+     *
+     * @param user The user canceling the purchase.
+     * @param ticket The ticket to be canceled.
+     * @param idempotencyKey The key identifying the cancellation request, unique per user.
+     * @return {@code true} if the cancellation was successful, {@code false} otherwise.
+     */
+    public boolean cancelPurchase(User user, Ticket ticket, String idempotencyKey) {
+        return cancellationOutcomes.execute(user.getLogin() + '\u0000' + idempotencyKey,
+                () -> cancelPurchase(user, ticket));
+    }
+
+    /**
+     * Transfers a ticket from one user to another. The seat never returns to the public pool.
+     *
+     * @param from The user holding the ticket.
+     * @param to The user receiving the ticket.
+     * @param ticket The ticket to be transferred.
+     * @return The transferred ticket.
+     * @throws IllegalArgumentException If the sender does not hold the active ticket, if both users are the same, if
+     * the event is over, if the ticket was already used at a gate or if the receiver reached the ticket limit of the
+     * event.
+     */
+    public Ticket transferTicket(User from, User to, Ticket ticket) {
+        return resellTicket(from, to, ticket, ticket.getPrice());
+    }
+
+    /**
+     * Resells a ticket from one user to another at a new price. The seat never returns to the public pool. If the
+     * price changes, the buyer receives a new ticket for the same seat and the seller's ticket is deactivated.
+     * Resales happen between users, so they are not recorded in the sales ledger.
+     *
+     * @param seller The user holding the ticket.
+     * @param buyer The user buying the ticket.
+     * @param ticket The ticket to be resold.
+     * @param price The resale price.
+     * @return The ticket now held by the buyer.
+     * @throws IllegalArgumentException If the seller does not hold the active ticket, if both users are the same, if
+     * the event is over, if the ticket was already used at a gate or if the buyer reached the ticket limit of the
+     * event.
+     */
+    public Ticket resellTicket(User seller, User buyer, Ticket ticket, float price) {
+        Event event = ticket.getEvent();
+        if (!event.isActive()) {
+            throw new IllegalArgumentException("Event is over.");
+        }
+        if (gateValidator.isUsed(ticket)) {
+            throw new IllegalArgumentException("Ticket was already used.");
+        }
+        if (!purchaseLimiter.tryReserve(buyer.getId(), event.getId())) {
+            throw new IllegalArgumentException("Ticket limit reached for this event.");
+        }
+        Ticket resold = ticket;
+        boolean moved = false;
+        try {
+            if (Float.compare(price, ticket.getPrice()) != 0) {
+                // Indexed before the state is read again, as in issueTicket.
+                resold = new Ticket(event, price, ticket.getSeat());
+                ticketIndex.add(resold);
+                if (event.getState() == EventState.CANCELLED) {
+                    throw new IllegalArgumentException("Event is over.");
+                }
+            }
+            if (!User.transferTicket(seller, buyer, ticket, resold)) {
+                throw new IllegalArgumentException("Ticket not held by the user.");
+            }
+            moved = true;
+        } finally {
+            if (moved) {
+                purchaseLimiter.release(seller.getId(), event.getId());
+                if (resold != ticket) {
+                    ticketIndex.remove(ticket);
+                }
+                // The seller's code must stop working, so the buyer always gets a new one, used if the seller's was.
+                gateValidator.reissue(ticket, resold);
+                if (!resold.isActive()) {
+                    gateValidator.revoke(resold);
+                }
+                if (resold != ticket) {
+                    fireTicketChange(ticket, seller);
+                    fireTicketChange(resold, null);
+                } else {
+                    fireTicketChange(ticket, seller);
+                }
+            } else {
+                purchaseLimiter.release(buyer.getId(), event.getId());
+                if (resold != ticket) {
+                    ticketIndex.remove(resold);
+                }
+            }
+        }
+        return resold;
+    }
+
+    /**
+     * Cancels an event and every ticket held for it, if the user is an administrator. Refunds are left to be
+     * handled outside the system.
+     *
+     * @param user The user attempting to cancel the event.
+     * @param name The name of the event.
+     * @return The report of the cancellation.
+     * @throws SecurityException If the user is not an administrator.
+     * @throws IllegalArgumentException If the event is not found or was already cancelled.
+     */
+    public RefundReport cancelEvent(User user, String name) {
+        return cancelEvent(user, name, RefundProcessor.NONE);
+    }
+
+    /**
+     * Cancels an event and every ticket held for it, if the user is an administrator. The holders are found through
+     * the reverse index of tickets, and the tickets are cancelled and refunded in parallel batches. Each cancelled
+     * ticket is released from its holder's ticket limit.
+     *
+     * @param user The user attempting to cancel the event.
+     * @param name The name of the event.
+     * @param refundProcessor The processor paying back the holders.
+     * @return The report of the cancellation.
+     * @throws SecurityException If the user is not an administrator.
+     * @throws IllegalArgumentException If the event is not found or was already cancelled.
+     */
+    public RefundReport cancelEvent(User user, String name, RefundProcessor refundProcessor) {
+        if (!user.isAdmin()) {
+            throw new SecurityException("Only administrators can cancel events.");
+        }
+        Event event = findEvent(name);
+        if (event == null) {
+            throw new IllegalArgumentException("Event not found.");
+        }
+        RefundProcessor notifying = (holder, ticket) -> {
+            purchaseLimiter.release(holder.getId(), event.getId());
+            fireTicketChange(ticket, holder);
+            refundProcessor.refund(holder, ticket);
+        };
+        RefundReport report = eventCanceller.cancel(event, ticketIndex, notifying);
+        gateValidator.removeEvent(event);
+        return report;
+    }
+
+    /**
+     * Lists the tickets of an event that are currently held by users.
+     *
+     * @param name The name of the event.
+     * @return A list of tickets.
+     * @throws IllegalArgumentException If the event is not found.
+     */
+    public List<Ticket> listEventTickets(String name) {
+        Event event = findEvent(name);
+        if (event == null) {
+            throw new IllegalArgumentException("Event not found.");
+        }
+        List<Ticket> held = new ArrayList<>();
+        for (Ticket ticket : ticketIndex.ticketsOf(event)) {
+            if (ticket.getHolder() != null) {
+                held.add(ticket);
+            }
+        }
+        return held;
+    }
+
+    /**
+     * Gets the code to be shown at the venue gate for a ticket. The code changes whenever the ticket is transferred or
+     * resold, and stops working when the ticket is cancelled.
+     *
+     * @param user The user holding the ticket.
+     * @param ticket The ticket.
+     * @return The gate code.
+     * @throws IllegalArgumentException If the user does not hold the ticket or the ticket has no valid pass.
+     */
+    public String getTicketCode(User user, Ticket ticket) {
+        if (!user.holdsTicket(ticket)) {
+            throw new IllegalArgumentException("Ticket not held by the user.");
+        }
+        String code = gateValidator.codeOf(ticket);
+        if (code == null) {
+            throw new IllegalArgumentException("Ticket has no valid gate code.");
+        }
+        return code;
+    }
+
+    /**
+     * Validates a code scanned at a venue gate and marks it as used, so the same ticket cannot enter twice.
+     *
+     * @param code The scanned code.
+     * @return The outcome of the scan.
+     */
+    public ScanResult scanTicketCode(String code) {
+        return gateValidator.validate(code);
+    }
+
+    /**
+     * Reconciles the seat inventory of every registered event against the active tickets issued for it, if the user
+     * is an administrator. Events are audited in parallel while sales go on.
+     *
+     * @param user The user requesting the audit.
+     * @return The report of oversold, orphaned, missing and leaked seats.
+     * @throws SecurityException If the user is not an administrator.
+     */
+    public AuditReport auditInventory(User user) {
+        if (!user.isAdmin()) {
+            throw new SecurityException("Only administrators can audit events.");
+        }
+        return inventoryAuditor.audit(events, ticketIndex, waitlists::isReserved);
+    }
+
+    /**
+     * Moves the events that are over, either past or cancelled, into an archive, if the user is an administrator.
+     * The archived events and their seats are dropped from the controller and stay readable through the archive; an
+     * inventory that holds resources, such as a mapped file, is closed. The tickets held for them stay among their
+     * holders' tickets as history, pointing at events whose seats were dropped, and no longer count towards the
+     * holders' ticket limits.
+     *
+     * @param user The user attempting to archive the events.
+     * @param archive The archive receiving the events.
+     * @return The number of events archived.
+     * @throws SecurityException If the user is not an administrator.
+     * @throws IOException If the archive cannot be written, in which case no event is dropped, or if an inventory
+     * cannot be closed, in which case the events are archived and dropped anyway.
+     */
+    public int archivePastEvents(User user, EventArchive archive) throws IOException {
+        if (!user.isAdmin()) {
+            throw new SecurityException("Only administrators can archive events.");
+        }
+        List<Event> over = new ArrayList<>();
+        for (Event event : events) {
+            if (event.getState() == EventState.PAST || event.getState() == EventState.CANCELLED) {
+                over.add(event);
+            }
+        }
+        int archived = archive.archive(over, ticketIndex::ticketsOf);
+        Set<Event> dropped = Collections.newSetFromMap(new IdentityHashMap<>());
+        dropped.addAll(over);
+        synchronized (this) {
+            events.removeIf(dropped::contains);
+            for (Event event : over) {
+                if (eventsByName.remove(event.getName(), event)) {
+                    for (Event remaining : events) {
+                        if (remaining.getName().equals(event.getName())) {
+                            eventsByName.putIfAbsent(remaining.getName(), remaining);
+                            break;
+                        }
+                    }
+                }
+            }
+            if (seatChangeFeed != null) {
+                for (Event event : over) {
+                    seatChangeFeed.detach(event);
+                }
+            }
+        }
+        for (Event event : over) {
+            for (Ticket ticket : ticketIndex.ticketsOf(event)) {
+                User holder = ticket.getHolder();
+                if (holder != null) {
+                    purchaseLimiter.release(holder.getId(), event.getId());
+                }
+            }
+            ticketIndex.removeEvent(event);
+            gateValidator.removeEvent(event);
+            waitlists.remove(event);
+            event.removeSeatChangeListener(seatDetailsInvalidator);
+            event.removeStateListener(stateDetailsInvalidator);
+            inventoryAuditor.forget(event);
+            eventDetails.invalidate(event.getName());
+            for (ControllerListener listener : listeners) {
+                listener.onEventRemoved(event);
+            }
+        }
+        IOException closeFailure = null;
+        for (Event event : over) {
+            if (event.dropSeats() instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    if (closeFailure == null) {
+                        closeFailure = e;
+                    } else {
+                        closeFailure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (closeFailure != null) {
+            throw closeFailure;
+        }
+        return archived;
+    }
+
+    /**
+     * Registers a listener notified of registered and dropped events and of ticket changes.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(ControllerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The listener.
+     */
+    public void removeListener(ControllerListener listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * Lists all available events, meaning events that have not yet occurred.
      *
@@ -190,6 +1141,323 @@ public class Controller {
         return availableEvents;
     }
 
+    /**
+     * Counts the available seats of several events at once, such as the events of a listing page. Counts are read
+     * from each event's availability counters, without reading any seat.
+     *
+     * @param names The names of the events.
+     * @return The number of available seats of each event found, by name in the given order.
+     */
+    public Map<String, Integer> countAvailableSeats(Collection<String> names) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String name : names) {
+            Event event = findEvent(name);
+            if (event != null) {
+                counts.put(name, event.getAvailableSeatCount());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Subscribes to the seat changes of all registered events, including the ones registered later.
+     * Seat additions, removals, purchases and cancellations are delivered in batches per event, and a batch
+     * reports when its event is sold out.
+     *
+     * @param subscriber The subscriber to receive the seat change batches.
+     */
+    public void subscribeToSeatChanges(Flow.Subscriber<? super SeatChangeBatch> subscriber) {
+        getSeatChangeFeed().subscribe(subscriber);
+    }
+
+    /**
+     * Gets the feed publishing the seat changes of the registered events, creating it if needed.
+     *
+     * @return The seat change feed.
+     */
+    public synchronized SeatChangeFeed getSeatChangeFeed() {
+        if (seatChangeFeed == null) {
+            seatChangeFeed = new SeatChangeFeed();
+            for (Event event : events) {
+                seatChangeFeed.attach(event);
+            }
+        }
+        return seatChangeFeed;
+    }
+
+    /**
+     * Gets the scheduler moving the registered events through their lifecycle, for instance to set a sales window.
+     *
+     * @return The lifecycle scheduler.
+     */
+    public LifecycleScheduler getLifecycleScheduler() {
+        return lifecycleScheduler;
+    }
+
+    /**
+     * Gets the waitlists of the registered events, for instance to be notified when a seat is held.
+     *
+     * @return The waitlist manager.
+     */
+    public WaitlistManager getWaitlistManager() {
+        return waitlists;
+    }
+
+    /**
+     * Gets the clock giving the current time to the controller and the events it registers.
+     *
+     * @return The clock.
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the log of every ticket sale and cancellation.
+     *
+     * @return The sales ledger.
+     */
+    public SalesLedger getSalesLedger() {
+        return salesLedger;
+    }
+
+    /**
+     * Gets the validator of gate codes, to take snapshots for gates that may go offline.
+     *
+     * @return The gate validator.
+     */
+    public GateValidator getGateValidator() {
+        return gateValidator;
+    }
+
+    /**
+     * Lists all registered events, including the ones that have already occurred.
+     *
+     * @return An unmodifiable list of events.
+     */
+    public List<Event> listEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    /**
+     * Lists all registered users.
+     *
+     * @return An unmodifiable collection of users.
+     */
+    public Collection<User> listUsers() {
+        return Collections.unmodifiableCollection(users.values());
+    }
+
+    /**
+     * Gets the details of an event for its detail page. Details are served from a bounded cache that keeps the most
+     * frequently viewed events, and are reloaded after any seat or state change of the event.
+     *
+     * @param name The name of the event.
+     * @return The details, or {@code null} if no event has that name.
+     */
+    public EventDetails getEventDetails(String name) {
+        return eventDetails.get(name, key -> {
+            Event event = findEvent(key);
+            return event == null ? null : EventDetails.of(event);
+        });
+    }
+
+    /**
+     * Gets the hit, miss and eviction counters of the event details cache.
+     *
+     * @return The counters.
+     */
+    public CacheStats getEventDetailsStats() {
+        return eventDetails.stats();
+    }
+
+    /**
+     * Gets the gauges describing the controller. Components measuring it, such as a memory accountant, register their
+     * own gauges here so that every metric can be read together.
+     *
+     * @return The registry of gauges.
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Finds the first registered event with the given name.
+     *
+     * @param name The name of the event.
+     * @return The event, or {@code null} if no event has that name.
+     */
+    public Event findEvent(String name) {
+        return name == null ? null : eventsByName.get(name);
+    }
+
+    /**
+     * Runs the commands of a batch that target one event, in order.
+     *
+     * @param event The event, or {@code null} if it is not registered yet.
+     * @param group The positions of the commands in the batch.
+     * @param commands The commands of the batch.
+     * @param results The results of the batch, filled in for the group.
+     */
+    private void executeEventGroup(Event event, List<Integer> group, List<BatchCommand> commands,
+                                   BatchResult[] results) {
+        List<Integer> pendingSeats = new ArrayList<>();
+        for (int i : group) {
+            BatchCommand command = commands.get(i);
+            if (command.getType() == BatchCommand.Type.ADD_EVENT_SEAT) {
+                pendingSeats.add(i);
+                continue;
+            }
+            addPendingSeats(event, pendingSeats, commands, results);
+            try {
+                if (command.getType() == BatchCommand.Type.REGISTER_EVENT) {
+                    Event registered = registerEvent(command.getUser(), command.getEventName(),
+                            command.getDescription(), command.getDate());
+                    if (event == null) {
+                        event = registered;
+                    }
+                    results[i] = BatchResult.success(i, command, registered);
+                } else {
+                    PurchaseResult purchase = purchaseLimiter.tryAcquireRequest(command.getUser().getId())
+                            ? trySellSeat(command.getUser(), event, command.getSeat())
+                            : PurchaseResult.TOO_MANY_REQUESTS;
+                    results[i] = BatchResult.success(i, command, purchase.orThrow());
+                }
+            } catch (RuntimeException e) {
+                results[i] = BatchResult.failure(i, command, e);
+            }
+        }
+        addPendingSeats(event, pendingSeats, commands, results);
+    }
+
+    /**
+     * Executes the commands of a batch that update the same user, in submission order.
+     *
+     * @param group The positions of the commands in the batch.
+     * @param commands The commands of the batch.
+     * @param results The results of the batch, filled in for the group.
+     */
+    private void executeUserGroup(List<Integer> group, List<BatchCommand> commands, BatchResult[] results) {
+        for (int i : group) {
+            BatchCommand command = commands.get(i);
+            try {
+                results[i] = BatchResult.success(i, command,
+                        updateUser(command.getUser(), command.getInfoToUpdate(), command.getNewInfo()));
+            } catch (RuntimeException e) {
+                results[i] = BatchResult.failure(i, command, e);
+            }
+        }
+    }
+
+    /**
+     * Adds the seats of consecutive batch commands to an event at once.
+     *
+     * @param event The event, or {@code null} if it is not registered.
+     * @param pending The positions of the seat commands in the batch; cleared once they are done.
+     * @param commands The commands of the batch.
+     * @param results The results of the batch, filled in for the pending commands.
+     */
+    private void addPendingSeats(Event event, List<Integer> pending, List<BatchCommand> commands,
+                                 BatchResult[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (event == null) {
+            for (int i : pending) {
+                results[i] = BatchResult.failure(i, commands.get(i), new IllegalArgumentException("Event not found."));
+            }
+        } else {
+            List<String> seats = new ArrayList<>(pending.size());
+            for (int i : pending) {
+                seats.add(commands.get(i).getSeat());
+            }
+            event.addSeats(seats);
+            for (int i : pending) {
+                results[i] = BatchResult.success(i, commands.get(i), null);
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Sells a seat of an event to a user once the purchase request was admitted. Expected failures are returned as
+     * shared results rather than thrown.
+     *
+     * @param user The user buying the ticket.
+     * @param event The event, or {@code null} if it was not found.
+     * @param seat The chosen seat.
+     * @return The result of the sale.
+     */
+    private PurchaseResult trySellSeat(User user, Event event, String seat) {
+        if (event == null) {
+            return PurchaseResult.EVENT_NOT_FOUND;
+        }
+        if (event.getState() != EventState.ON_SALE) {
+            return PurchaseResult.NOT_ON_SALE;
+        }
+        if (!purchaseLimiter.tryReserve(user.getId(), event.getId())) {
+            return PurchaseResult.TICKET_LIMIT_REACHED;
+        }
+        if (!event.removeSeat(seat)) {
+            purchaseLimiter.release(user.getId(), event.getId());
+            return PurchaseResult.SEAT_UNAVAILABLE;
+        }
+        return issueTicket(user, event, seat);
+    }
+
+    /**
+     * Issues a ticket for a seat already taken from the event's inventory and records the sale. The ticket holds the
+     * event's own instance of the seat name rather than the caller's.
+     *
+     * @param user The user buying the ticket.
+     * @param event The event.
+     * @param seat The seat of the ticket.
+     * @return The result of the sale; if the event was cancelled meanwhile, the seat is returned to the event, the
+     * user's ticket reservation is released and {@link PurchaseResult#NOT_ON_SALE} is returned.
+     */
+    private PurchaseResult issueTicket(User user, Event event, String seat) {
+        Ticket ticket = new Ticket(event, 100.0F, event.seatOf(seat));
+        // Indexed before the state is read again, so a concurrent event cancellation either is seen here or waits
+        // for the ticket to reach its holder.
+        ticketIndex.add(ticket);
+        if (event.getState() == EventState.CANCELLED) {
+            ticketIndex.remove(ticket);
+            purchaseLimiter.release(user.getId(), event.getId());
+            event.addSeat(seat);
+            return PurchaseResult.NOT_ON_SALE;
+        }
+        user.addTicket(ticket);
+        issueGatePass(ticket);
+        salesLedger.recordSale(event.getName(), user.getLogin(), ticket.getPrice(), clock.millis());
+        fireTicketChange(ticket, null);
+        return PurchaseResult.purchased(ticket);
+    }
+
+    /**
+     * Notifies the listeners that a ticket changed.
+     *
+     * @param ticket The ticket.
+     * @param previousHolder The user who held the ticket before the change, or {@code null} if it was just issued.
+     */
+    private void fireTicketChange(Ticket ticket, User previousHolder) {
+        for (ControllerListener listener : listeners) {
+            listener.onTicketChange(ticket, previousHolder);
+        }
+    }
+
+    /**
+     * Issues the gate pass of a ticket. If the ticket was cancelled meanwhile, for instance by an event cancellation
+     * that already dropped the passes of its event, the new pass is revoked at once.
+     *
+     * @param ticket The ticket.
+     */
+    private void issueGatePass(Ticket ticket) {
+        gateValidator.issue(ticket);
+        if (!ticket.isActive()) {
+            gateValidator.revoke(ticket);
+        }
+    }
+
     /**
      * Lists all tickets purchased by a user.
      *
@@ -0,0 +1,43 @@
+package ticketSales.controllers;
+
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+/**
+ * The ControllerListener interface is notified of the changes of a {@link Controller} that are not visible through
+ * the listeners of its events: events and users entering or leaving the controller, and tickets changing hands. Seat and state
+ * changes of an event are observed through {@link Event#addSeatChangeListener} and {@link Event#addStateListener}.
+ * Callbacks run on the thread making the change and must not block.
+ */
+public interface ControllerListener {
+
+    /**
+     * Called when an event is registered, before it can be found through the controller.
+     *
+     * @param event The registered event.
+     */
+    void onEventRegistered(Event event);
+
+    /**
+     * Called after an event was archived and dropped from the controller, with its tickets.
+     *
+     * @param event The dropped event.
+     */
+    void onEventRemoved(Event event);
+
+    /**
+     * Called after a user was registered.
+     *
+     * @param user The registered user.
+     */
+    void onUserRegistered(User user);
+
+    /**
+     * Called after a ticket was issued, cancelled, moved to another holder or dropped with its event.
+     *
+     * @param ticket The ticket that changed.
+     * @param previousHolder The user who held the ticket before the change, or {@code null} if it was just issued.
+     */
+    void onTicketChange(Ticket ticket, User previousHolder);
+}
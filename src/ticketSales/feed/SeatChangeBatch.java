@@ -0,0 +1,144 @@
+package ticketSales.feed;
+
+import ticketSales.inventory.SeatChange;
+
+import java.util.List;
+
+/**
+ * The SeatChangeBatch class groups the seat changes of one event that happened within a feed interval.
+ * Only the latest change of each seat is kept, and the version range lets subscribers detect
+ * dropped batches and fall back to the event's seat map.
+ */
+public class SeatChangeBatch {
+
+    // Attributes
+    /**
+     * The name of the event the changes belong to.
+     */
+    private final String eventName;
+
+    /**
+     * The latest change of each seat, in version order.
+     */
+    private final List<SeatChange> changes;
+
+    /**
+     * The seat map version the batch applies on top of.
+     */
+    private final long baseVersion;
+
+    /**
+     * The highest seat map version included in the batch.
+     */
+    private final long toVersion;
+
+    /**
+     * The number of available seats when the batch was published.
+     */
+    private final int availableSeats;
+
+    /**
+     * Whether some changes were no longer retained by the seat map and are missing from the batch.
+     */
+    private final boolean resyncRequired;
+
+    // Constructor
+    /**
+     * Constructs a new SeatChangeBatch.
+     *
+     * @param eventName The name of the event.
+     * @param changes The latest change of each seat, in version order.
+     * @param baseVersion The seat map version the batch applies on top of.
+     * @param toVersion The highest seat map version included.
+     * @param availableSeats The number of available seats when the batch was published.
+     * @param resyncRequired Whether some changes are missing and a full seat map snapshot is required.
+     */
+    public SeatChangeBatch(String eventName, List<SeatChange> changes, long baseVersion, long toVersion,
+                           int availableSeats, boolean resyncRequired) {
+        this.eventName = eventName;
+        this.changes = changes;
+        this.baseVersion = baseVersion;
+        this.toVersion = toVersion;
+        this.availableSeats = availableSeats;
+        this.resyncRequired = resyncRequired;
+    }
+
+    // Getters
+    /**
+     * Gets the name of the event the changes belong to.
+     *
+     * @return The event name.
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Gets the latest change of each seat, in version order.
+     *
+     * @return An unmodifiable list of changes.
+     */
+    public List<SeatChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Gets the seat map version the batch applies on top of. It equals the highest version of the previous batch
+     * published for the same event; a mismatch means a batch was dropped and the subscriber should resync.
+     *
+     * @return The base version.
+     */
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    /**
+     * Gets the highest seat map version included in the batch.
+     *
+     * @return The highest version.
+     */
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    /**
+     * Gets the number of available seats when the batch was published.
+     *
+     * @return The number of available seats.
+     */
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    /**
+     * Checks if the event was sold out when the batch was published.
+     *
+     * @return {@code true} if no seats were available, {@code false} otherwise.
+     */
+    public boolean isSoldOut() {
+        return availableSeats == 0;
+    }
+
+    /**
+     * Checks if some changes were no longer retained by the seat map, in which case the subscriber must fetch
+     * a full seat map snapshot.
+     *
+     * @return {@code true} if a resync is required, {@code false} otherwise.
+     */
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "SeatChangeBatch{" +
+                "eventName='" + eventName + '\'' +
+                ", changes=" + changes +
+                ", baseVersion=" + baseVersion +
+                ", toVersion=" + toVersion +
+                ", availableSeats=" + availableSeats +
+                ", resyncRequired=" + resyncRequired +
+                '}';
+    }
+}
@@ -0,0 +1,214 @@
+package ticketSales.feed;
+
+import ticketSales.inventory.SeatChange;
+import ticketSales.inventory.SeatMapDelta;
+import ticketSales.models.Event;
+import ticketSales.models.SeatChangeListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The SeatChangeFeed class publishes the seat changes of the attached events to {@link Flow.Subscriber}s.
+ * Changes are coalesced per event and flushed as {@link SeatChangeBatch}es at a fixed interval, so a burst of
+ * purchases on one event produces a single batch. Each subscriber has a bounded buffer and receives only what it
+ * requests; batches that do not fit in a slow subscriber's buffer are dropped for that subscriber, which can detect
+ * the gap through {@link SeatChangeBatch#getBaseVersion()} and resync from the event's seat map.
+ * <p>
+ * Seat changes are emitted by every seat operation of an attached event, including purchases and cancellations,
+ * and a batch reports the event as sold out when no seats are left.
+ */
+public class SeatChangeFeed implements Flow.Publisher<SeatChangeBatch>, AutoCloseable {
+
+    // Constants
+    /**
+     * The default interval between flushes.
+     */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMillis(100);
+
+    // Attributes
+    /**
+     * The publisher that delivers batches to the subscribers with backpressure.
+     */
+    private final SubmissionPublisher<SeatChangeBatch> publisher;
+
+    /**
+     * The executor that delivers batches to the subscribers.
+     */
+    private final ExecutorService deliveryExecutor;
+
+    /**
+     * The scheduler that flushes pending changes, or {@code null} if flushing is manual.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * The pending changes of every attached event.
+     */
+    private final CopyOnWriteArrayList<PendingChanges> attached;
+
+    /**
+     * The attached events with changes waiting to be flushed.
+     */
+    private final ConcurrentLinkedQueue<PendingChanges> dirty;
+
+    // Constructor
+    /**
+     * Constructs a new SeatChangeFeed that flushes at the default interval.
+     */
+    public SeatChangeFeed() {
+        this(DEFAULT_INTERVAL, Flow.defaultBufferSize());
+    }
+
+    /**
+     * Constructs a new SeatChangeFeed.
+     *
+     * @param interval The interval between flushes, or {@link Duration#ZERO} to flush only through {@link #flush()}.
+     * @param bufferCapacity The maximum number of batches buffered for each subscriber.
+     */
+    public SeatChangeFeed(Duration interval, int bufferCapacity) {
+        this.deliveryExecutor = Executors.newCachedThreadPool(SeatChangeFeed::daemon);
+        this.publisher = new SubmissionPublisher<>(deliveryExecutor, bufferCapacity);
+        this.attached = new CopyOnWriteArrayList<>();
+        this.dirty = new ConcurrentLinkedQueue<>();
+        if (interval.isZero()) {
+            this.scheduler = null;
+        } else {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(SeatChangeFeed::daemon);
+            long millis = interval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Overridden Methods
+    /**
+     * Adds a subscriber to the feed.
+     *
+     * @param subscriber The subscriber to be added.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super SeatChangeBatch> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Flushes the pending changes, detaches all events and completes the subscribers.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        flush();
+        for (PendingChanges pending : attached) {
+            pending.event.removeSeatChangeListener(pending);
+        }
+        attached.clear();
+        publisher.close();
+        deliveryExecutor.shutdown();
+    }
+
+    // Class Methods
+    /**
+     * Starts publishing the seat changes of an event.
+     *
+     * @param event The event to be attached.
+     */
+    public void attach(Event event) {
+        PendingChanges pending = new PendingChanges(event);
+        attached.add(pending);
+        event.addSeatChangeListener(pending);
+    }
+
+    /**
+     * Stops publishing the seat changes of an event. Changes not yet flushed are discarded.
+     *
+     * @param event The event to be detached.
+     */
+    public void detach(Event event) {
+        for (PendingChanges pending : attached) {
+            if (pending.event == event) {
+                event.removeSeatChangeListener(pending);
+                attached.remove(pending);
+            }
+        }
+    }
+
+    /**
+     * Publishes one batch for every attached event with pending changes.
+     */
+    public void flush() {
+        PendingChanges pending;
+        while ((pending = dirty.poll()) != null) {
+            SeatChangeBatch batch = pending.drain();
+            if (batch != null) {
+                publisher.offer(batch, (subscriber, dropped) -> false);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of current subscribers.
+     *
+     * @return The number of subscribers.
+     */
+    public int getSubscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    private static Thread daemon(Runnable runnable) {
+        Thread thread = new Thread(runnable, "seat-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * The PendingChanges class tracks which changes of one event have already been published. The changes themselves
+     * are read from the event's seat map when flushing, so batches always follow version order.
+     */
+    private final class PendingChanges implements SeatChangeListener {
+
+        private final Event event;
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private long publishedVersion;
+
+        private PendingChanges(Event event) {
+            this.event = event;
+            this.publishedVersion = event.getSeatMapVersion();
+        }
+
+        @Override
+        public void onSeatChange(Event event, SeatChange change) {
+            if (queued.compareAndSet(false, true)) {
+                dirty.add(this);
+            }
+        }
+
+        private synchronized SeatChangeBatch drain() {
+            queued.set(false);
+            SeatMapDelta delta = event.getSeatChangesSince(publishedVersion);
+            if (delta.getToVersion() == publishedVersion) {
+                return null;
+            }
+            LinkedHashMap<String, SeatChange> latest = new LinkedHashMap<>();
+            for (SeatChange change : delta.getChanges()) {
+                latest.remove(change.getSeat());
+                latest.put(change.getSeat(), change);
+            }
+            long baseVersion = publishedVersion;
+            publishedVersion = delta.getToVersion();
+            return new SeatChangeBatch(event.getName(), List.copyOf(latest.values()), baseVersion, publishedVersion,
+                    event.getAvailableSeatCount(), delta.isResyncRequired());
+        }
+    }
+}
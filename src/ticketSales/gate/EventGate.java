@@ -0,0 +1,287 @@
+package ticketSales.gate;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The EventGate class keeps the gate passes of one event as two bitmaps indexed by slot: whether the pass is valid
+ * and whether it was used. Every pass issued gets a new slot, so a reissued or revoked pass can never be valid again.
+ * Bitmaps are split into fixed pages that are only ever added, so bits are set and tested without locks.
+ */
+class EventGate {
+
+    // Constants
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SLOTS = 1 << PAGE_SHIFT;
+    private static final int PAGE_WORDS = PAGE_SLOTS >>> 6;
+
+    // Attributes
+    /**
+     * The id of the event.
+     */
+    private final long eventId;
+
+    /**
+     * The next slot to be allocated.
+     */
+    private final AtomicInteger nextSlot;
+
+    /**
+     * The current slot of each ticket with a pass, by ticket id.
+     */
+    private final ConcurrentHashMap<Long, Integer> slotsByTicket;
+
+    /**
+     * The pages of valid bits. Replaced, never modified, when pages are added.
+     */
+    private volatile AtomicLongArray[] validPages;
+
+    /**
+     * The pages of used bits, always at least as many as the pages of valid bits.
+     */
+    private volatile AtomicLongArray[] usedPages;
+
+    // Constructor
+    /**
+     * Constructs a new EventGate with no passes.
+     *
+     * @param eventId The id of the event.
+     */
+    EventGate(long eventId) {
+        this.eventId = eventId;
+        this.nextSlot = new AtomicInteger();
+        this.slotsByTicket = new ConcurrentHashMap<>();
+        this.validPages = new AtomicLongArray[0];
+        this.usedPages = new AtomicLongArray[0];
+    }
+
+    /**
+     * Constructs an EventGate holding the bits of a snapshot. It can validate passes but knows no tickets.
+     *
+     * @param snapshot The snapshot.
+     */
+    EventGate(GateSnapshot snapshot) {
+        this(snapshot.getEventId());
+        int slotCount = snapshot.getSlotCount();
+        nextSlot.set(slotCount);
+        if (slotCount > 0) {
+            ensurePage((slotCount - 1) >>> PAGE_SHIFT);
+        }
+        long[] valid = snapshot.validWords();
+        long[] used = snapshot.usedWords();
+        for (int i = 0; i < GateSnapshot.wordsFor(slotCount); i++) {
+            validPages[i / PAGE_WORDS].set(i % PAGE_WORDS, valid[i]);
+            usedPages[i / PAGE_WORDS].set(i % PAGE_WORDS, used[i]);
+        }
+    }
+
+    // Getters
+    /**
+     * Gets the id of the event.
+     *
+     * @return The event id.
+     */
+    long getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Gets the current slot of a ticket.
+     *
+     * @param ticketId The id of the ticket.
+     * @return The slot, or {@code null} if the ticket has no valid pass.
+     */
+    Integer slotOf(long ticketId) {
+        return slotsByTicket.get(ticketId);
+    }
+
+    // Class Methods
+    /**
+     * Issues a pass for a ticket in a new slot, revoking the ticket's previous pass.
+     *
+     * @param ticketId The id of the ticket.
+     * @return The slot of the new pass.
+     */
+    int issue(long ticketId) {
+        int slot = allocate();
+        set(validPages, slot);
+        Integer previous = slotsByTicket.put(ticketId, slot);
+        if (previous != null) {
+            clear(validPages, previous);
+        }
+        return slot;
+    }
+
+    /**
+     * Issues a pass for a ticket in a new slot, in place of the pass of a previous ticket for the same seat, which is
+     * revoked. If the previous pass was used, or is being admitted, the new pass is issued as used.
+     *
+     * @param previousTicketId The id of the ticket whose pass is replaced, possibly the same ticket.
+     * @param ticketId The id of the ticket.
+     * @return The slot of the new pass.
+     */
+    int reissue(long previousTicketId, long ticketId) {
+        int slot = allocate();
+        Integer previous = slotsByTicket.remove(previousTicketId);
+        if (previous != null) {
+            clear(validPages, previous);
+            // Claiming the used bit of the old pass stops a scan in progress from admitting it, and tells whether it
+            // was admitted already.
+            if (!set(usedPages, previous)) {
+                set(usedPages, slot);
+            }
+        }
+        set(validPages, slot);
+        slotsByTicket.put(ticketId, slot);
+        return slot;
+    }
+
+    /**
+     * Checks whether the pass of a ticket was used.
+     *
+     * @param ticketId The id of the ticket.
+     * @return {@code true} if the ticket has a pass that was used, {@code false} otherwise.
+     */
+    boolean isUsed(long ticketId) {
+        Integer slot = slotsByTicket.get(ticketId);
+        return slot != null && get(usedPages, slot);
+    }
+
+    /**
+     * Revokes the pass of a ticket.
+     *
+     * @param ticketId The id of the ticket.
+     * @return {@code true} if the ticket had a pass, {@code false} otherwise.
+     */
+    boolean revoke(long ticketId) {
+        Integer slot = slotsByTicket.remove(ticketId);
+        if (slot == null) {
+            return false;
+        }
+        clear(validPages, slot);
+        return true;
+    }
+
+    /**
+     * Checks the pass in a slot and marks it as used in a single atomic step, so the same pass is admitted once even
+     * when scanned at several gates at the same time.
+     *
+     * @param slot The slot.
+     * @return The outcome of the scan.
+     */
+    ScanResult admit(int slot) {
+        if (!get(validPages, slot)) {
+            return ScanResult.REVOKED;
+        }
+        return set(usedPages, slot) ? ScanResult.ADMITTED : ScanResult.ALREADY_USED;
+    }
+
+    /**
+     * Copies the bits of every allocated slot. Each word is read atomically, but the copy as a whole is not.
+     *
+     * @return The snapshot.
+     */
+    GateSnapshot snapshot() {
+        int slotCount = nextSlot.get();
+        int words = GateSnapshot.wordsFor(slotCount);
+        AtomicLongArray[] valid = validPages;
+        AtomicLongArray[] used = usedPages;
+        long[] validWords = new long[words];
+        long[] usedWords = new long[words];
+        for (int i = 0; i < words && i / PAGE_WORDS < valid.length; i++) {
+            validWords[i] = valid[i / PAGE_WORDS].get(i % PAGE_WORDS);
+            usedWords[i] = used[i / PAGE_WORDS].get(i % PAGE_WORDS);
+        }
+        return new GateSnapshot(eventId, slotCount, validWords, usedWords);
+    }
+
+    /**
+     * Marks as used every slot used in a snapshot, for instance one taken from a gate that worked offline.
+     *
+     * @param snapshot The snapshot.
+     * @return The number of slots newly marked as used.
+     */
+    int mergeUsed(GateSnapshot snapshot) {
+        int slotCount = Math.min(snapshot.getSlotCount(), nextSlot.get());
+        if (slotCount <= 0) {
+            return 0;
+        }
+        ensurePage((slotCount - 1) >>> PAGE_SHIFT);
+        long[] used = snapshot.usedWords();
+        AtomicLongArray[] pages = usedPages;
+        int merged = 0;
+        int words = GateSnapshot.wordsFor(slotCount);
+        for (int i = 0; i < words; i++) {
+            long bits = used[i];
+            if (i == words - 1 && (slotCount & 63) != 0) {
+                bits &= (1L << slotCount) - 1;
+            }
+            if (bits != 0) {
+                long previous = pages[i / PAGE_WORDS].getAndAccumulate(i % PAGE_WORDS, bits, (a, b) -> a | b);
+                merged += Long.bitCount(bits & ~previous);
+            }
+        }
+        return merged;
+    }
+
+    private int allocate() {
+        int slot = nextSlot.getAndIncrement();
+        if (slot < 0) {
+            throw new IllegalStateException("No gate slots left for the event.");
+        }
+        ensurePage(slot >>> PAGE_SHIFT);
+        return slot;
+    }
+
+    private synchronized void ensurePage(int page) {
+        int length = validPages.length;
+        if (page < length) {
+            return;
+        }
+        int newLength = Math.max(page + 1, length * 2);
+        AtomicLongArray[] valid = Arrays.copyOf(validPages, newLength);
+        AtomicLongArray[] used = Arrays.copyOf(usedPages, newLength);
+        for (int i = length; i < newLength; i++) {
+            valid[i] = new AtomicLongArray(PAGE_WORDS);
+            used[i] = new AtomicLongArray(PAGE_WORDS);
+        }
+        // Used pages are published first, so any page reachable from validPages has its used page too.
+        usedPages = used;
+        validPages = valid;
+    }
+
+    private static boolean get(AtomicLongArray[] pages, int slot) {
+        int page = slot >>> PAGE_SHIFT;
+        return slot >= 0 && page < pages.length
+                && (pages[page].get((slot & (PAGE_SLOTS - 1)) >>> 6) & 1L << slot) != 0;
+    }
+
+    private static boolean set(AtomicLongArray[] pages, int slot) {
+        AtomicLongArray words = pages[slot >>> PAGE_SHIFT];
+        int index = (slot & (PAGE_SLOTS - 1)) >>> 6;
+        long bit = 1L << slot;
+        while (true) {
+            long word = words.get(index);
+            if ((word & bit) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, word, word | bit)) {
+                return true;
+            }
+        }
+    }
+
+    private static void clear(AtomicLongArray[] pages, int slot) {
+        AtomicLongArray words = pages[slot >>> PAGE_SHIFT];
+        int index = (slot & (PAGE_SLOTS - 1)) >>> 6;
+        long bit = 1L << slot;
+        while (true) {
+            long word = words.get(index);
+            if ((word & bit) == 0 || words.compareAndSet(index, word, word & ~bit)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package ticketSales.gate;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The GateSnapshot class is a copy of the valid and used bits of one event's gate passes, taken so that gates can
+ * keep validating from a local file when the main store is unreachable. Its binary form is a magic number, a version,
+ * the event id, the slot count and both bitmaps.
+ */
+public class GateSnapshot {
+
+    // Constants
+    private static final int MAGIC = 0x47415445;
+    private static final int VERSION = 1;
+
+    // Attributes
+    /**
+     * The id of the event.
+     */
+    private final long eventId;
+
+    /**
+     * The number of slots allocated when the snapshot was taken.
+     */
+    private final int slotCount;
+
+    /**
+     * The valid bits, one per slot.
+     */
+    private final long[] valid;
+
+    /**
+     * The used bits, one per slot.
+     */
+    private final long[] used;
+
+    // Constructor
+    /**
+     * Constructs a new GateSnapshot.
+     *
+     * @param eventId The id of the event.
+     * @param slotCount The number of slots allocated.
+     * @param valid The valid bits, one per slot.
+     * @param used The used bits, one per slot.
+     * @throws IllegalArgumentException If the bitmaps are too short for the slot count.
+     */
+    public GateSnapshot(long eventId, int slotCount, long[] valid, long[] used) {
+        int words = wordsFor(slotCount);
+        if (slotCount < 0 || valid.length < words || used.length < words) {
+            throw new IllegalArgumentException("Bitmaps do not match the slot count.");
+        }
+        this.eventId = eventId;
+        this.slotCount = slotCount;
+        this.valid = valid.clone();
+        this.used = used.clone();
+    }
+
+    // Getters
+    /**
+     * Gets the id of the event.
+     *
+     * @return The event id.
+     */
+    public long getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Gets the number of slots allocated when the snapshot was taken.
+     *
+     * @return The slot count.
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Checks if a slot holds a valid ticket.
+     *
+     * @param slot The slot.
+     * @return {@code true} if the slot is valid, {@code false} otherwise or if it is out of range.
+     */
+    public boolean isValid(int slot) {
+        return slot >= 0 && slot < slotCount && (valid[slot >>> 6] & 1L << slot) != 0;
+    }
+
+    /**
+     * Checks if the ticket in a slot was used.
+     *
+     * @param slot The slot.
+     * @return {@code true} if the slot was used, {@code false} otherwise or if it is out of range.
+     */
+    public boolean isUsed(int slot) {
+        return slot >= 0 && slot < slotCount && (used[slot >>> 6] & 1L << slot) != 0;
+    }
+
+    // Class Methods
+    /**
+     * Writes the snapshot in binary form.
+     *
+     * @param out The stream to write to; it is not closed.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeLong(eventId);
+        data.writeInt(slotCount);
+        int words = wordsFor(slotCount);
+        for (int i = 0; i < words; i++) {
+            data.writeLong(valid[i]);
+        }
+        for (int i = 0; i < words; i++) {
+            data.writeLong(used[i]);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(OutputStream)}.
+     *
+     * @param in The stream to read from; it is not closed.
+     * @return The snapshot.
+     * @throws IOException If the stream cannot be read or does not hold a snapshot.
+     */
+    public static GateSnapshot readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a gate snapshot.");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported gate snapshot version " + version + ".");
+        }
+        long eventId = data.readLong();
+        int slotCount = data.readInt();
+        if (slotCount < 0) {
+            throw new IOException("Corrupt gate snapshot.");
+        }
+        int words = wordsFor(slotCount);
+        long[] valid = new long[words];
+        long[] used = new long[words];
+        for (int i = 0; i < words; i++) {
+            valid[i] = data.readLong();
+        }
+        for (int i = 0; i < words; i++) {
+            used[i] = data.readLong();
+        }
+        return new GateSnapshot(eventId, slotCount, valid, used);
+    }
+
+    static int wordsFor(int slotCount) {
+        return (int) ((slotCount + 63L) >>> 6);
+    }
+
+    long[] validWords() {
+        return valid;
+    }
+
+    long[] usedWords() {
+        return used;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "GateSnapshot{" +
+                "eventId=" + eventId +
+                ", slotCount=" + slotCount +
+                '}';
+    }
+}
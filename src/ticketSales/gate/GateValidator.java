@@ -0,0 +1,308 @@
+package ticketSales.gate;
+
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The GateValidator class issues the codes printed on tickets and validates them when scanned at venue gates.
+ * A code holds the event id and the slot of the ticket's pass, signed with HMAC-SHA256 truncated to 80 bits, so
+ * gates can reject forged codes without any lookup. Each event keeps its passes in an {@link EventGate} bitmap, where
+ * a scan checks and marks the pass in one atomic step, so a ticket is admitted once even across gates.
+ * <p>
+ * Gates that may lose contact with the main store validate against an {@link #offline(Collection) offline} copy
+ * built from {@link GateSnapshot snapshots}; the passes used offline are merged back with {@link #mergeUsed}.
+ * <p>
+ * Every process issuing or validating codes must share the signing key. {@link #fromConfiguration()} reads it, Base64
+ * encoded, from the {@value #KEY_PROPERTY} system property or the {@value #KEY_ENVIRONMENT} environment variable.
+ */
+public class GateValidator {
+
+    // Constants
+    /**
+     * The smallest signing key accepted, in bytes.
+     */
+    public static final int MIN_KEY_BYTES = 16;
+
+    /**
+     * The system property giving the Base64 encoded signing key.
+     */
+    public static final String KEY_PROPERTY = "ticketSales.gateKey";
+
+    /**
+     * The environment variable giving the Base64 encoded signing key, if the system property is not set.
+     */
+    public static final String KEY_ENVIRONMENT = "TICKET_SALES_GATE_KEY";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int SIGNATURE_BYTES = 10;
+    private static final int CODE_BYTES = PAYLOAD_BYTES + SIGNATURE_BYTES;
+    private static final int CODE_LENGTH = (CODE_BYTES * 8 + 5) / 6;
+
+    // Attributes
+    /**
+     * The key signing the codes.
+     */
+    private final SecretKeySpec key;
+
+    /**
+     * The MAC of each thread, since MAC objects cannot be shared.
+     */
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * The passes of each event, by event id.
+     */
+    private final ConcurrentHashMap<Long, EventGate> gates;
+
+    // Constructor
+    /**
+     * Constructs a new GateValidator.
+     *
+     * @param key The key signing the codes, shared by every gate that validates them.
+     * @throws IllegalArgumentException If the key is shorter than {@link #MIN_KEY_BYTES}.
+     */
+    public GateValidator(byte[] key) {
+        if (key.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("Gate key must have at least " + MIN_KEY_BYTES + " bytes.");
+        }
+        this.key = new SecretKeySpec(key, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.gates = new ConcurrentHashMap<>();
+        newMac();
+    }
+
+    /**
+     * Creates a GateValidator with a new random key.
+     *
+     * @return The validator.
+     */
+    public static GateValidator withRandomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return new GateValidator(key);
+    }
+
+    /**
+     * Creates a GateValidator with the key configured by the {@value #KEY_PROPERTY} system property or the
+     * {@value #KEY_ENVIRONMENT} environment variable. Without either, a new random key is used, so codes are only
+     * valid in this process.
+     *
+     * @return The validator.
+     * @throws IllegalStateException If the configured key is not valid Base64 or is shorter than
+     * {@link #MIN_KEY_BYTES}.
+     */
+    public static GateValidator fromConfiguration() {
+        String configured = System.getProperty(KEY_PROPERTY, System.getenv(KEY_ENVIRONMENT));
+        if (configured == null) {
+            return withRandomKey();
+        }
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(configured.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid gate key: not Base64.");
+        }
+        if (key.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("Invalid gate key: must have at least " + MIN_KEY_BYTES + " bytes.");
+        }
+        return new GateValidator(key);
+    }
+
+    // Getters
+    /**
+     * Gets the key signing the codes, to configure the gates that validate them.
+     *
+     * @return A copy of the key.
+     */
+    public byte[] getKey() {
+        return key.getEncoded();
+    }
+
+    /**
+     * Gets the code of a ticket's current pass.
+     *
+     * @param ticket The ticket.
+     * @return The code, or {@code null} if the ticket has no valid pass.
+     */
+    public String codeOf(Ticket ticket) {
+        EventGate gate = gates.get(ticket.getEvent().getId());
+        Integer slot = gate == null ? null : gate.slotOf(ticket.getId());
+        return slot == null ? null : encode(ticket.getEvent().getId(), slot);
+    }
+
+    // Class Methods
+    /**
+     * Issues a pass for a ticket, revoking the ticket's previous pass if it had one.
+     *
+     * @param ticket The ticket.
+     * @return The code of the new pass.
+     */
+    public String issue(Ticket ticket) {
+        long eventId = ticket.getEvent().getId();
+        int slot = gates.computeIfAbsent(eventId, EventGate::new).issue(ticket.getId());
+        return encode(eventId, slot);
+    }
+
+    /**
+     * Issues a pass for a ticket in place of the pass of a previous ticket for the same seat, for instance when the
+     * seat is resold, revoking the previous pass. A pass that was already used stays used, so a resale cannot admit
+     * the seat twice.
+     *
+     * @param previous The ticket whose pass is replaced, possibly the same ticket.
+     * @param ticket The ticket.
+     * @return The code of the new pass.
+     */
+    public String reissue(Ticket previous, Ticket ticket) {
+        long eventId = ticket.getEvent().getId();
+        int slot = gates.computeIfAbsent(eventId, EventGate::new).reissue(previous.getId(), ticket.getId());
+        return encode(eventId, slot);
+    }
+
+    /**
+     * Checks whether the pass of a ticket was used at a gate.
+     *
+     * @param ticket The ticket.
+     * @return {@code true} if the ticket has a pass that was used, {@code false} otherwise.
+     */
+    public boolean isUsed(Ticket ticket) {
+        EventGate gate = gates.get(ticket.getEvent().getId());
+        return gate != null && gate.isUsed(ticket.getId());
+    }
+
+    /**
+     * Revokes the pass of a ticket.
+     *
+     * @param ticket The ticket.
+     * @return {@code true} if the ticket had a pass, {@code false} otherwise.
+     */
+    public boolean revoke(Ticket ticket) {
+        EventGate gate = gates.get(ticket.getEvent().getId());
+        return gate != null && gate.revoke(ticket.getId());
+    }
+
+    /**
+     * Drops every pass of an event.
+     *
+     * @param event The event.
+     */
+    public void removeEvent(Event event) {
+        gates.remove(event.getId());
+    }
+
+    /**
+     * Validates a scanned code and, if it is valid and unused, marks it as used.
+     *
+     * @param code The scanned code.
+     * @return The outcome of the scan.
+     */
+    public ScanResult validate(String code) {
+        if (code == null || code.length() != CODE_LENGTH) {
+            return ScanResult.INVALID_CODE;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(code);
+        } catch (IllegalArgumentException e) {
+            return ScanResult.INVALID_CODE;
+        }
+        if (bytes.length != CODE_BYTES || !MessageDigest.isEqual(sign(bytes),
+                Arrays.copyOfRange(bytes, PAYLOAD_BYTES, CODE_BYTES))) {
+            return ScanResult.INVALID_CODE;
+        }
+        ByteBuffer payload = ByteBuffer.wrap(bytes);
+        EventGate gate = gates.get(payload.getLong());
+        return gate == null ? ScanResult.UNKNOWN_EVENT : gate.admit(payload.getInt());
+    }
+
+    /**
+     * Takes a snapshot of the passes of an event, to be stored at gates that may go offline.
+     *
+     * @param event The event.
+     * @return The snapshot.
+     * @throws IllegalArgumentException If the event has no passes.
+     */
+    public GateSnapshot snapshot(Event event) {
+        return snapshot(event.getId());
+    }
+
+    /**
+     * Takes a snapshot of the passes of an event by its id, as offline validators know no events.
+     *
+     * @param eventId The id of the event.
+     * @return The snapshot.
+     * @throws IllegalArgumentException If the event has no passes.
+     */
+    public GateSnapshot snapshot(long eventId) {
+        EventGate gate = gates.get(eventId);
+        if (gate == null) {
+            throw new IllegalArgumentException("Event has no gate passes.");
+        }
+        return gate.snapshot();
+    }
+
+    /**
+     * Creates a validator that works from snapshots alone, sharing this validator's key. Scans made with it mark
+     * passes as used only in its own copy; take its snapshots and {@link #mergeUsed merge} them back once the main
+     * store is reachable again.
+     *
+     * @param snapshots The snapshots of the events to be validated.
+     * @return The offline validator.
+     */
+    public GateValidator offline(Collection<GateSnapshot> snapshots) {
+        GateValidator offline = new GateValidator(key.getEncoded());
+        for (GateSnapshot snapshot : snapshots) {
+            offline.gates.put(snapshot.getEventId(), new EventGate(snapshot));
+        }
+        return offline;
+    }
+
+    /**
+     * Marks as used the passes used in a snapshot, typically one taken from an offline validator.
+     *
+     * @param snapshot The snapshot.
+     * @return The number of passes newly marked as used.
+     * @throws IllegalArgumentException If the event of the snapshot has no passes.
+     */
+    public int mergeUsed(GateSnapshot snapshot) {
+        EventGate gate = gates.get(snapshot.getEventId());
+        if (gate == null) {
+            throw new IllegalArgumentException("Event has no gate passes.");
+        }
+        return gate.mergeUsed(snapshot);
+    }
+
+    private String encode(long eventId, int slot) {
+        ByteBuffer buffer = ByteBuffer.allocate(CODE_BYTES);
+        buffer.putLong(eventId).putInt(slot);
+        buffer.put(sign(buffer.array()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private byte[] sign(byte[] code) {
+        Mac mac = macs.get();
+        mac.update(code, 0, PAYLOAD_BYTES);
+        return Arrays.copyOf(mac.doFinal(), SIGNATURE_BYTES);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Ticket signing is not available.", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ticketSales.gate;
+
+/**
+ * The ScanResult enum lists the outcomes of validating a scanned ticket code at a gate.
+ */
+public enum ScanResult {
+
+    /**
+     * The ticket is valid and was marked as used; the holder may enter.
+     */
+    ADMITTED,
+
+    /**
+     * The ticket is valid but was already used to enter.
+     */
+    ALREADY_USED,
+
+    /**
+     * The code is genuine but the ticket was cancelled, transferred, or is not in the snapshot in use.
+     */
+    REVOKED,
+
+    /**
+     * The code is genuine but the gate knows nothing about its event.
+     */
+    UNKNOWN_EVENT,
+
+    /**
+     * The code is malformed or its signature does not match.
+     */
+    INVALID_CODE;
+
+    /**
+     * Checks if the holder may enter.
+     *
+     * @return {@code true} if the ticket was admitted, {@code false} otherwise.
+     */
+    public boolean isAdmitted() {
+        return this == ADMITTED;
+    }
+}
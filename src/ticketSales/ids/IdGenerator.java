@@ -0,0 +1,254 @@
+package ticketSales.ids;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The IdGenerator class issues unique 64-bit identifiers without coordination between nodes. An identifier holds,
+ * from the most significant bit down, 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node id and 12 bits of
+ * sequence within the millisecond, so identifiers sort roughly by creation time and nodes with distinct ids never
+ * collide.
+ * <p>
+ * Generation is lock-free: the last issued timestamp and sequence are kept in one {@link AtomicLong} and advanced by
+ * compare-and-set. When the sequence of a millisecond is used up, or the clock moves backwards, the generator keeps
+ * counting from the last issued timestamp instead of waiting, so identifiers stay unique and increasing.
+ * <p>
+ * The default generator takes its node id from the {@value #NODE_ID_PROPERTY} system property or the
+ * {@value #NODE_ID_ENVIRONMENT} environment variable, read once at first use; an invalid value fails at once. Without
+ * either, a single process draws a random node id, and components that share ids with other processes refuse to start
+ * through {@link #requireConfiguredDefault()}.
+ */
+public class IdGenerator {
+
+    // Constants
+    /**
+     * The instant timestamps are counted from, which leaves room for about 69 years of identifiers.
+     */
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    /**
+     * The number of bits of the node id.
+     */
+    public static final int NODE_BITS = 10;
+
+    /**
+     * The number of bits of the sequence.
+     */
+    public static final int SEQUENCE_BITS = 12;
+
+    /**
+     * The largest node id.
+     */
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    /**
+     * The system property giving the node id of the default generator.
+     */
+    public static final String NODE_ID_PROPERTY = "ticketSales.nodeId";
+
+    /**
+     * The environment variable giving the node id of the default generator, if the system property is not set.
+     */
+    public static final String NODE_ID_ENVIRONMENT = "TICKET_SALES_NODE_ID";
+
+    /**
+     * The generator used when no other is given, or {@code null} until it is first needed.
+     */
+    private static volatile IdGenerator defaultGenerator;
+
+    /**
+     * Whether the node id of the default generator was configured rather than drawn at random.
+     */
+    private static volatile boolean defaultConfigured;
+
+    // Attributes
+    /**
+     * The id of this node.
+     */
+    private final int nodeId;
+
+    /**
+     * The clock giving the current time.
+     */
+    private final Clock clock;
+
+    /**
+     * The epoch, in milliseconds since 1970.
+     */
+    private final long epochMillis;
+
+    /**
+     * The last issued timestamp and sequence, as {@code timestamp << SEQUENCE_BITS | sequence}.
+     */
+    private final AtomicLong last;
+
+    // Constructor
+    /**
+     * Constructs a new IdGenerator for a node, using the system clock.
+     *
+     * @param nodeId The id of the node, unique among the nodes issuing identifiers.
+     */
+    public IdGenerator(int nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a new IdGenerator for a node.
+     *
+     * @param nodeId The id of the node, unique among the nodes issuing identifiers.
+     * @param clock The clock giving the current time.
+     * @throws IllegalArgumentException If the node id is out of range.
+     */
+    public IdGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ".");
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        this.epochMillis = EPOCH.toEpochMilli();
+        this.last = new AtomicLong();
+    }
+
+    // Getters
+    /**
+     * Gets the id of this node.
+     *
+     * @return The node id.
+     */
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Gets the generator used when no other is given.
+     *
+     * @return The default generator.
+     */
+    public static IdGenerator getDefault() {
+        IdGenerator generator = defaultGenerator;
+        if (generator == null) {
+            synchronized (IdGenerator.class) {
+                if (defaultGenerator == null) {
+                    String configured = System.getProperty(NODE_ID_PROPERTY, System.getenv(NODE_ID_ENVIRONMENT));
+                    if (configured == null) {
+                        defaultGenerator = new IdGenerator(new SecureRandom().nextInt(MAX_NODE_ID + 1));
+                    } else {
+                        defaultGenerator = new IdGenerator(parseNodeId(configured));
+                        defaultConfigured = true;
+                    }
+                }
+                generator = defaultGenerator;
+            }
+        }
+        return generator;
+    }
+
+    /**
+     * Gets the default generator, making sure its node id was configured, for components whose ids are seen by other
+     * processes.
+     *
+     * @return The default generator.
+     * @throws IllegalStateException If no node id was configured.
+     */
+    public static IdGenerator requireConfiguredDefault() {
+        IdGenerator generator = getDefault();
+        if (!defaultConfigured) {
+            throw new IllegalStateException("No node id configured: set the " + NODE_ID_PROPERTY
+                    + " system property or the " + NODE_ID_ENVIRONMENT + " environment variable.");
+        }
+        return generator;
+    }
+
+    /**
+     * Checks whether the node id of the default generator was configured rather than drawn at random.
+     *
+     * @return {@code true} if the node id was configured.
+     */
+    public static boolean isDefaultConfigured() {
+        getDefault();
+        return defaultConfigured;
+    }
+
+    // Setters
+    /**
+     * Sets the generator used when no other is given, for instance to give this process its node id.
+     *
+     * @param generator The new default generator.
+     */
+    public static synchronized void setDefault(IdGenerator generator) {
+        defaultGenerator = generator;
+        defaultConfigured = true;
+    }
+
+    // Class Methods
+    /**
+     * Issues a new identifier.
+     *
+     * @return The identifier, greater than every identifier issued before by this generator.
+     */
+    public long nextId() {
+        long now = clock.millis() - epochMillis;
+        while (true) {
+            long previous = last.get();
+            long previousTimestamp = previous >>> SEQUENCE_BITS;
+            long next;
+            if (now > previousTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = previous + 1;
+            } else {
+                next = (previousTimestamp + 1) << SEQUENCE_BITS;
+            }
+            if (last.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return timestamp << TIMESTAMP_SHIFT | (long) nodeId << SEQUENCE_BITS | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Parses a configured node id.
+     *
+     * @param value The configured value.
+     * @return The node id.
+     * @throws IllegalStateException If the value is not a valid node id.
+     */
+    private static int parseNodeId(String value) {
+        int nodeId;
+        try {
+            nodeId = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            nodeId = -1;
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("Invalid node id '" + value + "': must be between 0 and " + MAX_NODE_ID
+                    + ".");
+        }
+        return nodeId;
+    }
+
+    /**
+     * Gets the instant an identifier was issued at.
+     *
+     * @param id The identifier.
+     * @return The instant, to the millisecond.
+     */
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> TIMESTAMP_SHIFT);
+    }
+
+    /**
+     * Gets the node that issued an identifier.
+     *
+     * @param id The identifier.
+     * @return The node id.
+     */
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
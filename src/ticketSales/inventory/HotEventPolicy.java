@@ -0,0 +1,151 @@
+package ticketSales.inventory;
+
+import java.time.Duration;
+
+/**
+ * The HotEventPolicy class holds the thresholds a {@link SectionedSeatInventory} uses to decide when its event is hot
+ * enough to split its seats into section shards, and when it has cooled enough to merge them back. Traffic is measured
+ * over fixed windows; the merge rate is kept below the split rate so an event near the threshold does not flap.
+ */
+public class HotEventPolicy {
+
+    // Attributes
+    /**
+     * The length of a measurement window, in milliseconds.
+     */
+    private final long windowMillis;
+
+    /**
+     * The request rate, in requests per second, at or above which the seats are split.
+     */
+    private final long splitRequestsPerSecond;
+
+    /**
+     * The request rate, in requests per second, below which split seats are merged back.
+     */
+    private final long mergeRequestsPerSecond;
+
+    /**
+     * The fraction of requests that had to wait for a lock at or above which the seats are split, provided the
+     * request rate is at least the merge rate.
+     */
+    private final double splitWaitRatio;
+
+    /**
+     * The maximum number of shards the seats are split into.
+     */
+    private final int maxShards;
+
+    // Constructor
+    /**
+     * Constructs a new HotEventPolicy.
+     *
+     * @param window The length of a measurement window.
+     * @param splitRequestsPerSecond The request rate at or above which the seats are split.
+     * @param mergeRequestsPerSecond The request rate below which split seats are merged back.
+     * @param splitWaitRatio The fraction of requests waiting for a lock at or above which the seats are split.
+     * @param maxShards The maximum number of shards.
+     * @throws IllegalArgumentException If the window or a rate is not positive, if the merge rate is not below the
+     * split rate, if the wait ratio is not in (0, 1] or if fewer than two shards are allowed.
+     */
+    public HotEventPolicy(Duration window, long splitRequestsPerSecond, long mergeRequestsPerSecond,
+                          double splitWaitRatio, int maxShards) {
+        if (window.isNegative() || window.isZero() || mergeRequestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Window and rates must be positive.");
+        }
+        if (mergeRequestsPerSecond >= splitRequestsPerSecond) {
+            throw new IllegalArgumentException("Merge rate must be below the split rate.");
+        }
+        if (!(splitWaitRatio > 0 && splitWaitRatio <= 1)) {
+            throw new IllegalArgumentException("Wait ratio must be in (0, 1].");
+        }
+        if (maxShards < 2) {
+            throw new IllegalArgumentException("At least two shards must be allowed.");
+        }
+        this.windowMillis = window.toMillis();
+        this.splitRequestsPerSecond = splitRequestsPerSecond;
+        this.mergeRequestsPerSecond = mergeRequestsPerSecond;
+        this.splitWaitRatio = splitWaitRatio;
+        this.maxShards = maxShards;
+    }
+
+    /**
+     * Gets the default policy: one-second windows, splitting at 5,000 requests per second or when 5% of the requests
+     * wait for a lock, merging below 500 requests per second, into at most one shard per available processor.
+     *
+     * @return The default policy.
+     */
+    public static HotEventPolicy defaults() {
+        return new HotEventPolicy(Duration.ofSeconds(1), 5_000, 500, 0.05,
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    // Getters
+    /**
+     * Gets the length of a measurement window.
+     *
+     * @return The window, in milliseconds.
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Gets the request rate at or above which the seats are split.
+     *
+     * @return The rate, in requests per second.
+     */
+    public long getSplitRequestsPerSecond() {
+        return splitRequestsPerSecond;
+    }
+
+    /**
+     * Gets the request rate below which split seats are merged back.
+     *
+     * @return The rate, in requests per second.
+     */
+    public long getMergeRequestsPerSecond() {
+        return mergeRequestsPerSecond;
+    }
+
+    /**
+     * Gets the fraction of requests waiting for a lock at or above which the seats are split.
+     *
+     * @return The ratio.
+     */
+    public double getSplitWaitRatio() {
+        return splitWaitRatio;
+    }
+
+    /**
+     * Gets the maximum number of shards the seats are split into.
+     *
+     * @return The number of shards.
+     */
+    public int getMaxShards() {
+        return maxShards;
+    }
+
+    // Class Methods
+    /**
+     * Checks if an unsplit event should be split.
+     *
+     * @param requestsPerSecond The request rate measured over the last window.
+     * @param waitRatio The fraction of those requests that waited for a lock.
+     * @return {@code true} if the event is hot.
+     */
+    public boolean shouldSplit(double requestsPerSecond, double waitRatio) {
+        return requestsPerSecond >= splitRequestsPerSecond
+                || (requestsPerSecond >= mergeRequestsPerSecond && waitRatio >= splitWaitRatio);
+    }
+
+    /**
+     * Checks if a split event should be merged back.
+     *
+     * @param requestsPerSecond The request rate measured over the last window.
+     * @return {@code true} if the event has cooled down.
+     */
+    public boolean shouldMerge(double requestsPerSecond) {
+        return requestsPerSecond < mergeRequestsPerSecond;
+    }
+}
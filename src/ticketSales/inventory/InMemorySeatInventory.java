@@ -0,0 +1,92 @@
+package ticketSales.inventory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * The InMemorySeatInventory class is the default {@link SeatInventory}, keeping the available seats on the heap
+ * in insertion order.
+ */
+public class InMemorySeatInventory implements SeatInventory {
+
+    // Constants
+    /**
+     * The heap taken by an available seat: a linked hash set entry and its share of the table.
+     */
+    private static final long SEAT_BYTES = 48;
+
+    // Attributes
+    /**
+     * The available seats, guarded by this inventory's monitor.
+     */
+    private final LinkedHashSet<String> seats;
+
+    // Constructor
+    /**
+     * Constructs a new, empty InMemorySeatInventory.
+     */
+    public InMemorySeatInventory() {
+        this.seats = new LinkedHashSet<>();
+    }
+
+    // Class Methods
+    @Override
+    public synchronized boolean add(String seat) {
+        return seats.add(seat);
+    }
+
+    @Override
+    public synchronized List<String> addAll(Collection<String> seats) {
+        List<String> added = new ArrayList<>(seats.size());
+        for (String seat : seats) {
+            if (this.seats.add(seat)) {
+                added.add(seat);
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public synchronized boolean remove(String seat) {
+        return seats.remove(seat);
+    }
+
+    @Override
+    public synchronized boolean contains(String seat) {
+        return seats.contains(seat);
+    }
+
+    @Override
+    public synchronized List<String> availableSeats() {
+        return List.copyOf(seats);
+    }
+
+    @Override
+    public synchronized int availableCount() {
+        return seats.size();
+    }
+
+    /**
+     * Takes the seat added first, without copying the available seats.
+     *
+     * @return The seat taken by the caller, or {@code null} if no seat is available.
+     */
+    @Override
+    public synchronized String takeAny() {
+        Iterator<String> iterator = seats.iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        String seat = iterator.next();
+        iterator.remove();
+        return seat;
+    }
+
+    @Override
+    public long heapBytesPerSeat() {
+        return SEAT_BYTES;
+    }
+}
@@ -0,0 +1,378 @@
+package ticketSales.inventory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The MappedSeatInventory class is a {@link SeatInventory} that keeps the seat state of an event in a memory-mapped file,
+ * outside of the Java heap. The file is an open-addressing hash table of fixed-size slots, so the heap footprint does not
+ * depend on the number of seats and the state survives process restarts.
+ * <p>
+ * Each slot holds a state word, the label length and the UTF-8 label. Slot states are changed with compare-and-set
+ * operations on the mapped memory, so seat transitions are atomic without any heap-side locking.
+ */
+public class MappedSeatInventory implements SeatInventory, Closeable {
+
+    // Constants
+    /**
+     * Identifies files written by this class.
+     */
+    private static final int MAGIC = 0x53454154;
+
+    /**
+     * The size of the file header, in bytes.
+     */
+    private static final int HEADER_SIZE = 64;
+
+    /**
+     * The maximum length of a seat label, in UTF-8 bytes.
+     */
+    public static final int MAX_LABEL_BYTES = 24;
+
+    /**
+     * The size of a slot: state word, label length and label bytes.
+     */
+    private static final int SLOT_SIZE = 8 + MAX_LABEL_BYTES;
+
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_CAPACITY = 4;
+    private static final int OFFSET_AVAILABLE = 8;
+
+    private static final int EMPTY = 0;
+    private static final int WRITING = 1;
+    private static final int AVAILABLE = 2;
+    private static final int UNAVAILABLE = 3;
+
+    /**
+     * Atomic int access to the mapped memory.
+     */
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    // Attributes
+    /**
+     * The channel of the backing file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mapped contents of the backing file.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * The number of slots in the file.
+     */
+    private final int capacity;
+
+    /**
+     * The slot the last seat taken by {@link #takeAny()} was in, where the next search starts.
+     */
+    private final AtomicInteger cursor;
+
+    // Constructor
+    private MappedSeatInventory(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.cursor = new AtomicInteger();
+    }
+
+    /**
+     * Opens a seat inventory backed by the given file, creating it with the given capacity if it does not exist.
+     * An existing file is reopened with the capacity it was created with.
+     *
+     * @param file The backing file.
+     * @param capacity The maximum number of distinct seats, used when the file is created.
+     * @return The opened inventory.
+     * @throws IOException If the file cannot be opened or mapped.
+     * @throws IllegalArgumentException If the capacity is not positive or the file is not a seat inventory.
+     */
+    public static MappedSeatInventory open(Path file, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            if (!created) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                header.order(ByteOrder.nativeOrder());
+                if (header.getInt(OFFSET_MAGIC) != MAGIC) {
+                    throw new IllegalArgumentException("Not a seat inventory file: " + file);
+                }
+                capacity = header.getInt(OFFSET_CAPACITY);
+            }
+            long size = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Capacity is too large for a single mapping.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            MappedSeatInventory inventory = new MappedSeatInventory(channel, buffer, capacity);
+            if (created) {
+                buffer.putInt(OFFSET_CAPACITY, capacity);
+                buffer.putInt(OFFSET_MAGIC, MAGIC);
+            } else {
+                inventory.recover();
+            }
+            return inventory;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Getters
+    /**
+     * Gets the maximum number of distinct seats this inventory can hold.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Class Methods
+    @Override
+    public boolean add(String seat) {
+        byte[] label = encode(seat);
+        int slot = findOrClaim(label, true);
+        while (true) {
+            int state = state(slot);
+            if (state == AVAILABLE) {
+                return false;
+            }
+            if (INT.compareAndSet(buffer, offset(slot), state, AVAILABLE)) {
+                INT.getAndAdd(buffer, OFFSET_AVAILABLE, 1);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(String seat) {
+        int slot = findOrClaim(encode(seat), false);
+        if (slot < 0) {
+            return false;
+        }
+        if (INT.compareAndSet(buffer, offset(slot), AVAILABLE, UNAVAILABLE)) {
+            INT.getAndAdd(buffer, OFFSET_AVAILABLE, -1);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(String seat) {
+        int slot = findOrClaim(encode(seat), false);
+        return slot >= 0 && state(slot) == AVAILABLE;
+    }
+
+    /**
+     * Gets a copy of the available seats. Seats are listed in slot order, not in insertion order.
+     *
+     * @return An unmodifiable list of available seats.
+     */
+    @Override
+    public List<String> availableSeats() {
+        List<String> seats = new ArrayList<>();
+        for (int slot = 0; slot < capacity; slot++) {
+            if (state(slot) == AVAILABLE) {
+                seats.add(label(slot));
+            }
+        }
+        return Collections.unmodifiableList(seats);
+    }
+
+    /**
+     * Remembers taken seats, since their slots are kept in the mapped file.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean remembersSeats() {
+        return true;
+    }
+
+    /**
+     * Gets a copy of the seats whose slots are taken. Seats are listed in slot order.
+     *
+     * @return An unmodifiable list of unavailable seats.
+     */
+    @Override
+    public List<String> unavailableSeats() {
+        List<String> seats = new ArrayList<>();
+        for (int slot = 0; slot < capacity; slot++) {
+            if (state(slot) == UNAVAILABLE) {
+                seats.add(label(slot));
+            }
+        }
+        return Collections.unmodifiableList(seats);
+    }
+
+    /**
+     * Takes an available seat, scanning the slots from where the last seat was taken instead of listing every seat.
+     * Seats sold in turn are found near each other, so the scan stays short while seats remain.
+     *
+     * @return The seat taken by the caller, or {@code null} if no seat is available.
+     */
+    @Override
+    public String takeAny() {
+        int start = cursor.get();
+        for (int i = 0; i < capacity && availableCount() > 0; i++) {
+            int slot = start + i < capacity ? start + i : start + i - capacity;
+            if (state(slot) == AVAILABLE && INT.compareAndSet(buffer, offset(slot), AVAILABLE, UNAVAILABLE)) {
+                INT.getAndAdd(buffer, OFFSET_AVAILABLE, -1);
+                cursor.set(slot);
+                return label(slot);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int availableCount() {
+        return (int) INT.getVolatile(buffer, OFFSET_AVAILABLE);
+    }
+
+    /**
+     * Gets the heap taken by one available seat, which is none: the seats are kept in the mapped file.
+     *
+     * @return 0.
+     */
+    @Override
+    public long heapBytesPerSeat() {
+        return 0;
+    }
+
+    /**
+     * Writes the mapped contents back to the backing file.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    /**
+     * Flushes the mapped contents and closes the backing file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Finds the slot holding a label, optionally claiming an empty slot for it.
+     *
+     * @param label The encoded seat label.
+     * @param claim Whether an empty slot should be claimed when the label is not present.
+     * @return The slot index, or {@code -1} if the label is not present and was not claimed.
+     * @throws IllegalStateException If a slot must be claimed and the inventory is full.
+     */
+    private int findOrClaim(byte[] label, boolean claim) {
+        int slot = Math.floorMod(hash(label), capacity);
+        for (int probes = 0; probes < capacity; probes++) {
+            int state = state(slot);
+            if (state == EMPTY) {
+                if (!claim) {
+                    return -1;
+                }
+                if (INT.compareAndSet(buffer, offset(slot), EMPTY, WRITING)) {
+                    int base = offset(slot);
+                    buffer.putInt(base + 4, label.length);
+                    buffer.put(base + 8, label);
+                    INT.setVolatile(buffer, base, UNAVAILABLE);
+                    return slot;
+                }
+                state = state(slot);
+            }
+            while (state == WRITING) {
+                Thread.onSpinWait();
+                state = state(slot);
+            }
+            if (matches(slot, label)) {
+                return slot;
+            }
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+        }
+        if (claim) {
+            throw new IllegalStateException("Seat inventory is full.");
+        }
+        return -1;
+    }
+
+    /**
+     * Resets slots left half-written by a crash and recomputes the available seat counter.
+     */
+    private void recover() {
+        int available = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            int state = state(slot);
+            if (state == WRITING) {
+                INT.setVolatile(buffer, offset(slot), EMPTY);
+            } else if (state == AVAILABLE) {
+                available++;
+            }
+        }
+        INT.setVolatile(buffer, OFFSET_AVAILABLE, available);
+    }
+
+    private int state(int slot) {
+        return (int) INT.getVolatile(buffer, offset(slot));
+    }
+
+    private boolean matches(int slot, byte[] label) {
+        int base = offset(slot);
+        if (buffer.getInt(base + 4) != label.length) {
+            return false;
+        }
+        for (int i = 0; i < label.length; i++) {
+            if (buffer.get(base + 8 + i) != label[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String label(int slot) {
+        int base = offset(slot);
+        byte[] label = new byte[buffer.getInt(base + 4)];
+        buffer.get(base + 8, label);
+        return new String(label, StandardCharsets.UTF_8);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static byte[] encode(String seat) {
+        byte[] label = seat.getBytes(StandardCharsets.UTF_8);
+        if (label.length > MAX_LABEL_BYTES) {
+            throw new IllegalArgumentException("Seat label is too long: " + seat);
+        }
+        return label;
+    }
+
+    private static int hash(byte[] label) {
+        int h = 0x811C9DC5;
+        for (byte b : label) {
+            h = (h ^ b) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,91 @@
+package ticketSales.inventory;
+
+import java.util.Objects;
+
+/**
+ * The SeatChange class represents a single change of a seat's availability, tagged with the seat map version it produced.
+ * A change carries the resulting state of the seat, so applying the same change twice has no further effect.
+ */
+public class SeatChange {
+
+    // Attributes
+    /**
+     * The seat map version produced by this change.
+     */
+    private final long version;
+
+    /**
+     * The seat that changed.
+     */
+    private final String seat;
+
+    /**
+     * Whether the seat became available or unavailable.
+     */
+    private final boolean available;
+
+    // Constructor
+    /**
+     * Constructs a new SeatChange.
+     *
+     * @param version The seat map version produced by the change.
+     * @param seat The seat that changed.
+     * @param available Whether the seat became available.
+     */
+    public SeatChange(long version, String seat, boolean available) {
+        this.version = version;
+        this.seat = seat;
+        this.available = available;
+    }
+
+    // Getters
+    /**
+     * Gets the seat map version produced by this change.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the seat that changed.
+     *
+     * @return The seat.
+     */
+    public String getSeat() {
+        return seat;
+    }
+
+    /**
+     * Checks if the seat became available.
+     *
+     * @return {@code true} if the seat became available, {@code false} if it became unavailable.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    // Overridden Methods
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SeatChange that = (SeatChange) o;
+        return version == that.version && available == that.available && Objects.equals(seat, that.seat);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, seat, available);
+    }
+
+    @Override
+    public String toString() {
+        return "SeatChange{" +
+                "version=" + version +
+                ", seat='" + seat + '\'' +
+                ", available=" + available +
+                '}';
+    }
+}
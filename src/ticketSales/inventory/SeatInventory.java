@@ -0,0 +1,110 @@
+package ticketSales.inventory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The SeatInventory interface represents the storage backend that holds the seat state of a single event.
+ * Every state transition is atomic, so concurrent purchases of the same seat are resolved by the inventory itself.
+ */
+public interface SeatInventory {
+
+    /**
+     * Makes a seat available, registering it if it is not known yet.
+     *
+     * @param seat The seat to be made available.
+     * @return {@code true} if the seat was not available before, {@code false} otherwise.
+     */
+    boolean add(String seat);
+
+    /**
+     * Makes several seats available. The default implementation adds them one by one; implementations holding a lock
+     * take it once for the whole batch.
+     *
+     * @param seats The seats to be made available.
+     * @return The seats that were not available before, in the given order.
+     */
+    default List<String> addAll(Collection<String> seats) {
+        List<String> added = new ArrayList<>(seats.size());
+        for (String seat : seats) {
+            if (add(seat)) {
+                added.add(seat);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Makes a seat unavailable. Only one of several concurrent callers can succeed for the same seat.
+     *
+     * @param seat The seat to be removed.
+     * @return {@code true} if the seat was available and is now taken by the caller, {@code false} otherwise.
+     */
+    boolean remove(String seat);
+
+    /**
+     * Checks if a seat is currently available.
+     *
+     * @param seat The seat to be checked.
+     * @return {@code true} if the seat is available, {@code false} otherwise.
+     */
+    boolean contains(String seat);
+
+    /**
+     * Gets a point-in-time copy of the available seats.
+     *
+     * @return An unmodifiable list of available seats.
+     */
+    List<String> availableSeats();
+
+    /**
+     * Gets the number of available seats.
+     *
+     * @return The number of available seats.
+     */
+    int availableCount();
+
+    /**
+     * Estimates the heap taken by one available seat in this inventory, without its name, on a 64-bit JVM with
+     * compressed references. Used for memory accounting, so it must not depend on the number of seats.
+     *
+     * @return The estimate, in bytes; 0 for an inventory that keeps its seats off the heap.
+     */
+    long heapBytesPerSeat();
+
+    /**
+     * Checks whether this inventory keeps the seats it registered once they are taken, so they can be listed by
+     * {@link #unavailableSeats()}. The default implementation returns {@code false}.
+     *
+     * @return {@code true} if the inventory remembers taken seats, {@code false} otherwise.
+     */
+    default boolean remembersSeats() {
+        return false;
+    }
+
+    /**
+     * Gets a point-in-time copy of the seats this inventory registered that are not available.
+     *
+     * @return An unmodifiable list of unavailable seats.
+     * @throws UnsupportedOperationException If the inventory does not {@link #remembersSeats() remember} them.
+     */
+    default List<String> unavailableSeats() {
+        throw new UnsupportedOperationException("This inventory does not remember taken seats.");
+    }
+
+    /**
+     * Makes any available seat unavailable, for a request that does not choose its seat. The default implementation
+     * tries the available seats in listing order until one is taken.
+     *
+     * @return The seat taken by the caller, or {@code null} if no seat is available.
+     */
+    default String takeAny() {
+        for (String seat : availableSeats()) {
+            if (remove(seat)) {
+                return seat;
+            }
+        }
+        return null;
+    }
+}
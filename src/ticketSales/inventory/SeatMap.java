@@ -0,0 +1,245 @@
+package ticketSales.inventory;
+
+import ticketSales.io.Json;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The SeatMap class versions the seat state of an event. Every seat change increments the version and is kept in a
+ * bounded history, so clients can fetch the changes since the version they already have. The history starts small and
+ * doubles as changes come up to its maximum size, so events that rarely change do not pay for a full history. Full
+ * snapshots are built at most once per version and shared by all readers.
+ */
+public class SeatMap {
+
+    // Constants
+    /**
+     * The default number of changes kept in the history.
+     */
+    public static final int DEFAULT_HISTORY_SIZE = 4096;
+
+    /**
+     * The number of changes the history has room for before it first grows.
+     */
+    public static final int INITIAL_HISTORY_SIZE = 16;
+
+    // Attributes
+    /**
+     * The name of the event, written into serialized snapshots.
+     */
+    private final String eventName;
+
+    /**
+     * The inventory whose state is versioned.
+     */
+    private final SeatInventory inventory;
+
+    /**
+     * The maximum number of changes kept in the history.
+     */
+    private final int historySize;
+
+    /**
+     * Guards the history and the writes of the version.
+     */
+    private final Object historyLock;
+
+    /**
+     * The most recent changes, indexed by version modulo the length of the array, guarded by the history lock.
+     */
+    private SeatChange[] history;
+
+    /**
+     * The current version. Written only while holding the history lock.
+     */
+    private volatile long version;
+
+    /**
+     * The most recently built snapshot.
+     */
+    private volatile SeatMapSnapshot snapshot;
+
+    // Constructor
+    /**
+     * Constructs a new SeatMap with the default history size.
+     *
+     * @param eventName The name of the event.
+     * @param inventory The inventory whose state is versioned.
+     */
+    public SeatMap(String eventName, SeatInventory inventory) {
+        this(eventName, inventory, DEFAULT_HISTORY_SIZE);
+    }
+
+    /**
+     * Constructs a new SeatMap.
+     *
+     * @param eventName The name of the event.
+     * @param inventory The inventory whose state is versioned.
+     * @param historySize The maximum number of changes kept in the history.
+     */
+    public SeatMap(String eventName, SeatInventory inventory, int historySize) {
+        if (historySize <= 0) {
+            throw new IllegalArgumentException("History size must be positive.");
+        }
+        this.eventName = eventName;
+        this.inventory = inventory;
+        this.historySize = historySize;
+        this.historyLock = new Object();
+        this.history = new SeatChange[historyLength(0, historySize)];
+    }
+
+    // Getters
+    /**
+     * Gets the current version.
+     *
+     * @return The version, which starts at zero and increases with every change.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    // Class Methods
+    /**
+     * Gets the length of the history array of a seat map once a number of changes were recorded.
+     *
+     * @param changes The number of changes recorded, which is the version.
+     * @param historySize The maximum number of changes kept in the history.
+     * @return The length of the array.
+     */
+    public static int historyLength(long changes, int historySize) {
+        int length = Math.min(INITIAL_HISTORY_SIZE, historySize);
+        while (length < changes && length < historySize) {
+            length = (int) Math.min(2L * length, historySize);
+        }
+        return length;
+    }
+
+    /**
+     * Records that a seat changed in the inventory. The recorded state is read from the inventory while the history
+     * lock is held, so concurrent changes to the same seat are always logged with the state that was left last.
+     *
+     * @param seat The seat that changed.
+     * @return The recorded change.
+     */
+    public SeatChange record(String seat) {
+        synchronized (historyLock) {
+            long next = version + 1;
+            SeatChange change = new SeatChange(next, seat, inventory.contains(seat));
+            store(change);
+            version = next;
+            return change;
+        }
+    }
+
+    /**
+     * Records that several seats changed in the inventory, holding the history lock once for all of them.
+     *
+     * @param seats The seats that changed.
+     * @return The recorded changes, in order.
+     */
+    public List<SeatChange> recordAll(List<String> seats) {
+        List<SeatChange> changes = new ArrayList<>(seats.size());
+        synchronized (historyLock) {
+            long next = version;
+            for (String seat : seats) {
+                next++;
+                SeatChange change = new SeatChange(next, seat, inventory.contains(seat));
+                store(change);
+                changes.add(change);
+            }
+            version = next;
+        }
+        return changes;
+    }
+
+    /**
+     * Gets the snapshot for the current version, building and caching it if needed.
+     *
+     * @return The shared snapshot.
+     */
+    public SeatMapSnapshot snapshot() {
+        long current = version;
+        SeatMapSnapshot cached = snapshot;
+        if (cached != null && cached.getVersion() >= current) {
+            return cached;
+        }
+        synchronized (this) {
+            cached = snapshot;
+            if (cached != null && cached.getVersion() >= current) {
+                return cached;
+            }
+            long snapshotVersion = version;
+            List<String> seats = inventory.availableSeats();
+            cached = new SeatMapSnapshot(snapshotVersion, seats, serialize(snapshotVersion, seats));
+            snapshot = cached;
+            return cached;
+        }
+    }
+
+    /**
+     * Gets the changes published after the given version.
+     *
+     * @param since The version the client already has.
+     * @return The delta up to the current version.
+     */
+    public SeatMapDelta changesSince(long since) {
+        synchronized (historyLock) {
+            long current = version;
+            if (since >= current) {
+                return new SeatMapDelta(since, current, Collections.emptyList(), false);
+            }
+            if (since < 0 || current - since > history.length) {
+                return new SeatMapDelta(since, current, Collections.emptyList(), true);
+            }
+            List<SeatChange> changes = new ArrayList<>((int) (current - since));
+            for (long v = since + 1; v <= current; v++) {
+                changes.add(history[(int) (v % history.length)]);
+            }
+            return new SeatMapDelta(since, current, Collections.unmodifiableList(changes), false);
+        }
+    }
+
+    /**
+     * Stores a change in the history, first doubling the history if it is full and below its maximum size. Must hold
+     * the history lock.
+     *
+     * @param change The change, whose version follows the last one stored.
+     */
+    private void store(SeatChange change) {
+        long next = change.getVersion();
+        if (next > history.length && history.length < historySize) {
+            SeatChange[] grown = new SeatChange[historyLength(next, historySize)];
+            for (long v = Math.max(1, next - history.length); v < next; v++) {
+                grown[(int) (v % grown.length)] = history[(int) (v % history.length)];
+            }
+            history = grown;
+        }
+        history[(int) (next % history.length)] = change;
+    }
+
+    /**
+     * Serializes a snapshot as a UTF-8 JSON document.
+     *
+     * @param version The version of the snapshot.
+     * @param seats The available seats.
+     * @return A buffer holding the serialized snapshot.
+     */
+    private ByteBuffer serialize(long version, List<String> seats) {
+        StringBuilder json = new StringBuilder(32 + eventName.length() + seats.size() * 8);
+        json.append("{\"event\":");
+        Json.appendString(json, eventName);
+        json.append(",\"version\":").append(version).append(",\"seats\":[");
+        for (int i = 0; i < seats.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            Json.appendString(json, seats.get(i));
+        }
+        json.append("]}");
+        return ByteBuffer.wrap(json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,85 @@
+package ticketSales.inventory;
+
+import java.util.List;
+
+/**
+ * The SeatMapDelta class holds the seat changes published between two seat map versions.
+ * When the requested version is older than the retained change history, the delta is marked as requiring a resync
+ * and the client must fetch a full {@link SeatMapSnapshot} instead.
+ */
+public class SeatMapDelta {
+
+    // Attributes
+    /**
+     * The version the changes start after.
+     */
+    private final long fromVersion;
+
+    /**
+     * The latest version covered by the changes.
+     */
+    private final long toVersion;
+
+    /**
+     * The changes, in version order.
+     */
+    private final List<SeatChange> changes;
+
+    /**
+     * Whether the changes since {@code fromVersion} are no longer retained.
+     */
+    private final boolean resyncRequired;
+
+    // Constructor
+    /**
+     * Constructs a new SeatMapDelta.
+     *
+     * @param fromVersion The version the changes start after.
+     * @param toVersion The latest version covered by the changes.
+     * @param changes The changes, in version order.
+     * @param resyncRequired Whether a full snapshot is required instead.
+     */
+    public SeatMapDelta(long fromVersion, long toVersion, List<SeatChange> changes, boolean resyncRequired) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.changes = changes;
+        this.resyncRequired = resyncRequired;
+    }
+
+    // Getters
+    /**
+     * Gets the version the changes start after.
+     *
+     * @return The starting version.
+     */
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    /**
+     * Gets the latest version covered by the changes.
+     *
+     * @return The latest version.
+     */
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    /**
+     * Gets the changes, in version order.
+     *
+     * @return An unmodifiable list of changes; empty when a resync is required.
+     */
+    public List<SeatChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Checks if the client must fetch a full snapshot because the changes are no longer retained.
+     *
+     * @return {@code true} if a resync is required, {@code false} otherwise.
+     */
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+}
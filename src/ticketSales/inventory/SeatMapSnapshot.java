@@ -0,0 +1,70 @@
+package ticketSales.inventory;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * The SeatMapSnapshot class is an immutable view of an event's available seats at a given seat map version,
+ * together with its serialized form. A single snapshot is shared by every reader of the same version.
+ */
+public class SeatMapSnapshot {
+
+    // Attributes
+    /**
+     * The seat map version of the snapshot.
+     */
+    private final long version;
+
+    /**
+     * The available seats.
+     */
+    private final List<String> seats;
+
+    /**
+     * The serialized snapshot, shared by all readers.
+     */
+    private final ByteBuffer serialized;
+
+    // Constructor
+    /**
+     * Constructs a new SeatMapSnapshot.
+     *
+     * @param version The seat map version of the snapshot.
+     * @param seats The available seats; the list must not be modified afterwards.
+     * @param serialized The serialized snapshot.
+     */
+    public SeatMapSnapshot(long version, List<String> seats, ByteBuffer serialized) {
+        this.version = version;
+        this.seats = seats;
+        this.serialized = serialized.asReadOnlyBuffer();
+    }
+
+    // Getters
+    /**
+     * Gets the seat map version of the snapshot.
+     * The seat list may already include changes published after this version; replaying those changes is harmless.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the available seats.
+     *
+     * @return An unmodifiable list of available seats.
+     */
+    public List<String> getSeats() {
+        return seats;
+    }
+
+    /**
+     * Gets the serialized snapshot. Each call returns an independent read-only view over the same shared bytes.
+     *
+     * @return A read-only buffer positioned at the start of the serialized snapshot.
+     */
+    public ByteBuffer getSerialized() {
+        return serialized.duplicate();
+    }
+}
@@ -0,0 +1,722 @@
+package ticketSales.inventory;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * The SectionedSeatInventory class is a {@link SeatInventory} that splits the seats of a hot event into shards, each
+ * owning whole sections of the venue under its own lock, so purchases in different sections no longer wait for each
+ * other. It measures its request rate and how often requests wait for a lock over fixed windows, and following a
+ * {@link HotEventPolicy} splits itself when the event gets hot and merges back into one shard when it cools down. The
+ * split or merge runs on a background task, so the request closing a window does not wait for the seats to move.
+ * While split, the windows are also closed on a background timer, so an event whose traffic stopped still merges.
+ * <p>
+ * Requests for a seat are routed to the shard owning its section. Requests for any seat, through {@link #takeAny()},
+ * start at a random shard and skip the ones currently locked, so they spread over the shards. A split or merge locks
+ * every shard, moves the seats into a new set of shards and retires the old ones; a request that reaches a retired
+ * shard reads the new layout and retries. While unsplit, seats are listed in the order they were added; while split,
+ * shard by shard. Seats added together are reported in the order given, whatever shards they went to.
+ */
+public class SectionedSeatInventory implements SeatInventory {
+
+    // Constants
+    /**
+     * The heap taken by an available seat: a linked hash set entry of its shard and its share of the table.
+     */
+    private static final long SEAT_BYTES = 48;
+
+    /**
+     * How long the idle resize thread is kept, in seconds.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    /**
+     * The thread splitting and merging the seats of every inventory that was not given its own executor, and closing
+     * the windows of split inventories. Resizes are rare, so one thread serves them all.
+     */
+    private static final ScheduledThreadPoolExecutor RESIZER = newResizer();
+
+    // Attributes
+    /**
+     * The thresholds deciding when to split and merge.
+     */
+    private final HotEventPolicy policy;
+
+    /**
+     * The clock timing the measurement windows.
+     */
+    private final Clock clock;
+
+    /**
+     * Maps a seat to the key of its section: the hash code of the section's name.
+     */
+    private final ToIntFunction<String> sections;
+
+    /**
+     * The current shards and the sections they own. Replaced as a whole on every split or merge.
+     */
+    private volatile Layout layout;
+
+    /**
+     * Serializes splits and merges.
+     */
+    private final Object resizeLock;
+
+    /**
+     * The requests received in the current window.
+     */
+    private final LongAdder requests;
+
+    /**
+     * The requests of the current window that had to wait for a shard's lock.
+     */
+    private final LongAdder waits;
+
+    /**
+     * The time the current window started, in milliseconds.
+     */
+    private final AtomicLong windowStart;
+
+    /**
+     * The request rate measured over the last complete window, in requests per second.
+     */
+    private volatile double requestRate;
+
+    /**
+     * The number of times the seats were split.
+     */
+    private final AtomicLong splitCount;
+
+    /**
+     * Runs the splits and merges decided by the policy.
+     */
+    private final Executor resizer;
+
+    /**
+     * Indicates whether a split or merge was handed to the resizer and has not finished, so at most one is pending.
+     */
+    private final AtomicBoolean resizePending;
+
+    /**
+     * Indicates whether a check closing the current window is scheduled, so at most one is.
+     */
+    private final AtomicBoolean idleCheckPending;
+
+    // Constructor
+    /**
+     * Constructs a new, empty SectionedSeatInventory with the default policy and sections.
+     */
+    public SectionedSeatInventory() {
+        this(HotEventPolicy.defaults(), Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a new, empty SectionedSeatInventory whose sections are named by {@link #sectionOf(String)}.
+     *
+     * @param policy The thresholds deciding when to split and merge.
+     * @param clock The clock timing the measurement windows.
+     */
+    public SectionedSeatInventory(HotEventPolicy policy, Clock clock) {
+        this(policy, clock, (ToIntFunction<String>) SectionedSeatInventory::sectionKey, RESIZER);
+    }
+
+    /**
+     * Constructs a new, empty SectionedSeatInventory.
+     *
+     * @param policy The thresholds deciding when to split and merge.
+     * @param clock The clock timing the measurement windows.
+     * @param sections Maps a seat to the name of its section.
+     */
+    public SectionedSeatInventory(HotEventPolicy policy, Clock clock, Function<String, String> sections) {
+        this(policy, clock, sections, RESIZER);
+    }
+
+    /**
+     * Constructs a new, empty SectionedSeatInventory whose splits and merges run on a given executor.
+     *
+     * @param policy The thresholds deciding when to split and merge.
+     * @param clock The clock timing the measurement windows.
+     * @param sections Maps a seat to the name of its section.
+     * @param resizer Runs the splits and merges decided by the policy.
+     */
+    public SectionedSeatInventory(HotEventPolicy policy, Clock clock, Function<String, String> sections,
+            Executor resizer) {
+        this(policy, clock, (ToIntFunction<String>) seat -> sections.apply(seat).hashCode(), resizer);
+    }
+
+    /**
+     * Constructs a new, empty SectionedSeatInventory from section keys.
+     *
+     * @param policy The thresholds deciding when to split and merge.
+     * @param clock The clock timing the measurement windows.
+     * @param sections Maps a seat to the key of its section.
+     * @param resizer Runs the splits and merges decided by the policy.
+     */
+    private SectionedSeatInventory(HotEventPolicy policy, Clock clock, ToIntFunction<String> sections,
+            Executor resizer) {
+        this.policy = policy;
+        this.clock = clock;
+        this.sections = sections;
+        this.layout = new Layout(new Shard[] {new Shard()}, new int[0], new Shard[0]);
+        this.resizeLock = new Object();
+        this.requests = new LongAdder();
+        this.waits = new LongAdder();
+        this.windowStart = new AtomicLong(clock.millis());
+        this.splitCount = new AtomicLong();
+        this.resizer = resizer;
+        this.resizePending = new AtomicBoolean();
+        this.idleCheckPending = new AtomicBoolean();
+    }
+
+    // Getters
+    /**
+     * Gets the thresholds deciding when to split and merge.
+     *
+     * @return The policy.
+     */
+    public HotEventPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the current number of shards.
+     *
+     * @return The number of shards, 1 while unsplit.
+     */
+    public int getShardCount() {
+        return layout.shards.length;
+    }
+
+    /**
+     * Checks if the seats are currently split into several shards.
+     *
+     * @return {@code true} if split, {@code false} otherwise.
+     */
+    public boolean isSplit() {
+        return layout.shards.length > 1;
+    }
+
+    /**
+     * Gets the request rate measured over the last complete window.
+     *
+     * @return The rate, in requests per second.
+     */
+    public double getRequestRate() {
+        return requestRate;
+    }
+
+    /**
+     * Gets the number of times the seats were split.
+     *
+     * @return The number of splits.
+     */
+    public long getSplitCount() {
+        return splitCount.get();
+    }
+
+    // Overridden Methods
+    @Override
+    public boolean add(String seat) {
+        Shard shard = acquire(seat);
+        try {
+            return shard.seats.add(seat);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the seats of each section under a single lock of the shard owning it. The added seats are returned in the
+     * given order, not section by section.
+     */
+    @Override
+    public List<String> addAll(Collection<String> seats) {
+        List<String> ordered = seats instanceof List<String> list ? list : new ArrayList<>(seats);
+        Map<Integer, List<Integer>> bySection = new LinkedHashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            bySection.computeIfAbsent(sections.applyAsInt(ordered.get(i)), section -> new ArrayList<>()).add(i);
+        }
+        boolean[] fresh = new boolean[ordered.size()];
+        for (List<Integer> section : bySection.values()) {
+            Shard shard = acquire(ordered.get(section.get(0)));
+            try {
+                for (int index : section) {
+                    fresh[index] = shard.seats.add(ordered.get(index));
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        List<String> added = new ArrayList<>(ordered.size());
+        for (int i = 0; i < fresh.length; i++) {
+            if (fresh[i]) {
+                added.add(ordered.get(i));
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public boolean remove(String seat) {
+        Shard shard = acquire(seat);
+        try {
+            return shard.seats.remove(seat);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(String seat) {
+        Shard shard = acquire(seat);
+        try {
+            return shard.seats.contains(seat);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<String> availableSeats() {
+        while (true) {
+            Layout current = layout;
+            List<String> seats = new ArrayList<>();
+            boolean retired = false;
+            for (Shard shard : current.shards) {
+                shard.lock.lock();
+                try {
+                    retired = shard.retired;
+                    if (!retired) {
+                        seats.addAll(shard.seats);
+                    }
+                } finally {
+                    shard.lock.unlock();
+                }
+                if (retired) {
+                    break;
+                }
+            }
+            if (!retired) {
+                return Collections.unmodifiableList(seats);
+            }
+        }
+    }
+
+    @Override
+    public int availableCount() {
+        while (true) {
+            Layout current = layout;
+            int count = 0;
+            boolean retired = false;
+            for (Shard shard : current.shards) {
+                shard.lock.lock();
+                try {
+                    retired = shard.retired;
+                    count += shard.seats.size();
+                } finally {
+                    shard.lock.unlock();
+                }
+                if (retired) {
+                    break;
+                }
+            }
+            if (!retired) {
+                return count;
+            }
+        }
+    }
+
+    @Override
+    public long heapBytesPerSeat() {
+        return SEAT_BYTES;
+    }
+
+    /**
+     * Takes an available seat from a shard chosen at random, skipping shards whose lock is held by another request
+     * unless every shard is.
+     *
+     * @return The seat taken, or {@code null} if no seat is available.
+     */
+    @Override
+    public String takeAny() {
+        record();
+        retry:
+        while (true) {
+            Shard[] shards = layout.shards;
+            int start = shards.length == 1 ? 0 : ThreadLocalRandom.current().nextInt(shards.length);
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i < shards.length; i++) {
+                    Shard shard = shards[(start + i) % shards.length];
+                    if (pass == 0) {
+                        if (!shard.lock.tryLock()) {
+                            continue;
+                        }
+                    } else {
+                        lock(shard);
+                    }
+                    try {
+                        if (shard.retired) {
+                            continue retry;
+                        }
+                        Iterator<String> seats = shard.seats.iterator();
+                        if (seats.hasNext()) {
+                            String seat = seats.next();
+                            seats.remove();
+                            return seat;
+                        }
+                    } finally {
+                        shard.lock.unlock();
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    // Class Methods
+    /**
+     * Names the section of a seat: the part of its name before the first digit, such as {@code A} for {@code A12},
+     * or the whole name if it starts with a digit.
+     *
+     * @param seat The seat.
+     * @return The name of its section.
+     */
+    public static String sectionOf(String seat) {
+        for (int i = 0; i < seat.length(); i++) {
+            if (Character.isDigit(seat.charAt(i))) {
+                return i == 0 ? seat : seat.substring(0, i);
+            }
+        }
+        return seat;
+    }
+
+    /**
+     * Computes the key of a seat's section without allocating: the hash code of {@link #sectionOf(String)}.
+     *
+     * @param seat The seat.
+     * @return The key of its section.
+     */
+    private static int sectionKey(String seat) {
+        int end = 0;
+        while (end < seat.length() && !Character.isDigit(seat.charAt(end))) {
+            end++;
+        }
+        if (end == 0) {
+            return seat.hashCode();
+        }
+        int hash = 0;
+        for (int i = 0; i < end; i++) {
+            hash = 31 * hash + seat.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Splits the seats into shards now, whatever the traffic: sections are spread over at most
+     * {@link HotEventPolicy#getMaxShards()} shards, largest first onto the shard holding the fewest seats.
+     *
+     * @return {@code true} if the seats were split, {@code false} if they already were or span a single section.
+     */
+    public boolean split() {
+        synchronized (resizeLock) {
+            if (isSplit() || !resize(policy.getMaxShards())) {
+                return false;
+            }
+        }
+        scheduleIdleCheck();
+        return true;
+    }
+
+    /**
+     * Merges split seats back into a single shard now, whatever the traffic.
+     *
+     * @return {@code true} if the seats were merged, {@code false} if they were not split.
+     */
+    public boolean merge() {
+        synchronized (resizeLock) {
+            if (!isSplit()) {
+                return false;
+            }
+            return resize(1);
+        }
+    }
+
+    /**
+     * Counts a request and closes the current window if it is over.
+     */
+    private void record() {
+        requests.increment();
+        closeWindow(clock.millis());
+    }
+
+    /**
+     * Measures the current window if it is over and hands the split or merge the policy decides to the resizer. Only
+     * the caller that closes the window does the measurement.
+     *
+     * @param now The current time, in milliseconds.
+     */
+    private void closeWindow(long now) {
+        long start = windowStart.get();
+        long elapsed = now - start;
+        if (elapsed < policy.getWindowMillis() || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        long received = requests.sumThenReset();
+        long waited = waits.sumThenReset();
+        double rate = received * 1000.0 / elapsed;
+        requestRate = rate;
+        if (isSplit()) {
+            if (policy.shouldMerge(rate)) {
+                scheduleResize(this::merge);
+            }
+        } else if (policy.shouldSplit(rate, received == 0 ? 0 : (double) waited / received)) {
+            scheduleResize(this::split);
+        }
+    }
+
+    /**
+     * Hands a split or merge to the resizer, unless one is already pending. A resize the resizer rejects is dropped;
+     * the next window decides again.
+     *
+     * @param resize The split or merge.
+     */
+    private void scheduleResize(Runnable resize) {
+        if (!resizePending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            resizer.execute(() -> {
+                try {
+                    resize.run();
+                } finally {
+                    resizePending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            resizePending.set(false);
+        }
+    }
+
+    /**
+     * Schedules a check closing the window once it is over, unless one is already scheduled, so a split inventory
+     * whose requests stopped is still measured and merged.
+     */
+    private void scheduleIdleCheck() {
+        if (!idleCheckPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            RESIZER.schedule(this::checkIdle, policy.getWindowMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            idleCheckPending.set(false);
+        }
+    }
+
+    /**
+     * Closes the window while split and checks again one window later; stops once merged.
+     */
+    private void checkIdle() {
+        idleCheckPending.set(false);
+        if (isSplit()) {
+            closeWindow(clock.millis());
+            scheduleIdleCheck();
+        }
+    }
+
+    /**
+     * Creates the thread shared by the inventories to split and merge their seats.
+     *
+     * @return The executor.
+     */
+    private static ScheduledThreadPoolExecutor newResizer() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "seat-resize");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Counts a request and locks the live shard owning a seat's section.
+     *
+     * @param seat The seat.
+     * @return The shard, locked by the caller.
+     */
+    private Shard acquire(String seat) {
+        record();
+        int section = sections.applyAsInt(seat);
+        while (true) {
+            Shard shard = layout.shardFor(section);
+            lock(shard);
+            if (!shard.retired) {
+                return shard;
+            }
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Locks a shard, counting the request as waiting if the lock was held.
+     *
+     * @param shard The shard.
+     */
+    private void lock(Shard shard) {
+        if (!shard.lock.tryLock()) {
+            waits.increment();
+            shard.lock.lock();
+        }
+    }
+
+    /**
+     * Moves every seat into a new set of shards and retires the current ones. Must hold the resize lock.
+     *
+     * @param maxShards The maximum number of shards; 1 merges the seats.
+     * @return {@code true} if the layout changed.
+     */
+    private boolean resize(int maxShards) {
+        Layout current = layout;
+        for (Shard shard : current.shards) {
+            shard.lock.lock();
+        }
+        try {
+            Map<Integer, List<String>> bySection = new LinkedHashMap<>();
+            for (Shard shard : current.shards) {
+                for (String seat : shard.seats) {
+                    bySection.computeIfAbsent(sections.applyAsInt(seat), section -> new ArrayList<>()).add(seat);
+                }
+            }
+            int count = Math.min(maxShards, bySection.size());
+            Layout next;
+            if (count < 2) {
+                if (current.shards.length == 1) {
+                    return false;
+                }
+                Shard merged = new Shard();
+                for (Shard shard : current.shards) {
+                    merged.seats.addAll(shard.seats);
+                }
+                next = new Layout(new Shard[] {merged}, new int[0], new Shard[0]);
+            } else {
+                Shard[] shards = new Shard[count];
+                for (int i = 0; i < count; i++) {
+                    shards[i] = new Shard();
+                }
+                List<Map.Entry<Integer, List<String>>> largestFirst = new ArrayList<>(bySection.entrySet());
+                largestFirst.sort(Comparator.comparingInt(
+                        (Map.Entry<Integer, List<String>> entry) -> entry.getValue().size()).reversed());
+                Map<Integer, Shard> owners = new TreeMap<>();
+                for (Map.Entry<Integer, List<String>> section : largestFirst) {
+                    Shard emptiest = shards[0];
+                    for (Shard shard : shards) {
+                        if (shard.seats.size() < emptiest.seats.size()) {
+                            emptiest = shard;
+                        }
+                    }
+                    emptiest.seats.addAll(section.getValue());
+                    owners.put(section.getKey(), emptiest);
+                }
+                int[] keys = new int[owners.size()];
+                Shard[] keyOwners = new Shard[owners.size()];
+                int index = 0;
+                for (Map.Entry<Integer, Shard> owner : owners.entrySet()) {
+                    keys[index] = owner.getKey();
+                    keyOwners[index++] = owner.getValue();
+                }
+                next = new Layout(shards, keys, keyOwners);
+                splitCount.incrementAndGet();
+            }
+            for (Shard shard : current.shards) {
+                shard.retired = true;
+            }
+            layout = next;
+            return true;
+        } finally {
+            for (Shard shard : current.shards) {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * The Shard class holds the available seats of some sections under its own lock.
+     */
+    private static final class Shard {
+
+        /**
+         * Guards the seats and the retired flag.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * The available seats, in the order they were added.
+         */
+        private final LinkedHashSet<String> seats = new LinkedHashSet<>();
+
+        /**
+         * Whether the shard was replaced by a split or merge; its seats were moved and it must not be used anymore.
+         */
+        private boolean retired;
+    }
+
+    /**
+     * The Layout class assigns sections to shards. It is immutable once published.
+     */
+    private static final class Layout {
+
+        /**
+         * The shards.
+         */
+        private final Shard[] shards;
+
+        /**
+         * The keys of the sections known when the layout was built, in ascending order.
+         */
+        private final int[] keys;
+
+        /**
+         * The shard owning each known section, at the index of its key.
+         */
+        private final Shard[] owners;
+
+        private Layout(Shard[] shards, int[] keys, Shard[] owners) {
+            this.shards = shards;
+            this.keys = keys;
+            this.owners = owners;
+        }
+
+        /**
+         * Gets the shard owning a section. Sections unknown to the layout are spread over the shards by key.
+         *
+         * @param section The key of the section.
+         * @return The shard.
+         */
+        private Shard shardFor(int section) {
+            int index = Arrays.binarySearch(keys, section);
+            return index >= 0 ? owners[index] : shards[Math.floorMod(section, shards.length)];
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ticketSales.io;
+
+import ticketSales.controllers.Controller;
+import ticketSales.models.Event;
+import ticketSales.models.User;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The CatalogExporter class writes the events, their available seats and the users of a {@link Controller} to a CSV or
+ * JSON lines file that {@link CatalogImporter} can read back. Records are written through a small buffer, so memory
+ * use does not depend on the size of the catalog.
+ */
+public class CatalogExporter {
+
+    // Constants
+    /**
+     * The number of buffered characters that triggers a write.
+     */
+    private static final int FLUSH_THRESHOLD = 8192;
+
+    // Attributes
+    /**
+     * The controller whose state is exported.
+     */
+    private final Controller controller;
+
+    /**
+     * Whether the password hashes of the users are exported.
+     */
+    private final boolean includeCredentials;
+
+    // Constructor
+    /**
+     * Constructs a new CatalogExporter that leaves credentials out of the export.
+     *
+     * @param controller The controller whose state is exported.
+     */
+    public CatalogExporter(Controller controller) {
+        this(controller, false);
+    }
+
+    /**
+     * Constructs a new CatalogExporter.
+     *
+     * @param controller The controller whose state is exported.
+     * @param includeCredentials Whether the password hashes of the users are exported, for instance to move the users
+     * to another system. Users imported without a hash cannot log in until their password is reset.
+     */
+    public CatalogExporter(Controller controller, boolean includeCredentials) {
+        this.controller = controller;
+        this.includeCredentials = includeCredentials;
+    }
+
+    // Class Methods
+    /**
+     * Writes every event, followed by its available seats, and then every user.
+     *
+     * @param writer The writer to write to. It is flushed but not closed.
+     * @param format The format of the file.
+     * @return The number of records written.
+     * @throws IOException If the file cannot be written.
+     */
+    public long exportTo(Writer writer, RecordFormat format) throws IOException {
+        StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD * 2);
+        long records = 0;
+        for (Event event : controller.listEvents()) {
+            format.append(CatalogRecord.of(event), buffer);
+            records++;
+            for (String seat : event.getAvailableSeats()) {
+                format.append(CatalogRecord.ofSeat(event.getName(), seat), buffer);
+                records++;
+                drain(buffer, writer);
+            }
+            drain(buffer, writer);
+        }
+        for (User user : controller.listUsers()) {
+            format.append(CatalogRecord.of(user, includeCredentials), buffer);
+            records++;
+            drain(buffer, writer);
+        }
+        writer.append(buffer);
+        writer.flush();
+        return records;
+    }
+
+    private static void drain(StringBuilder buffer, Writer writer) throws IOException {
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            writer.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package ticketSales.io;
+
+import ticketSales.controllers.Controller;
+import ticketSales.ids.IdGenerator;
+import ticketSales.inventory.SectionedSeatInventory;
+import ticketSales.models.Event;
+import ticketSales.models.User;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The CatalogImporter class loads events, seats and users into a {@link Controller} from a CSV or JSON lines file.
+ * The file is read one record at a time, so memory use does not depend on its size. Consecutive seats of the same
+ * event are added in bulk with a single event lookup. A rejected record is reported with its line number and the
+ * import carries on with the next one.
+ * <p>
+ * An event must appear before its seats. Users are imported with the password hash found in the file,
+ * so importing does not pay the cost of hashing passwords.
+ */
+public class CatalogImporter {
+
+    // Constants
+    /**
+     * The default number of consecutive seats added in one bulk call.
+     */
+    public static final int DEFAULT_SEAT_BATCH_SIZE = 1024;
+
+    /**
+     * The default number of errors kept in a report.
+     */
+    public static final int DEFAULT_MAXIMUM_ERRORS = 1000;
+
+    // Attributes
+    /**
+     * The controller the records are imported into.
+     */
+    private final Controller controller;
+
+    /**
+     * The administrator registering the imported events.
+     */
+    private final User admin;
+
+    /**
+     * The number of consecutive seats added in one bulk call.
+     */
+    private final int seatBatchSize;
+
+    // Constructor
+    /**
+     * Constructs a new CatalogImporter with the default seat batch size.
+     *
+     * @param controller The controller the records are imported into.
+     * @param admin The administrator registering the imported events.
+     */
+    public CatalogImporter(Controller controller, User admin) {
+        this(controller, admin, DEFAULT_SEAT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a new CatalogImporter.
+     *
+     * @param controller The controller the records are imported into.
+     * @param admin The administrator registering the imported events.
+     * @param seatBatchSize The number of consecutive seats added in one bulk call.
+     */
+    public CatalogImporter(Controller controller, User admin, int seatBatchSize) {
+        if (seatBatchSize <= 0) {
+            throw new IllegalArgumentException("Seat batch size must be positive.");
+        }
+        this.controller = controller;
+        this.admin = admin;
+        this.seatBatchSize = seatBatchSize;
+    }
+
+    // Class Methods
+    /**
+     * Imports every record of a file.
+     *
+     * @param reader The reader over the file.
+     * @param format The format of the file.
+     * @return The report of the import.
+     * @throws IOException If the file cannot be read.
+     */
+    public ImportReport importFrom(Reader reader, RecordFormat format) throws IOException {
+        LineNumberReader in = new LineNumberReader(reader);
+        ImportReport report = new ImportReport(DEFAULT_MAXIMUM_ERRORS);
+        SeatBatch seats = new SeatBatch();
+        while (true) {
+            long line = in.getLineNumber() + 1;
+            CatalogRecord record;
+            try {
+                record = format.read(in);
+            } catch (IllegalArgumentException e) {
+                seats.flush(report);
+                report.fail(line, e.getMessage());
+                continue;
+            }
+            if (record == null) {
+                break;
+            }
+            if (record.getType() == CatalogRecord.Type.SEAT) {
+                String eventName = record.get("event");
+                if (!eventName.equals(seats.eventName) || seats.seats.size() == seatBatchSize) {
+                    seats.flush(report);
+                    seats.eventName = eventName;
+                }
+                seats.seats.add(record.get("seat"));
+                seats.lines.add(line);
+                continue;
+            }
+            seats.flush(report);
+            try {
+                if (record.getType() == CatalogRecord.Type.EVENT) {
+                    importEvent(record);
+                    report.addEvents(1);
+                } else {
+                    controller.registerUser(toUser(record));
+                    report.addUsers(1);
+                }
+            } catch (RuntimeException e) {
+                report.fail(line, e.getMessage());
+            }
+        }
+        seats.flush(report);
+        return report;
+    }
+
+    private void importEvent(CatalogRecord record) {
+        String name = record.get("name");
+        if (controller.findEvent(name) != null) {
+            throw new IllegalArgumentException("Event already registered: " + name);
+        }
+        Date date = Date.from(Instant.parse(record.get("date")));
+        String id = record.get("id");
+        if (id.isEmpty()) {
+            controller.registerEvent(admin, name, record.get("description"), date);
+        } else {
+            controller.registerEvent(admin, new Event(parseId(id), name, record.get("description"), date,
+                    new SectionedSeatInventory(), controller.getClock()));
+        }
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid id: " + id);
+        }
+    }
+
+    private static User toUser(CatalogRecord record) {
+        String admin = record.get("admin");
+        if (!admin.equals("true") && !admin.equals("false")) {
+            throw new IllegalArgumentException("Invalid admin flag: " + admin);
+        }
+        String passwordHash = record.get("passwordHash");
+        String id = record.get("id");
+        return User.withPasswordHash(id.isEmpty() ? IdGenerator.getDefault().nextId() : parseId(id),
+                record.get("login"), passwordHash.isEmpty() ? null : passwordHash, record.get("name"), record.get("cpf"),
+                record.get("email"), Boolean.parseBoolean(admin));
+    }
+
+    /**
+     * The SeatBatch class buffers consecutive seats of one event until they are added in bulk.
+     */
+    private final class SeatBatch {
+
+        private String eventName;
+        private final List<String> seats = new ArrayList<>();
+        private final List<Long> lines = new ArrayList<>();
+
+        private void flush(ImportReport report) {
+            if (seats.isEmpty()) {
+                return;
+            }
+            try {
+                report.addSeats(controller.addEventSeats(eventName, seats));
+            } catch (RuntimeException e) {
+                for (long line : lines) {
+                    report.fail(line, e.getMessage());
+                }
+            }
+            seats.clear();
+            lines.clear();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package ticketSales.io;
+
+import ticketSales.models.Event;
+import ticketSales.models.User;
+
+import java.util.Arrays;
+
+/**
+ * The CatalogRecord class is one line of an import or export file: an event, a seat of an event, or a user.
+ * Its fields are kept as text in the order defined by its {@link Type}. Events and users carry their ids in a trailing
+ * field, so they keep them across processes; files written before ids existed leave it out, and it reads as empty.
+ */
+public class CatalogRecord {
+
+    /**
+     * The Type enum lists the kinds of records and their fields.
+     */
+    public enum Type {
+        EVENT("event", 3, "name", "description", "date", "id"),
+        SEAT("seat", 2, "event", "seat"),
+        USER("user", 6, "login", "passwordHash", "name", "cpf", "email", "admin", "id");
+
+        private final String label;
+        private final int requiredFields;
+        private final String[] fields;
+
+        Type(String label, int requiredFields, String... fields) {
+            this.label = label;
+            this.requiredFields = requiredFields;
+            this.fields = fields;
+        }
+
+        /**
+         * Gets the label identifying the type in files.
+         *
+         * @return The label.
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Gets the names of the fields, in file order.
+         *
+         * @return A copy of the field names.
+         */
+        public String[] getFields() {
+            return fields.clone();
+        }
+
+        /**
+         * Gets the type with the given label.
+         *
+         * @param label The label.
+         * @return The type.
+         * @throws IllegalArgumentException If no type has that label.
+         */
+        public static Type fromLabel(String label) {
+            for (Type type : values()) {
+                if (type.label.equals(label)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown record type: " + label);
+        }
+
+        private int indexOf(String field) {
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].equals(field)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Unknown field for " + label + ": " + field);
+        }
+    }
+
+    // Attributes
+    /**
+     * The kind of record.
+     */
+    private final Type type;
+
+    /**
+     * The field values, in the order defined by the type.
+     */
+    private final String[] values;
+
+    // Constructor
+    /**
+     * Constructs a new CatalogRecord.
+     *
+     * @param type The kind of record.
+     * @param values The field values, in the order defined by the type; trailing optional fields may be left out.
+     * @throws IllegalArgumentException If the number of values does not match the type, or a required value is
+     * missing.
+     */
+    public CatalogRecord(Type type, String... values) {
+        if (values.length < type.requiredFields || values.length > type.fields.length) {
+            throw new IllegalArgumentException("Expected " + type.fields.length + " fields for " + type.label
+                    + " but found " + values.length + ".");
+        }
+        String[] complete = Arrays.copyOf(values, type.fields.length);
+        for (int i = 0; i < complete.length; i++) {
+            if (complete[i] == null) {
+                if (i < type.requiredFields) {
+                    throw new IllegalArgumentException("Missing field " + type.fields[i] + " for " + type.label
+                            + ".");
+                }
+                complete[i] = "";
+            }
+        }
+        this.type = type;
+        this.values = complete;
+    }
+
+    /**
+     * Creates the record describing an event.
+     *
+     * @param event The event.
+     * @return The event record.
+     */
+    public static CatalogRecord of(Event event) {
+        return new CatalogRecord(Type.EVENT, event.getName(), event.getDescription(),
+                event.getDate().toInstant().toString(), Long.toString(event.getId()));
+    }
+
+    /**
+     * Creates the record describing an available seat of an event.
+     *
+     * @param eventName The name of the event.
+     * @param seat The seat.
+     * @return The seat record.
+     */
+    public static CatalogRecord ofSeat(String eventName, String seat) {
+        return new CatalogRecord(Type.SEAT, eventName, seat);
+    }
+
+    /**
+     * Creates the record describing a user, without credentials: the password hash field is left empty.
+     *
+     * @param user The user.
+     * @return The user record.
+     */
+    public static CatalogRecord of(User user) {
+        return of(user, false);
+    }
+
+    /**
+     * Creates the record describing a user. Only the password hash is ever exported, and only if asked for.
+     *
+     * @param user The user.
+     * @param includeCredentials Whether to export the password hash; otherwise the field is left empty.
+     * @return The user record.
+     */
+    public static CatalogRecord of(User user, boolean includeCredentials) {
+        String passwordHash = includeCredentials && user.getPasswordHash() != null ? user.getPasswordHash() : "";
+        return new CatalogRecord(Type.USER, user.getLogin(), passwordHash, user.getName(), user.getCpf(),
+                user.getEmail(), Boolean.toString(user.isAdmin()), Long.toString(user.getId()));
+    }
+
+    // Getters
+    /**
+     * Gets the kind of record.
+     *
+     * @return The type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the value of a field.
+     *
+     * @param field The name of the field.
+     * @return The value.
+     * @throws IllegalArgumentException If the type has no such field.
+     */
+    public String get(String field) {
+        return values[type.indexOf(field)];
+    }
+
+    /**
+     * Gets the field values, in the order defined by the type.
+     *
+     * @return A copy of the values.
+     */
+    public String[] getValues() {
+        return values.clone();
+    }
+
+    // Overridden Methods
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CatalogRecord that = (CatalogRecord) o;
+        return type == that.type && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogRecord{" +
+                "type=" + type +
+                ", values=" + Arrays.toString(values) +
+                '}';
+    }
+}
@@ -0,0 +1,105 @@
+package ticketSales.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Csv class reads and writes comma-separated rows as described by RFC 4180: fields holding commas, quotes or line
+ * breaks are quoted, and quotes inside them are doubled.
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Appends a row, followed by a line break.
+     *
+     * @param out The builder to append to.
+     * @param fields The fields of the row.
+     */
+    public static void appendRow(StringBuilder out, String... fields) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            appendField(out, fields[i]);
+        }
+        out.append('\n');
+    }
+
+    private static void appendField(StringBuilder out, String field) {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(field);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    /**
+     * Reads the next row, which spans several lines when a quoted field contains line breaks.
+     *
+     * @param in The reader to read from.
+     * @return The fields of the row, or {@code null} at the end of the input.
+     * @throws IOException If the input cannot be read.
+     * @throws IllegalArgumentException If a quoted field is not closed before the end of the input.
+     */
+    public static List<String> readRow(BufferedReader in) throws IOException {
+        String line = in.readLine();
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                line = in.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("Unterminated quoted field.");
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ticketSales.io;
+
+/**
+ * The ImportError class describes a record that could not be imported.
+ */
+public class ImportError {
+
+    // Attributes
+    /**
+     * The line where the record starts.
+     */
+    private final long line;
+
+    /**
+     * Why the record was rejected.
+     */
+    private final String message;
+
+    // Constructor
+    /**
+     * Constructs a new ImportError.
+     *
+     * @param line The line where the record starts.
+     * @param message Why the record was rejected.
+     */
+    public ImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    // Getters
+    /**
+     * Gets the line where the record starts.
+     *
+     * @return The line number, starting at 1.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Gets why the record was rejected.
+     *
+     * @return The error message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "line " + line + ": " + message;
+    }
+}
@@ -0,0 +1,131 @@
+package ticketSales.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ImportReport class summarizes an import: how many records of each type were imported and which were rejected.
+ * Only the first errors are kept, so the report stays small however many records fail.
+ */
+public class ImportReport {
+
+    // Attributes
+    /**
+     * The number of events imported.
+     */
+    private long eventsImported;
+
+    /**
+     * The number of seats made available.
+     */
+    private long seatsImported;
+
+    /**
+     * The number of users imported.
+     */
+    private long usersImported;
+
+    /**
+     * The number of records rejected.
+     */
+    private long failedRecords;
+
+    /**
+     * The first errors, up to {@link #maximumErrors}.
+     */
+    private final List<ImportError> errors;
+
+    /**
+     * The maximum number of errors kept.
+     */
+    private final int maximumErrors;
+
+    // Constructor
+    /**
+     * Constructs a new, empty ImportReport.
+     *
+     * @param maximumErrors The maximum number of errors kept.
+     */
+    public ImportReport(int maximumErrors) {
+        this.errors = new ArrayList<>();
+        this.maximumErrors = maximumErrors;
+    }
+
+    // Getters
+    /**
+     * Gets the number of events imported.
+     *
+     * @return The number of events.
+     */
+    public long getEventsImported() {
+        return eventsImported;
+    }
+
+    /**
+     * Gets the number of seats made available. Seats that were already available are not counted.
+     *
+     * @return The number of seats.
+     */
+    public long getSeatsImported() {
+        return seatsImported;
+    }
+
+    /**
+     * Gets the number of users imported.
+     *
+     * @return The number of users.
+     */
+    public long getUsersImported() {
+        return usersImported;
+    }
+
+    /**
+     * Gets the number of records rejected.
+     *
+     * @return The number of failed records.
+     */
+    public long getFailedRecords() {
+        return failedRecords;
+    }
+
+    /**
+     * Gets the first errors.
+     *
+     * @return An unmodifiable list of errors, in file order.
+     */
+    public List<ImportError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    // Class Methods
+    void addEvents(long count) {
+        eventsImported += count;
+    }
+
+    void addSeats(long count) {
+        seatsImported += count;
+    }
+
+    void addUsers(long count) {
+        usersImported += count;
+    }
+
+    void fail(long line, String message) {
+        failedRecords++;
+        if (errors.size() < maximumErrors) {
+            errors.add(new ImportError(line, message));
+        }
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "ImportReport{" +
+                "eventsImported=" + eventsImported +
+                ", seatsImported=" + seatsImported +
+                ", usersImported=" + usersImported +
+                ", failedRecords=" + failedRecords +
+                '}';
+    }
+}
@@ -0,0 +1,199 @@
+package ticketSales.io;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The Json class holds the minimal JSON support needed for flat records: escaping strings and parsing one-level objects
+ * whose values are strings, numbers, booleans or null.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Appends a value as a quoted, escaped JSON string.
+     *
+     * @param json The builder to append to.
+     * @param value The value to be appended.
+     */
+    public static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Parses a flat JSON object. Non-string values are returned as their literal text, and {@code null} as {@code null}.
+     *
+     * @param text The JSON text.
+     * @return The members of the object, in document order.
+     * @throws IllegalArgumentException If the text is not a flat JSON object.
+     */
+    public static Map<String, String> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, String> members = new LinkedHashMap<>();
+        parser.skipWhitespace();
+        parser.expect('{');
+        parser.skipWhitespace();
+        if (parser.peek() == '}') {
+            parser.position++;
+        } else {
+            while (true) {
+                parser.skipWhitespace();
+                String key = parser.readString();
+                parser.skipWhitespace();
+                parser.expect(':');
+                parser.skipWhitespace();
+                members.put(key, parser.readValue());
+                parser.skipWhitespace();
+                char next = parser.next();
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    throw parser.error("Expected ',' or '}'");
+                }
+            }
+        }
+        parser.skipWhitespace();
+        if (parser.position != text.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return members;
+    }
+
+    /**
+     * The Parser class walks over the JSON text.
+     */
+    private static final class Parser {
+
+        private final String text;
+        private int position;
+
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        private char peek() {
+            if (position >= text.length()) {
+                throw error("Unexpected end of input");
+            }
+            return text.charAt(position);
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private String readValue() {
+            if (peek() == '"') {
+                return readString();
+            }
+            int start = position;
+            while (position < text.length() && ",} \t\r\n".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty() || literal.charAt(0) == '{' || literal.charAt(0) == '[') {
+                throw error("Expected a string, number, boolean or null");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        value.append(escaped);
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw error("Truncated unicode escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid unicode escape");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        throw error("Invalid escape '\\" + escaped + "'");
+                }
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position + ".");
+        }
+    }
+}
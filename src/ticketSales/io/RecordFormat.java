@@ -0,0 +1,99 @@
+package ticketSales.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The RecordFormat enum lists the file formats of catalog imports and exports. Both formats hold one record per row,
+ * so files are read and written incrementally.
+ * <ul>
+ *     <li>{@link #CSV}: the record type label followed by the fields in type order, e.g. {@code seat,Rock show,A1}.</li>
+ *     <li>{@link #JSON_LINES}: one flat JSON object per line with a {@code type} member and one member per field.</li>
+ * </ul>
+ */
+public enum RecordFormat {
+
+    CSV {
+        @Override
+        public void append(CatalogRecord record, StringBuilder out) {
+            String[] values = record.getValues();
+            String[] row = new String[values.length + 1];
+            row[0] = record.getType().getLabel();
+            System.arraycopy(values, 0, row, 1, values.length);
+            Csv.appendRow(out, row);
+        }
+
+        @Override
+        public CatalogRecord read(BufferedReader in) throws IOException {
+            List<String> row;
+            do {
+                row = Csv.readRow(in);
+            } while (row != null && row.size() == 1 && row.get(0).isEmpty());
+            if (row == null) {
+                return null;
+            }
+            CatalogRecord.Type type = CatalogRecord.Type.fromLabel(row.get(0));
+            return new CatalogRecord(type, row.subList(1, row.size()).toArray(new String[0]));
+        }
+    },
+
+    JSON_LINES {
+        @Override
+        public void append(CatalogRecord record, StringBuilder out) {
+            String[] fields = record.getType().getFields();
+            String[] values = record.getValues();
+            out.append("{\"type\":");
+            Json.appendString(out, record.getType().getLabel());
+            for (int i = 0; i < fields.length; i++) {
+                out.append(',');
+                Json.appendString(out, fields[i]);
+                out.append(':');
+                Json.appendString(out, values[i]);
+            }
+            out.append("}\n");
+        }
+
+        @Override
+        public CatalogRecord read(BufferedReader in) throws IOException {
+            String line;
+            do {
+                line = in.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            Map<String, String> members = Json.parseObject(line);
+            String label = members.get("type");
+            if (label == null) {
+                throw new IllegalArgumentException("Missing record type.");
+            }
+            CatalogRecord.Type type = CatalogRecord.Type.fromLabel(label);
+            String[] fields = type.getFields();
+            String[] values = new String[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = members.get(fields[i]);
+            }
+            return new CatalogRecord(type, values);
+        }
+    };
+
+    /**
+     * Appends a record, followed by a line break.
+     *
+     * @param record The record to be written.
+     * @param out The builder to append to.
+     */
+    public abstract void append(CatalogRecord record, StringBuilder out);
+
+    /**
+     * Reads the next record, skipping blank lines.
+     *
+     * @param in The reader to read from.
+     * @return The record, or {@code null} at the end of the input.
+     * @throws IOException If the input cannot be read.
+     * @throws IllegalArgumentException If the record is malformed; the reader is left at the start of the next record.
+     */
+    public abstract CatalogRecord read(BufferedReader in) throws IOException;
+}
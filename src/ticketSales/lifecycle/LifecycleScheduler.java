@@ -0,0 +1,230 @@
+package ticketSales.lifecycle;
+
+import ticketSales.models.Event;
+import ticketSales.models.EventState;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LifecycleScheduler class moves events through their lifecycle as time passes: announced events go on sale when
+ * sales open, sales close at the configured instant, and events become past on their date. Pending transitions are kept
+ * ordered by instant, so all transitions due at once are applied in a single pass however many events are registered.
+ * <p>
+ * Time is read from an injectable {@link Clock}. {@link #advance()} applies the due transitions; once
+ * {@link #start()} is called, it also runs automatically when the next transition is due.
+ */
+public class LifecycleScheduler implements AutoCloseable {
+
+    // Constants
+    /**
+     * The thread shared by all schedulers to wake up when transitions are due.
+     */
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-lifecycle");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Attributes
+    /**
+     * The clock giving the current time.
+     */
+    private final Clock clock;
+
+    /**
+     * The pending transitions, by instant in milliseconds since the epoch.
+     */
+    private final TreeMap<Long, List<Transition>> pending;
+
+    /**
+     * Whether transitions are applied automatically.
+     */
+    private boolean started;
+
+    /**
+     * The wake-up scheduled for the earliest pending transition, if started.
+     */
+    private ScheduledFuture<?> wakeUp;
+
+    /**
+     * The instant of the scheduled wake-up.
+     */
+    private long wakeUpAt;
+
+    // Constructor
+    /**
+     * Constructs a new LifecycleScheduler.
+     *
+     * @param clock The clock giving the current time.
+     */
+    public LifecycleScheduler(Clock clock) {
+        this.clock = clock;
+        this.pending = new TreeMap<>();
+        this.wakeUpAt = Long.MAX_VALUE;
+    }
+
+    // Getters
+    /**
+     * Gets the clock giving the current time.
+     *
+     * @return The clock.
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the number of pending transitions.
+     *
+     * @return The number of transitions.
+     */
+    public synchronized int getPendingCount() {
+        int count = 0;
+        for (List<Transition> transitions : pending.values()) {
+            count += transitions.size();
+        }
+        return count;
+    }
+
+    // Overridden Methods
+    /**
+     * Stops applying transitions automatically.
+     */
+    @Override
+    public synchronized void close() {
+        started = false;
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        wakeUpAt = Long.MAX_VALUE;
+    }
+
+    // Class Methods
+    /**
+     * Registers an event whose sales are open until it takes place.
+     *
+     * @param event The event to be registered.
+     */
+    public void register(Event event) {
+        register(event, null, null);
+    }
+
+    /**
+     * Registers an event with a sales window. The event is immediately moved to the state matching the current time,
+     * and its later transitions are scheduled.
+     *
+     * @param event The event to be registered.
+     * @param salesOpen When sales open, or {@code null} if they are already open.
+     * @param salesClose When sales close, or {@code null} if they close when the event takes place.
+     */
+    public synchronized void register(Event event, Date salesOpen, Date salesClose) {
+        long opens = salesOpen == null ? Long.MIN_VALUE : salesOpen.getTime();
+        long happens = event.getDate().getTime();
+        long closes = salesClose == null ? happens : Math.min(salesClose.getTime(), happens);
+        long now = clock.millis();
+        if (now >= happens) {
+            event.transitionTo(EventState.PAST);
+            return;
+        }
+        if (now >= closes) {
+            event.transitionTo(EventState.SALES_CLOSED);
+        } else if (now >= opens) {
+            event.transitionTo(EventState.ON_SALE);
+            schedule(closes, event, closes == happens ? EventState.PAST : EventState.SALES_CLOSED);
+        } else {
+            event.transitionTo(EventState.ANNOUNCED);
+            schedule(opens, event, EventState.ON_SALE);
+            schedule(closes, event, closes == happens ? EventState.PAST : EventState.SALES_CLOSED);
+        }
+        if (closes != happens) {
+            schedule(happens, event, EventState.PAST);
+        }
+    }
+
+    /**
+     * Applies every transition that is due at the current time of the clock.
+     *
+     * @return The number of transitions applied.
+     */
+    public int advance() {
+        List<Transition> due = new ArrayList<>();
+        synchronized (this) {
+            NavigableMap<Long, List<Transition>> head = pending.headMap(clock.millis(), true);
+            for (List<Transition> transitions : head.values()) {
+                due.addAll(transitions);
+            }
+            head.clear();
+        }
+        int applied = 0;
+        for (Transition transition : due) {
+            if (transition.event.transitionTo(transition.state)) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Starts applying transitions automatically when they are due.
+     */
+    public synchronized void start() {
+        started = true;
+        rearm();
+    }
+
+    private void schedule(long at, Event event, EventState state) {
+        pending.computeIfAbsent(at, key -> new ArrayList<>()).add(new Transition(event, state));
+        rearm();
+    }
+
+    /**
+     * Makes sure a wake-up is scheduled for the earliest pending transition. Must hold the scheduler lock.
+     */
+    private void rearm() {
+        if (!started || pending.isEmpty()) {
+            return;
+        }
+        long next = pending.firstKey();
+        if (wakeUp != null && wakeUpAt <= next) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpAt = next;
+        wakeUp = TIMER.schedule(this::wake, Math.max(0, next - clock.millis()), TimeUnit.MILLISECONDS);
+    }
+
+    private void wake() {
+        advance();
+        synchronized (this) {
+            wakeUp = null;
+            wakeUpAt = Long.MAX_VALUE;
+            rearm();
+        }
+    }
+
+    /**
+     * The Transition class is a pending move of one event to a new state.
+     */
+    private static final class Transition {
+
+        private final Event event;
+        private final EventState state;
+
+        private Transition(Event event, EventState state) {
+            this.event = event;
+            this.state = state;
+        }
+    }
+}
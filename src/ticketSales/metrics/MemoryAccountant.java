@@ -0,0 +1,304 @@
+package ticketSales.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ticketSales.controllers.Controller;
+import ticketSales.controllers.ControllerListener;
+import ticketSales.inventory.SeatChange;
+import ticketSales.models.Event;
+import ticketSales.models.SeatChangeListener;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+/**
+ * The MemoryAccountant class tracks the estimated heap retained by each event, each user and the whole catalog of a
+ * {@link Controller}. It listens to the controller and its events, and refreshes the estimate of an event on each of
+ * its seat changes and the estimate of a user on each of its ticket changes, in constant time, keeping the totals up
+ * to date by the difference. The totals are published to the controller's {@link MetricsRegistry} under
+ * {@code memory.*}, and {@link MemoryAlertListener}s are notified when an estimate goes over its {@link MemoryBudget}.
+ */
+public class MemoryAccountant implements ControllerListener, SeatChangeListener, AutoCloseable {
+
+    // Constants
+    /**
+     * The name of the metric of the estimated size of the catalog.
+     */
+    public static final String CATALOG_METRIC = "memory.catalog.bytes";
+
+    /**
+     * The name of the metric of the estimated size of the events.
+     */
+    public static final String EVENTS_METRIC = "memory.events.bytes";
+
+    /**
+     * The name of the metric of the estimated size of the users.
+     */
+    public static final String USERS_METRIC = "memory.users.bytes";
+
+    // Attributes
+    /**
+     * The controller being measured.
+     */
+    private final Controller controller;
+
+    /**
+     * The budgets raising alerts.
+     */
+    private final MemoryBudget budget;
+
+    /**
+     * The estimate of each event, by id.
+     */
+    private final ConcurrentHashMap<Long, AtomicLong> eventEstimates;
+
+    /**
+     * The estimate of each user, by id, so it follows the user through a change of login.
+     */
+    private final ConcurrentHashMap<Long, AtomicLong> userEstimates;
+
+    /**
+     * The sum of the estimates of the events.
+     */
+    private final AtomicLong eventsTotal;
+
+    /**
+     * The sum of the estimates of the users.
+     */
+    private final AtomicLong usersTotal;
+
+    /**
+     * The listeners notified of exceeded budgets.
+     */
+    private final CopyOnWriteArrayList<MemoryAlertListener> alertListeners;
+
+    // Constructor
+    /**
+     * Constructs a new MemoryAccountant without budgets and attaches it to a controller.
+     *
+     * @param controller The controller to be measured.
+     */
+    public MemoryAccountant(Controller controller) {
+        this(controller, MemoryBudget.unlimited());
+    }
+
+    /**
+     * Constructs a new MemoryAccountant and attaches it to a controller, measuring its current events and users.
+     *
+     * @param controller The controller to be measured.
+     * @param budget The budgets raising alerts.
+     */
+    public MemoryAccountant(Controller controller, MemoryBudget budget) {
+        this.controller = controller;
+        this.budget = budget;
+        this.eventEstimates = new ConcurrentHashMap<>();
+        this.userEstimates = new ConcurrentHashMap<>();
+        this.eventsTotal = new AtomicLong();
+        this.usersTotal = new AtomicLong();
+        this.alertListeners = new CopyOnWriteArrayList<>();
+        controller.addListener(this);
+        for (Event event : controller.listEvents()) {
+            onEventRegistered(event);
+        }
+        for (User user : controller.listUsers()) {
+            refresh(user);
+        }
+        MetricsRegistry metrics = controller.getMetrics();
+        metrics.register(CATALOG_METRIC, this::getCatalogBytes);
+        metrics.register(EVENTS_METRIC, eventsTotal::get);
+        metrics.register(USERS_METRIC, usersTotal::get);
+    }
+
+    // Getters
+    /**
+     * Gets the budgets raising alerts.
+     *
+     * @return The budgets.
+     */
+    public MemoryBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Gets the estimated heap retained by the events and users of the controller.
+     *
+     * @return The estimate, in bytes.
+     */
+    public long getCatalogBytes() {
+        return eventsTotal.get() + usersTotal.get();
+    }
+
+    /**
+     * Gets the estimated heap retained by the events of the controller and their seats.
+     *
+     * @return The estimate, in bytes.
+     */
+    public long getEventsBytes() {
+        return eventsTotal.get();
+    }
+
+    /**
+     * Gets the estimated heap retained by the users of the controller and their tickets.
+     *
+     * @return The estimate, in bytes.
+     */
+    public long getUsersBytes() {
+        return usersTotal.get();
+    }
+
+    /**
+     * Gets the estimated heap retained by an event and its seats.
+     *
+     * @param event The event.
+     * @return The estimate, in bytes, or 0 if the event is not measured.
+     */
+    public long getEventBytes(Event event) {
+        AtomicLong estimate = eventEstimates.get(event.getId());
+        return estimate == null ? 0 : estimate.get();
+    }
+
+    /**
+     * Gets the estimated heap retained by a user and the tickets the user holds.
+     *
+     * @param user The user.
+     * @return The estimate, in bytes, or 0 if the user is not measured.
+     */
+    public long getUserBytes(User user) {
+        AtomicLong estimate = userEstimates.get(user.getId());
+        return estimate == null ? 0 : estimate.get();
+    }
+
+    // Overridden Methods
+    @Override
+    public void onEventRegistered(Event event) {
+        if (eventEstimates.putIfAbsent(event.getId(), new AtomicLong()) == null) {
+            event.addSeatChangeListener(this);
+            refresh(event);
+        }
+    }
+
+    @Override
+    public void onEventRemoved(Event event) {
+        AtomicLong estimate = eventEstimates.remove(event.getId());
+        if (estimate != null) {
+            event.removeSeatChangeListener(this);
+            eventsTotal.addAndGet(-estimate.getAndSet(0));
+        }
+    }
+
+    @Override
+    public void onUserRegistered(User user) {
+        refresh(user);
+    }
+
+    @Override
+    public void onTicketChange(Ticket ticket, User previousHolder) {
+        User holder = ticket.getHolder();
+        if (holder != null) {
+            refresh(holder);
+        }
+        if (previousHolder != null && previousHolder != holder) {
+            refresh(previousHolder);
+        }
+    }
+
+    @Override
+    public void onSeatChange(Event event, SeatChange change) {
+        refresh(event);
+    }
+
+    /**
+     * Detaches the accountant from the controller and its events and removes its metrics.
+     */
+    @Override
+    public void close() {
+        controller.removeListener(this);
+        for (Event event : controller.listEvents()) {
+            event.removeSeatChangeListener(this);
+        }
+        MetricsRegistry metrics = controller.getMetrics();
+        metrics.unregister(CATALOG_METRIC);
+        metrics.unregister(EVENTS_METRIC);
+        metrics.unregister(USERS_METRIC);
+    }
+
+    // Class Methods
+    /**
+     * Registers a listener notified when an estimate goes over its budget.
+     *
+     * @param listener The listener.
+     */
+    public void addAlertListener(MemoryAlertListener listener) {
+        alertListeners.add(listener);
+    }
+
+    /**
+     * Unregisters an alert listener.
+     *
+     * @param listener The listener.
+     */
+    public void removeAlertListener(MemoryAlertListener listener) {
+        alertListeners.remove(listener);
+    }
+
+    /**
+     * Refreshes the estimate of an event.
+     *
+     * @param event The event.
+     */
+    private void refresh(Event event) {
+        AtomicLong estimate = eventEstimates.get(event.getId());
+        if (estimate != null) {
+            long bytes = MemoryEstimates.eventBytes(event);
+            long delta = bytes - estimate.getAndSet(bytes);
+            eventsTotal.addAndGet(delta);
+            check(MemoryAlert.Scope.EVENT, event.getName(), bytes - delta, bytes, budget.getEventBytes());
+            checkCatalog(delta);
+        }
+    }
+
+    /**
+     * Refreshes the estimate of a user.
+     *
+     * @param user The user.
+     */
+    private void refresh(User user) {
+        AtomicLong estimate = userEstimates.computeIfAbsent(user.getId(), id -> new AtomicLong());
+        long bytes = MemoryEstimates.userBytes(user);
+        long delta = bytes - estimate.getAndSet(bytes);
+        usersTotal.addAndGet(delta);
+        check(MemoryAlert.Scope.USER, user.getLogin(), bytes - delta, bytes, budget.getUserBytes());
+        checkCatalog(delta);
+    }
+
+    /**
+     * Raises a catalog alert if a change took the catalog over its budget.
+     *
+     * @param delta The change of the catalog's estimate, in bytes.
+     */
+    private void checkCatalog(long delta) {
+        if (delta > 0) {
+            long after = getCatalogBytes();
+            check(MemoryAlert.Scope.CATALOG, null, after - delta, after, budget.getCatalogBytes());
+        }
+    }
+
+    /**
+     * Raises an alert if an estimate went from within its budget to over it.
+     *
+     * @param scope What the estimate measures.
+     * @param name The name of the event or login of the user, or {@code null} for the catalog.
+     * @param before The estimate before the change, in bytes.
+     * @param after The estimate after the change, in bytes.
+     * @param limit The budget, in bytes.
+     */
+    private void check(MemoryAlert.Scope scope, String name, long before, long after, long limit) {
+        if (before <= limit && after > limit) {
+            MemoryAlert alert = new MemoryAlert(scope, name, after, limit);
+            for (MemoryAlertListener listener : alertListeners) {
+                listener.onBudgetExceeded(alert);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ticketSales.metrics;
+
+/**
+ * The MemoryAlert class reports that the estimated heap retained by the catalog, an event or a user went over its
+ * {@link MemoryBudget}.
+ */
+public class MemoryAlert {
+
+    /**
+     * The Scope enum lists what a budget applies to.
+     */
+    public enum Scope {
+        CATALOG,
+        EVENT,
+        USER
+    }
+
+    // Attributes
+    /**
+     * What went over its budget.
+     */
+    private final Scope scope;
+
+    /**
+     * The name of the event or login of the user, or {@code null} for the catalog.
+     */
+    private final String name;
+
+    /**
+     * The estimated size when the alert was raised, in bytes.
+     */
+    private final long estimatedBytes;
+
+    /**
+     * The budget that was exceeded, in bytes.
+     */
+    private final long budgetBytes;
+
+    // Constructor
+    /**
+     * Constructs a new MemoryAlert.
+     *
+     * @param scope What went over its budget.
+     * @param name The name of the event or login of the user, or {@code null} for the catalog.
+     * @param estimatedBytes The estimated size, in bytes.
+     * @param budgetBytes The budget that was exceeded, in bytes.
+     */
+    public MemoryAlert(Scope scope, String name, long estimatedBytes, long budgetBytes) {
+        this.scope = scope;
+        this.name = name;
+        this.estimatedBytes = estimatedBytes;
+        this.budgetBytes = budgetBytes;
+    }
+
+    // Getters
+    /**
+     * Gets what went over its budget.
+     *
+     * @return The scope.
+     */
+    public Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * Gets the name of the event or login of the user.
+     *
+     * @return The name, or {@code null} for the catalog.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the estimated size when the alert was raised.
+     *
+     * @return The size, in bytes.
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Gets the budget that was exceeded.
+     *
+     * @return The budget, in bytes.
+     */
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "MemoryAlert{" +
+                "scope=" + scope +
+                (name != null ? ", name='" + name + '\'' : "") +
+                ", estimatedBytes=" + estimatedBytes +
+                ", budgetBytes=" + budgetBytes +
+                '}';
+    }
+}
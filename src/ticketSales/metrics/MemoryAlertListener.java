@@ -0,0 +1,15 @@
+package ticketSales.metrics;
+
+/**
+ * The MemoryAlertListener interface is notified when an estimate of a {@link MemoryAccountant} goes over its budget.
+ */
+public interface MemoryAlertListener {
+
+    /**
+     * Called on the thread of the change that took an estimate over its budget. It is called again only after the
+     * estimate went back under the budget and over it once more.
+     *
+     * @param alert The alert.
+     */
+    void onBudgetExceeded(MemoryAlert alert);
+}
@@ -0,0 +1,84 @@
+package ticketSales.metrics;
+
+/**
+ * The MemoryBudget class sets the estimated heap that the catalog as a whole, a single event and a single user may
+ * retain before a {@link MemoryAccountant} raises an alert.
+ */
+public class MemoryBudget {
+
+    // Constants
+    /**
+     * The value of a budget that is not enforced.
+     */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    // Attributes
+    /**
+     * The budget of the whole catalog, in bytes.
+     */
+    private final long catalogBytes;
+
+    /**
+     * The budget of each event, in bytes.
+     */
+    private final long eventBytes;
+
+    /**
+     * The budget of each user, in bytes.
+     */
+    private final long userBytes;
+
+    // Constructor
+    /**
+     * Constructs a new MemoryBudget.
+     *
+     * @param catalogBytes The budget of the whole catalog, in bytes, or {@link #UNLIMITED}.
+     * @param eventBytes The budget of each event, in bytes, or {@link #UNLIMITED}.
+     * @param userBytes The budget of each user, in bytes, or {@link #UNLIMITED}.
+     */
+    public MemoryBudget(long catalogBytes, long eventBytes, long userBytes) {
+        if (catalogBytes <= 0 || eventBytes <= 0 || userBytes <= 0) {
+            throw new IllegalArgumentException("Memory budgets must be positive.");
+        }
+        this.catalogBytes = catalogBytes;
+        this.eventBytes = eventBytes;
+        this.userBytes = userBytes;
+    }
+
+    /**
+     * Creates a MemoryBudget that enforces no budget.
+     *
+     * @return The budget.
+     */
+    public static MemoryBudget unlimited() {
+        return new MemoryBudget(UNLIMITED, UNLIMITED, UNLIMITED);
+    }
+
+    // Getters
+    /**
+     * Gets the budget of the whole catalog.
+     *
+     * @return The budget, in bytes, or {@link #UNLIMITED}.
+     */
+    public long getCatalogBytes() {
+        return catalogBytes;
+    }
+
+    /**
+     * Gets the budget of each event.
+     *
+     * @return The budget, in bytes, or {@link #UNLIMITED}.
+     */
+    public long getEventBytes() {
+        return eventBytes;
+    }
+
+    /**
+     * Gets the budget of each user.
+     *
+     * @return The budget, in bytes, or {@link #UNLIMITED}.
+     */
+    public long getUserBytes() {
+        return userBytes;
+    }
+}
@@ -0,0 +1,108 @@
+package ticketSales.metrics;
+
+import ticketSales.inventory.SeatMap;
+import ticketSales.models.Event;
+import ticketSales.models.User;
+
+/**
+ * The MemoryEstimates class estimates the heap retained by events and users on a 64-bit JVM with compressed
+ * references. Estimates are computed from counts the objects keep anyway, in constant time, so they can be refreshed
+ * on every change; they follow the layout of the in-memory classes and are meant for sizing, not exact accounting.
+ */
+final class MemoryEstimates {
+
+    // Constants
+    /**
+     * The fixed part of an event: the event, its date, lists of listeners, inventory, seat map and
+     * availability counters with their locks.
+     */
+    static final long EVENT_BASE = 512 + 256 + 16 + 16 * 48;
+
+    /**
+     * A seat of a tier other than the default in the event's availability counters: a concurrent hash map node and its
+     * share of the table. Seat names are not included, since they are pooled across events.
+     */
+    static final long TIERED_SEAT = 40;
+
+    /**
+     * A seat change kept in the seat map's history.
+     */
+    static final long SEAT_CHANGE = 32;
+
+    /**
+     * The fixed part of a user: the user and the map of its holdings.
+     */
+    static final long USER_BASE = 40 + 56 + 64;
+
+    /**
+     * A held ticket: the ticket, its boxed id and entry in the holder's map, and its node in the ticket index.
+     */
+    static final long HELD_TICKET = 40 + 16 + 48 + 16 + 40;
+
+    private MemoryEstimates() {
+    }
+
+    // Class Methods
+    /**
+     * Estimates the heap retained by an event and its seats, each available seat costing what its inventory reports.
+     *
+     * @param event The event.
+     * @return The estimate, in bytes.
+     */
+    static long eventBytes(Event event) {
+        return EVENT_BASE
+                + stringBytes(event.getName())
+                + stringBytes(event.getDescription())
+                + event.getAvailableSeatCount() * event.getSeatInventory().heapBytesPerSeat()
+                + (long) event.getAvailability().getTieredSeatCount() * TIERED_SEAT
+                + 16 + 4L * SeatMap.historyLength(event.getSeatMapVersion(), SeatMap.DEFAULT_HISTORY_SIZE)
+                + Math.min(event.getSeatMapVersion(), SeatMap.DEFAULT_HISTORY_SIZE) * SEAT_CHANGE;
+    }
+
+    /**
+     * Estimates the heap retained by a user and the tickets the user holds. Events are not included, since they are
+     * shared by every holder.
+     *
+     * @param user The user.
+     * @return The estimate, in bytes.
+     */
+    static long userBytes(User user) {
+        return USER_BASE
+                + stringBytes(user.getLogin())
+                + stringBytes(user.getName())
+                + stringBytes(user.getCpf())
+                + stringBytes(user.getEmail())
+                + stringBytes(user.getPasswordHash())
+                + (long) user.getTicketCount() * HELD_TICKET;
+    }
+
+    /**
+     * Estimates the size of a compact string.
+     *
+     * @param value The string, or {@code null}.
+     * @return The estimate, in bytes.
+     */
+    static long stringBytes(String value) {
+        return value == null ? 0 : stringBytes(value.length());
+    }
+
+    /**
+     * Estimates the size of a compact string of a given length: the string and its byte array.
+     *
+     * @param length The length of the string.
+     * @return The estimate, in bytes.
+     */
+    static long stringBytes(int length) {
+        return 24 + align(16 + length);
+    }
+
+    /**
+     * Rounds a size up to the 8-byte object alignment.
+     *
+     * @param bytes The size.
+     * @return The aligned size.
+     */
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,77 @@
+package ticketSales.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The MetricsRegistry class collects named gauges, such as cache hit rates or memory estimates, so they can be read
+ * together. A gauge is read only when asked for, so registering one costs nothing on the paths it measures.
+ */
+public class MetricsRegistry {
+
+    // Attributes
+    /**
+     * The gauges, by name.
+     */
+    private final ConcurrentHashMap<String, DoubleSupplier> gauges;
+
+    // Constructor
+    /**
+     * Constructs a new, empty MetricsRegistry.
+     */
+    public MetricsRegistry() {
+        this.gauges = new ConcurrentHashMap<>();
+    }
+
+    // Class Methods
+    /**
+     * Registers a gauge.
+     *
+     * @param name The name of the gauge, such as {@code memory.catalog.bytes}.
+     * @param gauge The gauge, read on every call to {@link #read(String)} or {@link #snapshot()}.
+     * @throws IllegalArgumentException If a gauge with that name is already registered.
+     */
+    public void register(String name, DoubleSupplier gauge) {
+        if (gauges.putIfAbsent(name, gauge) != null) {
+            throw new IllegalArgumentException("Metric already registered: " + name + ".");
+        }
+    }
+
+    /**
+     * Unregisters a gauge.
+     *
+     * @param name The name of the gauge.
+     * @return {@code true} if the gauge was registered, {@code false} otherwise.
+     */
+    public boolean unregister(String name) {
+        return gauges.remove(name) != null;
+    }
+
+    /**
+     * Reads a gauge.
+     *
+     * @param name The name of the gauge.
+     * @return The value of the gauge.
+     * @throws IllegalArgumentException If no gauge has that name.
+     */
+    public double read(String name) {
+        DoubleSupplier gauge = gauges.get(name);
+        if (gauge == null) {
+            throw new IllegalArgumentException("Unknown metric: " + name + ".");
+        }
+        return gauge.getAsDouble();
+    }
+
+    /**
+     * Reads every gauge.
+     *
+     * @return The values of the gauges, by name in alphabetical order.
+     */
+    public Map<String, Double> snapshot() {
+        Map<String, Double> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsDouble()));
+        return values;
+    }
+}
@@ -0,0 +1,362 @@
+package ticketSales.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import ticketSales.inventory.SeatInventory;
+import ticketSales.inventory.SectionedSeatInventory;
+
+/**
+ * The AvailabilityCounters class counts the available seats of an event, in total, per section and per price tier,
+ * so listing pages can show them without reading the seat inventory. The section of a seat is read from its name by
+ * {@link SectionedSeatInventory#sectionOf(String)}, so seats of the default tier cost nothing per seat; a seat of
+ * another tier keeps one map entry pointing to its tier's counter. A seat keeps the first tier other than the default
+ * it was added with, including when a cancelled ticket returns it to sale.
+ * <p>
+ * Every change of the event's inventory goes through these counters, which apply it and count it together under one
+ * of a few locks striped by seat. Changes of the same seat are therefore counted in the order they happened and no
+ * count goes below zero, while changes of different seats rarely wait for each other. Seats already in the inventory
+ * when the event is created are counted per section and tier on the first change or read of those counts.
+ */
+public class AvailabilityCounters {
+
+    // Constants
+    /**
+     * The number of locks the seats are striped over.
+     */
+    private static final int STRIPES = 16;
+
+    // Attributes
+    /**
+     * The inventory holding the available seats.
+     */
+    private final SeatInventory inventory;
+
+    /**
+     * The locks guarding the changes of the seats, by stripe.
+     */
+    private final ReentrantLock[] stripes;
+
+    /**
+     * The number of available seats.
+     */
+    private final AtomicInteger available;
+
+    /**
+     * The number of available seats of each section.
+     */
+    private final ConcurrentHashMap<String, AtomicInteger> sections;
+
+    /**
+     * The number of available seats of each tier.
+     */
+    private final ConcurrentHashMap<String, AtomicInteger> tiers;
+
+    /**
+     * The tier counter of each seat of a tier other than the default, by seat name.
+     */
+    private final ConcurrentHashMap<String, AtomicInteger> tieredSeats;
+
+    /**
+     * Indicates whether the seats found in the inventory at creation were counted per section and tier.
+     */
+    private volatile boolean seeded;
+
+    // Constructor
+    /**
+     * Constructs new AvailabilityCounters for an inventory, counting its seats in total at once. They are counted per
+     * section and tier on the first change or read of those counts, so creating an event does not read its seats.
+     *
+     * @param inventory The inventory holding the available seats.
+     */
+    AvailabilityCounters(SeatInventory inventory) {
+        this.inventory = inventory;
+        this.stripes = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.sections = new ConcurrentHashMap<>();
+        this.tiers = new ConcurrentHashMap<>();
+        this.tieredSeats = new ConcurrentHashMap<>();
+        int initial = inventory.availableCount();
+        this.available = new AtomicInteger(initial);
+        this.seeded = initial == 0;
+    }
+
+    // Getters
+    /**
+     * Gets the number of available seats.
+     *
+     * @return The number of seats.
+     */
+    public int getAvailable() {
+        return available.get();
+    }
+
+    /**
+     * Gets the number of available seats of a section.
+     *
+     * @param section The name of the section, such as {@code A} for seat {@code A12}.
+     * @return The number of seats, or 0 if the section is unknown.
+     */
+    public int getAvailableInSection(String section) {
+        seed();
+        return count(sections.get(section));
+    }
+
+    /**
+     * Gets the number of available seats of a price tier.
+     *
+     * @param tier The name of the tier.
+     * @return The number of seats, or 0 if the tier is unknown.
+     */
+    public int getAvailableInTier(String tier) {
+        seed();
+        return count(tiers.get(tier));
+    }
+
+    /**
+     * Gets the number of available seats of every section that ever had a seat.
+     *
+     * @return The counts, by section name in alphabetical order.
+     */
+    public Map<String, Integer> getAvailableBySection() {
+        seed();
+        return counts(sections);
+    }
+
+    /**
+     * Gets the number of available seats of every tier that ever had a seat.
+     *
+     * @return The counts, by tier name in alphabetical order.
+     */
+    public Map<String, Integer> getAvailableByTier() {
+        seed();
+        return counts(tiers);
+    }
+
+    /**
+     * Gets the number of seats of a tier other than the default, available or not, each of which keeps a map entry.
+     *
+     * @return The number of seats.
+     */
+    public int getTieredSeatCount() {
+        return tieredSeats.size();
+    }
+
+    // Class Methods
+    /**
+     * Makes a seat available in the inventory and counts it.
+     *
+     * @param seat The seat name.
+     * @param tier The tier of the seat, unless it already has one other than the default.
+     * @return {@code true} if the seat was not available before, {@code false} otherwise.
+     */
+    boolean add(String seat, String tier) {
+        seed();
+        ReentrantLock lock = stripeOf(seat);
+        lock.lock();
+        try {
+            if (!inventory.add(seat)) {
+                return false;
+            }
+            count(seat, tier, 1);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Makes several seats available in the inventory at once and counts them, holding the locks of their stripes.
+     *
+     * @param seats The seat names.
+     * @param tier The tier of the seats, except those that already have one other than the default.
+     * @return The seats that were not available before, in the given order.
+     */
+    List<String> addAll(List<String> seats, String tier) {
+        seed();
+        int mask = 0;
+        for (String seat : seats) {
+            mask |= 1 << stripeIndex(seat);
+        }
+        lockAll(mask);
+        try {
+            List<String> added = inventory.addAll(seats);
+            for (String seat : added) {
+                count(seat, tier, 1);
+            }
+            return added;
+        } finally {
+            unlockAll(mask);
+        }
+    }
+
+    /**
+     * Makes a seat unavailable in the inventory and counts it.
+     *
+     * @param seat The seat name.
+     * @return {@code true} if the seat was available and is now taken by the caller, {@code false} otherwise.
+     */
+    boolean remove(String seat) {
+        seed();
+        ReentrantLock lock = stripeOf(seat);
+        lock.lock();
+        try {
+            if (!inventory.remove(seat)) {
+                return false;
+            }
+            count(seat, null, -1);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Makes any available seat unavailable in the inventory and counts it. The seat is counted under its lock once
+     * taken, after any change of it still being counted.
+     *
+     * @return The seat taken by the caller, or {@code null} if no seat is available.
+     */
+    String takeAny() {
+        seed();
+        String seat = inventory.takeAny();
+        if (seat != null) {
+            ReentrantLock lock = stripeOf(seat);
+            lock.lock();
+            try {
+                count(seat, null, -1);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return seat;
+    }
+
+    /**
+     * Applies a change of a seat to the counters. Must be called holding the seat's lock, once the counters are
+     * seeded.
+     *
+     * @param seat The seat name.
+     * @param tier The tier of a seat being added, or {@code null} for a removal.
+     * @param delta The change: 1 or -1.
+     */
+    private void count(String seat, String tier, int delta) {
+        available.addAndGet(delta);
+        sections.computeIfAbsent(SectionedSeatInventory.sectionOf(seat), name -> new AtomicInteger())
+                .addAndGet(delta);
+        AtomicInteger tierCounter = tieredSeats.get(seat);
+        if (tierCounter == null) {
+            if (tier != null && !tier.equals(Event.DEFAULT_TIER)) {
+                tierCounter = tiers.computeIfAbsent(tier, name -> new AtomicInteger());
+                tieredSeats.put(seat, tierCounter);
+            } else {
+                tierCounter = tiers.computeIfAbsent(Event.DEFAULT_TIER, name -> new AtomicInteger());
+            }
+        }
+        tierCounter.addAndGet(delta);
+    }
+
+    /**
+     * Counts the seats found in the inventory at creation per section and tier, unless it was done. Holds every lock
+     * while reading the inventory, so no change is made meanwhile.
+     */
+    private void seed() {
+        if (seeded) {
+            return;
+        }
+        int mask = (1 << STRIPES) - 1;
+        lockAll(mask);
+        try {
+            if (!seeded) {
+                List<String> seats = new ArrayList<>(inventory.availableSeats());
+                for (String seat : seats) {
+                    sections.computeIfAbsent(SectionedSeatInventory.sectionOf(seat), name -> new AtomicInteger())
+                            .incrementAndGet();
+                }
+                if (!seats.isEmpty()) {
+                    tiers.computeIfAbsent(Event.DEFAULT_TIER, name -> new AtomicInteger()).addAndGet(seats.size());
+                }
+                seeded = true;
+            }
+        } finally {
+            unlockAll(mask);
+        }
+    }
+
+    /**
+     * Gets the lock of a seat.
+     *
+     * @param seat The seat name.
+     * @return The lock of the seat's stripe.
+     */
+    private ReentrantLock stripeOf(String seat) {
+        return stripes[stripeIndex(seat)];
+    }
+
+    /**
+     * Gets the stripe of a seat.
+     *
+     * @param seat The seat name.
+     * @return The index of the stripe.
+     */
+    private static int stripeIndex(String seat) {
+        int h = seat.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * Takes the locks of several stripes, in stripe order so concurrent callers cannot deadlock.
+     *
+     * @param mask The stripes, one bit each.
+     */
+    private void lockAll(int mask) {
+        for (int i = 0; i < STRIPES; i++) {
+            if ((mask & (1 << i)) != 0) {
+                stripes[i].lock();
+            }
+        }
+    }
+
+    /**
+     * Releases the locks of several stripes.
+     *
+     * @param mask The stripes, one bit each.
+     */
+    private void unlockAll(int mask) {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            if ((mask & (1 << i)) != 0) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Reads a counter.
+     *
+     * @param counter The counter, or {@code null}.
+     * @return The count.
+     */
+    private static int count(AtomicInteger counter) {
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Reads every counter of a map.
+     *
+     * @param counters The counters, by name.
+     * @return The counts, by name in alphabetical order.
+     */
+    private static Map<String, Integer> counts(ConcurrentHashMap<String, AtomicInteger> counters) {
+        Map<String, Integer> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return Collections.unmodifiableMap(values);
+    }
+}
@@ -1,17 +1,40 @@
 package ticketSales.models;
 
+import ticketSales.ids.IdGenerator;
+import ticketSales.inventory.InMemorySeatInventory;
+import ticketSales.inventory.SeatChange;
+import ticketSales.inventory.SeatInventory;
+import ticketSales.inventory.SeatMap;
+import ticketSales.inventory.SeatMapDelta;
+import ticketSales.inventory.SeatMapSnapshot;
+
+import java.time.Clock;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The Event class represents an event that has a name, description, date, and a list of available seats.
- * It also contains the active state of the event, based on the current date.
+ * It also contains the lifecycle state of the event, which starts from the current date and is then moved
+ * forward by a {@link ticketSales.lifecycle.LifecycleScheduler}.
  */
 public class Event {
 
+    // Constants
+    /**
+     * The price tier of seats added without one.
+     */
+    public static final String DEFAULT_TIER = "Standard";
+
     // Attributes
+    /**
+     * The unique identifier of the event, issued by an {@link IdGenerator}.
+     */
+    private final long id;
+
     /**
      * The name of the event.
      */
@@ -28,33 +51,123 @@ public class Event {
     private final Date date;
 
     /**
-     * The list of available seats for the event.
+     * The inventory holding the available seats for the event. Replaced by an empty one when the seats are dropped.
+     */
+    private volatile SeatInventory seatInventory;
+
+    /**
+     * The versioned view of the seat inventory, used to publish snapshots and deltas.
+     */
+    private volatile SeatMap seatMap;
+
+    /**
+     * The counts of available seats in total, per section and per tier, through which every seat change is made.
+     */
+    private volatile AvailabilityCounters availability;
+
+    /**
+     * The listeners notified of seat changes.
      */
-    private final ArrayList<String> availableSeats;
+    private final CopyOnWriteArrayList<SeatChangeListener> seatChangeListeners;
 
     /**
-     * Indicates whether the event is active, meaning it hasn't occurred yet.
+     * The listeners notified of state changes.
      */
-    private final boolean isActive;
+    private final CopyOnWriteArrayList<EventStateListener> stateListeners;
+
+    /**
+     * The lifecycle state of the event. Reading it is a single volatile field read.
+     */
+    private volatile EventState state;
 
     // Constructor
     /**
      * Constructs a new Event with the provided name, description, and date.
-     * The event is marked as active if the date is after the current date.
+     * The event starts on sale if the date is after the current date, and past otherwise.
      *
      * @param name The name of the event.
      * @param description The description of the event.
      * @param date The date of the event.
      */
     public Event(String name, String description, Date date) {
+        this(name, description, date, new InMemorySeatInventory());
+    }
+
+    /**
+     * Constructs a new Event with the provided name, description, and date, keeping its seats in the given inventory.
+     * The event starts on sale if the date is after the current date, and past otherwise.
+     *
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event.
+     * @param seatInventory The inventory that stores the seats of the event.
+     */
+    public Event(String name, String description, Date date, SeatInventory seatInventory) {
+        this(name, description, date, seatInventory, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a new Event with the provided name, description, and date, keeping its seats in the given inventory.
+     * The event starts on sale if the date is after the current time of the given clock, and past otherwise.
+     *
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event.
+     * @param seatInventory The inventory that stores the seats of the event.
+     * @param clock The clock giving the current time.
+     */
+    public Event(String name, String description, Date date, SeatInventory seatInventory, Clock clock) {
+        this(IdGenerator.getDefault().nextId(), name, description, date, seatInventory, clock);
+    }
+
+    /**
+     * Constructs a new Event with a known identifier, for instance one read from another node.
+     * The event starts on sale if the date is after the current date, and past otherwise.
+     *
+     * @param id The unique identifier of the event.
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event.
+     * @param seatInventory The inventory that stores the seats of the event.
+     */
+    public Event(long id, String name, String description, Date date, SeatInventory seatInventory) {
+        this(id, name, description, date, seatInventory, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a new Event with a known identifier.
+     * The event starts on sale if the date is after the current time of the given clock, and past otherwise.
+     *
+     * @param id The unique identifier of the event.
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event.
+     * @param seatInventory The inventory that stores the seats of the event.
+     * @param clock The clock giving the current time.
+     */
+    public Event(long id, String name, String description, Date date, SeatInventory seatInventory, Clock clock) {
+        this.id = id;
         this.name = name;
         this.description = description;
         this.date = date;
-        this.availableSeats = new ArrayList<>();
-        this.isActive = !date.before(new Date());
+        this.seatInventory = seatInventory;
+        this.seatMap = new SeatMap(name, seatInventory);
+        this.availability = new AvailabilityCounters(seatInventory);
+        this.seatChangeListeners = new CopyOnWriteArrayList<>();
+        this.stateListeners = new CopyOnWriteArrayList<>();
+        this.state = date.getTime() < clock.millis() ? EventState.PAST : EventState.ON_SALE;
     }
 
     // Getters
+    /**
+     * Gets the unique identifier of the event. It is not part of {@link #equals(Object)}.
+     *
+     * @return The identifier.
+     */
+    public long getId() {
+        return id;
+    }
+
     /**
      * Gets the name of the event.
      *
@@ -83,21 +196,85 @@ public class Event {
     }
 
     /**
-     * Gets the list of available seats for the event.
+     * Gets a copy of the list of available seats for the event.
      *
-     * @return A list of available seats.
+     * @return An unmodifiable list of available seats.
      */
     public List<String> getAvailableSeats() {
-        return availableSeats;
+        return seatInventory.availableSeats();
+    }
+
+    /**
+     * Gets the number of available seats from the event's counters, without reading the seat inventory.
+     *
+     * @return The number of available seats.
+     */
+    public int getAvailableSeatCount() {
+        return availability.getAvailable();
+    }
+
+    /**
+     * Gets the counters of the available seats of the event, in total, per section and per tier.
+     *
+     * @return The counters.
+     */
+    public AvailabilityCounters getAvailability() {
+        return availability;
+    }
+
+    /**
+     * Gets the inventory that stores the seats of the event.
+     *
+     * @return The seat inventory.
+     */
+    public SeatInventory getSeatInventory() {
+        return seatInventory;
+    }
+
+    /**
+     * Gets the current seat map version, which increases with every seat change.
+     *
+     * @return The seat map version.
+     */
+    public long getSeatMapVersion() {
+        return seatMap.getVersion();
+    }
+
+    /**
+     * Gets an immutable, pre-serialized snapshot of the available seats, shared by all readers of the same version.
+     *
+     * @return The seat map snapshot.
+     */
+    public SeatMapSnapshot getSeatMapSnapshot() {
+        return seatMap.snapshot();
+    }
+
+    /**
+     * Gets the seat changes published after the given seat map version.
+     *
+     * @param version The version the caller already has.
+     * @return The changes since that version.
+     */
+    public SeatMapDelta getSeatChangesSince(long version) {
+        return seatMap.changesSince(version);
     }
 
     /**
-     * Checks if the event is active (hasn't occurred yet).
+     * Gets the lifecycle state of the event.
+     *
+     * @return The state.
+     */
+    public EventState getState() {
+        return state;
+    }
+
+    /**
+     * Checks if the event is active (hasn't occurred yet and was not cancelled).
      *
      * @return {@code true} if the event is active, {@code false} otherwise.
      */
     public boolean isActive() {
-        return isActive;
+        return state.isUpcoming();
     }
 
     // Overridden Methods
@@ -112,11 +289,11 @@ public class Event {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Event event = (Event) o;
-        return isActive == event.isActive &&
+        return isActive() == event.isActive() &&
                 Objects.equals(name, event.name) &&
                 Objects.equals(description, event.description) &&
                 Objects.equals(date, event.date) &&
-                Objects.equals(availableSeats, event.availableSeats);
+                Objects.equals(getAvailableSeats(), event.getAvailableSeats());
     }
 
     /**
@@ -126,7 +303,7 @@ public class Event {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(name, description, date, availableSeats, isActive);
+        return Objects.hash(name, description, date, getAvailableSeats(), isActive());
     }
 
     /**
@@ -137,32 +314,223 @@ public class Event {
     @Override
     public String toString() {
         return "Event{" +
-                "name='" + name + '\'' +
+                "id=" + id +
+                ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", date=" + date +
-                ", availableSeats=" + availableSeats +
-                ", isActive=" + isActive +
+                ", availableSeats=" + getAvailableSeats() +
+                ", state=" + state +
                 '}';
     }
 
     // Class Methods
+    /**
+     * Checks if a seat is available for the event.
+     *
+     * @param seat The seat to be checked.
+     * @return {@code true} if the seat is available, {@code false} otherwise.
+     */
+    public boolean hasSeat(String seat) {
+        return seatInventory.contains(seat);
+    }
+
+    /**
+     * Gets the shared instance of a seat name, used by every ticket for that seat. Seat names are pooled across
+     * events, in a bounded pool, when seats are added.
+     *
+     * @param seat The seat name.
+     * @return The shared instance, or the given name if it is not pooled.
+     */
+    public String seatOf(String seat) {
+        return SeatNames.lookup(seat);
+    }
+
     /**
      * Adds a seat to the list of available seats, if it is not already present.
      *
      * @param seat The seat to be added.
+     * @return {@code true} if the seat was added, {@code false} if it was already available.
      */
-    public void addSeat(String seat) {
-        if (!availableSeats.contains(seat)) {
-            this.availableSeats.add(seat);
+    public boolean addSeat(String seat) {
+        return addSeat(seat, DEFAULT_TIER);
+    }
+
+    /**
+     * Adds a seat of a price tier to the list of available seats, if it is not already present. A seat keeps the first
+     * tier other than the default it was added with.
+     *
+     * @param seat The seat to be added.
+     * @param tier The price tier of the seat.
+     * @return {@code true} if the seat was added, {@code false} if it was already available.
+     */
+    public boolean addSeat(String seat, String tier) {
+        seat = SeatNames.intern(seat);
+        if (availability.add(seat, tier)) {
+            publishSeatChange(seat);
+            return true;
         }
+        return false;
+    }
+
+    /**
+     * Adds several seats to the list of available seats, skipping the ones already present.
+     *
+     * @param seats The seats to be added.
+     * @return The number of seats added.
+     */
+    public int addSeats(Collection<String> seats) {
+        return addSeats(seats, DEFAULT_TIER);
+    }
+
+    /**
+     * Adds several seats of a price tier to the list of available seats, skipping the ones already present.
+     *
+     * @param seats The seats to be added.
+     * @param tier The price tier of the seats.
+     * @return The number of seats added.
+     */
+    public int addSeats(Collection<String> seats, String tier) {
+        List<String> pooled = new ArrayList<>(seats.size());
+        for (String seat : seats) {
+            pooled.add(SeatNames.intern(seat));
+        }
+        List<String> added = availability.addAll(pooled, tier);
+        if (!added.isEmpty()) {
+            publishSeatChanges(added);
+        }
+        return added.size();
     }
 
     /**
      * Removes a seat from the list of available seats, if it is present.
+     * The removal is atomic: when several callers remove the same seat, only one of them succeeds.
      *
      * @param seat The seat to be removed.
+     * @return {@code true} if the seat was removed by this call, {@code false} otherwise.
      */
-    public void removeSeat(String seat) {
-        availableSeats.remove(seat);
+    public boolean removeSeat(String seat) {
+        if (availability.remove(seat)) {
+            publishSeatChange(seat);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes any available seat, for a purchase that does not choose its seat. As with {@link #removeSeat(String)},
+     * each available seat is taken by at most one caller.
+     *
+     * @return The seat removed by this call, or {@code null} if no seat is available.
+     */
+    public String takeAnySeat() {
+        String seat = availability.takeAny();
+        if (seat != null) {
+            publishSeatChange(seat);
+        }
+        return seat;
+    }
+
+    /**
+     * Moves the event to a new lifecycle state. A cancelled event stays cancelled.
+     * State listeners are notified after the change, outside the event's lock.
+     *
+     * @param next The new state.
+     * @return {@code true} if the state changed, {@code false} otherwise.
+     */
+    public boolean transitionTo(EventState next) {
+        EventState previous;
+        synchronized (this) {
+            previous = state;
+            if (previous == next || previous == EventState.CANCELLED) {
+                return false;
+            }
+            state = next;
+        }
+        for (EventStateListener listener : stateListeners) {
+            listener.onStateChange(this, previous, next);
+        }
+        return true;
+    }
+
+    /**
+     * Drops the seat state of an event that is over, so tickets still pointing at it, for instance after it is
+     * archived, do not keep its inventory, seat map history, counters and listeners on the heap. The event is left
+     * with an empty in-memory inventory and no listeners.
+     *
+     * @return The dropped inventory, for the caller to close if it holds resources.
+     * @throws IllegalStateException If the event is neither past nor cancelled.
+     */
+    public synchronized SeatInventory dropSeats() {
+        if (state != EventState.PAST && state != EventState.CANCELLED) {
+            throw new IllegalStateException("Only past or cancelled events can drop their seats.");
+        }
+        SeatInventory dropped = seatInventory;
+        SeatInventory empty = new InMemorySeatInventory();
+        seatMap = new SeatMap(name, empty);
+        availability = new AvailabilityCounters(empty);
+        seatInventory = empty;
+        seatChangeListeners.clear();
+        stateListeners.clear();
+        return dropped;
+    }
+
+    /**
+     * Registers a listener to be notified of state changes.
+     *
+     * @param listener The listener to be registered.
+     */
+    public void addStateListener(EventStateListener listener) {
+        stateListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener of state changes.
+     *
+     * @param listener The listener to be unregistered.
+     */
+    public void removeStateListener(EventStateListener listener) {
+        stateListeners.remove(listener);
+    }
+
+    /**
+     * Registers a listener to be notified of seat changes.
+     *
+     * @param listener The listener to be registered.
+     */
+    public void addSeatChangeListener(SeatChangeListener listener) {
+        seatChangeListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a seat change listener.
+     *
+     * @param listener The listener to be unregistered.
+     */
+    public void removeSeatChangeListener(SeatChangeListener listener) {
+        seatChangeListeners.remove(listener);
+    }
+
+    /**
+     * Records a seat change in the seat map and notifies the listeners.
+     *
+     * @param seat The seat that changed.
+     */
+    private void publishSeatChange(String seat) {
+        SeatChange change = seatMap.record(seat);
+        for (SeatChangeListener listener : seatChangeListeners) {
+            listener.onSeatChange(this, change);
+        }
+    }
+
+    /**
+     * Records several seat changes in the seat map and notifies the listeners once.
+     *
+     * @param seats The seats that changed.
+     */
+    private void publishSeatChanges(List<String> seats) {
+        List<SeatChange> changes = seatMap.recordAll(seats);
+        for (SeatChangeListener listener : seatChangeListeners) {
+            listener.onSeatChanges(this, changes);
+        }
     }
 }
@@ -0,0 +1,162 @@
+package ticketSales.models;
+
+import ticketSales.inventory.SeatMapSnapshot;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The EventDetails class is an immutable view of an event as shown on its detail page: its data, its state and its
+ * available seats at one seat map version. It stays valid until a seat or the state of the event changes.
+ */
+public class EventDetails {
+
+    // Attributes
+    /**
+     * The id of the event.
+     */
+    private final long id;
+
+    /**
+     * The name of the event.
+     */
+    private final String name;
+
+    /**
+     * The description of the event.
+     */
+    private final String description;
+
+    /**
+     * The date of the event.
+     */
+    private final Date date;
+
+    /**
+     * The state of the event.
+     */
+    private final EventState state;
+
+    /**
+     * The seat map version of the available seats.
+     */
+    private final long seatMapVersion;
+
+    /**
+     * The available seats.
+     */
+    private final List<String> availableSeats;
+
+    // Constructor
+    /**
+     * Constructs a new EventDetails.
+     *
+     * @param id The id of the event.
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event.
+     * @param state The state of the event.
+     * @param seatMapVersion The seat map version of the available seats.
+     * @param availableSeats The available seats; the list must not be modified afterwards.
+     */
+    public EventDetails(long id, String name, String description, Date date, EventState state, long seatMapVersion,
+                        List<String> availableSeats) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.date = new Date(date.getTime());
+        this.state = state;
+        this.seatMapVersion = seatMapVersion;
+        this.availableSeats = availableSeats;
+    }
+
+    /**
+     * Creates the details of an event from its current state. The available seats are shared with the event's seat
+     * map snapshot rather than copied.
+     *
+     * @param event The event.
+     * @return The details.
+     */
+    public static EventDetails of(Event event) {
+        EventState state = event.getState();
+        SeatMapSnapshot snapshot = event.getSeatMapSnapshot();
+        return new EventDetails(event.getId(), event.getName(), event.getDescription(), event.getDate(), state,
+                snapshot.getVersion(), snapshot.getSeats());
+    }
+
+    // Getters
+    /**
+     * Gets the id of the event.
+     *
+     * @return The event id.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the name of the event.
+     *
+     * @return The event name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the description of the event.
+     *
+     * @return The event description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the date of the event.
+     *
+     * @return A copy of the event date.
+     */
+    public Date getDate() {
+        return new Date(date.getTime());
+    }
+
+    /**
+     * Gets the state of the event.
+     *
+     * @return The state.
+     */
+    public EventState getState() {
+        return state;
+    }
+
+    /**
+     * Gets the seat map version of the available seats.
+     *
+     * @return The version.
+     */
+    public long getSeatMapVersion() {
+        return seatMapVersion;
+    }
+
+    /**
+     * Gets the available seats.
+     *
+     * @return An unmodifiable list of seats.
+     */
+    public List<String> getAvailableSeats() {
+        return availableSeats;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "EventDetails{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", state=" + state +
+                ", seatMapVersion=" + seatMapVersion +
+                ", availableSeats=" + availableSeats.size() +
+                '}';
+    }
+}
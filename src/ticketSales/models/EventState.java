@@ -0,0 +1,41 @@
+package ticketSales.models;
+
+/**
+ * The EventState enum lists the stages of an event's lifecycle.
+ */
+public enum EventState {
+
+    /**
+     * The event is published but tickets are not on sale yet.
+     */
+    ANNOUNCED,
+
+    /**
+     * Tickets can be purchased.
+     */
+    ON_SALE,
+
+    /**
+     * Ticket sales are over but the event has not taken place yet.
+     */
+    SALES_CLOSED,
+
+    /**
+     * The event has taken place.
+     */
+    PAST,
+
+    /**
+     * The event was called off. This state is final.
+     */
+    CANCELLED;
+
+    /**
+     * Checks if events in this state are still upcoming.
+     *
+     * @return {@code true} if the event has neither taken place nor been cancelled, {@code false} otherwise.
+     */
+    public boolean isUpcoming() {
+        return this == ANNOUNCED || this == ON_SALE || this == SALES_CLOSED;
+    }
+}
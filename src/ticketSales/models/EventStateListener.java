@@ -0,0 +1,16 @@
+package ticketSales.models;
+
+/**
+ * The EventStateListener interface is notified after an {@link Event} moves to a new lifecycle state.
+ */
+public interface EventStateListener {
+
+    /**
+     * Called after the state of an event changed.
+     *
+     * @param event The event whose state changed.
+     * @param previous The state the event left.
+     * @param next The state the event entered.
+     */
+    void onStateChange(Event event, EventState previous, EventState next);
+}
@@ -0,0 +1,183 @@
+package ticketSales.models;
+
+/**
+ * The PurchaseResult class is the outcome of a purchase attempt. Expected failures, such as a seat already taken, are
+ * reported by shared constants instead of exceptions, so a failed attempt allocates nothing; only a successful
+ * purchase creates a result, holding its ticket.
+ */
+public class PurchaseResult {
+
+    /**
+     * The Status enum lists the outcomes of a purchase attempt.
+     */
+    public enum Status {
+
+        /**
+         * The ticket was purchased.
+         */
+        PURCHASED(null, false),
+
+        /**
+         * The seat is not available.
+         */
+        SEAT_UNAVAILABLE("Seat unavailable.", false),
+
+        /**
+         * No event has the given name.
+         */
+        EVENT_NOT_FOUND("Event not found.", false),
+
+        /**
+         * The event is not on sale, or was cancelled during the purchase.
+         */
+        NOT_ON_SALE("Event is not on sale.", true),
+
+        /**
+         * The user already holds as many tickets of the event as allowed.
+         */
+        TICKET_LIMIT_REACHED("Ticket limit reached for this event.", false),
+
+        /**
+         * The user sent too many purchase requests.
+         */
+        TOO_MANY_REQUESTS("Too many purchase requests.", true);
+
+        /**
+         * The message of the failure, or {@code null} for a purchase.
+         */
+        private final String message;
+
+        /**
+         * Whether the same request may succeed later without anything else changing.
+         */
+        private final boolean transientFailure;
+
+        Status(String message, boolean transientFailure) {
+            this.message = message;
+            this.transientFailure = transientFailure;
+        }
+
+        /**
+         * Gets the message of the failure, as carried by the exception thrown for it.
+         *
+         * @return The message, or {@code null} for a purchase.
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Checks whether the failure only holds for now, such as a rate limit or sales that have not opened, so a
+         * retry of the same request may succeed.
+         *
+         * @return {@code true} if the failure is transient, {@code false} for a purchase or a final failure.
+         */
+        public boolean isTransient() {
+            return transientFailure;
+        }
+    }
+
+    // Constants
+    /**
+     * The result of an attempt whose seat is not available.
+     */
+    public static final PurchaseResult SEAT_UNAVAILABLE = new PurchaseResult(Status.SEAT_UNAVAILABLE, null);
+
+    /**
+     * The result of an attempt for an unknown event.
+     */
+    public static final PurchaseResult EVENT_NOT_FOUND = new PurchaseResult(Status.EVENT_NOT_FOUND, null);
+
+    /**
+     * The result of an attempt for an event that is not on sale.
+     */
+    public static final PurchaseResult NOT_ON_SALE = new PurchaseResult(Status.NOT_ON_SALE, null);
+
+    /**
+     * The result of an attempt by a user who reached the ticket limit of the event.
+     */
+    public static final PurchaseResult TICKET_LIMIT_REACHED = new PurchaseResult(Status.TICKET_LIMIT_REACHED, null);
+
+    /**
+     * The result of an attempt by a user who sent too many purchase requests.
+     */
+    public static final PurchaseResult TOO_MANY_REQUESTS = new PurchaseResult(Status.TOO_MANY_REQUESTS, null);
+
+    // Attributes
+    /**
+     * The outcome of the attempt.
+     */
+    private final Status status;
+
+    /**
+     * The purchased ticket, or {@code null} if the attempt failed.
+     */
+    private final Ticket ticket;
+
+    // Constructor
+    private PurchaseResult(Status status, Ticket ticket) {
+        this.status = status;
+        this.ticket = ticket;
+    }
+
+    /**
+     * Creates the result of a successful purchase.
+     *
+     * @param ticket The purchased ticket.
+     * @return The result.
+     */
+    public static PurchaseResult purchased(Ticket ticket) {
+        return new PurchaseResult(Status.PURCHASED, ticket);
+    }
+
+    // Getters
+    /**
+     * Gets the outcome of the attempt.
+     *
+     * @return The status.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the purchased ticket.
+     *
+     * @return The ticket, or {@code null} if the attempt failed.
+     */
+    public Ticket getTicket() {
+        return ticket;
+    }
+
+    // Class Methods
+    /**
+     * Checks if the ticket was purchased.
+     *
+     * @return {@code true} if the attempt succeeded, {@code false} otherwise.
+     */
+    public boolean isSuccess() {
+        return status == Status.PURCHASED;
+    }
+
+    /**
+     * Gets the purchased ticket, or throws the exception the failure stands for.
+     *
+     * @return The purchased ticket.
+     * @throws IllegalArgumentException If the attempt failed.
+     */
+    public Ticket orThrow() {
+        if (status != Status.PURCHASED) {
+            throw new IllegalArgumentException(status.getMessage());
+        }
+        return ticket;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "PurchaseResult{" +
+                "status=" + status +
+                ", ticket=" + ticket +
+                '}';
+    }
+}
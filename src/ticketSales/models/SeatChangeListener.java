@@ -0,0 +1,33 @@
+package ticketSales.models;
+
+import ticketSales.inventory.SeatChange;
+
+import java.util.List;
+
+/**
+ * The SeatChangeListener interface is notified after a seat of an {@link Event} becomes available or unavailable,
+ * whether by seat management, a purchase or a cancellation.
+ */
+public interface SeatChangeListener {
+
+    /**
+     * Called after a seat change has been recorded in the event's seat map.
+     *
+     * @param event The event whose seat changed.
+     * @param change The recorded change.
+     */
+    void onSeatChange(Event event, SeatChange change);
+
+    /**
+     * Called once after several seat changes have been recorded together, such as a bulk seat addition. The default
+     * implementation handles them one by one.
+     *
+     * @param event The event whose seats changed.
+     * @param changes The recorded changes, in order.
+     */
+    default void onSeatChanges(Event event, List<SeatChange> changes) {
+        for (SeatChange change : changes) {
+            onSeatChange(event, change);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ticketSales.models;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The SeatNames class pools the seat names of every event, so the tickets and counters of a seat share one string
+ * instead of keeping the callers' copies. Labels such as {@code A1} repeat from event to event, so one pool serves the
+ * whole catalog and its size does not grow with the number of seats on sale. The pool is bounded: once it is full,
+ * new names are used as given, so events with unusual labels, or millions of seats kept off the heap, cannot fill
+ * the heap with names.
+ */
+final class SeatNames {
+
+    // Constants
+    /**
+     * The maximum number of pooled names.
+     */
+    static final int MAX_NAMES = 1 << 16;
+
+    /**
+     * The pooled names, each mapped to itself.
+     */
+    private static final ConcurrentHashMap<String, String> NAMES = new ConcurrentHashMap<>();
+
+    private SeatNames() {
+    }
+
+    // Class Methods
+    /**
+     * Gets the pooled instance of a seat name, pooling it if there is room.
+     *
+     * @param seat The seat name.
+     * @return The pooled instance, or the given name if the pool is full.
+     */
+    static String intern(String seat) {
+        String pooled = NAMES.get(seat);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (NAMES.size() >= MAX_NAMES) {
+            return seat;
+        }
+        pooled = NAMES.putIfAbsent(seat, seat);
+        return pooled == null ? seat : pooled;
+    }
+
+    /**
+     * Gets the pooled instance of a seat name, without pooling it.
+     *
+     * @param seat The seat name.
+     * @return The pooled instance, or the given name if it is not pooled.
+     */
+    static String lookup(String seat) {
+        String pooled = NAMES.get(seat);
+        return pooled == null ? seat : pooled;
+    }
+}
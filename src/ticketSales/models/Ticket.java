@@ -1,6 +1,7 @@
 package ticketSales.models;
 
-import java.util.Date;
+import ticketSales.ids.IdGenerator;
+
 import java.util.Objects;
 
 /**
@@ -10,6 +11,11 @@ import java.util.Objects;
 public class Ticket {
 
     // Attributes
+    /**
+     * The unique identifier of the ticket, issued by an {@link IdGenerator}.
+     */
+    private final long id;
+
     /**
      * The event for which the ticket was purchased.
      */
@@ -28,7 +34,13 @@ public class Ticket {
     /**
      * Indicates whether the ticket is active (valid) or not.
      */
-    private boolean isActive;
+    private volatile boolean isActive;
+
+    /**
+     * The user currently holding the ticket, or {@code null} if nobody holds it. Written by {@link User} while holding
+     * the lock of the user's holdings.
+     */
+    private volatile User holder;
 
     // Constructor
     /**
@@ -40,6 +52,20 @@ public class Ticket {
      * @param seat The designated seat.
      */
     public Ticket(Event event, float price, String seat) {
+        this(IdGenerator.getDefault().nextId(), event, price, seat);
+    }
+
+    /**
+     * Constructs a new Ticket with a known identifier, for instance one read from another node.
+     * The ticket is created as active by default.
+     *
+     * @param id The unique identifier of the ticket.
+     * @param event The event associated with the ticket.
+     * @param price The price of the ticket.
+     * @param seat The designated seat.
+     */
+    public Ticket(long id, Event event, float price, String seat) {
+        this.id = id;
         this.event = event;
         this.price = price;
         this.seat = seat;
@@ -47,6 +73,15 @@ public class Ticket {
     }
 
     // Getters
+    /**
+     * Gets the unique identifier of the ticket. It is not part of {@link #equals(Object)}.
+     *
+     * @return The identifier.
+     */
+    public long getId() {
+        return id;
+    }
+
     /**
      * Gets the event associated with the ticket.
      *
@@ -83,6 +118,24 @@ public class Ticket {
         return isActive;
     }
 
+    /**
+     * Gets the user currently holding the ticket.
+     *
+     * @return The holder, or {@code null} if the ticket was cancelled, replaced or not yet handed to a user.
+     */
+    public User getHolder() {
+        return holder;
+    }
+
+    /**
+     * Sets the user currently holding the ticket.
+     *
+     * @param holder The holder, or {@code null} if nobody holds the ticket.
+     */
+    void setHolder(User holder) {
+        this.holder = holder;
+    }
+
     // Overridden Methods
     /**
      * Compares two Ticket objects to see if they are equal, based on event, price, seat, and active status.
@@ -117,7 +170,8 @@ public class Ticket {
     @Override
     public String toString() {
         return "Ticket{" +
-                "event=" + event +
+                "id=" + id +
+                ", event=" + event +
                 ", price=" + price +
                 ", seat='" + seat + '\'' +
                 ", isActive=" + isActive +
@@ -127,11 +181,25 @@ public class Ticket {
     // Class Methods
     /**
      * Cancels the ticket if it is active and the event has not yet occurred.
+     * Whether the event occurred is read from its lifecycle state.
      *
      * @return {@code true} if the ticket was successfully canceled, {@code false} otherwise.
      */
-    public boolean cancel() {
-        if (isActive && event.getDate().after(new Date())) {
+    public synchronized boolean cancel() {
+        if (isActive && event.getState() != EventState.PAST) {
+            isActive = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Deactivates the ticket regardless of the event's state, for instance because it was reissued to a new holder.
+     *
+     * @return {@code true} if the ticket was active, {@code false} otherwise.
+     */
+    public synchronized boolean deactivate() {
+        if (isActive) {
             isActive = false;
             return true;
         }
@@ -141,7 +209,7 @@ public class Ticket {
     /**
      * Reactivates the ticket if it is inactive.
      */
-    public void reactivate() {
+    public synchronized void reactivate() {
         if (!isActive) {
             isActive = true;
         }
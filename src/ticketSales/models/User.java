@@ -1,16 +1,34 @@
 package ticketSales.models;
 
+import ticketSales.ids.IdGenerator;
+import ticketSales.security.PasswordHasher;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * The User class represents a user of the ticket sales system.
- * It stores information such as login, name, CPF, email, password, admin status,
+ * It stores information such as login, name, CPF, email, password hash, admin status,
  * and tickets purchased by the user.
  */
 public class User {
 
+    // Constants
+    /**
+     * The lock taken first when two users whose holdings are locked together have the same identity hash code.
+     */
+    private static final Object TRANSFER_TIE_LOCK = new Object();
+
     // Attributes
+    /**
+     * The unique identifier of the user, issued by an {@link IdGenerator}. Unlike the login, it never changes.
+     */
+    private final long id;
+
     /**
      * The user's login. This is a final field and cannot be changed.
      */
@@ -32,9 +50,15 @@ public class User {
     private String email;
 
     /**
-     * The user's password.
+     * The user's salted password hash, as encoded by {@link PasswordHasher}, or {@code null} until the password is
+     * hashed by {@link #hashPassword(PasswordHasher)}.
      */
-    private String password;
+    private volatile String passwordHash;
+
+    /**
+     * The password given to a user built outside a controller, kept only until it is hashed, or {@code null}.
+     */
+    private volatile String pendingPassword;
 
     /**
      * Indicates whether the user has admin privileges.
@@ -42,13 +66,16 @@ public class User {
     private final boolean isAdmin;
 
     /**
-     * List of tickets purchased by the user.
+     * Tickets held by the user, by ticket id, in the order they were acquired.
+     * The map is also the lock guarding the user's holdings.
      */
-    private final ArrayList<Ticket> tickets;
+    private final LinkedHashMap<Long, Ticket> tickets;
 
     // Constructor
     /**
-     * Constructs a new User object with the provided data.
+     * Constructs a new User object with the provided data. The password is not hashed here, since hashing is
+     * deliberately slow: it is kept until the user is registered with a controller, which hashes it with its own
+     * {@link PasswordHasher}.
      *
      * @param login The user's login.
      * @param password The user's password.
@@ -58,16 +85,66 @@ public class User {
      * @param isAdmin Indicates whether the user is an admin.
      */
     public User(String login, String password, String name, String cpf, String email, boolean isAdmin) {
+        this(IdGenerator.getDefault().nextId(), login, name, cpf, email, isAdmin, null);
+        this.pendingPassword = password;
+    }
+
+    private User(long id, String login, String name, String cpf, String email, boolean isAdmin, String passwordHash) {
+        this.id = id;
         this.login = login;
-        this.password = password;
+        this.passwordHash = passwordHash;
         this.name = name;
         this.cpf = cpf;
         this.email = email;
         this.isAdmin = isAdmin;
-        this.tickets = new ArrayList<Ticket>();
+        this.tickets = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates a User object from an already hashed password, as exported from another system.
+     *
+     * @param login The user's login.
+     * @param passwordHash The user's password hash, as encoded by {@link PasswordHasher}, or {@code null} if it is
+     * unknown, in which case the user cannot log in until the password is set.
+     * @param name The user's full name.
+     * @param cpf The user's CPF.
+     * @param email The user's email.
+     * @param isAdmin Indicates whether the user is an admin.
+     * @return The new user.
+     */
+    public static User withPasswordHash(String login, String passwordHash, String name, String cpf, String email,
+                                        boolean isAdmin) {
+        return withPasswordHash(IdGenerator.getDefault().nextId(), login, passwordHash, name, cpf, email, isAdmin);
+    }
+
+    /**
+     * Creates a User object with a known id from an already hashed password, as exported from another process.
+     *
+     * @param id The user's unique identifier.
+     * @param login The user's login.
+     * @param passwordHash The user's password hash, as encoded by {@link PasswordHasher}, or {@code null} if it is
+     * unknown.
+     * @param name The user's full name.
+     * @param cpf The user's CPF.
+     * @param email The user's email.
+     * @param isAdmin Indicates whether the user is an admin.
+     * @return The new user.
+     */
+    public static User withPasswordHash(long id, String login, String passwordHash, String name, String cpf,
+                                        String email, boolean isAdmin) {
+        return new User(id, login, name, cpf, email, isAdmin, passwordHash);
     }
 
     // Getters and Setters
+    /**
+     * Gets the unique identifier of the user. It is not part of {@link #equals(Object)}.
+     *
+     * @return The identifier.
+     */
+    public long getId() {
+        return id;
+    }
+
     /**
      * Gets the user's name.
      *
@@ -141,21 +218,45 @@ public class User {
     }
 
     /**
-     * Gets the user's password.
+     * Gets the user's encoded password hash.
      *
-     * @return The user's password.
+     * @return The user's password hash.
      */
-    public String getPassword() {
-        return password;
+    public String getPasswordHash() {
+        return passwordHash;
     }
 
     /**
-     * Sets the user's password.
+     * Sets the user's password without hashing it, until {@link #hashPassword(PasswordHasher)} is called.
      *
      * @param password The new password of the user.
      */
     public void setPassword(String password) {
-        this.password = password;
+        this.pendingPassword = password;
+        this.passwordHash = null;
+    }
+
+    /**
+     * Sets the user's password, storing only its salted hash.
+     *
+     * @param password The new password of the user.
+     * @param hasher The hasher deriving the hash.
+     */
+    public void setPassword(String password, PasswordHasher hasher) {
+        this.passwordHash = hasher.hash(password);
+        this.pendingPassword = null;
+    }
+
+    /**
+     * Replaces a password not hashed yet by its salted hash. Nothing happens if the password is already hashed.
+     *
+     * @param hasher The hasher deriving the hash.
+     */
+    public void hashPassword(PasswordHasher hasher) {
+        String pending = pendingPassword;
+        if (pending != null) {
+            setPassword(pending, hasher);
+        }
     }
 
     /**
@@ -168,12 +269,25 @@ public class User {
     }
 
     /**
-     * Gets the list of tickets purchased by the user.
+     * Gets the tickets held by the user, in the order they were acquired.
+     *
+     * @return A snapshot list of the tickets.
+     */
+    public List<Ticket> getTickets() {
+        synchronized (tickets) {
+            return new ArrayList<>(tickets.values());
+        }
+    }
+
+    /**
+     * Gets the number of tickets held by the user.
      *
-     * @return The list of tickets.
+     * @return The number of tickets.
      */
-    public ArrayList<Ticket> getTickets() {
-        return tickets;
+    public int getTicketCount() {
+        synchronized (tickets) {
+            return tickets.size();
+        }
     }
 
     // Overridden Methods
@@ -196,13 +310,13 @@ public class User {
     }
 
     /**
-     * Returns the hash code based on the user's attributes.
+     * Returns the hash code based on login, CPF, and email, the same attributes used by {@link #equals(Object)}.
      *
      * @return The hash code value.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(name, cpf, email, login, password, isAdmin, tickets);
+        return Objects.hash(login, cpf, email);
     }
 
     /**
@@ -217,21 +331,169 @@ public class User {
                 ", cpf='" + cpf + '\'' +
                 ", email='" + email + '\'' +
                 ", login='" + login + '\'' +
-                ", password='" + password + '\'' +
                 ", isAdmin=" + isAdmin +
-                ", tickets=" + tickets +
+                ", tickets=" + getTickets() +
                 '}';
     }
 
     // Class Methods
     /**
      * Verifies if the provided login and password credentials are valid.
+     * Hashing is deliberately slow, so callers should verify once and then rely on a session.
      *
      * @param login The provided login.
      * @param password The provided password.
      * @return {@code true} if the credentials are correct, {@code false} otherwise.
      */
     public boolean login(String login, String password) {
-        return User.this.login.equals(login) && User.this.password.equals(password);
+        if (!User.this.login.equals(login)) {
+            return false;
+        }
+        String pending = pendingPassword;
+        if (pending != null) {
+            return MessageDigest.isEqual(pending.getBytes(StandardCharsets.UTF_8),
+                    password.getBytes(StandardCharsets.UTF_8));
+        }
+        String current = passwordHash;
+        return current != null && PasswordHasher.matches(password, current);
+    }
+
+    /**
+     * Verifies if the provided login and password credentials are valid, and upgrades the password hash if it was
+     * made with fewer iterations than the given hasher uses, or not made yet.
+     *
+     * @param login The provided login.
+     * @param password The provided password.
+     * @param hasher The hasher of the controller the user logs in to.
+     * @return {@code true} if the credentials are correct, {@code false} otherwise.
+     */
+    public boolean login(String login, String password, PasswordHasher hasher) {
+        if (!login(login, password)) {
+            return false;
+        }
+        String current = passwordHash;
+        if (current == null || hasher.needsRehash(current)) {
+            setPassword(password, hasher);
+        }
+        return true;
+    }
+
+    /**
+     * Adds a ticket to the user's holdings.
+     *
+     * @param ticket The ticket to be added.
+     * @return {@code true} if the ticket was added, {@code false} if the user already holds it.
+     */
+    public boolean addTicket(Ticket ticket) {
+        synchronized (tickets) {
+            return addTicketLocked(ticket);
+        }
+    }
+
+    /**
+     * Removes a ticket from the user's holdings.
+     *
+     * @param ticket The ticket to be removed.
+     * @return {@code true} if the user held the ticket, {@code false} otherwise.
+     */
+    public boolean removeTicket(Ticket ticket) {
+        synchronized (tickets) {
+            if (!tickets.remove(ticket.getId(), ticket)) {
+                return false;
+            }
+            ticket.setHolder(null);
+            return true;
+        }
+    }
+
+    /**
+     * Removes a ticket from the user's holdings and cancels it in one step, so it cannot be transferred in between.
+     *
+     * @param ticket The ticket to be cancelled.
+     * @return {@code true} if the user held the ticket, {@code false} otherwise.
+     */
+    public boolean cancelTicket(Ticket ticket) {
+        synchronized (tickets) {
+            if (!removeTicket(ticket)) {
+                return false;
+            }
+            ticket.cancel();
+            return true;
+        }
+    }
+
+    /**
+     * Checks whether the user holds a ticket.
+     *
+     * @param ticket The ticket to be checked.
+     * @return {@code true} if the user holds the ticket, {@code false} otherwise.
+     */
+    public boolean holdsTicket(Ticket ticket) {
+        synchronized (tickets) {
+            return tickets.get(ticket.getId()) == ticket;
+        }
+    }
+
+    /**
+     * Atomically moves a ticket from one user's holdings to another's. Both holdings are locked, always in the same
+     * order, so concurrent transfers, purchases and cancellations never see the ticket held by both users or by
+     * neither.
+     *
+     * @param from The user holding the ticket.
+     * @param to The user receiving the ticket.
+     * @param ticket The ticket to be moved.
+     * @param replacement The ticket the receiver gets, either {@code ticket} itself or a reissue of it, in which case
+     * {@code ticket} is deactivated.
+     * @return {@code true} if the ticket was moved, {@code false} if {@code from} does not hold it, or if it or its
+     * replacement is inactive.
+     * @throws IllegalArgumentException If both users are the same.
+     */
+    public static boolean transferTicket(User from, User to, Ticket ticket, Ticket replacement) {
+        if (from == to) {
+            throw new IllegalArgumentException("Cannot transfer a ticket to its holder.");
+        }
+        int fromHash = System.identityHashCode(from);
+        int toHash = System.identityHashCode(to);
+        if (fromHash == toHash) {
+            synchronized (TRANSFER_TIE_LOCK) {
+                return lockAndMove(from, to, from, to, ticket, replacement);
+            }
+        }
+        User first = fromHash < toHash ? from : to;
+        User second = first == from ? to : from;
+        return lockAndMove(first, second, from, to, ticket, replacement);
+    }
+
+    private static boolean lockAndMove(User first, User second, User from, User to, Ticket ticket,
+                                       Ticket replacement) {
+        synchronized (first.tickets) {
+            synchronized (second.tickets) {
+                return moveTicket(from, to, ticket, replacement);
+            }
+        }
+    }
+
+    /**
+     * Moves a ticket between holdings. Must hold the locks of both holdings.
+     */
+    private static boolean moveTicket(User from, User to, Ticket ticket, Ticket replacement) {
+        if (!ticket.isActive() || !replacement.isActive() || from.tickets.get(ticket.getId()) != ticket) {
+            return false;
+        }
+        from.tickets.remove(ticket.getId());
+        ticket.setHolder(null);
+        if (replacement != ticket) {
+            ticket.deactivate();
+        }
+        to.addTicketLocked(replacement);
+        return true;
+    }
+
+    private boolean addTicketLocked(Ticket ticket) {
+        if (tickets.putIfAbsent(ticket.getId(), ticket) != null) {
+            return false;
+        }
+        ticket.setHolder(this);
+        return true;
     }
 }
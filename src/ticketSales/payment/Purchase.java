@@ -1,22 +1,33 @@
 package ticketSales.payment;
 
+import ticketSales.ids.IdGenerator;
 import ticketSales.models.Ticket;
 import ticketSales.models.User;
 
 public class Purchase {
     // Attributes
+    private final long id;
     private User user;
     private Ticket ticket;
     private Payment payment;
 
     // Constructor
     public Purchase(User user, Ticket ticket, Payment payment) {
+        this(IdGenerator.getDefault().nextId(), user, ticket, payment);
+    }
+
+    public Purchase(long id, User user, Ticket ticket, Payment payment) {
+        this.id = id;
         this.user = user;
         this.ticket = ticket;
         this.payment = payment;
     }
 
     // Getters and Setters
+    public long getId() {
+        return id;
+    }
+
     public User getUser() {
         return user;
     }
@@ -62,7 +73,8 @@ public class Purchase {
     @Override
     public String toString() {
         return "Purchase{" +
-                "user=" + user +
+                "id=" + id +
+                ", user=" + user +
                 ", ticket=" + ticket +
                 ", payment=" + payment +
                 '}';
@@ -0,0 +1,493 @@
+package ticketSales.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import ticketSales.inventory.InMemorySeatInventory;
+import ticketSales.models.Event;
+import ticketSales.models.EventState;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+/**
+ * The ReplicaController class is a read-only follower of a {@link ReplicationLeader}. It applies the leader's records
+ * in sequence order to its own copies of the events, seats and held tickets, and serves the read operations of a
+ * {@link ticketSales.controllers.Controller} from them, so read traffic can be spread over replicas. Records come
+ * either from a leader in this process or from a {@link ReplicationServer}, and are applied by a single follower
+ * thread while reads run concurrently.
+ * <p>
+ * A replica is behind its leader by the records not applied yet; {@link #getLagRecords()} and
+ * {@link #getLagMillis()} measure it, and {@link #awaitSequence(long, Duration)} lets a client wait until the replica
+ * has applied its own writes. A replica that starts empty or falls behind the leader's log restores a
+ * {@link ReplicationSnapshot} first. The events returned by a replica are copies owned by the replica and must not be
+ * changed.
+ */
+public class ReplicaController implements AutoCloseable {
+
+    // Constants
+    /**
+     * The maximum number of records read at once.
+     */
+    static final int BATCH_SIZE = 1_024;
+
+    /**
+     * How long a follower waits for new records before reporting the leader's sequence again.
+     */
+    static final Duration HEARTBEAT = Duration.ofMillis(200);
+
+    // Attributes
+    /**
+     * The replicated events, in registration order.
+     */
+    private final CopyOnWriteArrayList<Event> events;
+
+    /**
+     * The replicated events, by id.
+     */
+    private final ConcurrentHashMap<Long, Event> eventsById;
+
+    /**
+     * The first replicated event of each name.
+     */
+    private final ConcurrentHashMap<String, Event> eventsByName;
+
+    /**
+     * The held tickets, by id.
+     */
+    private final ConcurrentHashMap<Long, Ticket> tickets;
+
+    /**
+     * The login of the holder of each held ticket, by ticket id.
+     */
+    private final ConcurrentHashMap<Long, String> holders;
+
+    /**
+     * The held tickets of each user, by login and then by ticket id, in the order they were acquired. Each inner map
+     * is guarded by itself.
+     */
+    private final ConcurrentHashMap<String, LinkedHashMap<Long, Ticket>> holdings;
+
+    /**
+     * The sequence of the last record applied, guarded by this replica's monitor for waiting.
+     */
+    private volatile long appliedSequence;
+
+    /**
+     * The leader's time when the last applied record was appended.
+     */
+    private volatile long appliedTimestamp;
+
+    /**
+     * The last sequence the leader reported.
+     */
+    private volatile long leaderSequence;
+
+    /**
+     * The thread following the leader, or {@code null} if the replica is fed by hand.
+     */
+    private volatile Thread follower;
+
+    /**
+     * The socket to the leader's server, or {@code null} if the leader is in this process.
+     */
+    private volatile Socket socket;
+
+    // Constructor
+    /**
+     * Constructs a new, empty ReplicaController. Records are applied through {@link #apply(List, long)} or by a
+     * follower thread started with one of the {@code follow} methods.
+     */
+    public ReplicaController() {
+        this.events = new CopyOnWriteArrayList<>();
+        this.eventsById = new ConcurrentHashMap<>();
+        this.eventsByName = new ConcurrentHashMap<>();
+        this.tickets = new ConcurrentHashMap<>();
+        this.holders = new ConcurrentHashMap<>();
+        this.holdings = new ConcurrentHashMap<>();
+    }
+
+    // Getters
+    /**
+     * Gets the sequence of the last record applied.
+     *
+     * @return The sequence, or 0 if no record was applied.
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Gets the last sequence the leader reported.
+     *
+     * @return The sequence.
+     */
+    public long getLeaderSequence() {
+        return leaderSequence;
+    }
+
+    /**
+     * Gets the number of records the leader appended that this replica has not applied yet.
+     *
+     * @return The lag, in records.
+     */
+    public long getLagRecords() {
+        return Math.max(0, leaderSequence - appliedSequence);
+    }
+
+    /**
+     * Gets how far behind the leader this replica is in time: the age of the last applied record while records are
+     * waiting to be applied, and 0 once the replica caught up with the last sequence the leader reported.
+     *
+     * @return The lag, in milliseconds.
+     */
+    public long getLagMillis() {
+        if (getLagRecords() == 0) {
+            return 0;
+        }
+        return Math.max(0, System.currentTimeMillis() - appliedTimestamp);
+    }
+
+    // Class Methods
+    /**
+     * Applies records read from the leader. Records already applied are skipped, so a batch can be applied twice.
+     *
+     * @param records The records, in sequence order.
+     * @param leaderSequence The last sequence of the leader when the records were read.
+     * @throws IllegalArgumentException If a record is missing between the last one applied and the batch.
+     */
+    public void apply(List<ReplicationRecord> records, long leaderSequence) {
+        for (ReplicationRecord record : records) {
+            if (record.getSequence() <= appliedSequence) {
+                continue;
+            }
+            if (record.getSequence() != appliedSequence + 1) {
+                throw new IllegalArgumentException("Replication gap after record " + appliedSequence + ".");
+            }
+            applyRecord(record);
+            appliedTimestamp = record.getTimestamp();
+            synchronized (this) {
+                appliedSequence = record.getSequence();
+                notifyAll();
+            }
+        }
+        this.leaderSequence = Math.max(this.leaderSequence, Math.max(leaderSequence, appliedSequence));
+    }
+
+    /**
+     * Replaces the replicated state with a snapshot of the leader's log. Reads running meanwhile may see the state
+     * partly restored.
+     *
+     * @param snapshot The snapshot.
+     * @param leaderSequence The last sequence of the leader when the snapshot was taken.
+     */
+    public void restore(ReplicationSnapshot snapshot, long leaderSequence) {
+        events.clear();
+        eventsById.clear();
+        eventsByName.clear();
+        tickets.clear();
+        holders.clear();
+        holdings.clear();
+        for (ReplicationRecord record : snapshot.getRecords()) {
+            applyRecord(record);
+        }
+        appliedTimestamp = snapshot.getTimestamp();
+        synchronized (this) {
+            appliedSequence = snapshot.getSequence();
+            notifyAll();
+        }
+        this.leaderSequence = Math.max(this.leaderSequence, Math.max(leaderSequence, appliedSequence));
+    }
+
+    /**
+     * Waits until this replica applied a record, for instance the last record of a client's own writes.
+     *
+     * @param sequence The sequence of the record.
+     * @param timeout How long to wait.
+     * @return {@code true} if the record was applied, {@code false} if the timeout elapsed first.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean awaitSequence(long sequence, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (this) {
+            long remaining;
+            while (appliedSequence < sequence && (remaining = deadline - System.nanoTime()) > 0) {
+                wait(Math.max(1, remaining / 1_000_000));
+            }
+            return appliedSequence >= sequence;
+        }
+    }
+
+    /**
+     * Starts following a leader in this process on a daemon thread.
+     *
+     * @param leader The leader.
+     * @throws IllegalStateException If the replica is already following a leader.
+     */
+    public synchronized void follow(ReplicationLeader leader) {
+        startFollower(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (leader.needsSnapshot(appliedSequence)) {
+                    restore(leader.snapshot(), leader.getLastSequence());
+                }
+                List<ReplicationRecord> records = leader.await(appliedSequence, BATCH_SIZE, HEARTBEAT);
+                apply(records, leader.getLastSequence());
+            }
+        });
+    }
+
+    /**
+     * Starts following a leader through its {@link ReplicationServer} on a daemon thread. The replica asks for the
+     * records after the last one it applied, so it can follow another server of the same leader later; the server
+     * sends a snapshot first if those records were truncated.
+     *
+     * @param address The address of the server.
+     * @throws IOException If the server cannot be reached.
+     * @throws IllegalStateException If the replica is already following a leader.
+     */
+    public synchronized void follow(InetSocketAddress address) throws IOException {
+        Socket connection = new Socket();
+        connection.connect(address);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+        out.writeLong(appliedSequence);
+        out.flush();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+        socket = connection;
+        startFollower(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                long head = in.readLong();
+                int count = in.readInt();
+                if (count == ReplicationServer.SNAPSHOT_FRAME) {
+                    restore(ReplicationSnapshot.readFrom(in), head);
+                    continue;
+                }
+                List<ReplicationRecord> records = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    records.add(ReplicationRecord.readFrom(in));
+                }
+                apply(records, head);
+            }
+        });
+    }
+
+    /**
+     * Stops following the leader. The replicated state stays readable.
+     */
+    @Override
+    public synchronized void close() {
+        Thread thread = follower;
+        follower = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        Socket connection = socket;
+        socket = null;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // The follower thread stops either way.
+            }
+        }
+    }
+
+    /**
+     * Lists the replicated events that have not yet occurred.
+     *
+     * @return A list of available events.
+     */
+    public List<Event> listAvailableEvents() {
+        List<Event> availableEvents = new ArrayList<>();
+        for (Event event : events) {
+            if (event.isActive()) {
+                availableEvents.add(event);
+            }
+        }
+        return availableEvents;
+    }
+
+    /**
+     * Lists the replicated events.
+     *
+     * @return A list of events.
+     */
+    public List<Event> listEvents() {
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * Finds the first replicated event with the given name.
+     *
+     * @param name The name of the event.
+     * @return The event, or {@code null} if no event has that name.
+     */
+    public Event findEvent(String name) {
+        return name == null ? null : eventsByName.get(name);
+    }
+
+    /**
+     * Lists the tickets a user holds.
+     *
+     * @param user The user.
+     * @return A list of tickets, in the order they were acquired.
+     */
+    public List<Ticket> listPurchasedTickets(User user) {
+        return listPurchasedTickets(user.getLogin());
+    }
+
+    /**
+     * Lists the tickets a user holds.
+     *
+     * @param login The user's login.
+     * @return A list of tickets, in the order they were acquired.
+     */
+    public List<Ticket> listPurchasedTickets(String login) {
+        LinkedHashMap<Long, Ticket> held = holdings.get(login);
+        if (held == null) {
+            return new ArrayList<>();
+        }
+        synchronized (held) {
+            return new ArrayList<>(held.values());
+        }
+    }
+
+    /**
+     * Starts the follower thread.
+     *
+     * @param loop The loop reading and applying records.
+     */
+    private void startFollower(FollowLoop loop) {
+        if (follower != null) {
+            throw new IllegalStateException("Replica is already following a leader.");
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                loop.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // The connection was closed; the replica keeps serving what it applied.
+            }
+        }, "replica-follower");
+        thread.setDaemon(true);
+        follower = thread;
+        thread.start();
+    }
+
+    /**
+     * Applies one record to the replicated state.
+     *
+     * @param record The record.
+     */
+    private void applyRecord(ReplicationRecord record) {
+        Event event = eventsById.get(record.getEventId());
+        switch (record.getType()) {
+            case EVENT -> {
+                if (event == null) {
+                    event = new Event(record.getEventId(), record.getName(), record.getDescription(),
+                            new Date(record.getDate()), new InMemorySeatInventory());
+                    eventsById.put(event.getId(), event);
+                    eventsByName.putIfAbsent(event.getName(), event);
+                    events.add(event);
+                }
+                event.transitionTo(record.getState());
+                if (record.getState() == EventState.CANCELLED) {
+                    dropTickets(event);
+                }
+            }
+            case SEAT -> {
+                if (event != null) {
+                    if (record.isAvailable()) {
+                        event.addSeat(record.getSeat());
+                    } else {
+                        event.removeSeat(record.getSeat());
+                    }
+                }
+            }
+            case TICKET -> {
+                release(record.getTicketId());
+                // Tickets of a cancelled event are all being cancelled on the leader.
+                if (event != null && record.getHolder() != null && event.getState() != EventState.CANCELLED) {
+                    Ticket ticket = new Ticket(record.getTicketId(), event, record.getPrice(),
+                            event.seatOf(record.getSeat()));
+                    tickets.put(ticket.getId(), ticket);
+                    holders.put(ticket.getId(), record.getHolder());
+                    LinkedHashMap<Long, Ticket> held = holdings.computeIfAbsent(record.getHolder(),
+                            login -> new LinkedHashMap<>());
+                    synchronized (held) {
+                        held.put(ticket.getId(), ticket);
+                    }
+                }
+            }
+            case EVENT_REMOVED -> {
+                if (event != null) {
+                    dropTickets(event);
+                    eventsById.remove(event.getId());
+                    eventsByName.remove(event.getName(), event);
+                    events.remove(event);
+                    for (Event remaining : events) {
+                        if (remaining.getName().equals(event.getName())) {
+                            eventsByName.putIfAbsent(remaining.getName(), remaining);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops every held ticket of an event.
+     *
+     * @param event The event.
+     */
+    private void dropTickets(Event event) {
+        for (Ticket ticket : tickets.values()) {
+            if (ticket.getEvent() == event) {
+                release(ticket.getId());
+            }
+        }
+    }
+
+    /**
+     * Drops a ticket from its holder, if it is held.
+     *
+     * @param ticketId The id of the ticket.
+     */
+    private void release(long ticketId) {
+        tickets.remove(ticketId);
+        String login = holders.remove(ticketId);
+        if (login != null) {
+            LinkedHashMap<Long, Ticket> held = holdings.get(login);
+            synchronized (held) {
+                held.remove(ticketId);
+            }
+        }
+    }
+
+    /**
+     * The FollowLoop interface is the body of a follower thread.
+     */
+    private interface FollowLoop {
+
+        /**
+         * Reads and applies records until interrupted or disconnected.
+         *
+         * @throws InterruptedException If interrupted while waiting for records.
+         * @throws IOException If the connection to the leader fails.
+         */
+        void run() throws InterruptedException, IOException;
+    }
+}
@@ -0,0 +1,702 @@
+package ticketSales.replication;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ticketSales.controllers.Controller;
+import ticketSales.controllers.ControllerListener;
+import ticketSales.inventory.SeatChange;
+import ticketSales.models.Event;
+import ticketSales.models.EventState;
+import ticketSales.models.EventStateListener;
+import ticketSales.models.SeatChangeListener;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+/**
+ * The ReplicationLeader class records the changes of a {@link Controller} in an in-memory replication log that
+ * {@link ReplicaController}s read, either in this process or through a {@link ReplicationServer}. When attached, it
+ * first appends the current events, available seats and held tickets, then one record per event, seat or ticket
+ * change.
+ * <p>
+ * The listeners only queue what changed, in a bounded queue, so purchases never wait for the log's lock; a writer
+ * waits only while the queue is full. A single drain thread reads the current state of each queued change and appends
+ * it, so records appended later never hold older state than records appended earlier.
+ * <p>
+ * The log keeps its last records in a ring of fixed size. Records pushed out of the ring are folded into a compacted
+ * state holding the last record of each current event, available seat and held ticket, so the log grows with the
+ * catalog rather than with its history. A follower that starts empty, or whose next records were truncated, restores
+ * a {@link #snapshot()} and reads the records after it.
+ */
+public class ReplicationLeader implements ControllerListener, SeatChangeListener, EventStateListener, AutoCloseable {
+
+    // Constants
+    /**
+     * The default number of records kept in the ring.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * The number of changes that can wait for the drain thread before writers wait.
+     */
+    private static final int QUEUE_CAPACITY = 1 << 14;
+
+    /**
+     * The maximum number of changes appended under one hold of the log's lock.
+     */
+    private static final int DRAIN_BATCH = 256;
+
+    // Attributes
+    /**
+     * The controller being replicated.
+     */
+    private final Controller controller;
+
+    /**
+     * The changes waiting to be appended.
+     */
+    private final BlockingQueue<Change> changes;
+
+    /**
+     * The number of changes queued so far.
+     */
+    private final AtomicLong queued;
+
+    /**
+     * The events whose seat and state listeners are attached, used by the drain thread only.
+     */
+    private final Set<Event> attached;
+
+    /**
+     * The records not truncated yet; the record with sequence n is at index (n - 1) modulo the capacity. Also the lock
+     * of the log.
+     */
+    private final ReplicationRecord[] ring;
+
+    /**
+     * The state of the log up to the last truncated record, guarded by the log.
+     */
+    private final CompactedLog compacted;
+
+    /**
+     * The thread appending the queued changes.
+     */
+    private final Thread drainer;
+
+    /**
+     * The sequence of the last record appended, guarded by the log.
+     */
+    private long lastSequence;
+
+    /**
+     * The number of queued changes appended, guarded by the log.
+     */
+    private long drained;
+
+    /**
+     * Whether the drain thread stopped, guarded by the log.
+     */
+    private boolean stopped;
+
+    /**
+     * Whether the leader was closed.
+     */
+    private volatile boolean closed;
+
+    // Constructor
+    /**
+     * Constructs a new ReplicationLeader keeping {@link #DEFAULT_CAPACITY} records and attaches it to a controller.
+     *
+     * @param controller The controller to be replicated.
+     */
+    public ReplicationLeader(Controller controller) {
+        this(controller, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new ReplicationLeader and attaches it to a controller.
+     *
+     * @param controller The controller to be replicated.
+     * @param capacity The number of records kept before the oldest ones are folded into the snapshot.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    public ReplicationLeader(Controller controller, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.controller = controller;
+        this.changes = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.queued = new AtomicLong();
+        this.attached = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.ring = new ReplicationRecord[capacity];
+        this.compacted = new CompactedLog();
+        this.drainer = new Thread(this::drain, "replication-drain");
+        drainer.setDaemon(true);
+        drainer.start();
+        controller.addListener(this);
+        for (Event event : controller.listEvents()) {
+            enqueue(new Change(Change.Type.ATTACH, event, null, null));
+        }
+    }
+
+    // Getters
+    /**
+     * Gets the controller being replicated.
+     *
+     * @return The controller.
+     */
+    public Controller getController() {
+        return controller;
+    }
+
+    /**
+     * Gets the sequence of the last record appended.
+     *
+     * @return The sequence, or 0 if the log is empty.
+     */
+    public long getLastSequence() {
+        synchronized (ring) {
+            return lastSequence;
+        }
+    }
+
+    /**
+     * Gets the sequence of the last record truncated from the log. The records up to it are only available through
+     * a {@link #snapshot()}.
+     *
+     * @return The sequence, or 0 if no record was truncated.
+     */
+    public long getTruncatedSequence() {
+        synchronized (ring) {
+            return compacted.sequence;
+        }
+    }
+
+    // Overridden Methods
+    @Override
+    public void onEventRegistered(Event event) {
+        enqueue(new Change(Change.Type.ATTACH, event, null, null));
+    }
+
+    @Override
+    public void onEventRemoved(Event event) {
+        enqueue(new Change(Change.Type.REMOVE, event, null, null));
+    }
+
+    @Override
+    public void onUserRegistered(User user) {
+        // Users are replicated through the tickets they hold.
+    }
+
+    @Override
+    public void onTicketChange(Ticket ticket, User previousHolder) {
+        enqueue(new Change(Change.Type.TICKET, ticket.getEvent(), null, ticket));
+    }
+
+    @Override
+    public void onSeatChange(Event event, SeatChange change) {
+        enqueue(new Change(Change.Type.SEAT, event, change.getSeat(), null));
+    }
+
+    @Override
+    public void onStateChange(Event event, EventState previous, EventState next) {
+        enqueue(new Change(Change.Type.STATE, event, null, null));
+    }
+
+    /**
+     * Detaches the leader from the controller and its events, once the changes queued so far are appended. Followers
+     * can still read the records appended so far.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        controller.removeListener(this);
+        put(new Change(Change.Type.STOP, null, null, null));
+        boolean interrupted = false;
+        while (drainer.isAlive()) {
+            try {
+                drainer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Class Methods
+    /**
+     * Reads the records appended after a sequence.
+     *
+     * @param after The sequence of the last record already read, or 0 to read from the start.
+     * @param max The maximum number of records to read.
+     * @return The records, in sequence order; empty if there are none yet or if the records after the sequence were
+     * truncated, in which case the reader must restore a {@link #snapshot()} first.
+     */
+    public List<ReplicationRecord> read(long after, int max) {
+        synchronized (ring) {
+            long from = Math.max(after, 0);
+            if (from < compacted.sequence || from >= lastSequence) {
+                return new ArrayList<>();
+            }
+            int count = (int) Math.min(Math.max(max, 0), lastSequence - from);
+            List<ReplicationRecord> records = new ArrayList<>(count);
+            for (long sequence = from + 1; sequence <= from + count; sequence++) {
+                records.add(ring[index(sequence)]);
+            }
+            return records;
+        }
+    }
+
+    /**
+     * Reads the records appended after a sequence, waiting for one to be appended if there are none yet.
+     *
+     * @param after The sequence of the last record already read, or 0 to read from the start.
+     * @param max The maximum number of records to read.
+     * @param timeout How long to wait for a record.
+     * @return The records, in sequence order; empty if none was appended before the timeout or the leader closed, or
+     * if the records after the sequence were truncated.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public List<ReplicationRecord> await(long after, int max, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (ring) {
+            long remaining;
+            while (lastSequence <= after && !stopped && (remaining = deadline - System.nanoTime()) > 0) {
+                ring.wait(Math.max(1, remaining / 1_000_000));
+            }
+            return read(after, max);
+        }
+    }
+
+    /**
+     * Waits until the changes made so far are appended, for instance before reading the sequence of a client's own
+     * writes.
+     *
+     * @param timeout How long to wait.
+     * @return The sequence of the last record appended, which covers the changes made before the call unless the
+     * timeout elapsed first.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public long awaitAppended(Duration timeout) throws InterruptedException {
+        long target = queued.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (ring) {
+            long remaining;
+            while (drained < target && !stopped && (remaining = deadline - System.nanoTime()) > 0) {
+                ring.wait(Math.max(1, remaining / 1_000_000));
+            }
+            return lastSequence;
+        }
+    }
+
+    /**
+     * Checks whether a reader must restore a {@link #snapshot()} before reading the records after a sequence: when
+     * it starts empty, since the snapshot is shorter than the log, or when the records after it were truncated.
+     *
+     * @param after The sequence of the last record the reader applied, or 0 if it starts empty.
+     * @return {@code true} if the reader must restore a snapshot, {@code false} if it can read the log.
+     */
+    public boolean needsSnapshot(long after) {
+        synchronized (ring) {
+            return after < compacted.sequence || (after <= 0 && lastSequence > 0);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the log up to the last record appended.
+     *
+     * @return The snapshot.
+     */
+    public ReplicationSnapshot snapshot() {
+        synchronized (ring) {
+            CompactedLog copy = compacted.copy();
+            for (long sequence = compacted.sequence + 1; sequence <= lastSequence; sequence++) {
+                copy.fold(ring[index(sequence)]);
+            }
+            return copy.toSnapshot();
+        }
+    }
+
+    /**
+     * Queues a change for the drain thread, unless the leader was closed.
+     *
+     * @param change The change.
+     */
+    private void enqueue(Change change) {
+        if (closed) {
+            return;
+        }
+        put(change);
+        queued.incrementAndGet();
+    }
+
+    /**
+     * Queues a change, waiting while the queue is full. An interruption is kept for the caller, since a change must
+     * not be lost.
+     *
+     * @param change The change.
+     */
+    private void put(Change change) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                changes.put(change);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Appends the queued changes in batches until the leader is closed.
+     */
+    private void drain() {
+        List<Change> batch = new ArrayList<>(DRAIN_BATCH);
+        while (true) {
+            try {
+                batch.add(changes.take());
+            } catch (InterruptedException e) {
+                // Only close() stops the drain thread, through the queue.
+                continue;
+            }
+            changes.drainTo(batch, DRAIN_BATCH - 1);
+            synchronized (ring) {
+                for (Change change : batch) {
+                    if (change.type == Change.Type.STOP) {
+                        detachAll();
+                        changes.clear();
+                        stopped = true;
+                        ring.notifyAll();
+                        return;
+                    }
+                    process(change);
+                }
+                drained += batch.size();
+                ring.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Appends the current state of what a change touched. Must hold the log.
+     *
+     * @param change The change.
+     */
+    private void process(Change change) {
+        Event event = change.event;
+        switch (change.type) {
+            case ATTACH -> attach(event);
+            case REMOVE -> {
+                if (attached.remove(event)) {
+                    event.removeSeatChangeListener(this);
+                    event.removeStateListener(this);
+                    append(ReplicationRecord.eventRemoved(lastSequence + 1, now(), event.getId()));
+                }
+            }
+            case SEAT -> {
+                if (attached.contains(event)) {
+                    append(ReplicationRecord.seat(lastSequence + 1, now(), event.getId(), change.seat,
+                            event.hasSeat(change.seat)));
+                }
+            }
+            case STATE -> {
+                if (attached.contains(event)) {
+                    appendEvent(event);
+                }
+            }
+            case TICKET -> {
+                if (attached.contains(event)) {
+                    appendTicket(change.ticket);
+                }
+            }
+            case STOP -> {
+                // Handled by the drain loop.
+            }
+        }
+    }
+
+    /**
+     * Attaches the listeners of an event and appends its state, available seats and held tickets. Must hold the log.
+     *
+     * @param event The event.
+     */
+    private void attach(Event event) {
+        if (!attached.add(event)) {
+            return;
+        }
+        event.addSeatChangeListener(this);
+        event.addStateListener(this);
+        appendEvent(event);
+        long now = now();
+        for (String seat : event.getAvailableSeats()) {
+            append(ReplicationRecord.seat(lastSequence + 1, now, event.getId(), seat, true));
+        }
+        try {
+            for (Ticket ticket : controller.listEventTickets(event.getName())) {
+                if (ticket.getEvent() == event) {
+                    appendTicket(ticket);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // The event was removed meanwhile; its removal is queued.
+        }
+    }
+
+    /**
+     * Detaches the listeners of every attached event. Must hold the log.
+     */
+    private void detachAll() {
+        for (Event event : attached) {
+            event.removeSeatChangeListener(this);
+            event.removeStateListener(this);
+        }
+        attached.clear();
+    }
+
+    /**
+     * Appends the current state of an event. Must hold the log.
+     *
+     * @param event The event.
+     */
+    private void appendEvent(Event event) {
+        append(ReplicationRecord.event(lastSequence + 1, now(), event.getId(), event.getName(),
+                event.getDescription(), event.getDate().getTime(), event.getState()));
+    }
+
+    /**
+     * Appends the current holder of a ticket. Must hold the log.
+     *
+     * @param ticket The ticket.
+     */
+    private void appendTicket(Ticket ticket) {
+        User holder = ticket.isActive() ? ticket.getHolder() : null;
+        append(ReplicationRecord.ticket(lastSequence + 1, now(), ticket.getEvent().getId(), ticket.getId(),
+                ticket.getSeat(), ticket.getPrice(), holder == null ? null : holder.getLogin()));
+    }
+
+    /**
+     * Appends a record, folding the oldest record into the compacted state if the ring is full. Must hold the log.
+     *
+     * @param record The record, whose sequence follows the last one.
+     */
+    private void append(ReplicationRecord record) {
+        if (lastSequence - compacted.sequence == ring.length) {
+            compacted.fold(ring[index(compacted.sequence + 1)]);
+        }
+        lastSequence = record.getSequence();
+        ring[index(lastSequence)] = record;
+    }
+
+    /**
+     * Gets the position of a record in the ring.
+     *
+     * @param sequence The sequence of the record.
+     * @return The index.
+     */
+    private int index(long sequence) {
+        return (int) ((sequence - 1) % ring.length);
+    }
+
+    /**
+     * Gets the leader's current time.
+     *
+     * @return The time, in milliseconds since the epoch.
+     */
+    private long now() {
+        return controller.getClock().millis();
+    }
+
+    /**
+     * The Change class is a change queued for the drain thread. It names what changed; its state is read when the
+     * change is appended.
+     */
+    private static final class Change {
+
+        /**
+         * The Type enum lists the changes.
+         */
+        private enum Type {
+
+            /**
+             * An event to attach, with its current seats and tickets.
+             */
+            ATTACH,
+
+            /**
+             * An event dropped from the controller.
+             */
+            REMOVE,
+
+            /**
+             * A seat that became available or unavailable.
+             */
+            SEAT,
+
+            /**
+             * An event whose lifecycle state changed.
+             */
+            STATE,
+
+            /**
+             * A ticket that was issued, moved or cancelled.
+             */
+            TICKET,
+
+            /**
+             * The last change, queued when the leader closes.
+             */
+            STOP
+        }
+
+        /**
+         * The kind of change.
+         */
+        private final Type type;
+
+        /**
+         * The event that changed, or {@code null} for {@link Type#STOP}.
+         */
+        private final Event event;
+
+        /**
+         * The seat that changed, for {@link Type#SEAT}.
+         */
+        private final String seat;
+
+        /**
+         * The ticket that changed, for {@link Type#TICKET}.
+         */
+        private final Ticket ticket;
+
+        private Change(Type type, Event event, String seat, Ticket ticket) {
+            this.type = type;
+            this.event = event;
+            this.seat = seat;
+            this.ticket = ticket;
+        }
+    }
+
+    /**
+     * The CompactedLog class is the state described by a prefix of the log: the last record of each current event, of
+     * each available seat and of each held ticket.
+     */
+    private static final class CompactedLog {
+
+        /**
+         * The sequence of the last record folded.
+         */
+        private long sequence;
+
+        /**
+         * The leader's time when the last record folded was appended.
+         */
+        private long timestamp;
+
+        /**
+         * The last record of each current event, by id in registration order.
+         */
+        private final LinkedHashMap<Long, ReplicationRecord> events = new LinkedHashMap<>();
+
+        /**
+         * The last record of each available seat, by event id and then by seat.
+         */
+        private final Map<Long, LinkedHashMap<String, ReplicationRecord>> seats = new HashMap<>();
+
+        /**
+         * The last record of each held ticket, by id in the order the tickets were last acquired.
+         */
+        private final LinkedHashMap<Long, ReplicationRecord> tickets = new LinkedHashMap<>();
+
+        /**
+         * Folds the next record of the log into the state.
+         *
+         * @param record The record.
+         */
+        private void fold(ReplicationRecord record) {
+            sequence = record.getSequence();
+            timestamp = record.getTimestamp();
+            long eventId = record.getEventId();
+            switch (record.getType()) {
+                case EVENT -> {
+                    events.put(eventId, record);
+                    seats.computeIfAbsent(eventId, id -> new LinkedHashMap<>());
+                    if (record.getState() == EventState.CANCELLED) {
+                        tickets.values().removeIf(ticket -> ticket.getEventId() == eventId);
+                    }
+                }
+                case SEAT -> {
+                    LinkedHashMap<String, ReplicationRecord> available = seats.get(eventId);
+                    if (available != null) {
+                        if (record.isAvailable()) {
+                            available.put(record.getSeat(), record);
+                        } else {
+                            available.remove(record.getSeat());
+                        }
+                    }
+                }
+                case TICKET -> {
+                    tickets.remove(record.getTicketId());
+                    ReplicationRecord event = events.get(eventId);
+                    if (record.getHolder() != null && event != null && event.getState() != EventState.CANCELLED) {
+                        tickets.put(record.getTicketId(), record);
+                    }
+                }
+                case EVENT_REMOVED -> {
+                    events.remove(eventId);
+                    seats.remove(eventId);
+                    tickets.values().removeIf(ticket -> ticket.getEventId() == eventId);
+                }
+            }
+        }
+
+        /**
+         * Copies the state.
+         *
+         * @return The copy.
+         */
+        private CompactedLog copy() {
+            CompactedLog copy = new CompactedLog();
+            copy.sequence = sequence;
+            copy.timestamp = timestamp;
+            copy.events.putAll(events);
+            seats.forEach((eventId, available) -> copy.seats.put(eventId, new LinkedHashMap<>(available)));
+            copy.tickets.putAll(tickets);
+            return copy;
+        }
+
+        /**
+         * Lists the state as a snapshot: each event followed by its available seats, then the held tickets.
+         *
+         * @return The snapshot.
+         */
+        private ReplicationSnapshot toSnapshot() {
+            List<ReplicationRecord> records = new ArrayList<>();
+            for (Map.Entry<Long, ReplicationRecord> event : events.entrySet()) {
+                records.add(event.getValue());
+                records.addAll(seats.get(event.getKey()).values());
+            }
+            records.addAll(tickets.values());
+            return new ReplicationSnapshot(sequence, timestamp, records);
+        }
+    }
+}
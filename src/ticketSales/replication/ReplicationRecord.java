@@ -0,0 +1,384 @@
+package ticketSales.replication;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import ticketSales.models.EventState;
+
+/**
+ * The ReplicationRecord class is one entry of a leader's replication log. A record carries the current state of one
+ * thing (an event, a seat or a ticket) as read when the record was appended, rather than the operation that changed
+ * it. Records are appended in sequence order by the leader's single drain thread, which reads each state as it
+ * appends it, so the last record for a thing always holds its latest state, and a follower applying the records in
+ * order converges to the leader.
+ */
+public class ReplicationRecord {
+
+    /**
+     * The Type enum lists the things a record describes.
+     */
+    public enum Type {
+
+        /**
+         * An event and its lifecycle state.
+         */
+        EVENT,
+
+        /**
+         * The availability of a seat of an event.
+         */
+        SEAT,
+
+        /**
+         * A ticket and its holder.
+         */
+        TICKET,
+
+        /**
+         * An event dropped from the leader with its tickets.
+         */
+        EVENT_REMOVED
+    }
+
+    // Attributes
+    /**
+     * The position of the record in the log, starting from 1.
+     */
+    private final long sequence;
+
+    /**
+     * The leader's time when the record was appended, in milliseconds since the epoch.
+     */
+    private final long timestamp;
+
+    /**
+     * The thing the record describes.
+     */
+    private final Type type;
+
+    /**
+     * The id of the event the record belongs to.
+     */
+    private final long eventId;
+
+    /**
+     * The name of the event, for {@link Type#EVENT} records.
+     */
+    private final String name;
+
+    /**
+     * The description of the event, for {@link Type#EVENT} records.
+     */
+    private final String description;
+
+    /**
+     * The date of the event in milliseconds since the epoch, for {@link Type#EVENT} records.
+     */
+    private final long date;
+
+    /**
+     * The state of the event, for {@link Type#EVENT} records.
+     */
+    private final EventState state;
+
+    /**
+     * The seat, for {@link Type#SEAT} and {@link Type#TICKET} records.
+     */
+    private final String seat;
+
+    /**
+     * Whether the seat is available, for {@link Type#SEAT} records.
+     */
+    private final boolean available;
+
+    /**
+     * The id of the ticket, for {@link Type#TICKET} records.
+     */
+    private final long ticketId;
+
+    /**
+     * The price of the ticket, for {@link Type#TICKET} records.
+     */
+    private final float price;
+
+    /**
+     * The login of the ticket's holder, or {@code null} if the ticket is not held, for {@link Type#TICKET} records.
+     */
+    private final String holder;
+
+    // Constructor
+    private ReplicationRecord(long sequence, long timestamp, Type type, long eventId, String name, String description,
+                              long date, EventState state, String seat, boolean available, long ticketId, float price,
+                              String holder) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.eventId = eventId;
+        this.name = name;
+        this.description = description;
+        this.date = date;
+        this.state = state;
+        this.seat = seat;
+        this.available = available;
+        this.ticketId = ticketId;
+        this.price = price;
+        this.holder = holder;
+    }
+
+    /**
+     * Creates a record of an event and its state.
+     *
+     * @param sequence The position of the record in the log.
+     * @param timestamp The leader's time, in milliseconds since the epoch.
+     * @param eventId The id of the event.
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event, in milliseconds since the epoch.
+     * @param state The state of the event.
+     * @return The record.
+     */
+    public static ReplicationRecord event(long sequence, long timestamp, long eventId, String name, String description,
+                                          long date, EventState state) {
+        return new ReplicationRecord(sequence, timestamp, Type.EVENT, eventId, name, description, date, state, null,
+                false, 0, 0, null);
+    }
+
+    /**
+     * Creates a record of the availability of a seat.
+     *
+     * @param sequence The position of the record in the log.
+     * @param timestamp The leader's time, in milliseconds since the epoch.
+     * @param eventId The id of the event.
+     * @param seat The seat.
+     * @param available Whether the seat is available.
+     * @return The record.
+     */
+    public static ReplicationRecord seat(long sequence, long timestamp, long eventId, String seat, boolean available) {
+        return new ReplicationRecord(sequence, timestamp, Type.SEAT, eventId, null, null, 0, null, seat, available, 0,
+                0, null);
+    }
+
+    /**
+     * Creates a record of a ticket and its holder.
+     *
+     * @param sequence The position of the record in the log.
+     * @param timestamp The leader's time, in milliseconds since the epoch.
+     * @param eventId The id of the ticket's event.
+     * @param ticketId The id of the ticket.
+     * @param seat The seat of the ticket.
+     * @param price The price of the ticket.
+     * @param holder The login of the holder, or {@code null} if the ticket is cancelled or not held.
+     * @return The record.
+     */
+    public static ReplicationRecord ticket(long sequence, long timestamp, long eventId, long ticketId, String seat,
+                                           float price, String holder) {
+        return new ReplicationRecord(sequence, timestamp, Type.TICKET, eventId, null, null, 0, null, seat, false,
+                ticketId, price, holder);
+    }
+
+    /**
+     * Creates a record of an event dropped from the leader.
+     *
+     * @param sequence The position of the record in the log.
+     * @param timestamp The leader's time, in milliseconds since the epoch.
+     * @param eventId The id of the event.
+     * @return The record.
+     */
+    public static ReplicationRecord eventRemoved(long sequence, long timestamp, long eventId) {
+        return new ReplicationRecord(sequence, timestamp, Type.EVENT_REMOVED, eventId, null, null, 0, null, null,
+                false, 0, 0, null);
+    }
+
+    // Getters
+    /**
+     * Gets the position of the record in the log.
+     *
+     * @return The sequence, starting from 1.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the leader's time when the record was appended.
+     *
+     * @return The time, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the thing the record describes.
+     *
+     * @return The type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the id of the event the record belongs to.
+     *
+     * @return The event id.
+     */
+    public long getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Gets the name of the event.
+     *
+     * @return The name, or {@code null} if this is not an event record.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the description of the event.
+     *
+     * @return The description, or {@code null} if this is not an event record.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the date of the event.
+     *
+     * @return The date, in milliseconds since the epoch.
+     */
+    public long getDate() {
+        return date;
+    }
+
+    /**
+     * Gets the state of the event.
+     *
+     * @return The state, or {@code null} if this is not an event record.
+     */
+    public EventState getState() {
+        return state;
+    }
+
+    /**
+     * Gets the seat.
+     *
+     * @return The seat, or {@code null} if this is not a seat or ticket record.
+     */
+    public String getSeat() {
+        return seat;
+    }
+
+    /**
+     * Checks whether the seat is available.
+     *
+     * @return {@code true} if the seat is available, {@code false} otherwise.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Gets the id of the ticket.
+     *
+     * @return The ticket id.
+     */
+    public long getTicketId() {
+        return ticketId;
+    }
+
+    /**
+     * Gets the price of the ticket.
+     *
+     * @return The price.
+     */
+    public float getPrice() {
+        return price;
+    }
+
+    /**
+     * Gets the login of the ticket's holder.
+     *
+     * @return The login, or {@code null} if the ticket is not held.
+     */
+    public String getHolder() {
+        return holder;
+    }
+
+    // Class Methods
+    /**
+     * Writes the record to a stream.
+     *
+     * @param out The stream.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(sequence);
+        out.writeLong(timestamp);
+        out.writeByte(type.ordinal());
+        out.writeLong(eventId);
+        switch (type) {
+            case EVENT -> {
+                out.writeUTF(name);
+                out.writeUTF(description);
+                out.writeLong(date);
+                out.writeByte(state.ordinal());
+            }
+            case SEAT -> {
+                out.writeUTF(seat);
+                out.writeBoolean(available);
+            }
+            case TICKET -> {
+                out.writeLong(ticketId);
+                out.writeUTF(seat);
+                out.writeFloat(price);
+                out.writeBoolean(holder != null);
+                if (holder != null) {
+                    out.writeUTF(holder);
+                }
+            }
+            case EVENT_REMOVED -> {
+            }
+        }
+    }
+
+    /**
+     * Reads a record written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in The stream.
+     * @return The record.
+     * @throws IOException If the stream cannot be read or holds no valid record.
+     */
+    public static ReplicationRecord readFrom(DataInput in) throws IOException {
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        int type = in.readByte();
+        if (type < 0 || type >= Type.values().length) {
+            throw new IOException("Unknown replication record type " + type + ".");
+        }
+        long eventId = in.readLong();
+        return switch (Type.values()[type]) {
+            case EVENT -> event(sequence, timestamp, eventId, in.readUTF(), in.readUTF(), in.readLong(),
+                    EventState.values()[in.readByte()]);
+            case SEAT -> seat(sequence, timestamp, eventId, in.readUTF(), in.readBoolean());
+            case TICKET -> ticket(sequence, timestamp, eventId, in.readLong(), in.readUTF(), in.readFloat(),
+                    in.readBoolean() ? in.readUTF() : null);
+            case EVENT_REMOVED -> eventRemoved(sequence, timestamp, eventId);
+        };
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "ReplicationRecord{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", eventId=" + eventId +
+                (seat != null ? ", seat=" + seat : "") +
+                (state != null ? ", state=" + state : "") +
+                '}';
+    }
+}
@@ -0,0 +1,158 @@
+package ticketSales.replication;
+
+import ticketSales.ids.IdGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The ReplicationServer class streams the log of a {@link ReplicationLeader} to {@link ReplicaController}s in other
+ * processes over local sockets. A follower sends the sequence of the last record it applied, then receives frames of
+ * the leader's last sequence, a record count and the records. A frame is sent as soon as records are appended, and an
+ * empty one at every heartbeat, so followers can measure their lag while the leader is idle. A follower that starts
+ * empty or whose next records were truncated first receives a frame whose count is {@link #SNAPSHOT_FRAME}, followed
+ * by a {@link ReplicationSnapshot}.
+ */
+public class ReplicationServer implements AutoCloseable {
+
+    // Constants
+    /**
+     * The record count of a frame carrying a snapshot instead of records.
+     */
+    static final int SNAPSHOT_FRAME = -1;
+
+    // Attributes
+    /**
+     * The leader whose log is streamed.
+     */
+    private final ReplicationLeader leader;
+
+    /**
+     * The socket accepting followers.
+     */
+    private final ServerSocket serverSocket;
+
+    /**
+     * The connections of the followers.
+     */
+    private final CopyOnWriteArrayList<Socket> connections;
+
+    // Constructor
+    /**
+     * Constructs a new ReplicationServer listening on a loopback port and starts accepting followers.
+     *
+     * @param leader The leader whose log is streamed.
+     * @param port The port, or 0 to pick a free one.
+     * @throws IOException If the port cannot be bound.
+     * @throws IllegalStateException If this process has no configured node id, since its ids are sent to followers.
+     */
+    public ReplicationServer(ReplicationLeader leader, int port) throws IOException {
+        IdGenerator.requireConfiguredDefault();
+        this.leader = leader;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.connections = new CopyOnWriteArrayList<>();
+        start("replication-accept", this::acceptLoop);
+    }
+
+    // Getters
+    /**
+     * Gets the address followers connect to.
+     *
+     * @return The address.
+     */
+    public InetSocketAddress getAddress() {
+        return new InetSocketAddress(serverSocket.getInetAddress(), serverSocket.getLocalPort());
+    }
+
+    // Overridden Methods
+    /**
+     * Stops accepting followers and closes their connections.
+     *
+     * @throws IOException If the server socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+    }
+
+    // Class Methods
+    /**
+     * Accepts followers until the server is closed.
+     */
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket connection = serverSocket.accept();
+                connections.add(connection);
+                start("replication-stream", () -> stream(connection));
+            } catch (IOException e) {
+                // Closed.
+            }
+        }
+    }
+
+    /**
+     * Streams the log to one follower until it disconnects or the server is closed.
+     *
+     * @param connection The connection of the follower.
+     */
+    private void stream(Socket connection) {
+        try (connection) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+            long after = in.readLong();
+            while (!connection.isClosed()) {
+                if (leader.needsSnapshot(after)) {
+                    ReplicationSnapshot snapshot = leader.snapshot();
+                    out.writeLong(leader.getLastSequence());
+                    out.writeInt(SNAPSHOT_FRAME);
+                    snapshot.writeTo(out);
+                    out.flush();
+                    after = snapshot.getSequence();
+                    continue;
+                }
+                List<ReplicationRecord> records = leader.await(after, ReplicaController.BATCH_SIZE,
+                        ReplicaController.HEARTBEAT);
+                out.writeLong(leader.getLastSequence());
+                out.writeInt(records.size());
+                for (ReplicationRecord record : records) {
+                    record.writeTo(out);
+                }
+                out.flush();
+                if (!records.isEmpty()) {
+                    after = records.get(records.size() - 1).getSequence();
+                }
+            }
+        } catch (IOException e) {
+            // The follower disconnected.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Starts a daemon thread.
+     *
+     * @param name The name of the thread.
+     * @param task The task of the thread.
+     */
+    private static void start(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,112 @@
+package ticketSales.replication;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ReplicationSnapshot class is the state of a leader's replication log up to a sequence, compacted to the last
+ * record of each event, available seat and held ticket. A follower that starts empty, or whose next records were
+ * truncated from the log, restores a snapshot and then reads the records after its sequence. Events come before their
+ * seats and tickets, so the records can be applied in order.
+ */
+public class ReplicationSnapshot {
+
+    // Attributes
+    /**
+     * The sequence of the last record the snapshot includes.
+     */
+    private final long sequence;
+
+    /**
+     * The leader's time when the last record the snapshot includes was appended, in milliseconds since the epoch.
+     */
+    private final long timestamp;
+
+    /**
+     * The records of the current events, available seats and held tickets.
+     */
+    private final List<ReplicationRecord> records;
+
+    // Constructor
+    /**
+     * Constructs a new ReplicationSnapshot.
+     *
+     * @param sequence The sequence of the last record the snapshot includes.
+     * @param timestamp The leader's time when that record was appended, in milliseconds since the epoch.
+     * @param records The records of the current events, available seats and held tickets, events first.
+     */
+    ReplicationSnapshot(long sequence, long timestamp, List<ReplicationRecord> records) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.records = Collections.unmodifiableList(records);
+    }
+
+    // Getters
+    /**
+     * Gets the sequence of the last record the snapshot includes.
+     *
+     * @return The sequence, or 0 if the log was empty.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the leader's time when the last record the snapshot includes was appended.
+     *
+     * @return The time, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the records of the current events, available seats and held tickets.
+     *
+     * @return An unmodifiable list of records, events first.
+     */
+    public List<ReplicationRecord> getRecords() {
+        return records;
+    }
+
+    // Class Methods
+    /**
+     * Writes the snapshot to a stream.
+     *
+     * @param out The stream.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(sequence);
+        out.writeLong(timestamp);
+        out.writeInt(records.size());
+        for (ReplicationRecord record : records) {
+            record.writeTo(out);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in The stream.
+     * @return The snapshot.
+     * @throws IOException If the stream cannot be read or holds no valid snapshot.
+     */
+    public static ReplicationSnapshot readFrom(DataInput in) throws IOException {
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid replication snapshot size " + count + ".");
+        }
+        List<ReplicationRecord> records = new ArrayList<>(Math.min(count, ReplicaController.BATCH_SIZE));
+        for (int i = 0; i < count; i++) {
+            records.add(ReplicationRecord.readFrom(in));
+        }
+        return new ReplicationSnapshot(sequence, timestamp, records);
+    }
+}
@@ -0,0 +1,144 @@
+package ticketSales.security;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * The PasswordHasher class derives salted, deliberately slow password hashes with PBKDF2-HMAC-SHA256.
+ * The iteration count is stored in every hash, so it can be raised over time: hashes made with a lower count keep
+ * verifying and are reported by {@link #needsRehash(String)} so they can be upgraded at the next login.
+ */
+public class PasswordHasher {
+
+    // Constants
+    /**
+     * The default number of PBKDF2 iterations.
+     */
+    public static final int DEFAULT_ITERATIONS = 210_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    // Attributes
+    /**
+     * The number of PBKDF2 iterations used for new hashes.
+     */
+    private final int iterations;
+
+    /**
+     * The source of random salts.
+     */
+    private final SecureRandom random;
+
+    // Constructor
+    /**
+     * Constructs a new PasswordHasher.
+     *
+     * @param iterations The number of PBKDF2 iterations used for new hashes.
+     */
+    public PasswordHasher(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations must be positive.");
+        }
+        this.iterations = iterations;
+        this.random = new SecureRandom();
+    }
+
+    /**
+     * Constructs a new PasswordHasher with the default number of iterations.
+     */
+    public PasswordHasher() {
+        this(DEFAULT_ITERATIONS);
+    }
+
+    // Getters
+    /**
+     * Gets the number of PBKDF2 iterations used for new hashes.
+     *
+     * @return The number of iterations.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    // Class Methods
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param password The password to be hashed.
+     * @return The encoded hash, holding the iteration count, the salt and the derived key.
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + '$' + iterations + '$' + encoder.encodeToString(salt) + '$' + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Verifies a password against an encoded hash, in time independent of where the hashes differ.
+     *
+     * @param password The password to be verified.
+     * @param encoded The encoded hash.
+     * @return {@code true} if the password matches, {@code false} otherwise or if the hash is malformed.
+     */
+    public boolean verify(String password, String encoded) {
+        return matches(password, encoded);
+    }
+
+    /**
+     * Verifies a password against an encoded hash, with the iteration count stored in the hash, so no hasher
+     * instance is needed.
+     *
+     * @param password The password to be verified.
+     * @param encoded The encoded hash.
+     * @return {@code true} if the password matches, {@code false} otherwise or if the hash is malformed.
+     */
+    public static boolean matches(String password, String encoded) {
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(PREFIX)) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, derive(password, salt, storedIterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if an encoded hash was made with fewer iterations than this hasher uses.
+     *
+     * @param encoded The encoded hash.
+     * @return {@code true} if the hash should be replaced, {@code false} otherwise.
+     */
+    public boolean needsRehash(String encoded) {
+        String[] parts = encoded.split("\\$");
+        try {
+            return parts.length != 4 || !parts[0].equals(PREFIX) || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Password hashing is not available.", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
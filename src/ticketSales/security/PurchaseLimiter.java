@@ -0,0 +1,259 @@
+package ticketSales.security;
+
+import java.lang.ref.WeakReference;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The PurchaseLimiter class keeps single accounts from buying up events. It caps the number of tickets a user holds
+ * for each event and the rate at which a user sends purchase requests. Both checks use lock-free counters and are
+ * meant to run before any seat is touched, so rejected requests cost only a few map lookups.
+ * <p>
+ * Users and events are identified by their ids, which do not change when a user changes login. A ticket counter is
+ * dropped as soon as it falls back to zero, and the request windows of idle users are dropped by a background sweep,
+ * so the limiter only holds the users that currently hold tickets or have just sent requests.
+ */
+public class PurchaseLimiter implements AutoCloseable {
+
+    // Constants
+    /**
+     * The value of a limit that is not enforced.
+     */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * The thread shared by all limiters to drop idle entries.
+     */
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "purchase-limiter-sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The value of a ticket counter that was dropped from its map.
+     */
+    private static final int RETIRED = -1;
+
+    // Attributes
+    /**
+     * The maximum number of tickets a user holds for one event.
+     */
+    private final int maxTicketsPerEvent;
+
+    /**
+     * The limiter of purchase requests per user id, or {@code null} if requests are not limited.
+     */
+    private final SlidingWindowRateLimiter<Long> requestLimiter;
+
+    /**
+     * The number of tickets each user holds for each event, by user id and then by event id.
+     */
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, AtomicInteger>> ticketCounts;
+
+    /**
+     * The periodic sweep of idle entries, or {@code null} if no limit is enforced.
+     */
+    private final ScheduledFuture<?> sweep;
+
+    // Constructor
+    /**
+     * Constructs a new PurchaseLimiter.
+     *
+     * @param maxTicketsPerEvent The maximum number of tickets a user holds for one event, or {@link #UNLIMITED}.
+     * @param maxRequests The maximum number of purchase requests of a user per window, or {@link #UNLIMITED}.
+     * @param window The length of the request window.
+     * @param clock The clock giving the time of requests.
+     */
+    public PurchaseLimiter(int maxTicketsPerEvent, int maxRequests, Duration window, Clock clock) {
+        if (maxTicketsPerEvent <= 0) {
+            throw new IllegalArgumentException("Ticket limit must be positive.");
+        }
+        this.maxTicketsPerEvent = maxTicketsPerEvent;
+        this.requestLimiter = maxRequests == UNLIMITED ? null : new SlidingWindowRateLimiter<>(maxRequests, window, clock);
+        this.ticketCounts = new ConcurrentHashMap<>();
+        if (maxTicketsPerEvent == UNLIMITED && requestLimiter == null) {
+            this.sweep = null;
+        } else {
+            long period = Math.max(1_000, requestLimiter == null ? 0 : window.toMillis());
+            this.sweep = schedule(this, period);
+        }
+    }
+
+    /**
+     * Creates a PurchaseLimiter that enforces no limit.
+     *
+     * @return The limiter.
+     */
+    public static PurchaseLimiter unlimited() {
+        return new PurchaseLimiter(UNLIMITED, UNLIMITED, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * Schedules the sweep of a limiter. The task only holds the limiter weakly and stops once it is collected, so an
+     * unclosed limiter does not stay reachable.
+     */
+    private static ScheduledFuture<?> schedule(PurchaseLimiter limiter, long periodMillis) {
+        WeakReference<PurchaseLimiter> reference = new WeakReference<>(limiter);
+        ScheduledFuture<?>[] self = new ScheduledFuture<?>[1];
+        synchronized (self) {
+            self[0] = SWEEPER.scheduleWithFixedDelay(() -> {
+                PurchaseLimiter target = reference.get();
+                if (target != null) {
+                    target.evictIdle();
+                } else {
+                    synchronized (self) {
+                        self[0].cancel(false);
+                    }
+                }
+            }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+            return self[0];
+        }
+    }
+
+    // Getters
+    /**
+     * Gets the maximum number of tickets a user holds for one event.
+     *
+     * @return The ticket limit, or {@link #UNLIMITED}.
+     */
+    public int getMaxTicketsPerEvent() {
+        return maxTicketsPerEvent;
+    }
+
+    /**
+     * Gets the number of tickets a user holds for an event, as counted by this limiter.
+     *
+     * @param userId The id of the user.
+     * @param eventId The id of the event.
+     * @return The number of tickets.
+     */
+    public int getTicketCount(long userId, long eventId) {
+        ConcurrentHashMap<Long, AtomicInteger> counts = ticketCounts.get(userId);
+        AtomicInteger count = counts == null ? null : counts.get(eventId);
+        return count == null ? 0 : Math.max(0, count.get());
+    }
+
+    /**
+     * Gets the number of users the limiter holds entries for, with tickets or with requests in the current window.
+     *
+     * @return The number of users.
+     */
+    public int getTrackedUsers() {
+        return Math.max(ticketCounts.size(), requestLimiter == null ? 0 : requestLimiter.size());
+    }
+
+    // Overridden Methods
+    /**
+     * Stops the background sweep of idle entries.
+     */
+    @Override
+    public void close() {
+        if (sweep != null) {
+            sweep.cancel(false);
+        }
+    }
+
+    // Class Methods
+    /**
+     * Counts a purchase request of a user against the request rate limit.
+     *
+     * @param userId The id of the user.
+     * @return {@code true} if the request is within the limit, {@code false} otherwise.
+     */
+    public boolean tryAcquireRequest(long userId) {
+        return requestLimiter == null || requestLimiter.tryAcquire(userId);
+    }
+
+    /**
+     * Reserves one ticket of an event for a user, if the user is below the ticket limit. The reservation must be
+     * released if the ticket is not issued.
+     *
+     * @param userId The id of the user.
+     * @param eventId The id of the event.
+     * @return {@code true} if the ticket was reserved, {@code false} if the user reached the limit.
+     */
+    public boolean tryReserve(long userId, long eventId) {
+        if (maxTicketsPerEvent == UNLIMITED) {
+            return true;
+        }
+        while (true) {
+            ConcurrentHashMap<Long, AtomicInteger> counts = ticketCounts.get(userId);
+            if (counts == null) {
+                counts = ticketCounts.computeIfAbsent(userId, key -> new ConcurrentHashMap<>());
+            }
+            AtomicInteger count = counts.get(eventId);
+            if (count == null) {
+                count = counts.computeIfAbsent(eventId, key -> new AtomicInteger());
+            }
+            int current = count.get();
+            if (current == RETIRED) {
+                counts.remove(eventId, count);
+                continue;
+            }
+            if (current >= maxTicketsPerEvent) {
+                return false;
+            }
+            if (!count.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            if (ticketCounts.get(userId) == counts) {
+                return true;
+            }
+            // The user's map was dropped by the sweep before the counter was added: count again in a new map.
+            count.decrementAndGet();
+        }
+    }
+
+    /**
+     * Releases one ticket of an event reserved for a user, because it was not issued, was cancelled or changed hands.
+     *
+     * @param userId The id of the user.
+     * @param eventId The id of the event.
+     */
+    public void release(long userId, long eventId) {
+        if (maxTicketsPerEvent == UNLIMITED) {
+            return;
+        }
+        ConcurrentHashMap<Long, AtomicInteger> counts = ticketCounts.get(userId);
+        AtomicInteger count = counts == null ? null : counts.get(eventId);
+        if (count == null) {
+            return;
+        }
+        while (true) {
+            int current = count.get();
+            if (current <= 0) {
+                return;
+            }
+            if (count.compareAndSet(current, current - 1)) {
+                if (current == 1 && count.compareAndSet(0, RETIRED)) {
+                    counts.remove(eventId, count);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the request windows of users with no request in the current window, and the ticket maps of users that
+     * no longer hold tickets. Runs periodically in the background; exposed for tests and for callers that want to
+     * free memory at once.
+     */
+    public void evictIdle() {
+        if (requestLimiter != null) {
+            requestLimiter.evictIdle();
+        }
+        for (Map.Entry<Long, ConcurrentHashMap<Long, AtomicInteger>> entry : ticketCounts.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                ticketCounts.computeIfPresent(entry.getKey(), (key, counts) -> counts.isEmpty() ? null : counts);
+            }
+        }
+    }
+}
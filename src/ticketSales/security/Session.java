@@ -0,0 +1,69 @@
+package ticketSales.security;
+
+import ticketSales.models.User;
+
+import java.time.Instant;
+
+/**
+ * The Session class represents an authenticated user, identified by an opaque token issued at login.
+ */
+public class Session {
+
+    // Attributes
+    /**
+     * The opaque token identifying the session.
+     */
+    private final String token;
+
+    /**
+     * The authenticated user.
+     */
+    private final User user;
+
+    /**
+     * The instant the session expires.
+     */
+    private final Instant expiresAt;
+
+    // Constructor
+    /**
+     * Constructs a new Session.
+     *
+     * @param token The opaque token identifying the session.
+     * @param user The authenticated user.
+     * @param expiresAt The instant the session expires.
+     */
+    public Session(String token, User user, Instant expiresAt) {
+        this.token = token;
+        this.user = user;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters
+    /**
+     * Gets the opaque token identifying the session.
+     *
+     * @return The token.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Gets the authenticated user.
+     *
+     * @return The user.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Gets the instant the session expires.
+     *
+     * @return The expiry instant.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
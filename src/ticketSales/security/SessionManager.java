@@ -0,0 +1,124 @@
+package ticketSales.security;
+
+import ticketSales.cache.ExpiringCache;
+import ticketSales.models.User;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * The SessionManager class issues and validates session tokens. Passwords are verified once, at login; afterwards
+ * a token is validated with a single cache lookup, without hashing. Sessions are kept in a bounded cache and expire
+ * a fixed time after they are issued.
+ */
+public class SessionManager {
+
+    // Constants
+    /**
+     * The default time a session stays valid.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(30);
+
+    /**
+     * The default maximum number of concurrent sessions.
+     */
+    public static final int DEFAULT_MAXIMUM_SESSIONS = 100_000;
+
+    private static final int TOKEN_BYTES = 32;
+
+    // Attributes
+    /**
+     * The active sessions, by token.
+     */
+    private final ExpiringCache<String, Session> sessions;
+
+    /**
+     * The time a session stays valid.
+     */
+    private final Duration timeToLive;
+
+    /**
+     * The source of session tokens.
+     */
+    private final SecureRandom random;
+
+    // Constructor
+    /**
+     * Constructs a new SessionManager with the default limits and the system clock.
+     */
+    public SessionManager() {
+        this(DEFAULT_MAXIMUM_SESSIONS, DEFAULT_TIME_TO_LIVE, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a new SessionManager.
+     *
+     * @param maximumSessions The maximum number of concurrent sessions; the oldest are dropped beyond it.
+     * @param timeToLive The time a session stays valid.
+     * @param clock The clock used to expire sessions.
+     */
+    public SessionManager(int maximumSessions, Duration timeToLive, Clock clock) {
+        this.sessions = new ExpiringCache<>(maximumSessions, timeToLive, clock);
+        this.timeToLive = timeToLive;
+        this.random = new SecureRandom();
+    }
+
+    // Class Methods
+    /**
+     * Opens a session for an already authenticated user.
+     *
+     * @param user The authenticated user.
+     * @return The new session.
+     */
+    public Session open(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Session session = new Session(token, user, sessions.getClock().instant().plus(timeToLive));
+        sessions.put(token, session);
+        return session;
+    }
+
+    /**
+     * Gets the user of a valid session.
+     *
+     * @param token The session token.
+     * @return The user, or {@code null} if the token is unknown or expired.
+     */
+    public User validate(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        return session == null ? null : session.getUser();
+    }
+
+    /**
+     * Closes a session.
+     *
+     * @param token The session token.
+     */
+    public void close(String token) {
+        sessions.remove(token);
+    }
+
+    /**
+     * Closes every session of a user, for instance after a password change.
+     *
+     * @param user The user whose sessions are closed.
+     */
+    public void closeAll(User user) {
+        sessions.removeIf(session -> session.getUser() == user);
+    }
+
+    /**
+     * Gets the number of open sessions, including expired sessions not yet reclaimed.
+     *
+     * @return The number of sessions.
+     */
+    public int size() {
+        return sessions.size();
+    }
+}
@@ -0,0 +1,176 @@
+package ticketSales.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The SlidingWindowRateLimiter class allows each key at most a fixed number of requests in any window of a fixed
+ * length. Each key keeps the times of its last accepted requests in a ring; a request is accepted only if the oldest
+ * of them has left the window. Accepting a request is a compare-and-set of its time into the oldest slot, so two
+ * requests can never both take the same slot; the ring position is moved after it, without locks. A request racing
+ * with one that claimed a slot but has not moved the position yet is rejected.
+ * <p>
+ * {@link #evictIdle()} drops the rings of keys with no request in the current window. A dropped ring is retired first,
+ * so a request racing with the eviction starts a new ring instead of being recorded in the dropped one.
+ */
+public class SlidingWindowRateLimiter<K> {
+
+    // Constants
+    /**
+     * The ring position of a ring dropped by {@link #evictIdle()}.
+     */
+    private static final long RETIRED = -1;
+
+    // Attributes
+    /**
+     * The maximum number of requests per window.
+     */
+    private final int maxRequests;
+
+    /**
+     * The length of the window, in milliseconds.
+     */
+    private final long windowMillis;
+
+    /**
+     * The clock giving the time of requests.
+     */
+    private final Clock clock;
+
+    /**
+     * The accepted requests of each key.
+     */
+    private final ConcurrentHashMap<K, Window> windows;
+
+    // Constructor
+    /**
+     * Constructs a new SlidingWindowRateLimiter.
+     *
+     * @param maxRequests The maximum number of requests per window.
+     * @param window The length of the window.
+     * @param clock The clock giving the time of requests.
+     */
+    public SlidingWindowRateLimiter(int maxRequests, Duration window, Clock clock) {
+        if (maxRequests <= 0 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Request limit and window must be positive.");
+        }
+        this.maxRequests = maxRequests;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.windows = new ConcurrentHashMap<>();
+    }
+
+    // Getters
+    /**
+     * Gets the maximum number of requests per window.
+     *
+     * @return The request limit.
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    // Class Methods
+    /**
+     * Accepts a request of a key if it is within the limit.
+     *
+     * @param key The key making the request, such as a user id.
+     * @return {@code true} if the request is accepted, {@code false} if the key is over the limit.
+     */
+    public boolean tryAcquire(K key) {
+        Window window = window(key);
+        long now = clock.millis();
+        while (true) {
+            long position = window.next.get();
+            if (position == RETIRED) {
+                windows.remove(key, window);
+                window = window(key);
+                continue;
+            }
+            int slot = (int) (position % maxRequests);
+            long stamp = window.stamps.get(slot);
+            if (stamp > now - windowMillis) {
+                if (window.next.get() == position) {
+                    return false;
+                }
+                continue;
+            }
+            if (window.stamps.compareAndSet(slot, stamp, now)) {
+                if (window.next.compareAndSet(position, position + 1) || window.next.get() != RETIRED) {
+                    return true;
+                }
+                // Retired before the position moved: record the request again in a new ring.
+                windows.remove(key, window);
+                window = window(key);
+            }
+        }
+    }
+
+    /**
+     * Forgets the requests of a key.
+     *
+     * @param key The key.
+     */
+    public void reset(K key) {
+        windows.remove(key);
+    }
+
+    /**
+     * Drops the rings of the keys with no accepted request in the current window, which would accept their next
+     * request anyway.
+     *
+     * @return The number of keys dropped.
+     */
+    public int evictIdle() {
+        long oldest = clock.millis() - windowMillis;
+        int evicted = 0;
+        for (Map.Entry<K, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            long position = window.next.get();
+            if (position != RETIRED && window.newest(position, maxRequests) <= oldest
+                    && window.next.compareAndSet(position, RETIRED)) {
+                windows.remove(entry.getKey(), window);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Gets the number of keys with a ring.
+     *
+     * @return The number of keys.
+     */
+    public int size() {
+        return windows.size();
+    }
+
+    private Window window(K key) {
+        Window window = windows.get(key);
+        return window == null ? windows.computeIfAbsent(key, k -> new Window(maxRequests)) : window;
+    }
+
+    /**
+     * The Window class is the ring of the last accepted request times of one key.
+     */
+    private static final class Window {
+
+        private final AtomicLong next = new AtomicLong();
+        private final AtomicLongArray stamps;
+
+        private Window(int size) {
+            this.stamps = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                stamps.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        private long newest(long position, int size) {
+            return position == 0 ? Long.MIN_VALUE : stamps.get((int) ((position - 1) % size));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ticketSales.sharding;
+
+import java.util.Arrays;
+
+/**
+ * The ConsistentHashRing class assigns 64-bit keys, such as event ids, to shards. Each shard owns many points on a
+ * ring of hash values, and a key belongs to the shard owning the first point at or after the key's hash. Adding a
+ * shard then moves only the keys that land on its new points, about 1 / (n + 1) of them, instead of reshuffling
+ * every key as a modulo would.
+ * <p>
+ * Points depend only on the shard index and the number of virtual nodes, so every process building a ring with the
+ * same settings routes keys the same way. A ring is immutable; {@link #withShards(int)} builds a resized copy.
+ */
+public class ConsistentHashRing {
+
+    // Constants
+    /**
+     * The default number of points of each shard, which keeps shards within a few percent of an even share.
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    // Attributes
+    /**
+     * The number of shards.
+     */
+    private final int shards;
+
+    /**
+     * The number of points of each shard.
+     */
+    private final int virtualNodes;
+
+    /**
+     * The hash values of the points, in ascending order.
+     */
+    private final long[] points;
+
+    /**
+     * The shard owning each point, parallel to {@link #points}.
+     */
+    private final int[] owners;
+
+    // Constructor
+    /**
+     * Constructs a new ConsistentHashRing with the default number of virtual nodes.
+     *
+     * @param shards The number of shards.
+     */
+    public ConsistentHashRing(int shards) {
+        this(shards, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Constructs a new ConsistentHashRing.
+     *
+     * @param shards The number of shards.
+     * @param virtualNodes The number of points of each shard.
+     */
+    public ConsistentHashRing(int shards, int virtualNodes) {
+        if (shards <= 0 || virtualNodes <= 0) {
+            throw new IllegalArgumentException("Shards and virtual nodes must be positive.");
+        }
+        this.shards = shards;
+        this.virtualNodes = virtualNodes;
+        int size = shards * virtualNodes;
+        long[][] byPoint = new long[size][];
+        for (int shard = 0; shard < shards; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                int i = shard * virtualNodes + node;
+                byPoint[i] = new long[] {mix(((long) shard << 32) | node), shard};
+            }
+        }
+        Arrays.sort(byPoint, (a, b) -> Long.compareUnsigned(a[0], b[0]));
+        this.points = new long[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = byPoint[i][0];
+            owners[i] = (int) byPoint[i][1];
+        }
+    }
+
+    // Getters
+    /**
+     * Gets the number of shards.
+     *
+     * @return The number of shards.
+     */
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Gets the number of points of each shard.
+     *
+     * @return The number of virtual nodes.
+     */
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    // Class Methods
+    /**
+     * Finds the shard a key belongs to.
+     *
+     * @param key The key, such as an event id.
+     * @return The index of the shard, from 0 to {@link #getShards()} - 1.
+     */
+    public int shardFor(long key) {
+        long hash = mix(key);
+        int low = 0;
+        int high = points.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[middle], hash) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return owners[low == points.length ? 0 : low];
+    }
+
+    /**
+     * Builds a ring with another number of shards and the same virtual nodes. Shards present in both rings keep their
+     * points.
+     *
+     * @param shards The number of shards.
+     * @return The new ring.
+     */
+    public ConsistentHashRing withShards(int shards) {
+        return new ConsistentHashRing(shards, virtualNodes);
+    }
+
+    /**
+     * Spreads the bits of a value over the whole 64-bit range, using the finalizer of MurmurHash3. Event ids differ
+     * mostly in their low bits, which on their own would cluster on the ring.
+     *
+     * @param value The value.
+     * @return The hash.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,412 @@
+package ticketSales.sharding;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ticketSales.archive.EventArchive;
+import ticketSales.cancellation.RefundReport;
+import ticketSales.controllers.Controller;
+import ticketSales.gate.GateValidator;
+import ticketSales.ids.IdGenerator;
+import ticketSales.inventory.SectionedSeatInventory;
+import ticketSales.models.Event;
+import ticketSales.models.PurchaseResult;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+import ticketSales.security.PasswordHasher;
+import ticketSales.security.PurchaseLimiter;
+import ticketSales.security.SessionManager;
+
+/**
+ * The ShardedController class spreads the catalog over several {@link Controller} shards, each with its own events,
+ * seats, tickets and ledger. Events are assigned to shards by a {@link ConsistentHashRing} over their ids, which are
+ * chosen before registration; operations on an event are forwarded to its shard, and listings fan out to every shard
+ * and merge the results in id order, which is registration order.
+ * <p>
+ * Users are registered on every shard, so a user's tickets from all shards are held by the same {@link User} object.
+ * The shards created here share one {@link PurchaseLimiter}, so a user's request rate and tickets per event are limited
+ * across the whole catalog rather than per shard, and one {@link GateValidator}, so the gates check the tickets of
+ * every shard with one key. The shards are plain controllers in this JVM; since the ring depends only on its settings,
+ * shards running in other processes with the same ring would route events the same way.
+ */
+public class ShardedController {
+
+    // Attributes
+    /**
+     * The shards, by index on the ring.
+     */
+    private final List<Controller> shards;
+
+    /**
+     * The ring assigning events to shards.
+     */
+    private final ConsistentHashRing ring;
+
+    /**
+     * The first registered event of each name, as returned by {@link #findEvent(String)}.
+     */
+    private final ConcurrentHashMap<String, Event> eventsByName;
+
+    /**
+     * The registered users, by login, used to keep logins unique across shards.
+     */
+    private final ConcurrentHashMap<String, User> users;
+
+    // Constructor
+    /**
+     * Constructs a new ShardedController with the given number of new controllers enforcing no purchase limit.
+     *
+     * @param shards The number of shards.
+     */
+    public ShardedController(int shards) {
+        this(shards, PurchaseLimiter.unlimited());
+    }
+
+    /**
+     * Constructs a new ShardedController with the given number of new controllers sharing a purchase limiter and the
+     * gate validator read from the configuration.
+     *
+     * @param shards The number of shards.
+     * @param purchaseLimiter The limits on the tickets and purchase requests of each user, over every shard.
+     * @throws IllegalStateException If the configured gate key is invalid.
+     */
+    public ShardedController(int shards, PurchaseLimiter purchaseLimiter) {
+        this(newControllers(shards, purchaseLimiter, GateValidator.fromConfiguration()));
+    }
+
+    /**
+     * Constructs a new ShardedController over the given controllers, which must not hold events or users yet. To limit
+     * purchases and check tickets over the whole catalog, the controllers should share their purchase limiter and
+     * gate validator.
+     *
+     * @param shards The shards, by index on the ring.
+     */
+    public ShardedController(List<Controller> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required.");
+        }
+        this.shards = List.copyOf(shards);
+        this.ring = new ConsistentHashRing(shards.size());
+        this.eventsByName = new ConcurrentHashMap<>();
+        this.users = new ConcurrentHashMap<>();
+    }
+
+    private static List<Controller> newControllers(int shards, PurchaseLimiter purchaseLimiter,
+                                                   GateValidator gateValidator) {
+        List<Controller> controllers = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            controllers.add(new Controller(new SessionManager(), Clock.systemUTC(), purchaseLimiter,
+                    new PasswordHasher(), gateValidator));
+        }
+        return controllers;
+    }
+
+    // Getters
+    /**
+     * Gets the shards.
+     *
+     * @return An unmodifiable list of the shards, by index on the ring.
+     */
+    public List<Controller> getShards() {
+        return shards;
+    }
+
+    /**
+     * Gets the ring assigning events to shards.
+     *
+     * @return The ring.
+     */
+    public ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    // Class Methods
+    /**
+     * Registers a new user on every shard.
+     *
+     * @param login The user's login.
+     * @param password The user's password.
+     * @param name The user's name.
+     * @param cpf The user's CPF.
+     * @param email The user's email.
+     * @param isAdmin Indicates whether the user is an administrator.
+     * @return The newly registered {@link User} object.
+     * @throws IllegalArgumentException If the login is already in use.
+     */
+    public User registerUser(String login, String password, String name, String cpf, String email, boolean isAdmin) {
+        return registerUser(new User(login, password, name, cpf, email, isAdmin));
+    }
+
+    /**
+     * Registers an existing user object on every shard.
+     *
+     * @param user The user to be registered.
+     * @return The registered {@link User} object.
+     * @throws IllegalArgumentException If the login is already in use.
+     */
+    public User registerUser(User user) {
+        if (users.putIfAbsent(user.getLogin(), user) != null) {
+            throw new IllegalArgumentException("Login already in use.");
+        }
+        for (Controller shard : shards) {
+            shard.registerUser(user);
+        }
+        return user;
+    }
+
+    /**
+     * Registers a new event on the shard its id is assigned to, if the user is an administrator.
+     *
+     * @param user The user attempting to register the event.
+     * @param name The name of the event.
+     * @param description The description of the event.
+     * @param date The date of the event.
+     * @return The newly registered {@link Event} object.
+     * @throws SecurityException If the user is not an administrator.
+     */
+    public Event registerEvent(User user, String name, String description, Date date) {
+        if (!user.isAdmin()) {
+            throw new SecurityException("Only administrators can register events.");
+        }
+        long id = IdGenerator.getDefault().nextId();
+        Controller shard = shards.get(ring.shardFor(id));
+        Event event = new Event(id, name, description, date, new SectionedSeatInventory(), shard.getClock());
+        shard.registerEvent(user, event);
+        eventsByName.putIfAbsent(name, event);
+        return event;
+    }
+
+    /**
+     * Adds an available seat to a specific event. Nothing happens if the event is not found.
+     *
+     * @param name The name of the event.
+     * @param seat The seat to be added.
+     */
+    public void addEventSeat(String name, String seat) {
+        Event event = findEvent(name);
+        if (event != null) {
+            shardOf(event).addEventSeat(name, seat);
+        }
+    }
+
+    /**
+     * Adds several available seats to a specific event.
+     *
+     * @param name The name of the event.
+     * @param seats The seats to be added.
+     * @return The number of seats that were not already available.
+     * @throws IllegalArgumentException If the event is not found.
+     */
+    public int addEventSeats(String name, Collection<String> seats) {
+        return shardOf(name).addEventSeats(name, seats);
+    }
+
+    /**
+     * Processes a ticket purchase on the shard of the event.
+     *
+     * @param user The user buying the ticket.
+     * @param name The name of the event.
+     * @param seat The chosen seat for the ticket.
+     * @return The newly purchased {@link Ticket} object.
+     * @throws IllegalArgumentException If the seat is unavailable, if the event is not on sale, if the event is not
+     * found or if the user is over a purchase limit.
+     */
+    public Ticket purchaseTicket(User user, String name, String seat) {
+        return tryPurchaseTicket(user, name, seat).orThrow();
+    }
+
+    /**
+     * Attempts a ticket purchase on the shard of the event without throwing for expected failures.
+     *
+     * @param user The user buying the ticket.
+     * @param name The name of the event.
+     * @param seat The chosen seat for the ticket.
+     * @return The result of the attempt, holding the ticket if it succeeded.
+     */
+    public PurchaseResult tryPurchaseTicket(User user, String name, String seat) {
+        Event event = findEvent(name);
+        if (event == null) {
+            return PurchaseResult.EVENT_NOT_FOUND;
+        }
+        return shardOf(event).tryPurchaseTicket(user, name, seat);
+    }
+
+    /**
+     * Attempts a ticket purchase for any available seat on the shard of the event without throwing for expected
+     * failures.
+     *
+     * @param user The user buying the ticket.
+     * @param name The name of the event.
+     * @return The result of the attempt, holding the ticket if it succeeded.
+     */
+    public PurchaseResult tryPurchaseAnyTicket(User user, String name) {
+        Event event = findEvent(name);
+        if (event == null) {
+            return PurchaseResult.EVENT_NOT_FOUND;
+        }
+        return shardOf(event).tryPurchaseAnyTicket(user, name);
+    }
+
+    /**
+     * Cancels a user's ticket purchase on the shard of the ticket's event.
+     *
+     * @param user The user canceling the purchase.
+     * @param ticket The ticket to be canceled.
+     * @return {@code true} if the cancellation was successful, {@code false} otherwise.
+     */
+    public boolean cancelPurchase(User user, Ticket ticket) {
+        return shardOf(ticket.getEvent()).cancelPurchase(user, ticket);
+    }
+
+    /**
+     * Cancels an event and every ticket held for it on the event's shard, if the user is an administrator.
+     *
+     * @param user The user attempting to cancel the event.
+     * @param name The name of the event.
+     * @return The report of the cancellation.
+     * @throws SecurityException If the user is not an administrator.
+     * @throws IllegalArgumentException If the event is not found or was already cancelled.
+     */
+    public RefundReport cancelEvent(User user, String name) {
+        if (!user.isAdmin()) {
+            throw new SecurityException("Only administrators can cancel events.");
+        }
+        return shardOf(name).cancelEvent(user, name);
+    }
+
+    /**
+     * Lists the tickets of an event that are currently held by users.
+     *
+     * @param name The name of the event.
+     * @return A list of tickets.
+     * @throws IllegalArgumentException If the event is not found.
+     */
+    public List<Ticket> listEventTickets(String name) {
+        return shardOf(name).listEventTickets(name);
+    }
+
+    /**
+     * Archives the past and cancelled events of every shard, if the user is an administrator.
+     *
+     * @param user The user attempting to archive events.
+     * @param archive The archive receiving the events.
+     * @return The number of events archived.
+     * @throws SecurityException If the user is not an administrator.
+     * @throws IOException If the archive cannot be written; the shards archived before the failure keep their events
+     * archived.
+     */
+    public int archivePastEvents(User user, EventArchive archive) throws IOException {
+        int archived = 0;
+        try {
+            for (Controller shard : shards) {
+                archived += shard.archivePastEvents(user, archive);
+            }
+        } finally {
+            for (Event event : eventsByName.values()) {
+                if (shardOf(event).findEvent(event.getName()) != event) {
+                    eventsByName.remove(event.getName(), event);
+                }
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Lists the available events of every shard, in registration order.
+     *
+     * @return A list of available events.
+     */
+    public List<Event> listAvailableEvents() {
+        List<Event> events = new ArrayList<>();
+        for (Controller shard : shards) {
+            events.addAll(shard.listAvailableEvents());
+        }
+        events.sort(Comparator.comparingLong(Event::getId));
+        return events;
+    }
+
+    /**
+     * Counts the available seats of several events at once, whatever their shards, from the events' availability
+     * counters.
+     *
+     * @param names The names of the events.
+     * @return The number of available seats of each event found, by name in the given order.
+     */
+    public Map<String, Integer> countAvailableSeats(Collection<String> names) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String name : names) {
+            Event event = findEvent(name);
+            if (event != null) {
+                counts.put(name, event.getAvailableSeatCount());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Lists the events of every shard, in registration order.
+     *
+     * @return A list of events.
+     */
+    public List<Event> listEvents() {
+        List<Event> events = new ArrayList<>();
+        for (Controller shard : shards) {
+            events.addAll(shard.listEvents());
+        }
+        events.sort(Comparator.comparingLong(Event::getId));
+        return events;
+    }
+
+    /**
+     * Lists all tickets purchased by a user on every shard.
+     *
+     * @param user The user whose tickets will be listed.
+     * @return A list of tickets purchased by the user.
+     */
+    public List<Ticket> listPurchasedTickets(User user) {
+        return user.getTickets();
+    }
+
+    /**
+     * Finds the first registered event with the given name.
+     *
+     * @param name The name of the event.
+     * @return The event, or {@code null} if no event has that name.
+     */
+    public Event findEvent(String name) {
+        return name == null ? null : eventsByName.get(name);
+    }
+
+    /**
+     * Gets the shard an event is assigned to.
+     *
+     * @param event The event.
+     * @return The shard.
+     */
+    public Controller shardOf(Event event) {
+        return shards.get(ring.shardFor(event.getId()));
+    }
+
+    /**
+     * Gets the shard of the event with the given name.
+     *
+     * @param name The name of the event.
+     * @return The shard.
+     * @throws IllegalArgumentException If the event is not found.
+     */
+    private Controller shardOf(String name) {
+        Event event = findEvent(name);
+        if (event == null) {
+            throw new IllegalArgumentException("Event not found.");
+        }
+        return shardOf(event);
+    }
+}
@@ -0,0 +1,71 @@
+package ticketSales.simulation;
+
+/**
+ * The SalesSample class records how many seats were sold at a point of a simulation run.
+ */
+public class SalesSample {
+
+    // Attributes
+    /**
+     * The time since the run started, in milliseconds.
+     */
+    private final long elapsedMillis;
+
+    /**
+     * The number of operations completed.
+     */
+    private final int operationsCompleted;
+
+    /**
+     * The number of seats sold and not cancelled.
+     */
+    private final int seatsSold;
+
+    // Constructor
+    /**
+     * Constructs a new SalesSample.
+     *
+     * @param elapsedMillis The time since the run started, in milliseconds.
+     * @param operationsCompleted The number of operations completed.
+     * @param seatsSold The number of seats sold and not cancelled.
+     */
+    public SalesSample(long elapsedMillis, int operationsCompleted, int seatsSold) {
+        this.elapsedMillis = elapsedMillis;
+        this.operationsCompleted = operationsCompleted;
+        this.seatsSold = seatsSold;
+    }
+
+    // Getters
+    /**
+     * Gets the time since the run started.
+     *
+     * @return The elapsed time, in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets the number of operations completed.
+     *
+     * @return The number of operations.
+     */
+    public int getOperationsCompleted() {
+        return operationsCompleted;
+    }
+
+    /**
+     * Gets the number of seats sold and not cancelled.
+     *
+     * @return The number of seats.
+     */
+    public int getSeatsSold() {
+        return seatsSold;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return elapsedMillis + "ms: " + seatsSold + " sold after " + operationsCompleted + " operations";
+    }
+}
@@ -0,0 +1,151 @@
+package ticketSales.simulation;
+
+import java.util.Objects;
+
+/**
+ * The SimulatedOperation class is one step of a generated workload: a user viewing an event, buying a seat of an
+ * event, or cancelling their latest ticket.
+ */
+public class SimulatedOperation {
+
+    /**
+     * The Type enum lists the kinds of simulated operations.
+     */
+    public enum Type {
+        VIEW,
+        PURCHASE,
+        CANCEL
+    }
+
+    // Attributes
+    /**
+     * The position of the operation in the workload.
+     */
+    private final int index;
+
+    /**
+     * The kind of operation.
+     */
+    private final Type type;
+
+    /**
+     * The index of the user performing the operation.
+     */
+    private final int user;
+
+    /**
+     * The index of the target event.
+     */
+    private final int event;
+
+    /**
+     * The index of the first seat tried.
+     */
+    private final int seat;
+
+    /**
+     * The seed of the seats tried after a taken one.
+     */
+    private final long retrySeed;
+
+    // Constructor
+    /**
+     * Constructs a new SimulatedOperation.
+     *
+     * @param index The position of the operation in the workload.
+     * @param type The kind of operation.
+     * @param user The index of the user performing the operation.
+     * @param event The index of the target event.
+     * @param seat The index of the first seat tried.
+     * @param retrySeed The seed of the seats tried after a taken one.
+     */
+    public SimulatedOperation(int index, Type type, int user, int event, int seat, long retrySeed) {
+        this.index = index;
+        this.type = type;
+        this.user = user;
+        this.event = event;
+        this.seat = seat;
+        this.retrySeed = retrySeed;
+    }
+
+    // Getters
+    /**
+     * Gets the position of the operation in the workload.
+     *
+     * @return The index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the kind of operation.
+     *
+     * @return The type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the index of the user performing the operation.
+     *
+     * @return The user index.
+     */
+    public int getUser() {
+        return user;
+    }
+
+    /**
+     * Gets the index of the target event.
+     *
+     * @return The event index.
+     */
+    public int getEvent() {
+        return event;
+    }
+
+    /**
+     * Gets the index of the first seat tried.
+     *
+     * @return The seat index.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the seed of the seats tried after a taken one.
+     *
+     * @return The seed.
+     */
+    public long getRetrySeed() {
+        return retrySeed;
+    }
+
+    // Overridden Methods
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SimulatedOperation that = (SimulatedOperation) o;
+        return index == that.index && user == that.user && event == that.event && seat == that.seat
+                && retrySeed == that.retrySeed && type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, type, user, event, seat, retrySeed);
+    }
+
+    @Override
+    public String toString() {
+        return "SimulatedOperation{" +
+                "index=" + index +
+                ", type=" + type +
+                ", user=" + user +
+                ", event=" + event +
+                ", seat=" + seat +
+                '}';
+    }
+}
@@ -0,0 +1,301 @@
+package ticketSales.simulation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The SimulationReport class holds the outcome of a {@link WorkloadSimulator} run: how many operations succeeded or
+ * failed and why, how fast they ran, how sales progressed, and whether the inventory stayed consistent.
+ */
+public class SimulationReport {
+
+    // Attributes
+    /**
+     * The configuration of the run.
+     */
+    private final WorkloadConfig config;
+
+    /**
+     * The wall-clock duration of the run, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * The number of operations replayed.
+     */
+    private final int operations;
+
+    /**
+     * The number of tickets bought.
+     */
+    private final int purchases;
+
+    /**
+     * The number of purchase attempts that found their seat taken.
+     */
+    private final int conflicts;
+
+    /**
+     * The number of purchases given up after every retry found its seat taken.
+     */
+    private final int abandonedPurchases;
+
+    /**
+     * The number of tickets cancelled.
+     */
+    private final int cancellations;
+
+    /**
+     * The number of event details viewed.
+     */
+    private final int views;
+
+    /**
+     * The number of operations rejected by the controller, by message.
+     */
+    private final Map<String, Integer> rejections;
+
+    /**
+     * The number of operations that failed with an unexpected exception.
+     */
+    private final int errors;
+
+    /**
+     * The sorted latencies of the operations, in nanoseconds.
+     */
+    private final long[] latencies;
+
+    /**
+     * The seats sold over the run.
+     */
+    private final List<SalesSample> salesOverTime;
+
+    /**
+     * The number of seats held by more than one active ticket, as found by the inventory audit.
+     */
+    private final int oversoldSeats;
+
+    /**
+     * The number of events whose held and available seats do not add up to their seats.
+     */
+    private final int inventoryViolations;
+
+    // Constructor
+    /**
+     * Constructs a new SimulationReport.
+     *
+     * @param config The configuration of the run.
+     * @param elapsedNanos The wall-clock duration of the run, in nanoseconds.
+     * @param purchases The number of tickets bought.
+     * @param conflicts The number of purchase attempts that found their seat taken.
+     * @param abandonedPurchases The number of purchases given up after every retry found its seat taken.
+     * @param cancellations The number of tickets cancelled.
+     * @param views The number of event details viewed.
+     * @param rejections The number of operations rejected by the controller, by message.
+     * @param errors The number of operations that failed with an unexpected exception.
+     * @param latencies The sorted latencies of the operations, in nanoseconds.
+     * @param salesOverTime The seats sold over the run.
+     * @param oversoldSeats The number of seats held by more than one active ticket.
+     * @param inventoryViolations The number of events whose held and available seats do not add up.
+     */
+    public SimulationReport(WorkloadConfig config, long elapsedNanos, int purchases, int conflicts,
+                            int abandonedPurchases, int cancellations, int views, Map<String, Integer> rejections,
+                            int errors, long[] latencies, List<SalesSample> salesOverTime, int oversoldSeats,
+                            int inventoryViolations) {
+        this.config = config;
+        this.elapsedNanos = elapsedNanos;
+        this.operations = latencies.length;
+        this.purchases = purchases;
+        this.conflicts = conflicts;
+        this.abandonedPurchases = abandonedPurchases;
+        this.cancellations = cancellations;
+        this.views = views;
+        this.rejections = Collections.unmodifiableMap(rejections);
+        this.errors = errors;
+        this.latencies = latencies;
+        this.salesOverTime = Collections.unmodifiableList(salesOverTime);
+        this.oversoldSeats = oversoldSeats;
+        this.inventoryViolations = inventoryViolations;
+    }
+
+    // Getters
+    /**
+     * Gets the configuration of the run.
+     *
+     * @return The configuration.
+     */
+    public WorkloadConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets the wall-clock duration of the run.
+     *
+     * @return The duration, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the number of operations replayed.
+     *
+     * @return The number of operations.
+     */
+    public int getOperations() {
+        return operations;
+    }
+
+    /**
+     * Gets the number of tickets bought.
+     *
+     * @return The number of purchases.
+     */
+    public int getPurchases() {
+        return purchases;
+    }
+
+    /**
+     * Gets the number of purchase attempts that found their seat taken, retries included.
+     *
+     * @return The number of conflicts.
+     */
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Gets the number of purchases given up after every retry found its seat taken.
+     *
+     * @return The number of abandoned purchases.
+     */
+    public int getAbandonedPurchases() {
+        return abandonedPurchases;
+    }
+
+    /**
+     * Gets the number of tickets cancelled.
+     *
+     * @return The number of cancellations.
+     */
+    public int getCancellations() {
+        return cancellations;
+    }
+
+    /**
+     * Gets the number of event details viewed.
+     *
+     * @return The number of views.
+     */
+    public int getViews() {
+        return views;
+    }
+
+    /**
+     * Gets the number of operations rejected by the controller, such as purchases for an event no longer on sale.
+     *
+     * @return The number of rejections, by exception message.
+     */
+    public Map<String, Integer> getRejections() {
+        return rejections;
+    }
+
+    /**
+     * Gets the number of operations that failed with an unexpected exception.
+     *
+     * @return The number of errors.
+     */
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the seats sold over the run, in order.
+     *
+     * @return The samples.
+     */
+    public List<SalesSample> getSalesOverTime() {
+        return salesOverTime;
+    }
+
+    /**
+     * Gets the number of seats held by more than one active ticket.
+     *
+     * @return The number of oversold seats.
+     */
+    public int getOversoldSeats() {
+        return oversoldSeats;
+    }
+
+    /**
+     * Gets the number of events whose held and available seats do not add up to their seats.
+     *
+     * @return The number of violations.
+     */
+    public int getInventoryViolations() {
+        return inventoryViolations;
+    }
+
+    // Class Methods
+    /**
+     * Gets the number of operations completed per second.
+     *
+     * @return The throughput.
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : operations * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets a latency percentile of the operations.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The latency, in nanoseconds, or 0 if no operation ran.
+     */
+    public long getLatencyPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+        return latencies[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Indicates whether the run kept the inventory consistent: no seat oversold, no seat lost and no unexpected error.
+     *
+     * @return {@code true} if the run is healthy, {@code false} otherwise.
+     */
+    public boolean isHealthy() {
+        return oversoldSeats == 0 && inventoryViolations == 0 && errors == 0;
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(config).append('\n');
+        report.append(String.format("operations=%d in %.1f ms (%.0f ops/s)%n", operations, elapsedNanos / 1e6,
+                getThroughput()));
+        report.append(String.format("latency p50=%.1f us p90=%.1f us p99=%.1f us max=%.1f us%n",
+                getLatencyPercentile(50) / 1e3, getLatencyPercentile(90) / 1e3, getLatencyPercentile(99) / 1e3,
+                getLatencyPercentile(100) / 1e3));
+        report.append("purchases=").append(purchases)
+                .append(" conflicts=").append(conflicts)
+                .append(" abandoned=").append(abandonedPurchases)
+                .append(" cancellations=").append(cancellations)
+                .append(" views=").append(views)
+                .append(" errors=").append(errors).append('\n');
+        report.append("rejections=").append(rejections).append('\n');
+        report.append("oversold=").append(oversoldSeats)
+                .append(" inventoryViolations=").append(inventoryViolations)
+                .append(isHealthy() ? " HEALTHY" : " UNHEALTHY").append('\n');
+        for (SalesSample sample : salesOverTime) {
+            report.append("  ").append(sample).append('\n');
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,337 @@
+package ticketSales.simulation;
+
+/**
+ * The WorkloadConfig class describes an on-sale scenario for the {@link WorkloadSimulator}: how many users, events and
+ * seats take part, how many operations are replayed with how many threads, and how demand is distributed. It is
+ * immutable; each {@code with} method returns a copy with one setting changed.
+ */
+public class WorkloadConfig {
+
+    /**
+     * The SeatSelection enum lists how simulated users pick seats.
+     */
+    public enum SeatSelection {
+
+        /**
+         * Any seat, uniformly; a taken seat is retried with another random seat.
+         */
+        RANDOM,
+
+        /**
+         * Front seats first, with the same skew as events; a taken seat is retried with the next seat.
+         */
+        FRONT_FIRST,
+
+        /**
+         * No seat is chosen; the controller sells any available seat.
+         */
+        BEST_AVAILABLE
+    }
+
+    // Attributes
+    /**
+     * The seed of every random choice.
+     */
+    private final long seed;
+
+    /**
+     * The number of simulated users.
+     */
+    private final int users;
+
+    /**
+     * The number of events on sale.
+     */
+    private final int events;
+
+    /**
+     * The number of seats of each event.
+     */
+    private final int seatsPerEvent;
+
+    /**
+     * The number of operations replayed.
+     */
+    private final int operations;
+
+    /**
+     * The number of threads replaying operations.
+     */
+    private final int concurrency;
+
+    /**
+     * The Zipf exponent of the demand for events and front seats; 0 is uniform.
+     */
+    private final double demandSkew;
+
+    /**
+     * The share of operations that cancel a ticket.
+     */
+    private final double cancellationRate;
+
+    /**
+     * The share of operations that only view an event's details.
+     */
+    private final double viewRate;
+
+    /**
+     * The number of other seats a user tries after picking a taken one.
+     */
+    private final int retries;
+
+    /**
+     * How users pick seats.
+     */
+    private final SeatSelection seatSelection;
+
+    // Constructor
+    /**
+     * Constructs a WorkloadConfig with the default settings: 1,000 users buying from 10 events of 1,000 seats through
+     * 20,000 operations on 8 threads, with a demand skew of 1, 5% cancellations, 20% views and 3 retries.
+     */
+    public WorkloadConfig() {
+        this(42L, 1_000, 10, 1_000, 20_000, 8, 1.0, 0.05, 0.2, 3, SeatSelection.RANDOM);
+    }
+
+    private WorkloadConfig(long seed, int users, int events, int seatsPerEvent, int operations, int concurrency,
+                           double demandSkew, double cancellationRate, double viewRate, int retries,
+                           SeatSelection seatSelection) {
+        if (users <= 0 || events <= 0 || seatsPerEvent <= 0 || operations < 0 || concurrency <= 0 || retries < 0) {
+            throw new IllegalArgumentException("Workload sizes must be positive.");
+        }
+        if (demandSkew < 0 || cancellationRate < 0 || viewRate < 0 || cancellationRate + viewRate > 1) {
+            throw new IllegalArgumentException("Workload rates must be between 0 and 1.");
+        }
+        this.seed = seed;
+        this.users = users;
+        this.events = events;
+        this.seatsPerEvent = seatsPerEvent;
+        this.operations = operations;
+        this.concurrency = concurrency;
+        this.demandSkew = demandSkew;
+        this.cancellationRate = cancellationRate;
+        this.viewRate = viewRate;
+        this.retries = retries;
+        this.seatSelection = seatSelection;
+    }
+
+    // Getters
+    /**
+     * Gets the seed of every random choice.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of simulated users.
+     *
+     * @return The number of users.
+     */
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * Gets the number of events on sale.
+     *
+     * @return The number of events.
+     */
+    public int getEvents() {
+        return events;
+    }
+
+    /**
+     * Gets the number of seats of each event.
+     *
+     * @return The number of seats.
+     */
+    public int getSeatsPerEvent() {
+        return seatsPerEvent;
+    }
+
+    /**
+     * Gets the number of operations replayed.
+     *
+     * @return The number of operations.
+     */
+    public int getOperations() {
+        return operations;
+    }
+
+    /**
+     * Gets the number of threads replaying operations.
+     *
+     * @return The number of threads.
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Gets the Zipf exponent of the demand for events and front seats.
+     *
+     * @return The exponent; 0 is uniform.
+     */
+    public double getDemandSkew() {
+        return demandSkew;
+    }
+
+    /**
+     * Gets the share of operations that cancel a ticket.
+     *
+     * @return The rate, from 0 to 1.
+     */
+    public double getCancellationRate() {
+        return cancellationRate;
+    }
+
+    /**
+     * Gets the share of operations that only view an event's details.
+     *
+     * @return The rate, from 0 to 1.
+     */
+    public double getViewRate() {
+        return viewRate;
+    }
+
+    /**
+     * Gets the number of other seats a user tries after picking a taken one.
+     *
+     * @return The number of retries.
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * Gets how users pick seats.
+     *
+     * @return The seat selection.
+     */
+    public SeatSelection getSeatSelection() {
+        return seatSelection;
+    }
+
+    // Class Methods
+    /**
+     * Returns a copy with another seed.
+     *
+     * @param seed The seed.
+     * @return The new configuration.
+     */
+    public WorkloadConfig withSeed(long seed) {
+        return new WorkloadConfig(seed, users, events, seatsPerEvent, operations, concurrency, demandSkew,
+                cancellationRate, viewRate, retries, seatSelection);
+    }
+
+    /**
+     * Returns a copy with another number of users.
+     *
+     * @param users The number of users.
+     * @return The new configuration.
+     */
+    public WorkloadConfig withUsers(int users) {
+        return new WorkloadConfig(seed, users, events, seatsPerEvent, operations, concurrency, demandSkew,
+                cancellationRate, viewRate, retries, seatSelection);
+    }
+
+    /**
+     * Returns a copy with other numbers of events and seats.
+     *
+     * @param events The number of events.
+     * @param seatsPerEvent The number of seats of each event.
+     * @return The new configuration.
+     */
+    public WorkloadConfig withEvents(int events, int seatsPerEvent) {
+        return new WorkloadConfig(seed, users, events, seatsPerEvent, operations, concurrency, demandSkew,
+                cancellationRate, viewRate, retries, seatSelection);
+    }
+
+    /**
+     * Returns a copy with another number of operations.
+     *
+     * @param operations The number of operations.
+     * @return The new configuration.
+     */
+    public WorkloadConfig withOperations(int operations) {
+        return new WorkloadConfig(seed, users, events, seatsPerEvent, operations, concurrency, demandSkew,
+                cancellationRate, viewRate, retries, seatSelection);
+    }
+
+    /**
+     * Returns a copy with another number of threads.
+     *
+     * @param concurrency The number of threads.
+     * @return The new configuration.
+     */
+    public WorkloadConfig withConcurrency(int concurrency) {
+        return new WorkloadConfig(seed, users, events, seatsPerEvent, operations, concurrency, demandSkew,
+                cancellationRate, viewRate, retries, seatSelection);
+    }
+
+    /**
+     * Returns a copy with another demand skew.
+     *
+     * @param demandSkew The Zipf exponent; 0 is uniform.
+     * @return The new configuration.
+     */
+    public WorkloadConfig withDemandSkew(double demandSkew) {
+        return new WorkloadConfig(seed, users, events, seatsPerEvent, operations, concurrency, demandSkew,
+                cancellationRate, viewRate, retries, seatSelection);
+    }
+
+    /**
+     * Returns a copy with other shares of cancellations and views.
+     *
+     * @param cancellationRate The share of operations that cancel a ticket.
+     * @param viewRate The share of operations that only view an event's details.
+     * @return The new configuration.
+     */
+    public WorkloadConfig withRates(double cancellationRate, double viewRate) {
+        return new WorkloadConfig(seed, users, events, seatsPerEvent, operations, concurrency, demandSkew,
+                cancellationRate, viewRate, retries, seatSelection);
+    }
+
+    /**
+     * Returns a copy with another number of retries.
+     *
+     * @param retries The number of other seats tried after a taken one.
+     * @return The new configuration.
+     */
+    public WorkloadConfig withRetries(int retries) {
+        return new WorkloadConfig(seed, users, events, seatsPerEvent, operations, concurrency, demandSkew,
+                cancellationRate, viewRate, retries, seatSelection);
+    }
+
+    /**
+     * Returns a copy with another seat selection.
+     *
+     * @param seatSelection How users pick seats.
+     * @return The new configuration.
+     */
+    public WorkloadConfig withSeatSelection(SeatSelection seatSelection) {
+        return new WorkloadConfig(seed, users, events, seatsPerEvent, operations, concurrency, demandSkew,
+                cancellationRate, viewRate, retries, seatSelection);
+    }
+
+    // Overridden Methods
+    @Override
+    public String toString() {
+        return "WorkloadConfig{" +
+                "seed=" + seed +
+                ", users=" + users +
+                ", events=" + events +
+                ", seatsPerEvent=" + seatsPerEvent +
+                ", operations=" + operations +
+                ", concurrency=" + concurrency +
+                ", demandSkew=" + demandSkew +
+                ", cancellationRate=" + cancellationRate +
+                ", viewRate=" + viewRate +
+                ", retries=" + retries +
+                ", seatSelection=" + seatSelection +
+                '}';
+    }
+}
@@ -0,0 +1,493 @@
+package ticketSales.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ticketSales.audit.AuditReport;
+import ticketSales.audit.SeatDiscrepancy;
+import ticketSales.controllers.Controller;
+import ticketSales.models.Event;
+import ticketSales.models.PurchaseResult;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+import ticketSales.security.PasswordHasher;
+
+/**
+ * The WorkloadSimulator class rehearses an on-sale against a {@link Controller}. It generates a reproducible list of
+ * operations from a {@link WorkloadConfig} (the same seed always yields the same operations) and replays it with
+ * several threads, each replaying the operations of its own users in order. A run reports throughput, latency
+ * percentiles, conflicts, rejections, errors and seats sold over time, and audits the inventory afterwards, so it can
+ * be used as a regression gate: {@link #main(String[])} exits with status 1 when the run is not healthy.
+ */
+public class WorkloadSimulator {
+
+    // Constants
+    /**
+     * The number of sales samples taken over a run.
+     */
+    private static final int SALES_SAMPLES = 50;
+
+    // Attributes
+    /**
+     * The scenario being simulated.
+     */
+    private final WorkloadConfig config;
+
+    // Constructor
+    /**
+     * Constructs a new WorkloadSimulator.
+     *
+     * @param config The scenario to simulate.
+     */
+    public WorkloadSimulator(WorkloadConfig config) {
+        this.config = config;
+    }
+
+    // Getters
+    /**
+     * Gets the scenario being simulated.
+     *
+     * @return The configuration.
+     */
+    public WorkloadConfig getConfig() {
+        return config;
+    }
+
+    // Class Methods
+    /**
+     * Generates the operations of the scenario. Events, and front seats under
+     * {@link WorkloadConfig.SeatSelection#FRONT_FIRST}, are drawn with a Zipf distribution.
+     *
+     * @return The operations, in order.
+     */
+    public List<SimulatedOperation> generate() {
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        ZipfSampler eventSampler = new ZipfSampler(config.getEvents(), config.getDemandSkew());
+        ZipfSampler seatSampler = new ZipfSampler(config.getSeatsPerEvent(), config.getDemandSkew());
+        boolean frontFirst = config.getSeatSelection() == WorkloadConfig.SeatSelection.FRONT_FIRST;
+        List<SimulatedOperation> operations = new ArrayList<>(config.getOperations());
+        for (int index = 0; index < config.getOperations(); index++) {
+            double kind = random.nextDouble();
+            SimulatedOperation.Type type;
+            if (kind < config.getViewRate()) {
+                type = SimulatedOperation.Type.VIEW;
+            } else if (kind < config.getViewRate() + config.getCancellationRate()) {
+                type = SimulatedOperation.Type.CANCEL;
+            } else {
+                type = SimulatedOperation.Type.PURCHASE;
+            }
+            int user = random.nextInt(config.getUsers());
+            int event = eventSampler.sample(random);
+            int seat = frontFirst ? seatSampler.sample(random) : random.nextInt(config.getSeatsPerEvent());
+            operations.add(new SimulatedOperation(index, type, user, event, seat, random.nextLong()));
+        }
+        return operations;
+    }
+
+    /**
+     * Runs the scenario against a new controller.
+     *
+     * @return The report of the run.
+     * @throws InterruptedException If interrupted while waiting for the replay threads.
+     */
+    public SimulationReport run() throws InterruptedException {
+        return run(new Controller());
+    }
+
+    /**
+     * Runs the scenario against a controller: registers its users and events, replays its operations and audits the
+     * inventory.
+     *
+     * @param controller The controller under test.
+     * @return The report of the run.
+     * @throws IllegalArgumentException If the users or events of the scenario are already registered.
+     * @throws InterruptedException If interrupted while waiting for the replay threads.
+     */
+    public SimulationReport run(Controller controller) throws InterruptedException {
+        if (controller.findEvent(eventName(0)) != null) {
+            throw new IllegalArgumentException("Simulation events already registered.");
+        }
+        String passwordHash = new PasswordHasher().hash("sim-password");
+        User admin = controller.registerUser(User.withPasswordHash("sim-admin", passwordHash, "Simulation Admin",
+                "00000000000", "sim-admin@example.com", true));
+        User[] users = new User[config.getUsers()];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = controller.registerUser(User.withPasswordHash("sim-user-" + i, passwordHash, "User " + i,
+                    String.format("%011d", i), "sim-user-" + i + "@example.com", false));
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        List<String> seats = new ArrayList<>(config.getSeatsPerEvent());
+        for (int seat = 0; seat < config.getSeatsPerEvent(); seat++) {
+            seats.add(seatName(seat));
+        }
+        Event[] events = new Event[config.getEvents()];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = controller.registerEvent(admin, eventName(i), "Simulated on-sale", calendar.getTime());
+            controller.addEventSeats(eventName(i), seats);
+        }
+
+        List<List<SimulatedOperation>> partitions = new ArrayList<>();
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            partitions.add(new ArrayList<>());
+        }
+        List<SimulatedOperation> operations = generate();
+        for (SimulatedOperation operation : operations) {
+            partitions.get(operation.getUser() % config.getConcurrency()).add(operation);
+        }
+
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger sold = new AtomicInteger();
+        ConcurrentLinkedQueue<SalesSample> samples = new ConcurrentLinkedQueue<>();
+        int sampleInterval = Math.max(1, operations.size() / SALES_SAMPLES);
+        CountDownLatch start = new CountDownLatch(1);
+        Replay[] replays = new Replay[config.getConcurrency()];
+        Thread[] threads = new Thread[replays.length];
+        for (int i = 0; i < replays.length; i++) {
+            replays[i] = new Replay(controller, users, partitions.get(i), start, completed, sold, samples,
+                    sampleInterval);
+            threads[i] = new Thread(replays[i], "workload-replay-" + i);
+            threads[i].start();
+        }
+        long begin = System.nanoTime();
+        for (Replay replay : replays) {
+            replay.begin = begin;
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        int purchases = 0;
+        int conflicts = 0;
+        int abandoned = 0;
+        int cancellations = 0;
+        int views = 0;
+        int errors = 0;
+        Map<String, Integer> rejections = new HashMap<>();
+        long[] latencies = new long[operations.size()];
+        int filled = 0;
+        for (Replay replay : replays) {
+            purchases += replay.purchases;
+            conflicts += replay.conflicts;
+            abandoned += replay.abandoned;
+            cancellations += replay.cancellations;
+            views += replay.views;
+            errors += replay.errors;
+            replay.rejections.forEach((message, count) -> rejections.merge(message, count, Integer::sum));
+            System.arraycopy(replay.latencies, 0, latencies, filled, replay.latencies.length);
+            filled += replay.latencies.length;
+        }
+        Arrays.sort(latencies);
+        List<SalesSample> salesOverTime = new ArrayList<>(samples);
+        salesOverTime.sort(Comparator.comparingInt(SalesSample::getOperationsCompleted));
+        salesOverTime.add(new SalesSample(elapsed / 1_000_000, operations.size(), sold.get()));
+
+        AuditReport audit = controller.auditInventory(admin);
+        int oversold = 0;
+        for (SeatDiscrepancy discrepancy : audit.getDiscrepancies()) {
+            if (discrepancy.getType() == SeatDiscrepancy.Type.OVERSOLD) {
+                oversold++;
+            }
+        }
+        int violations = 0;
+        int held = 0;
+        for (Event event : events) {
+            int eventHeld = controller.listEventTickets(event.getName()).size();
+            held += eventHeld;
+            if (eventHeld + event.getAvailableSeats().size() != config.getSeatsPerEvent()) {
+                violations++;
+            }
+        }
+        if (held != sold.get()) {
+            violations++;
+        }
+        return new SimulationReport(config, elapsed, purchases, conflicts, abandoned, cancellations, views,
+                rejections, errors, latencies, salesOverTime, oversold, violations);
+    }
+
+    /**
+     * Runs a scenario from the command line and prints its report. Settings are given as {@code key=value} arguments:
+     * {@code seed}, {@code users}, {@code events}, {@code seats}, {@code operations}, {@code concurrency},
+     * {@code skew}, {@code cancellations}, {@code views}, {@code retries} and {@code selection}; {@code maxP99Millis}
+     * also fails the run when the 99th percentile latency exceeds it.
+     *
+     * @param args The settings.
+     * @throws InterruptedException If interrupted while waiting for the replay threads.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        WorkloadConfig config = new WorkloadConfig();
+        int events = config.getEvents();
+        int seats = config.getSeatsPerEvent();
+        double cancellations = config.getCancellationRate();
+        double views = config.getViewRate();
+        double maxP99Millis = Double.POSITIVE_INFINITY;
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg + ".");
+            }
+            String key = arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            switch (key) {
+                case "seed" -> config = config.withSeed(Long.parseLong(value));
+                case "users" -> config = config.withUsers(Integer.parseInt(value));
+                case "events" -> events = Integer.parseInt(value);
+                case "seats" -> seats = Integer.parseInt(value);
+                case "operations" -> config = config.withOperations(Integer.parseInt(value));
+                case "concurrency" -> config = config.withConcurrency(Integer.parseInt(value));
+                case "skew" -> config = config.withDemandSkew(Double.parseDouble(value));
+                case "cancellations" -> cancellations = Double.parseDouble(value);
+                case "views" -> views = Double.parseDouble(value);
+                case "retries" -> config = config.withRetries(Integer.parseInt(value));
+                case "selection" -> config = config.withSeatSelection(
+                        WorkloadConfig.SeatSelection.valueOf(value.toUpperCase()));
+                case "maxP99Millis" -> maxP99Millis = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unknown setting " + key + ".");
+            }
+        }
+        config = config.withEvents(events, seats).withRates(cancellations, views);
+        SimulationReport report = new WorkloadSimulator(config).run();
+        System.out.print(report);
+        boolean fast = report.getLatencyPercentile(99) / 1e6 <= maxP99Millis;
+        if (!fast) {
+            System.out.println("p99 latency above " + maxP99Millis + " ms");
+        }
+        System.exit(report.isHealthy() && fast ? 0 : 1);
+    }
+
+    /**
+     * Gets the name of a simulated event.
+     *
+     * @param event The index of the event.
+     * @return The name.
+     */
+    static String eventName(int event) {
+        return "sim-event-" + event;
+    }
+
+    /**
+     * Gets the name of a simulated seat.
+     *
+     * @param seat The index of the seat.
+     * @return The name.
+     */
+    static String seatName(int seat) {
+        return "S" + seat;
+    }
+
+    /**
+     * The Replay class replays the operations of some users on one thread and keeps its own counters, which are
+     * summed once every thread is done.
+     */
+    private class Replay implements Runnable {
+
+        // Attributes
+        /**
+         * The controller under test.
+         */
+        private final Controller controller;
+
+        /**
+         * The simulated users, by index.
+         */
+        private final User[] users;
+
+        /**
+         * The operations to replay, in order.
+         */
+        private final List<SimulatedOperation> operations;
+
+        /**
+         * The latch that releases every thread at once.
+         */
+        private final CountDownLatch start;
+
+        /**
+         * The number of operations completed by every thread.
+         */
+        private final AtomicInteger completed;
+
+        /**
+         * The number of seats sold and not cancelled by every thread.
+         */
+        private final AtomicInteger sold;
+
+        /**
+         * The sales samples taken by every thread.
+         */
+        private final ConcurrentLinkedQueue<SalesSample> samples;
+
+        /**
+         * The number of completed operations between sales samples.
+         */
+        private final int sampleInterval;
+
+        /**
+         * The latency of each operation, in nanoseconds.
+         */
+        private final long[] latencies;
+
+        /**
+         * The number of operations rejected by the controller, by message.
+         */
+        private final Map<String, Integer> rejections = new HashMap<>();
+
+        /**
+         * The time the run started, as given by {@link System#nanoTime()}; set before the threads are released.
+         */
+        private volatile long begin;
+
+        /**
+         * The number of tickets bought.
+         */
+        private int purchases;
+
+        /**
+         * The number of purchase attempts that found their seat taken.
+         */
+        private int conflicts;
+
+        /**
+         * The number of purchases given up after every retry.
+         */
+        private int abandoned;
+
+        /**
+         * The number of tickets cancelled.
+         */
+        private int cancellations;
+
+        /**
+         * The number of event details viewed.
+         */
+        private int views;
+
+        /**
+         * The number of operations that failed with an unexpected exception.
+         */
+        private int errors;
+
+        // Constructor
+        /**
+         * Constructs a new Replay.
+         *
+         * @param controller The controller under test.
+         * @param users The simulated users, by index.
+         * @param operations The operations to replay, in order.
+         * @param start The latch that releases every thread at once.
+         * @param completed The number of operations completed by every thread.
+         * @param sold The number of seats sold and not cancelled by every thread.
+         * @param samples The sales samples taken by every thread.
+         * @param sampleInterval The number of completed operations between sales samples.
+         */
+        Replay(Controller controller, User[] users, List<SimulatedOperation> operations, CountDownLatch start,
+               AtomicInteger completed, AtomicInteger sold, ConcurrentLinkedQueue<SalesSample> samples,
+               int sampleInterval) {
+            this.controller = controller;
+            this.users = users;
+            this.operations = operations;
+            this.start = start;
+            this.completed = completed;
+            this.sold = sold;
+            this.samples = samples;
+            this.sampleInterval = sampleInterval;
+            this.latencies = new long[operations.size()];
+        }
+
+        // Overridden Methods
+        @Override
+        public void run() {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for (int i = 0; i < operations.size(); i++) {
+                SimulatedOperation operation = operations.get(i);
+                long started = System.nanoTime();
+                try {
+                    replay(operation);
+                } catch (IllegalArgumentException e) {
+                    rejections.merge(e.getMessage(), 1, Integer::sum);
+                } catch (RuntimeException e) {
+                    errors++;
+                }
+                long finished = System.nanoTime();
+                latencies[i] = finished - started;
+                int done = completed.incrementAndGet();
+                if (done % sampleInterval == 0) {
+                    samples.add(new SalesSample((finished - begin) / 1_000_000, done, sold.get()));
+                }
+            }
+        }
+
+        // Class Methods
+        /**
+         * Replays one operation.
+         *
+         * @param operation The operation.
+         * @throws IllegalArgumentException If the controller rejects the operation.
+         */
+        private void replay(SimulatedOperation operation) {
+            User user = users[operation.getUser()];
+            String event = eventName(operation.getEvent());
+            switch (operation.getType()) {
+                case VIEW -> {
+                    controller.getEventDetails(event);
+                    views++;
+                }
+                case CANCEL -> {
+                    List<Ticket> tickets = controller.listPurchasedTickets(user);
+                    if (!tickets.isEmpty() && controller.cancelPurchase(user, tickets.get(tickets.size() - 1))) {
+                        sold.decrementAndGet();
+                        cancellations++;
+                    }
+                }
+                case PURCHASE -> purchase(user, event, operation);
+            }
+        }
+
+        /**
+         * Buys a seat of an event, trying other seats while the chosen ones are taken.
+         *
+         * @param user The user buying the seat.
+         * @param event The name of the event.
+         * @param operation The operation giving the first seat and the seed of the others.
+         * @throws IllegalArgumentException If the controller rejects the purchase for another reason.
+         */
+        private void purchase(User user, String event, SimulatedOperation operation) {
+            SplittableRandom retries = new SplittableRandom(operation.getRetrySeed());
+            int seat = operation.getSeat();
+            for (int attempt = 0; attempt <= config.getRetries(); attempt++) {
+                PurchaseResult result = config.getSeatSelection() == WorkloadConfig.SeatSelection.BEST_AVAILABLE
+                        ? controller.tryPurchaseAnyTicket(user, event)
+                        : controller.tryPurchaseTicket(user, event, seatName(seat));
+                if (result.isSuccess()) {
+                    sold.incrementAndGet();
+                    purchases++;
+                    return;
+                }
+                if (result != PurchaseResult.SEAT_UNAVAILABLE) {
+                    result.orThrow();
+                }
+                conflicts++;
+                seat = config.getSeatSelection() == WorkloadConfig.SeatSelection.FRONT_FIRST
+                        ? (seat + 1) % config.getSeatsPerEvent()
+                        : retries.nextInt(config.getSeatsPerEvent());
+            }
+            abandoned++;
+        }
+    }
+}
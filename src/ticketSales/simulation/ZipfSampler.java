@@ -0,0 +1,54 @@
+package ticketSales.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * The ZipfSampler class draws ranks from 0 to n - 1 with probabilities proportional to 1 / (rank + 1)^s, so that a few
+ * low ranks take most of the draws. It precomputes the cumulative weights and samples by binary search.
+ */
+class ZipfSampler {
+
+    // Attributes
+    /**
+     * The cumulative weight of each rank.
+     */
+    private final double[] cumulative;
+
+    // Constructor
+    /**
+     * Constructs a new ZipfSampler.
+     *
+     * @param n The number of ranks.
+     * @param exponent The skew of the distribution; 0 is uniform.
+     */
+    ZipfSampler(int n, double exponent) {
+        this.cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+    }
+
+    // Class Methods
+    /**
+     * Draws a rank.
+     *
+     * @param random The source of randomness.
+     * @return The rank, from 0 to n - 1.
+     */
+    int sample(SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] <= target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
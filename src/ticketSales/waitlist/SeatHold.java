@@ -0,0 +1,103 @@
+package ticketSales.waitlist;
+
+import ticketSales.models.Event;
+import ticketSales.models.User;
+
+import java.util.Date;
+
+/**
+ * The SeatHold class represents a released seat offered to a waiting user. The seat stays out of the public pool
+ * until the user claims it or the hold expires and the seat is offered to the next user in line.
+ */
+public class SeatHold {
+
+    // Attributes
+    /**
+     * The event the seat belongs to.
+     */
+    private final Event event;
+
+    /**
+     * The user the seat is offered to.
+     */
+    private final User user;
+
+    /**
+     * The held seat.
+     */
+    private final String seat;
+
+    /**
+     * When the hold expires, in milliseconds since the epoch.
+     */
+    private final long expiresAt;
+
+    // Constructor
+    /**
+     * Constructs a new SeatHold.
+     *
+     * @param event The event the seat belongs to.
+     * @param user The user the seat is offered to.
+     * @param seat The held seat.
+     * @param expiresAt When the hold expires, in milliseconds since the epoch.
+     */
+    public SeatHold(Event event, User user, String seat, long expiresAt) {
+        this.event = event;
+        this.user = user;
+        this.seat = seat;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters
+    /**
+     * Gets the event the seat belongs to.
+     *
+     * @return The event.
+     */
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * Gets the user the seat is offered to.
+     *
+     * @return The user.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Gets the held seat.
+     *
+     * @return The seat.
+     */
+    public String getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets when the hold expires.
+     *
+     * @return The expiration, in milliseconds since the epoch.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    // Overridden Methods
+    /**
+     * Returns a string representation of the SeatHold object.
+     *
+     * @return A string representing the hold.
+     */
+    @Override
+    public String toString() {
+        return "SeatHold{" +
+                "event=" + event.getName() +
+                ", user=" + user.getLogin() +
+                ", seat='" + seat + '\'' +
+                ", expiresAt=" + new Date(expiresAt) +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package ticketSales.waitlist;
+
+/**
+ * The SeatHoldListener interface is notified when a released seat is held for a waiting user, so the user can be told
+ * to claim it before the hold expires.
+ */
+public interface SeatHoldListener {
+
+    /**
+     * Called after a seat has been held for a waiting user.
+     *
+     * @param hold The new hold.
+     */
+    void onSeatHeld(SeatHold hold);
+}
@@ -0,0 +1,299 @@
+package ticketSales.waitlist;
+
+import ticketSales.models.Event;
+import ticketSales.models.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The Waitlist class keeps the users waiting for a seat of one event, in the order they joined, and the seats
+ * currently held for them. Joining, leaving and taking the next user are constant time: users who leave are only
+ * removed from the membership map, and their queue entries are skipped when reached.
+ */
+public class Waitlist {
+
+    // Attributes
+    /**
+     * The event the users are waiting for.
+     */
+    private final Event event;
+
+    /**
+     * The entries of the waiting users, in the order they joined, including entries of users who left.
+     */
+    private final ConcurrentLinkedQueue<Entry> queue;
+
+    /**
+     * The current entry of every waiting user. Users are compared by identity, since their data can change.
+     */
+    private final Map<User, Entry> waiting;
+
+    /**
+     * The seat held for each user. Guarded by the lock of {@link #waiting}.
+     */
+    private final Map<User, SeatHold> holds;
+
+    /**
+     * The seats released to the waitlist that are not held or returned yet. Guarded by the lock of
+     * {@link #waiting}.
+     */
+    private final Set<String> offered;
+
+    // Constructor
+    /**
+     * Constructs a new, empty Waitlist.
+     *
+     * @param event The event the users are waiting for.
+     */
+    public Waitlist(Event event) {
+        this.event = event;
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.waiting = new IdentityHashMap<>();
+        this.holds = new IdentityHashMap<>();
+        this.offered = new HashSet<>();
+    }
+
+    // Getters
+    /**
+     * Gets the event the users are waiting for.
+     *
+     * @return The event.
+     */
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * Gets the number of waiting users.
+     *
+     * @return The number of users.
+     */
+    public int size() {
+        synchronized (waiting) {
+            return waiting.size();
+        }
+    }
+
+    /**
+     * Checks whether no user is waiting.
+     *
+     * @return {@code true} if no user is waiting, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        synchronized (waiting) {
+            return waiting.isEmpty();
+        }
+    }
+
+    /**
+     * Checks whether a user is waiting.
+     *
+     * @param user The user to be checked.
+     * @return {@code true} if the user is waiting, {@code false} otherwise.
+     */
+    public boolean contains(User user) {
+        synchronized (waiting) {
+            return waiting.containsKey(user);
+        }
+    }
+
+    /**
+     * Gets the seat held for a user.
+     *
+     * @param user The user.
+     * @return The hold, or {@code null} if no seat is held for the user.
+     */
+    public SeatHold getHold(User user) {
+        synchronized (waiting) {
+            return holds.get(user);
+        }
+    }
+
+    /**
+     * Checks whether a seat released to the waitlist is waiting to be offered or held for a user, so it is neither
+     * available nor ticketed.
+     *
+     * @param seat The seat to be checked.
+     * @return {@code true} if the waitlist has the seat, {@code false} otherwise.
+     */
+    public boolean isReserved(String seat) {
+        synchronized (waiting) {
+            if (offered.contains(seat)) {
+                return true;
+            }
+            for (SeatHold hold : holds.values()) {
+                if (hold.getSeat().equals(seat)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Gets the seats currently held.
+     *
+     * @return A snapshot list of the holds.
+     */
+    public List<SeatHold> getHolds() {
+        synchronized (waiting) {
+            return new ArrayList<>(holds.values());
+        }
+    }
+
+    // Class Methods
+    /**
+     * Adds a user to the end of the waitlist.
+     *
+     * @param user The user to be added.
+     * @return {@code true} if the user joined, {@code false} if the user is already waiting or holds a seat.
+     */
+    public boolean join(User user) {
+        Entry entry = new Entry(user);
+        synchronized (waiting) {
+            if (waiting.containsKey(user) || holds.containsKey(user)) {
+                return false;
+            }
+            waiting.put(user, entry);
+        }
+        queue.add(entry);
+        return true;
+    }
+
+    /**
+     * Removes a user from the waitlist.
+     *
+     * @param user The user to be removed.
+     * @return {@code true} if the user was waiting, {@code false} otherwise.
+     */
+    public boolean leave(User user) {
+        synchronized (waiting) {
+            return waiting.remove(user) != null;
+        }
+    }
+
+    /**
+     * Removes the first waiting user from the waitlist.
+     *
+     * @return The user, or {@code null} if no user is waiting.
+     */
+    User next() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            synchronized (waiting) {
+                if (waiting.get(entry.user) == entry) {
+                    waiting.remove(entry.user);
+                    return entry.user;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records a seat released to the waitlist until it is held or returned.
+     *
+     * @param seat The released seat.
+     */
+    void putOffered(String seat) {
+        synchronized (waiting) {
+            offered.add(seat);
+        }
+    }
+
+    /**
+     * Forgets a released seat that was returned to its event.
+     *
+     * @param seat The returned seat.
+     */
+    void removeOffered(String seat) {
+        synchronized (waiting) {
+            offered.remove(seat);
+        }
+    }
+
+    /**
+     * Stores a hold for its user, in place of the released seat it holds.
+     *
+     * @param hold The hold to be stored.
+     */
+    void putHold(SeatHold hold) {
+        synchronized (waiting) {
+            holds.put(hold.getUser(), hold);
+            offered.remove(hold.getSeat());
+        }
+    }
+
+    /**
+     * Removes the hold of a user.
+     *
+     * @param user The user.
+     * @return The removed hold, or {@code null} if no seat was held for the user.
+     */
+    SeatHold takeHold(User user) {
+        synchronized (waiting) {
+            return holds.remove(user);
+        }
+    }
+
+    /**
+     * Removes all holds.
+     *
+     * @return The removed holds.
+     */
+    List<SeatHold> takeHolds() {
+        synchronized (waiting) {
+            List<SeatHold> taken = new ArrayList<>(holds.values());
+            holds.clear();
+            return taken;
+        }
+    }
+
+    /**
+     * Removes a hold if it is still stored.
+     *
+     * @param hold The hold to be removed.
+     * @return {@code true} if the hold was removed, {@code false} if it was already claimed or expired.
+     */
+    boolean removeHold(SeatHold hold) {
+        synchronized (waiting) {
+            return holds.remove(hold.getUser(), hold);
+        }
+    }
+
+    /**
+     * Removes an expired hold if it is still stored, keeping its seat released to the waitlist so it can be offered
+     * again.
+     *
+     * @param hold The expired hold.
+     * @return {@code true} if the hold was removed, {@code false} if it was already claimed.
+     */
+    boolean expireHold(SeatHold hold) {
+        synchronized (waiting) {
+            if (!holds.remove(hold.getUser(), hold)) {
+                return false;
+            }
+            offered.add(hold.getSeat());
+            return true;
+        }
+    }
+
+    /**
+     * The Entry class is the place of a user in the queue. A user who leaves and joins again gets a new entry, so the
+     * old one is skipped.
+     */
+    private static final class Entry {
+
+        private final User user;
+
+        private Entry(User user) {
+            this.user = user;
+        }
+    }
+}
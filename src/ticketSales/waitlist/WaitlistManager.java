@@ -0,0 +1,368 @@
+package ticketSales.waitlist;
+
+import ticketSales.models.Event;
+import ticketSales.models.EventState;
+import ticketSales.models.User;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The WaitlistManager class reallocates released seats of events with waiting users. A released seat is kept out of
+ * the public pool and, on a background thread, held for the next user in line for a short time. If the user does not
+ * claim it, the hold expires and the seat is offered to the following user, and once nobody is waiting the seat goes
+ * back to the public pool.
+ * <p>
+ * Holds expire at the time of an injectable {@link Clock}. A background timer wakes up when a hold should expire and
+ * checks the clock again; {@link #advance()} expires every hold that is due at once, and a hold past its expiry can no
+ * longer be claimed.
+ */
+public class WaitlistManager implements AutoCloseable {
+
+    // Constants
+    /**
+     * The default time a waiting user has to claim a held seat.
+     */
+    public static final Duration DEFAULT_HOLD_DURATION = Duration.ofMinutes(5);
+
+    // Attributes
+    /**
+     * The waitlist of each event, by event id.
+     */
+    private final ConcurrentHashMap<Long, Waitlist> waitlists;
+
+    /**
+     * The listeners notified when a seat is held.
+     */
+    private final CopyOnWriteArrayList<SeatHoldListener> listeners;
+
+    /**
+     * The executor that offers released seats, one at a time.
+     */
+    private final ThreadPoolExecutor offers;
+
+    /**
+     * The executor that expires holds.
+     */
+    private final ScheduledThreadPoolExecutor expirations;
+
+    /**
+     * The clock giving the expiration of holds.
+     */
+    private final Clock clock;
+
+    /**
+     * The time a waiting user has to claim a held seat.
+     */
+    private final Duration holdDuration;
+
+    // Constructor
+    /**
+     * Constructs a new WaitlistManager with the default hold duration.
+     *
+     * @param clock The clock giving the expiration of holds.
+     */
+    public WaitlistManager(Clock clock) {
+        this(clock, DEFAULT_HOLD_DURATION);
+    }
+
+    /**
+     * Constructs a new WaitlistManager.
+     *
+     * @param clock The clock giving the expiration of holds.
+     * @param holdDuration The time a waiting user has to claim a held seat.
+     */
+    public WaitlistManager(Clock clock, Duration holdDuration) {
+        if (holdDuration.isNegative() || holdDuration.isZero()) {
+            throw new IllegalArgumentException("Hold duration must be positive.");
+        }
+        this.waitlists = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.offers = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                WaitlistManager::daemon);
+        this.offers.allowCoreThreadTimeOut(true);
+        this.expirations = new ScheduledThreadPoolExecutor(1, WaitlistManager::daemon);
+        this.clock = clock;
+        this.holdDuration = holdDuration;
+    }
+
+    // Getters
+    /**
+     * Gets the time a waiting user has to claim a held seat.
+     *
+     * @return The hold duration.
+     */
+    public Duration getHoldDuration() {
+        return holdDuration;
+    }
+
+    /**
+     * Gets the waitlist of an event, creating it if needed.
+     *
+     * @param event The event.
+     * @return The waitlist.
+     */
+    public Waitlist getWaitlist(Event event) {
+        return waitlists.computeIfAbsent(event.getId(), id -> new Waitlist(event));
+    }
+
+    // Overridden Methods
+    /**
+     * Stops offering released seats. Seats released but not yet offered, and seats currently held, are returned to
+     * their events.
+     */
+    @Override
+    public void close() {
+        expirations.shutdownNow();
+        for (Runnable pending : offers.shutdownNow()) {
+            Offer offer = (Offer) pending;
+            offer.waitlist.removeOffered(offer.seat);
+            offer.waitlist.getEvent().addSeat(offer.seat);
+        }
+        for (Waitlist waitlist : waitlists.values()) {
+            for (SeatHold hold : waitlist.takeHolds()) {
+                waitlist.getEvent().addSeat(hold.getSeat());
+            }
+        }
+    }
+
+    // Class Methods
+    /**
+     * Adds a user to the end of an event's waitlist.
+     *
+     * @param event The event.
+     * @param user The user to be added.
+     * @return {@code true} if the user joined, {@code false} if the user is already waiting or holds a seat.
+     */
+    public boolean join(Event event, User user) {
+        return getWaitlist(event).join(user);
+    }
+
+    /**
+     * Removes a user from an event's waitlist.
+     *
+     * @param event The event.
+     * @param user The user to be removed.
+     * @return {@code true} if the user was waiting, {@code false} otherwise.
+     */
+    public boolean leave(Event event, User user) {
+        Waitlist waitlist = waitlists.get(event.getId());
+        return waitlist != null && waitlist.leave(user);
+    }
+
+    /**
+     * Drops the waitlist of an event that is over.
+     *
+     * @param event The event.
+     */
+    public void remove(Event event) {
+        waitlists.remove(event.getId());
+    }
+
+    /**
+     * Hands a released seat to the waitlist of its event, if anyone is waiting. The seat is offered on a background
+     * thread, so this returns immediately.
+     *
+     * @param event The event the seat belongs to.
+     * @param seat The released seat, which must not be in the event's inventory.
+     * @return {@code true} if the waitlist took the seat, {@code false} if the caller must return it to the event.
+     */
+    public boolean release(Event event, String seat) {
+        Waitlist waitlist = waitlists.get(event.getId());
+        if (waitlist == null || waitlist.isEmpty()) {
+            return false;
+        }
+        waitlist.putOffered(seat);
+        try {
+            offers.execute(new Offer(waitlist, seat));
+            return true;
+        } catch (RejectedExecutionException e) {
+            waitlist.removeOffered(seat);
+            return false;
+        }
+    }
+
+    /**
+     * Takes the seat held for a user, so a ticket can be issued for it.
+     *
+     * @param event The event.
+     * @param user The user.
+     * @return The claimed hold, or {@code null} if no seat is held for the user.
+     */
+    public SeatHold claim(Event event, User user) {
+        Waitlist waitlist = waitlists.get(event.getId());
+        SeatHold hold = waitlist == null ? null : waitlist.getHold(user);
+        if (hold == null) {
+            return null;
+        }
+        if (hold.getExpiresAt() <= clock.millis()) {
+            expire(waitlist, hold);
+            return null;
+        }
+        return waitlist.removeHold(hold) ? hold : null;
+    }
+
+    /**
+     * Expires every hold that is due at the current time of the clock, offering its seat to the next user in line.
+     *
+     * @return The number of holds expired.
+     */
+    public int advance() {
+        long now = clock.millis();
+        int expired = 0;
+        for (Waitlist waitlist : waitlists.values()) {
+            for (SeatHold hold : waitlist.getHolds()) {
+                if (hold.getExpiresAt() <= now && waitlist.expireHold(hold)) {
+                    offer(waitlist, hold.getSeat());
+                    expired++;
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Gives up the seat held for a user, offering it to the next user in line at once.
+     *
+     * @param event The event.
+     * @param user The user.
+     * @return {@code true} if a seat was held for the user, {@code false} otherwise.
+     */
+    public boolean decline(Event event, User user) {
+        SeatHold hold = claim(event, user);
+        if (hold == null) {
+            return false;
+        }
+        if (!release(event, hold.getSeat())) {
+            event.addSeat(hold.getSeat());
+        }
+        return true;
+    }
+
+    /**
+     * Gets the seat held for a user.
+     *
+     * @param event The event.
+     * @param user The user.
+     * @return The hold, or {@code null} if no seat is held for the user.
+     */
+    public SeatHold getHold(Event event, User user) {
+        Waitlist waitlist = waitlists.get(event.getId());
+        return waitlist == null ? null : waitlist.getHold(user);
+    }
+
+    /**
+     * Checks whether a released seat of an event is waiting to be offered or held for a waiting user, so it is
+     * neither available nor ticketed.
+     *
+     * @param event The event.
+     * @param seat The seat to be checked.
+     * @return {@code true} if the event's waitlist has the seat, {@code false} otherwise.
+     */
+    public boolean isReserved(Event event, String seat) {
+        Waitlist waitlist = waitlists.get(event.getId());
+        return waitlist != null && waitlist.isReserved(seat);
+    }
+
+    /**
+     * Adds a listener to be notified when a seat is held.
+     *
+     * @param listener The listener to be added.
+     */
+    public void addSeatHoldListener(SeatHoldListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener to be removed.
+     */
+    public void removeSeatHoldListener(SeatHoldListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Holds a seat for the next waiting user, or returns it to the event if nobody is waiting or sales are over.
+     *
+     * @param waitlist The waitlist of the event.
+     * @param seat The seat to be offered.
+     */
+    private void offer(Waitlist waitlist, String seat) {
+        Event event = waitlist.getEvent();
+        User user = event.getState() == EventState.ON_SALE ? waitlist.next() : null;
+        if (user == null) {
+            waitlist.removeOffered(seat);
+            event.addSeat(seat);
+            return;
+        }
+        SeatHold hold = new SeatHold(event, user, seat, clock.millis() + holdDuration.toMillis());
+        waitlist.putHold(hold);
+        try {
+            scheduleExpiry(waitlist, hold, holdDuration.toMillis());
+        } catch (RejectedExecutionException e) {
+            if (waitlist.removeHold(hold)) {
+                event.addSeat(seat);
+            }
+            return;
+        }
+        for (SeatHoldListener listener : listeners) {
+            listener.onSeatHeld(hold);
+        }
+    }
+
+    private void scheduleExpiry(Waitlist waitlist, SeatHold hold, long delayMillis) {
+        expirations.schedule(() -> expire(waitlist, hold), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Expires a hold if the clock reached its expiry, or waits again for the time left otherwise.
+     */
+    private void expire(Waitlist waitlist, SeatHold hold) {
+        long remaining = hold.getExpiresAt() - clock.millis();
+        if (remaining > 0) {
+            try {
+                scheduleExpiry(waitlist, hold, remaining);
+            } catch (RejectedExecutionException e) {
+                // Closed: the hold is returned to its event by close().
+            }
+            return;
+        }
+        if (waitlist.expireHold(hold)) {
+            offer(waitlist, hold.getSeat());
+        }
+    }
+
+    private static Thread daemon(Runnable runnable) {
+        Thread thread = new Thread(runnable, "waitlist");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * The Offer class is a released seat waiting to be offered, kept as a task of its own so seats that were never
+     * offered can be returned on close.
+     */
+    private final class Offer implements Runnable {
+
+        private final Waitlist waitlist;
+        private final String seat;
+
+        private Offer(Waitlist waitlist, String seat) {
+            this.waitlist = waitlist;
+            this.seat = seat;
+        }
+
+        @Override
+        public void run() {
+            offer(waitlist, seat);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.inventory.InMemorySeatInventory;
+import ticketSales.models.AvailabilityCounters;
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvailabilityCountersTest {
+
+    private static Date nextYear() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        return calendar.getTime();
+    }
+
+    @Test
+    public void testCountersFollowSales() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        controller.registerEvent(admin, "Peça de Teatro", "Drama", nextYear());
+        controller.addEventSeats("Rock show", Arrays.asList("A1", "A2", "A3"), "VIP");
+        controller.addEventSeats("Rock show", Arrays.asList("B1", "B2"));
+        controller.addEventSeat("Peça de Teatro", "C1");
+
+        AvailabilityCounters rock = controller.findEvent("Rock show").getAvailability();
+        assertEquals(5, rock.getAvailable());
+        assertEquals(3, rock.getAvailableInSection("A"));
+        assertEquals(3, rock.getAvailableInTier("VIP"));
+        assertEquals(2, rock.getAvailableInTier(Event.DEFAULT_TIER));
+
+        Ticket ticket = controller.purchaseTicket(usuario, "Rock show", "A2");
+        controller.purchaseTicket(usuario, "Rock show", "B1");
+        assertEquals(3, rock.getAvailable());
+        assertEquals(Map.of("A", 2, "B", 1), rock.getAvailableBySection());
+        assertEquals(Map.of("VIP", 2, Event.DEFAULT_TIER, 1), rock.getAvailableByTier());
+
+        controller.cancelPurchase(usuario, ticket);
+        assertEquals(3, rock.getAvailableInSection("A"));
+        assertEquals(3, rock.getAvailableInTier("VIP"));
+        controller.findEvent("Rock show").addSeat("A2", "Standard");
+        assertEquals(3, rock.getAvailableInTier("VIP"));
+
+        controller.purchaseAnyTicket(usuario, "Peça de Teatro");
+        Map<String, Integer> page = controller.countAvailableSeats(
+                Arrays.asList("Peça de Teatro", "Unknown", "Rock show"));
+        assertEquals(List.of("Peça de Teatro", "Rock show"), new ArrayList<>(page.keySet()));
+        assertEquals(0, (int) page.get("Peça de Teatro"));
+        assertEquals(4, (int) page.get("Rock show"));
+        assertEquals(0, rock.getAvailableInSection("Z"));
+    }
+
+    @Test
+    public void testCountersMatchInventoryAfterConcurrentSales() throws InterruptedException {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        Event event = controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        List<String> seats = new ArrayList<>();
+        for (char section = 'A'; section <= 'D'; section++) {
+            for (int i = 0; i < 250; i++) {
+                seats.add(section + String.valueOf(i));
+            }
+        }
+        controller.addEventSeats("Rock show", seats);
+
+        List<Thread> buyers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            User buyer = controller.registerUser("buyer" + t, "password123", "Buyer", "1234567890" + t,
+                    "buyer" + t + "@example.com", false);
+            int offset = t;
+            buyers.add(new Thread(() -> {
+                for (int i = offset; i < seats.size(); i += 3) {
+                    if (i % 2 == 0) {
+                        controller.tryPurchaseTicket(buyer, "Rock show", seats.get(i));
+                    } else {
+                        controller.tryPurchaseAnyTicket(buyer, "Rock show");
+                    }
+                }
+            }));
+        }
+        buyers.forEach(Thread::start);
+        for (Thread buyer : buyers) {
+            buyer.join();
+        }
+
+        List<String> available = event.getAvailableSeats();
+        assertEquals(available.size(), event.getAvailableSeatCount());
+        for (char section = 'A'; section <= 'D'; section++) {
+            String name = String.valueOf(section);
+            long expected = available.stream().filter(seat -> seat.startsWith(name)).count();
+            assertEquals(expected, event.getAvailability().getAvailableInSection(name));
+        }
+    }
+
+    @Test
+    public void testCountersStartFromExistingInventory() {
+        InMemorySeatInventory inventory = new InMemorySeatInventory();
+        inventory.add("A1");
+        inventory.add("B1");
+        Event event = new Event("Rock show", "Band XYZ", nextYear(), inventory);
+        assertEquals(2, event.getAvailableSeatCount());
+        assertEquals(1, event.getAvailability().getAvailableInSection("B"));
+        assertTrue(event.removeSeat("B1"));
+        assertEquals(0, event.getAvailability().getAvailableInSection("B"));
+        assertEquals(1, event.getAvailableSeatCount());
+        assertEquals(0, event.getAvailability().getTieredSeatCount());
+
+        InMemorySeatInventory prefilled = new InMemorySeatInventory();
+        prefilled.add("C1");
+        prefilled.add("C2");
+        Event changed = new Event("Peça de Teatro", "Drama", nextYear(), prefilled);
+        assertTrue(changed.removeSeat("C1"));
+        assertTrue(changed.addSeat("D1", "VIP"));
+        assertEquals(Map.of("C", 1, "D", 1), changed.getAvailability().getAvailableBySection());
+        assertEquals(Map.of("VIP", 1, Event.DEFAULT_TIER, 1), changed.getAvailability().getAvailableByTier());
+    }
+}
@@ -0,0 +1,146 @@
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.batch.BatchCommand;
+import ticketSales.batch.BatchResult;
+import ticketSales.controllers.Controller;
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchCommandTest {
+
+    @Test
+    public void testMixedBatchReturnsResultsInOrder() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Date date = calendar.getTime();
+
+        List<BatchCommand> commands = List.of(
+                BatchCommand.registerEvent(admin, "Rock show", "Band XYZ", date),
+                BatchCommand.updateUser(usuario, "name", "John D."),
+                BatchCommand.addEventSeat("Rock show", "A1"),
+                BatchCommand.addEventSeat("Rock show", "A2"),
+                BatchCommand.purchaseTicket(usuario, "Rock show", "A1"),
+                BatchCommand.purchaseTicket(usuario, "Rock show", "A1"),
+                BatchCommand.addEventSeat("Peça de Teatro", "B1"),
+                BatchCommand.registerEvent(usuario, "Peça de Teatro", "Grupo ABC", date),
+                BatchCommand.updateUser(usuario, "phone", "123"));
+        List<BatchResult> results = controller.executeBatch(commands);
+
+        assertEquals(commands.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertSame(commands.get(i), results.get(i).getCommand());
+        }
+        Event event = controller.findEvent("Rock show");
+        assertSame(event, results.get(0).getValue());
+        assertSame(usuario, results.get(1).getValue());
+        assertEquals("John D.", usuario.getName());
+        assertTrue(results.get(2).isSuccess());
+        assertTrue(results.get(3).isSuccess());
+        Ticket ticket = (Ticket) results.get(4).getValue();
+        assertEquals("A1", ticket.getSeat());
+        assertTrue(usuario.holdsTicket(ticket));
+        assertEquals("Seat unavailable.", results.get(5).getError().getMessage());
+        assertEquals("Event not found.", results.get(6).getError().getMessage());
+        assertTrue(results.get(7).getError() instanceof SecurityException);
+        assertTrue(results.get(8).getError() instanceof IllegalArgumentException);
+        assertEquals(1, event.getSeatInventory().availableCount());
+        assertNull(controller.findEvent("Peça de Teatro"));
+    }
+
+    @Test
+    public void testBulkSeatsAndPurchases() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+
+        int seats = 10_000;
+        List<BatchCommand> commands = new ArrayList<>();
+        for (int i = 0; i < seats; i++) {
+            commands.add(BatchCommand.addEventSeat("Rock show", "S" + i));
+        }
+        for (int i = 0; i < seats; i += 2) {
+            commands.add(BatchCommand.purchaseTicket(usuario, "Rock show", "S" + i));
+        }
+        List<BatchResult> results = controller.executeBatch(commands);
+
+        for (BatchResult result : results) {
+            assertTrue(result.isSuccess(), result.toString());
+        }
+        assertEquals(seats / 2, usuario.getTicketCount());
+        assertEquals(seats / 2, controller.findEvent("Rock show").getSeatInventory().availableCount());
+    }
+
+    @Test
+    public void testGroupsRunInFirstAppearanceOrder() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        controller.addEventSeat("Rock show", "A1");
+
+        List<BatchResult> results = controller.executeBatch(List.of(
+                BatchCommand.updateUser(usuario, "login", "jdoe"),
+                BatchCommand.purchaseTicket(usuario, "Rock show", "A1"),
+                BatchCommand.updateUser(usuario, "name", "John D.")));
+
+        for (BatchResult result : results) {
+            assertTrue(result.isSuccess(), result.toString());
+        }
+        assertEquals("jdoe", controller.getSalesLedger().getUserLogin(0), "the login changed before the sale");
+        assertEquals("John D.", usuario.getName());
+    }
+
+    @Test
+    public void testSameNamedEventsAreAddressedById() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Event first = controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        Event second = controller.registerEvent(admin, "Rock show", "Band ABC", calendar.getTime());
+
+        List<BatchResult> results = controller.executeBatch(List.of(
+                BatchCommand.addEventSeat("Rock show", "A1"),
+                BatchCommand.addEventSeat(second.getId(), "B1"),
+                BatchCommand.addEventSeat(second.getId(), "B2"),
+                BatchCommand.purchaseTicket(usuario, second.getId(), "B1"),
+                BatchCommand.addEventSeat(-1L, "C1")));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(results.get(i).isSuccess(), results.get(i).toString());
+        }
+        assertFalse(results.get(4).isSuccess());
+        assertEquals(1, first.getSeatInventory().availableCount());
+        assertEquals(1, second.getSeatInventory().availableCount());
+        assertTrue(second.getSeatInventory().contains("B2"));
+        assertEquals(1, usuario.getTicketCount());
+        assertSame(second, usuario.getTickets().get(0).getEvent());
+    }
+}
@@ -0,0 +1,130 @@
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.io.CatalogExporter;
+import ticketSales.io.CatalogImporter;
+import ticketSales.io.ImportReport;
+import ticketSales.io.RecordFormat;
+import ticketSales.models.Event;
+import ticketSales.models.User;
+import ticketSales.security.PasswordHasher;
+import ticketSales.security.PurchaseLimiter;
+import ticketSales.security.SessionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogImporterTest {
+
+    private static final PasswordHasher HASHER = new PasswordHasher(1_000);
+
+    private User createAdmin() {
+        return User.withPasswordHash("admin", HASHER.hash("password123"), "Admin User", "00000000000",
+                "admin@example.com", true);
+    }
+
+    private Controller createCatalog() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser(createAdmin());
+        controller.registerUser(User.withPasswordHash("johndoe", HASHER.hash("password123"), "John, \"Johnny\" Doe",
+                "12345678901", "john.doe@example.com", false));
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Date date = calendar.getTime();
+        controller.registerEvent(admin, "Rock show", "Band XYZ,\nlive", date);
+        controller.addEventSeats("Rock show", List.of("A1", "A2", "A3"));
+        return controller;
+    }
+
+    private void assertRoundTrip(RecordFormat format) throws IOException {
+        Controller source = createCatalog();
+        StringWriter out = new StringWriter();
+        long records = new CatalogExporter(source, true).exportTo(out, format);
+        assertEquals(6, records);
+
+        Controller target = new Controller(new SessionManager(), Clock.systemUTC(), PurchaseLimiter.unlimited(), HASHER);
+        ImportReport report = new CatalogImporter(target, createAdmin()).importFrom(new StringReader(out.toString()), format);
+
+        assertEquals(0, report.getFailedRecords());
+        assertEquals(1, report.getEventsImported());
+        assertEquals(3, report.getSeatsImported());
+        assertEquals(2, report.getUsersImported());
+
+        Event original = source.findEvent("Rock show");
+        Event imported = target.findEvent("Rock show");
+        assertEquals(original.getDescription(), imported.getDescription());
+        assertEquals(original.getDate(), imported.getDate());
+        assertEquals(List.of("A1", "A2", "A3"), imported.getAvailableSeats());
+        assertEquals(original.getId(), imported.getId());
+
+        String session = target.login("johndoe", "password123");
+        assertNotNull(session);
+        assertEquals(source.authenticate(source.login("johndoe", "password123")).getId(),
+                target.authenticate(session).getId());
+    }
+
+    @Test
+    public void testCsvRoundTrip() throws IOException {
+        assertRoundTrip(RecordFormat.CSV);
+    }
+
+    @Test
+    public void testJsonLinesRoundTrip() throws IOException {
+        assertRoundTrip(RecordFormat.JSON_LINES);
+    }
+
+    @Test
+    public void testCredentialsAreLeftOutByDefault() throws IOException {
+        StringWriter out = new StringWriter();
+        new CatalogExporter(createCatalog()).exportTo(out, RecordFormat.CSV);
+        assertFalse(out.toString().contains("pbkdf2"), "password hashes are not exported");
+
+        Controller target = new Controller();
+        new CatalogImporter(target, createAdmin()).importFrom(new StringReader(out.toString()), RecordFormat.CSV);
+        assertThrows(SecurityException.class, () -> target.login("johndoe", "password123"));
+    }
+
+    @Test
+    public void testErrorsDoNotAbortImport() throws IOException {
+        String csv = "event,Rock show,Band XYZ,2030-01-01T20:00:00Z\n"
+                + "seat,Rock show,A1\n"
+                + "seat,Unknown show,B1\n"
+                + "concert,Rock show\n"
+                + "event,Bad date,Band XYZ,tomorrow\n"
+                + "seat,Rock show,A2\n";
+        Controller controller = new Controller();
+
+        ImportReport report = new CatalogImporter(controller, createAdmin()).importFrom(new StringReader(csv), RecordFormat.CSV);
+
+        assertEquals(1, report.getEventsImported());
+        assertEquals(2, report.getSeatsImported());
+        assertEquals(3, report.getFailedRecords());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        assertEquals(4, report.getErrors().get(1).getLine());
+        assertEquals(5, report.getErrors().get(2).getLine());
+        assertEquals(List.of("A1", "A2"), controller.findEvent("Rock show").getAvailableSeats());
+    }
+
+    @Test
+    public void testMalformedJsonLine() throws IOException {
+        String jsonl = "{\"type\":\"event\",\"name\":\"Rock show\",\"description\":\"Band XYZ\",\"date\":\"2030-01-01T20:00:00Z\"}\n"
+                + "{\"type\":\"seat\",\"event\":\"Rock show\"\n"
+                + "{\"type\":\"seat\",\"event\":\"Rock show\",\"seat\":\"A1\"}\n";
+        Controller controller = new Controller();
+
+        ImportReport report = new CatalogImporter(controller, createAdmin()).importFrom(new StringReader(jsonl), RecordFormat.JSON_LINES);
+
+        assertEquals(1, report.getFailedRecords());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertEquals(1, report.getSeatsImported());
+    }
+}
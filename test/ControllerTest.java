@@ -56,7 +56,7 @@ public class ControllerTest {
                 "john.doe@example.com", false);
 
         Calendar calendar = Calendar.getInstance();
-        calendar.set(2025, Calendar.SEPTEMBER, 10);
+        calendar.add(Calendar.YEAR, 1);
         Date date = calendar.getTime();
 
         User admin = controller.registerUser("admin", "password123", "Admin User",
@@ -79,7 +79,7 @@ public class ControllerTest {
                 "john.doe@example.com", false);
 
         Calendar calendar = Calendar.getInstance();
-        calendar.set(2025, Calendar.SEPTEMBER, 10);
+        calendar.add(Calendar.YEAR, 1);
         Date date = calendar.getTime();
 
         User admin = controller.registerUser("admin", "password123", "Admin User",
@@ -123,7 +123,7 @@ public class ControllerTest {
                 "john.doe@example.com", false);
 
         Calendar calendar = Calendar.getInstance();
-        calendar.set(2024, Calendar.SEPTEMBER, 10);
+        calendar.add(Calendar.YEAR, 1);
         Date date = calendar.getTime();
 
         User admin = controller.registerUser("admin", "password123", "Admin User",
@@ -136,4 +136,147 @@ public class ControllerTest {
 
         assertEquals(1, tickets.size());
     }
+
+    @Test
+    public void testLoginAndUpdateUserWithSession() {
+        Controller controller = new Controller();
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe",
+                "12345678901", "john.doe@example.com", false);
+
+        String token = controller.login("johndoe", "password123");
+        assertSame(usuario, controller.authenticate(token));
+
+        controller.updateUser(token, "name", "Jonathan Doe");
+        assertEquals("Jonathan Doe", usuario.getName());
+
+        controller.updateUser(token, "password", "novaSenha123");
+        assertThrows(SecurityException.class, () -> controller.authenticate(token));
+        assertThrows(SecurityException.class, () -> controller.login("johndoe", "password123"));
+        assertNotNull(controller.login("johndoe", "novaSenha123"));
+    }
+
+    @Test
+    public void testRegisterEventWithSession() {
+        Controller controller = new Controller();
+        controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        controller.registerUser("johndoe", "password123", "John Doe",
+                "12345678901", "john.doe@example.com", false);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Date date = calendar.getTime();
+
+        String adminToken = controller.login("admin", "password123");
+        assertNotNull(controller.registerEvent(adminToken, "Rock show", "Band XYZ", date));
+
+        String userToken = controller.login("johndoe", "password123");
+        assertThrows(SecurityException.class, () -> controller.registerEvent(userToken, "Peça de Teatro", "Grupo ABC", date));
+        assertThrows(SecurityException.class, () -> controller.registerEvent("invalid", "Peça de Teatro", "Grupo ABC", date));
+    }
+
+    @Test
+    public void testRetriedPurchaseReturnsOriginalTicket() {
+        Controller controller = new Controller();
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Date date = calendar.getTime();
+
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", date);
+        controller.addEventSeat("Rock show", "A1");
+
+        Ticket first = controller.purchaseTicket(usuario, "Rock show", "A1", "request-1");
+        Ticket retry = controller.purchaseTicket(usuario, "Rock show", "A1", "request-1");
+
+        assertSame(first, retry);
+        assertEquals(1, usuario.getTickets().size());
+
+        assertTrue(controller.cancelPurchase(usuario, first, "cancel-1"));
+        assertTrue(controller.cancelPurchase(usuario, first, "cancel-1"));
+        assertFalse(controller.cancelPurchase(usuario, first, "cancel-2"));
+    }
+
+    @Test
+    public void testTransferAndResellTicket() {
+        Controller controller = new Controller();
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        User comprador = new User("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Date date = calendar.getTime();
+
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        Event event = controller.registerEvent(admin, "Rock show", "Band XYZ", date);
+        controller.addEventSeat("Rock show", "A1");
+        Ticket ingresso = controller.purchaseTicket(usuario, "Rock show", "A1");
+
+        assertSame(ingresso, controller.transferTicket(usuario, comprador, ingresso));
+        assertFalse(usuario.holdsTicket(ingresso));
+        assertTrue(comprador.holdsTicket(ingresso));
+        assertFalse(event.hasSeat("A1"));
+        assertThrows(IllegalArgumentException.class, () -> controller.transferTicket(usuario, comprador, ingresso));
+
+        Ticket revendido = controller.resellTicket(comprador, usuario, ingresso, 150.0F);
+        assertEquals(150.0F, revendido.getPrice());
+        assertEquals("A1", revendido.getSeat());
+        assertFalse(ingresso.isActive());
+        assertTrue(revendido.isActive());
+        assertEquals(List.of(revendido), usuario.getTickets());
+        assertEquals(0, comprador.getTicketCount());
+        assertFalse(controller.cancelPurchase(comprador, ingresso));
+    }
+
+    @Test
+    public void testConcurrentTransfersKeepSingleHolder() throws Exception {
+        Controller controller = new Controller();
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        User comprador = new User("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Date date = calendar.getTime();
+
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", date);
+        controller.addEventSeat("Rock show", "A1");
+        Ticket ingresso = controller.purchaseTicket(usuario, "Rock show", "A1");
+
+        Thread forward = new Thread(() -> {
+            for (int i = 0; i < 10000; i++) {
+                try {
+                    controller.transferTicket(usuario, comprador, ingresso);
+                } catch (IllegalArgumentException e) {
+                    // The ticket is currently held by the other user.
+                }
+            }
+        });
+        Thread backward = new Thread(() -> {
+            for (int i = 0; i < 10000; i++) {
+                try {
+                    controller.transferTicket(comprador, usuario, ingresso);
+                } catch (IllegalArgumentException e) {
+                    // The ticket is currently held by the other user.
+                }
+            }
+        });
+        forward.start();
+        backward.start();
+        forward.join();
+        backward.join();
+
+        assertEquals(1, usuario.getTicketCount() + comprador.getTicketCount());
+        assertTrue(usuario.holdsTicket(ingresso) != comprador.holdsTicket(ingresso));
+    }
 }
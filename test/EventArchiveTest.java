@@ -0,0 +1,120 @@
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.archive.ArchivedEvent;
+import ticketSales.archive.EventArchive;
+import ticketSales.controllers.Controller;
+import ticketSales.models.Event;
+import ticketSales.models.EventState;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+import ticketSales.security.PurchaseLimiter;
+import ticketSales.security.SessionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventArchiveTest {
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testPastEventsMoveToArchive() throws IOException {
+        Path directory = Files.createTempDirectory("archive");
+        try {
+            MutableClock clock = new MutableClock();
+            Controller controller = new Controller(new SessionManager(), clock);
+            User admin = controller.registerUser("admin", "password123", "Admin User",
+                    "00000000000", "admin@example.com", true);
+            User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                    "john.doe@example.com", false);
+            Instant start = clock.instant();
+            long eventId = controller.registerEvent(admin, "Rock show", "Band XYZ",
+                    Date.from(start.plus(Duration.ofDays(1)))).getId();
+            long liveId = controller.registerEvent(admin, "Peça de Teatro", "Grupo ABC",
+                    Date.from(start.plus(Duration.ofDays(30)))).getId();
+            controller.addEventSeat("Rock show", "A1");
+            controller.addEventSeat("Rock show", "A2");
+            controller.addEventSeat("Peça de Teatro", "B1");
+            Ticket past = controller.purchaseTicket(usuario, "Rock show", "A1");
+            Ticket live = controller.purchaseTicket(usuario, "Peça de Teatro", "B1");
+
+            clock.advance(Duration.ofDays(2));
+            controller.getLifecycleScheduler().advance();
+            EventArchive archive = new EventArchive(directory);
+            assertThrows(SecurityException.class, () -> controller.archivePastEvents(usuario, archive));
+            assertEquals(1, controller.archivePastEvents(admin, archive));
+
+            assertNull(controller.findEvent("Rock show"));
+            assertNotNull(controller.findEvent("Peça de Teatro"));
+            assertEquals(1, controller.listEvents().size());
+            assertEquals(2, usuario.getTicketCount());
+            assertTrue(usuario.holdsTicket(live));
+            assertTrue(usuario.holdsTicket(past));
+            assertEquals(0, past.getEvent().getAvailableSeatCount());
+            assertTrue(past.getEvent().getAvailableSeats().isEmpty(), "archived events drop their seats");
+            assertEquals(0L, past.getEvent().getSeatMapVersion());
+
+            ArchivedEvent archived = archive.find(eventId);
+            assertEquals(eventId, archived.getId());
+            assertEquals("Band XYZ", archived.getDescription());
+            assertEquals(EventState.PAST, archived.getState());
+            assertEquals(1, archived.getAvailableSeatCount());
+            assertEquals(1, archived.getTickets().size());
+            assertEquals("A1", archived.getTickets().get(0).getSeat());
+            assertEquals("johndoe", archived.getTickets().get(0).getHolderLogin());
+            assertEquals(past.getId(), archived.getTickets().get(0).getId());
+            assertEquals(usuario.getId(), archived.getTickets().get(0).getHolderId());
+            assertNull(archive.find(liveId));
+            assertEquals(0, controller.archivePastEvents(admin, archive));
+
+            EventArchive reopened = new EventArchive(directory);
+            assertTrue(reopened.contains(eventId));
+            assertEquals(100.0F, reopened.find(eventId).getTickets().get(0).getPrice());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testArchivedTicketsNoLongerCountTowardsLimits() throws IOException {
+        Path directory = Files.createTempDirectory("archive");
+        try {
+            MutableClock clock = new MutableClock();
+            PurchaseLimiter limiter = new PurchaseLimiter(1, PurchaseLimiter.UNLIMITED, Duration.ofMinutes(1), clock);
+            Controller controller = new Controller(new SessionManager(), clock, limiter);
+            User admin = controller.registerUser("admin", "password123", "Admin User",
+                    "00000000000", "admin@example.com", true);
+            User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                    "john.doe@example.com", false);
+            Event event = controller.registerEvent(admin, "Rock show", "Band XYZ",
+                    Date.from(clock.instant().plus(Duration.ofDays(1))));
+            controller.addEventSeat("Rock show", "A1");
+            controller.purchaseTicket(usuario, "Rock show", "A1");
+            assertEquals(1, limiter.getTicketCount(usuario.getId(), event.getId()));
+
+            clock.advance(Duration.ofDays(2));
+            controller.getLifecycleScheduler().advance();
+            assertEquals(1, controller.archivePastEvents(admin, new EventArchive(directory)));
+
+            assertEquals(0, limiter.getTicketCount(usuario.getId(), event.getId()));
+            assertEquals(1, usuario.getTickets().size());
+        } finally {
+            delete(directory);
+        }
+    }
+}
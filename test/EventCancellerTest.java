@@ -0,0 +1,129 @@
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.analytics.SalesLedger;
+import ticketSales.cancellation.EventCanceller;
+import ticketSales.cancellation.RefundProcessor;
+import ticketSales.cancellation.RefundReport;
+import ticketSales.cancellation.TicketIndex;
+import ticketSales.controllers.Controller;
+import ticketSales.models.Event;
+import ticketSales.models.EventState;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+import ticketSales.security.PasswordHasher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventCancellerTest {
+
+    private static Date nextYear() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        return calendar.getTime();
+    }
+
+    @Test
+    public void testCancelEventRefundsEveryHolder() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        Event event = controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        String hash = new PasswordHasher(1).hash("password123");
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            users.add(User.withPasswordHash("user" + i, hash, "User " + i, "cpf" + i, "user" + i + "@example.com", false));
+        }
+        List<String> seats = new ArrayList<>();
+        for (int i = 0; i < 80_000; i++) {
+            seats.add("S" + i);
+        }
+        controller.addEventSeats("Rock show", seats);
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < seats.size(); i++) {
+            tickets.add(controller.purchaseTicket(users.get(i % users.size()), "Rock show", seats.get(i)));
+        }
+        controller.cancelPurchase(users.get(0), tickets.get(0));
+        controller.transferTicket(users.get(1), users.get(0), tickets.get(1));
+        assertEquals(79_999, controller.listEventTickets("Rock show").size());
+
+        AtomicInteger refunds = new AtomicInteger();
+        RefundReport report = controller.cancelEvent(admin, "Rock show", (holder, ticket) -> {
+            assertFalse(ticket.isActive());
+            refunds.incrementAndGet();
+        });
+
+        assertEquals(EventState.CANCELLED, event.getState());
+        assertEquals(79_999, report.getTicketsCancelled());
+        assertEquals(79_999, report.getRefundsIssued());
+        assertEquals(79_999, refunds.get());
+        assertEquals(79_999 * 100.0, report.getAmountRefunded(), 0.001);
+        assertTrue(report.getFailedRefunds().isEmpty());
+        for (Ticket ticket : tickets) {
+            assertFalse(ticket.isActive());
+        }
+        for (User user : users) {
+            assertEquals(0, user.getTicketCount());
+        }
+        assertTrue(controller.listEventTickets("Rock show").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> controller.cancelEvent(admin, "Rock show"));
+    }
+
+    @Test
+    public void testFailedRefundsAreReported() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        controller.addEventSeat("Rock show", "A1");
+        controller.addEventSeat("Rock show", "A2");
+        Ticket failing = controller.purchaseTicket(usuario, "Rock show", "A1");
+        controller.purchaseTicket(usuario, "Rock show", "A2");
+
+        assertThrows(SecurityException.class, () -> controller.cancelEvent(usuario, "Rock show"));
+        RefundReport report = controller.cancelEvent(admin, "Rock show", (holder, ticket) -> {
+            if (ticket == failing) {
+                throw new IllegalStateException("Gateway unavailable.");
+            }
+        });
+
+        assertEquals(2, report.getTicketsCancelled());
+        assertEquals(1, report.getRefundsIssued());
+        assertEquals(List.of(failing), report.getFailedRefunds());
+        assertFalse(failing.isActive());
+        assertThrows(IllegalArgumentException.class, () -> controller.purchaseTicket(usuario, "Rock show", "A1"));
+    }
+
+    @Test
+    public void testSameNamedEventsKeepTheirTickets() {
+        Event first = new Event("Rock show", "Band XYZ", nextYear());
+        Event second = new Event("Rock show", "Band ABC", nextYear());
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Ticket cancelled = new Ticket(first, 100.0F, "A1");
+        Ticket kept = new Ticket(second, 100.0F, "A1");
+        usuario.addTicket(cancelled);
+        usuario.addTicket(kept);
+        TicketIndex index = new TicketIndex();
+        index.add(cancelled);
+        index.add(kept);
+        assertEquals(List.of(cancelled), index.ticketsOf(first));
+
+        try (EventCanceller canceller = new EventCanceller(new SalesLedger(), Clock.systemUTC())) {
+            assertEquals(1, canceller.cancel(first, index, RefundProcessor.NONE).getTicketsCancelled());
+        }
+        assertFalse(cancelled.isActive());
+        assertTrue(kept.isActive());
+        assertTrue(usuario.holdsTicket(kept));
+        assertEquals(List.of(kept), index.ticketsOf(second));
+    }
+}
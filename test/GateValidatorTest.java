@@ -0,0 +1,186 @@
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.gate.GateSnapshot;
+import ticketSales.gate.GateValidator;
+import ticketSales.gate.ScanResult;
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GateValidatorTest {
+
+    private static Event futureEvent(String name) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        return new Event(name, "Band XYZ", calendar.getTime());
+    }
+
+    @Test
+    public void testScanAdmitsOnceAndRejectsForgedCodes() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        User outro = controller.registerUser("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        controller.addEventSeat("Rock show", "A1");
+        controller.addEventSeat("Rock show", "A2");
+        Ticket first = controller.purchaseTicket(usuario, "Rock show", "A1");
+        Ticket second = controller.purchaseTicket(usuario, "Rock show", "A2");
+
+        String code = controller.getTicketCode(usuario, first);
+        assertThrows(IllegalArgumentException.class, () -> controller.getTicketCode(outro, first));
+        assertEquals(ScanResult.ADMITTED, controller.scanTicketCode(code));
+        assertEquals(ScanResult.ALREADY_USED, controller.scanTicketCode(code));
+        char slot = code.charAt(12);
+        String forged = code.substring(0, 12) + (slot == 'A' ? 'B' : 'A') + code.substring(13);
+        assertEquals(ScanResult.INVALID_CODE, controller.scanTicketCode(forged));
+        assertEquals(ScanResult.INVALID_CODE, controller.scanTicketCode("not a code"));
+
+        String sellerCode = controller.getTicketCode(usuario, second);
+        Ticket transferred = controller.transferTicket(usuario, outro, second);
+        String buyerCode = controller.getTicketCode(outro, transferred);
+        assertNotEquals(sellerCode, buyerCode);
+        assertEquals(ScanResult.REVOKED, controller.scanTicketCode(sellerCode));
+        assertTrue(controller.cancelPurchase(outro, transferred));
+        assertEquals(ScanResult.REVOKED, controller.scanTicketCode(buyerCode));
+    }
+
+    @Test
+    public void testConcurrentGatesAdmitEachTicketOnce() throws Exception {
+        GateValidator validator = GateValidator.withRandomKey();
+        Event event = futureEvent("Rock show");
+        int tickets = 100_000;
+        List<String> codes = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            codes.add(validator.issue(new Ticket(event, 100.0F, "S" + i)));
+        }
+        int gates = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(gates);
+        try {
+            List<Future<Integer>> admitted = new ArrayList<>();
+            for (int g = 0; g < gates; g++) {
+                admitted.add(executor.submit(() -> {
+                    int count = 0;
+                    for (String code : codes) {
+                        if (validator.validate(code).isAdmitted()) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : admitted) {
+                total += future.get();
+            }
+            assertEquals(tickets, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOfflineSnapshotValidatesAndMergesBack() throws IOException {
+        GateValidator validator = GateValidator.withRandomKey();
+        Event event = futureEvent("Rock show");
+        Ticket used = new Ticket(event, 100.0F, "A1");
+        Ticket unused = new Ticket(event, 100.0F, "A2");
+        Ticket revoked = new Ticket(event, 100.0F, "A3");
+        String usedCode = validator.issue(used);
+        String unusedCode = validator.issue(unused);
+        String revokedCode = validator.issue(revoked);
+        assertTrue(validator.revoke(revoked));
+        assertEquals(ScanResult.ADMITTED, validator.validate(usedCode));
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        validator.snapshot(event).writeTo(file);
+        GateSnapshot stored = GateSnapshot.readFrom(new ByteArrayInputStream(file.toByteArray()));
+        GateValidator offline = validator.offline(List.of(stored));
+        assertEquals(ScanResult.ALREADY_USED, offline.validate(usedCode));
+        assertEquals(ScanResult.REVOKED, offline.validate(revokedCode));
+        assertEquals(ScanResult.ADMITTED, offline.validate(unusedCode));
+        assertEquals(ScanResult.UNKNOWN_EVENT,
+                offline.validate(validator.issue(new Ticket(futureEvent("Peça de Teatro"), 50.0F, "B1"))));
+
+        Ticket late = new Ticket(event, 100.0F, "A4");
+        String lateCode = validator.issue(late);
+        assertEquals(ScanResult.REVOKED, offline.validate(lateCode));
+
+        assertEquals(1, validator.mergeUsed(offline.snapshot(event.getId())));
+        assertEquals(ScanResult.ALREADY_USED, validator.validate(unusedCode));
+        assertEquals(ScanResult.ADMITTED, validator.validate(lateCode));
+        assertEquals(ScanResult.INVALID_CODE, new GateValidator(new byte[32]).validate(usedCode));
+    }
+
+    @Test
+    public void testKeyIsReadFromConfiguration() {
+        byte[] key = new byte[GateValidator.MIN_KEY_BYTES];
+        Arrays.fill(key, (byte) 7);
+        try {
+            System.setProperty(GateValidator.KEY_PROPERTY, Base64.getEncoder().encodeToString(key));
+            assertArrayEquals(key, GateValidator.fromConfiguration().getKey());
+            assertArrayEquals(key, new Controller().getGateValidator().getKey());
+
+            System.setProperty(GateValidator.KEY_PROPERTY, "c2hvcnQ=");
+            assertThrows(IllegalStateException.class, GateValidator::fromConfiguration);
+            System.setProperty(GateValidator.KEY_PROPERTY, "not base64!");
+            assertThrows(IllegalStateException.class, GateValidator::fromConfiguration);
+        } finally {
+            System.clearProperty(GateValidator.KEY_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testUsedPassesCannotBeResold() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        User outro = controller.registerUser("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        controller.addEventSeat("Rock show", "A1");
+        Ticket ticket = controller.purchaseTicket(usuario, "Rock show", "A1");
+        assertEquals(ScanResult.ADMITTED, controller.scanTicketCode(controller.getTicketCode(usuario, ticket)));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> controller.resellTicket(usuario, outro, ticket, 150.0F));
+        assertEquals("Ticket was already used.", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> controller.transferTicket(usuario, outro, ticket));
+        assertTrue(usuario.holdsTicket(ticket));
+
+        GateValidator validator = GateValidator.withRandomKey();
+        Event event = futureEvent("Peça de Teatro");
+        Ticket used = new Ticket(event, 100.0F, "B1");
+        Ticket resold = new Ticket(event, 150.0F, "B1");
+        assertEquals(ScanResult.ADMITTED, validator.validate(validator.issue(used)));
+        String code = validator.reissue(used, resold);
+        assertTrue(validator.isUsed(resold), "a used pass stays used when reissued");
+        assertEquals(ScanResult.ALREADY_USED, validator.validate(code));
+        assertNull(validator.codeOf(used));
+    }
+}
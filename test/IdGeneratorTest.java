@@ -0,0 +1,95 @@
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.ids.IdGenerator;
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdGeneratorTest {
+
+    @Test
+    public void testIdsCarryNodeAndTimestamp() {
+        MutableClock clock = new MutableClock();
+        IdGenerator generator = new IdGenerator(37, clock);
+        long id = generator.nextId();
+        assertEquals(37, IdGenerator.nodeOf(id));
+        assertEquals(clock.instant(), IdGenerator.timestampOf(id));
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(IdGenerator.MAX_NODE_ID + 1));
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(-1));
+    }
+
+    @Test
+    public void testIdsIncreaseWhenSequenceOverflowsOrClockGoesBack() {
+        MutableClock clock = new MutableClock();
+        IdGenerator generator = new IdGenerator(1, clock);
+        long previous = generator.nextId();
+        for (int i = 0; i < 3 * (1 << IdGenerator.SEQUENCE_BITS); i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertTrue(IdGenerator.timestampOf(previous).isAfter(clock.instant()));
+
+        clock.advance(Duration.ofSeconds(-5));
+        long id = generator.nextId();
+        assertTrue(id > previous);
+        assertEquals(1, IdGenerator.nodeOf(id));
+    }
+
+    @Test
+    public void testConcurrentIdsAreUniqueAndOrderedPerThread() throws Exception {
+        IdGenerator generator = new IdGenerator(2);
+        int threads = 8;
+        int perThread = 250_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> all = new HashSet<>(threads * perThread * 2);
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get();
+                for (int i = 0; i < ids.length; i++) {
+                    if (i > 0) {
+                        assertTrue(ids[i] > ids[i - 1]);
+                    }
+                    assertTrue(all.add(ids[i]));
+                }
+            }
+            assertEquals(threads * perThread, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTicketsGetDistinctIds() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Event event = new Event("Rock show", "Band XYZ", calendar.getTime());
+        Ticket first = new Ticket(event, 100.0F, "A1");
+        Ticket second = new Ticket(event, 100.0F, "A1");
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(first, second);
+        assertNotEquals(0L, event.getId());
+    }
+}
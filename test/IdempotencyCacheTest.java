@@ -0,0 +1,107 @@
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.cache.IdempotencyCache;
+import ticketSales.controllers.Controller;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+import ticketSales.security.PurchaseLimiter;
+import ticketSales.security.SessionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyCacheTest {
+
+    @Test
+    public void testRetryReturnsOriginalResult() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        String first = cache.execute("key", () -> "result-" + runs.incrementAndGet());
+        String second = cache.execute("key", () -> "result-" + runs.incrementAndGet());
+
+        assertEquals("result-1", first);
+        assertEquals("result-1", second);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testRetryRethrowsOriginalException() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        IllegalArgumentException first = assertThrows(IllegalArgumentException.class, () -> cache.execute("key", () -> {
+            runs.incrementAndGet();
+            throw new IllegalArgumentException("Seat unavailable.");
+        }));
+        IllegalArgumentException second = assertThrows(IllegalArgumentException.class,
+                () -> cache.execute("key", () -> "ignored"));
+
+        assertSame(first, second);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testErrorIsNotRemembered() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>();
+
+        assertThrows(StackOverflowError.class, () -> cache.execute("key", () -> {
+            throw new StackOverflowError();
+        }));
+        assertEquals("retried", cache.execute("key", () -> "retried"));
+    }
+
+    @Test
+    public void testOutcomesAreBounded() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(2, Duration.ofMinutes(1), Clock.systemUTC());
+        AtomicInteger runs = new AtomicInteger();
+
+        cache.execute("a", runs::incrementAndGet);
+        cache.execute("b", runs::incrementAndGet);
+        cache.execute("c", runs::incrementAndGet);
+
+        assertEquals(2, cache.size());
+        assertEquals(4, (int) cache.execute("a", runs::incrementAndGet));
+    }
+
+    @Test
+    public void testTransientResultsAreNotRemembered() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        assertEquals("busy-1", cache.execute("key", () -> "busy-" + runs.incrementAndGet(), "done"::equals));
+        assertEquals(0, cache.size());
+        assertEquals("done", cache.execute("key", () -> "done", "done"::equals));
+        assertEquals("done", cache.execute("key", () -> "busy-" + runs.incrementAndGet(), "done"::equals));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testRateLimitedPurchaseCanBeRetriedWithTheSameKey() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        PurchaseLimiter limiter = new PurchaseLimiter(PurchaseLimiter.UNLIMITED, 1, Duration.ofMinutes(1), clock);
+        Controller controller = new Controller(new SessionManager(), clock, limiter);
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", Date.from(clock.instant().plus(Duration.ofDays(1))));
+        controller.addEventSeats("Rock show", List.of("A1", "A2"));
+        controller.purchaseTicket(usuario, "Rock show", "A1", "request-1");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> controller.purchaseTicket(usuario, "Rock show", "A2", "request-2"));
+        assertEquals("Too many purchase requests.", e.getMessage());
+        clock.advance(Duration.ofMinutes(1));
+        Ticket retried = controller.purchaseTicket(usuario, "Rock show", "A2", "request-2");
+        assertEquals("A2", retried.getSeat());
+        assertSame(retried, controller.purchaseTicket(usuario, "Rock show", "A2", "request-2"));
+    }
+}
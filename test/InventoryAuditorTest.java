@@ -0,0 +1,204 @@
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.audit.AuditReport;
+import ticketSales.audit.EventAudit;
+import ticketSales.audit.InventoryAuditor;
+import ticketSales.audit.SeatDiscrepancy;
+import ticketSales.cancellation.TicketIndex;
+import ticketSales.controllers.Controller;
+import ticketSales.inventory.MappedSeatInventory;
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+import ticketSales.waitlist.SeatHold;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryAuditorTest {
+
+    private static Date nextYear() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        return calendar.getTime();
+    }
+
+    @Test
+    public void testAuditFindsOversoldOrphanedAndMissingSeats() {
+        Event event = new Event("Rock show", "Band XYZ", nextYear());
+        Event clean = new Event("Peça de Teatro", "Grupo ABC", nextYear());
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901", "john.doe@example.com", false);
+        User outro = new User("janedoe", "password123", "Jane Doe", "10987654321", "jane.doe@example.com", false);
+        TicketIndex index = new TicketIndex();
+        event.addSeat("A4");
+        event.addSeat("A3");
+        clean.addSeat("B1");
+
+        Ticket first = new Ticket(event, 100.0F, "A1");
+        Ticket second = new Ticket(event, 100.0F, "A1");
+        Ticket orphan = new Ticket(event, 100.0F, "A2");
+        Ticket relisted = new Ticket(event, 100.0F, "A3");
+        Ticket fine = new Ticket(event, 100.0F, "A5");
+        for (Ticket ticket : List.of(first, second, orphan, relisted, fine)) {
+            index.add(ticket);
+        }
+        usuario.addTicket(first);
+        outro.addTicket(second);
+        usuario.addTicket(relisted);
+        usuario.addTicket(fine);
+
+        AuditReport report = new InventoryAuditor(2).audit(List.of(event, clean), index);
+        assertFalse(report.isConsistent());
+        assertTrue(report.getEventAudit("Peça de Teatro").isConsistent());
+        EventAudit audit = report.getEventAudit("Rock show");
+        assertEquals(5, audit.getActiveTickets());
+        assertEquals(2, audit.getAvailableSeats());
+        assertEquals(3, audit.getDiscrepancies().size());
+        for (SeatDiscrepancy discrepancy : audit.getDiscrepancies()) {
+            switch (discrepancy.getSeat()) {
+                case "A1":
+                    assertEquals(SeatDiscrepancy.Type.OVERSOLD, discrepancy.getType());
+                    assertEquals(2, discrepancy.getTickets().size());
+                    break;
+                case "A2":
+                    assertEquals(SeatDiscrepancy.Type.ORPHANED, discrepancy.getType());
+                    break;
+                case "A3":
+                    assertEquals(SeatDiscrepancy.Type.MISSING, discrepancy.getType());
+                    break;
+                default:
+                    fail("Unexpected discrepancy " + discrepancy);
+            }
+        }
+
+        second.cancel();
+        orphan.cancel();
+        event.removeSeat("A3");
+        assertTrue(new InventoryAuditor().audit(List.of(event), index).isConsistent());
+    }
+
+    @Test
+    public void testAuditDuringSalesFindsNoDiscrepancy() throws Exception {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        int events = 8;
+        int seats = 2_000;
+        for (int e = 0; e < events; e++) {
+            controller.registerEvent(admin, "Show " + e, "Band XYZ", nextYear());
+            List<String> names = new ArrayList<>(seats);
+            for (int s = 0; s < seats; s++) {
+                names.add("S" + s);
+            }
+            controller.addEventSeats("Show " + e, names);
+        }
+        assertThrows(SecurityException.class, () -> controller.auditInventory(usuario));
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sales = new Thread(() -> {
+            for (int s = 0; s < seats && running.get(); s++) {
+                for (int e = 0; e < events; e++) {
+                    Ticket ticket = controller.purchaseTicket(usuario, "Show " + e, "S" + s);
+                    if (s % 3 == 0) {
+                        controller.cancelPurchase(usuario, ticket);
+                    }
+                }
+            }
+        });
+        sales.start();
+        try {
+            for (int i = 0; i < 5; i++) {
+                AuditReport report = controller.auditInventory(admin);
+                assertEquals(events, report.getEventAudits().size());
+                assertTrue(report.isConsistent(), report.getDiscrepancies().toString());
+            }
+        } finally {
+            running.set(false);
+            sales.join();
+        }
+        assertTrue(controller.auditInventory(admin).isConsistent());
+    }
+
+    @Test
+    public void testAuditFindsLeakedSeats() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Event event = controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        controller.addEventSeats("Rock show", List.of("A1", "A2", "A3"));
+        controller.purchaseTicket(usuario, "Rock show", "A2");
+        assertTrue(controller.auditInventory(admin).isConsistent());
+
+        assertTrue(event.removeSeat("A1"));
+        EventAudit audit = controller.auditInventory(admin).getEventAudit("Rock show");
+        assertEquals(1, audit.getDiscrepancies().size());
+        SeatDiscrepancy leaked = audit.getDiscrepancies().get(0);
+        assertEquals(SeatDiscrepancy.Type.LEAKED, leaked.getType());
+        assertEquals("A1", leaked.getSeat());
+        assertTrue(leaked.getTickets().isEmpty());
+
+        try (InventoryAuditor auditor = new InventoryAuditor(1)) {
+            Event untracked = new Event("Peça de Teatro", "Grupo ABC", nextYear());
+            untracked.addSeat("B1");
+            untracked.removeSeat("B1");
+            TicketIndex index = new TicketIndex();
+            assertTrue(auditor.audit(untracked, index).isConsistent(), "seats lost before tracking are not seen");
+            untracked.addSeat("B2");
+            untracked.removeSeat("B2");
+            assertEquals(SeatDiscrepancy.Type.LEAKED,
+                    auditor.audit(untracked, index).getDiscrepancies().get(0).getType());
+        }
+    }
+
+    @Test
+    public void testAuditSkipsWaitlistSeatsAndReadsMappedInventories() throws InterruptedException, IOException {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User buyer = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        User waiting = new User("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        controller.addEventSeats("Rock show", List.of("A1", "A2"));
+        Ticket ticket = controller.purchaseTicket(buyer, "Rock show", "A1");
+        BlockingQueue<SeatHold> held = new LinkedBlockingQueue<>();
+        controller.getWaitlistManager().addSeatHoldListener(held::add);
+        assertTrue(controller.joinWaitlist(waiting, "Rock show"));
+        assertTrue(controller.cancelPurchase(buyer, ticket));
+        assertNotNull(held.poll(5, TimeUnit.SECONDS));
+        assertTrue(controller.auditInventory(admin).isConsistent(), "a held seat is not leaked");
+
+        Path file = Files.createTempFile("seats", ".bin");
+        Files.delete(file);
+        try (MappedSeatInventory inventory = MappedSeatInventory.open(file, 8);
+             InventoryAuditor auditor = new InventoryAuditor(1)) {
+            Event event = new Event("Peça de Teatro", "Grupo ABC", nextYear(), inventory);
+            event.addSeat("B1");
+            event.removeSeat("B1");
+            auditor.track(event);
+            List<SeatDiscrepancy> discrepancies = auditor.audit(event, new TicketIndex()).getDiscrepancies();
+            assertEquals(1, discrepancies.size());
+            assertEquals(SeatDiscrepancy.Type.LEAKED, discrepancies.get(0).getType());
+            assertEquals("B1", discrepancies.get(0).getSeat());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
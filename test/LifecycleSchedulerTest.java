@@ -0,0 +1,122 @@
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.lifecycle.LifecycleScheduler;
+import ticketSales.models.Event;
+import ticketSales.models.EventState;
+import ticketSales.models.User;
+import ticketSales.security.SessionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LifecycleSchedulerTest {
+
+    @Test
+    public void testEventMovesThroughLifecycle() {
+        MutableClock clock = new MutableClock();
+        LifecycleScheduler scheduler = new LifecycleScheduler(clock);
+        Instant start = clock.instant();
+        Event event = new Event("Rock show", "Band XYZ", Date.from(start.plus(Duration.ofDays(10))));
+
+        scheduler.register(event, Date.from(start.plus(Duration.ofDays(1))), Date.from(start.plus(Duration.ofDays(9))));
+        assertEquals(EventState.ANNOUNCED, event.getState());
+        assertEquals(3, scheduler.getPendingCount());
+
+        clock.advance(Duration.ofDays(1));
+        assertEquals(1, scheduler.advance());
+        assertEquals(EventState.ON_SALE, event.getState());
+
+        clock.advance(Duration.ofDays(8));
+        assertEquals(1, scheduler.advance());
+        assertEquals(EventState.SALES_CLOSED, event.getState());
+        assertTrue(event.isActive());
+
+        clock.advance(Duration.ofDays(1));
+        assertEquals(1, scheduler.advance());
+        assertEquals(EventState.PAST, event.getState());
+        assertFalse(event.isActive());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void testDueTransitionsAppliedInBulk() {
+        MutableClock clock = new MutableClock();
+        LifecycleScheduler scheduler = new LifecycleScheduler(clock);
+        Date date = Date.from(clock.instant().plus(Duration.ofHours(2)));
+        Event[] events = new Event[1000];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new Event("Show " + i, "Band XYZ", date);
+            scheduler.register(events[i]);
+        }
+
+        clock.advance(Duration.ofHours(1));
+        assertEquals(0, scheduler.advance());
+
+        clock.advance(Duration.ofHours(1));
+        assertEquals(1000, scheduler.advance());
+        for (Event event : events) {
+            assertEquals(EventState.PAST, event.getState());
+        }
+    }
+
+    @Test
+    public void testCancelledEventStaysCancelled() {
+        MutableClock clock = new MutableClock();
+        LifecycleScheduler scheduler = new LifecycleScheduler(clock);
+        Event event = new Event("Rock show", "Band XYZ", Date.from(clock.instant().plus(Duration.ofDays(1))));
+        scheduler.register(event);
+
+        assertTrue(event.transitionTo(EventState.CANCELLED));
+        clock.advance(Duration.ofDays(1));
+        assertEquals(0, scheduler.advance());
+        assertEquals(EventState.CANCELLED, event.getState());
+        assertFalse(event.transitionTo(EventState.ON_SALE));
+    }
+
+    @Test
+    public void testPurchaseRequiresEventOnSale() {
+        MutableClock clock = new MutableClock();
+        Controller controller = new Controller(new SessionManager(), clock);
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User user = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Instant start = clock.instant();
+        Event event = controller.registerEvent(admin, "Rock show", "Band XYZ", Date.from(start.plus(Duration.ofDays(10))));
+        controller.addEventSeat("Rock show", "A1");
+        controller.addEventSeat("Rock show", "A2");
+        controller.getLifecycleScheduler().register(event, Date.from(start.plus(Duration.ofDays(1))), null);
+
+        assertThrows(IllegalArgumentException.class, () -> controller.purchaseTicket(user, "Rock show", "A1"));
+        assertTrue(event.hasSeat("A1"));
+
+        clock.advance(Duration.ofDays(1));
+        controller.getLifecycleScheduler().advance();
+        assertNotNull(controller.purchaseTicket(user, "Rock show", "A1"));
+
+        clock.advance(Duration.ofDays(9));
+        controller.getLifecycleScheduler().advance();
+        assertThrows(IllegalArgumentException.class, () -> controller.purchaseTicket(user, "Rock show", "A2"));
+        assertTrue(event.hasSeat("A2"));
+    }
+
+    @Test
+    public void testInitialStateFollowsControllerClock() {
+        MutableClock clock = new MutableClock();
+        Controller controller = new Controller(new SessionManager(), clock);
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        Instant start = clock.instant();
+
+        Event past = controller.registerEvent(admin, "Rock show", "Band XYZ", Date.from(start.minus(Duration.ofDays(1))));
+        Event upcoming = controller.registerEvent(admin, "Theater", "Drama", Date.from(start.plus(Duration.ofDays(1))));
+
+        assertEquals(EventState.PAST, past.getState());
+        assertEquals(EventState.ON_SALE, upcoming.getState());
+    }
+}
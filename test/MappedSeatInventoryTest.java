@@ -0,0 +1,152 @@
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.inventory.MappedSeatInventory;
+import ticketSales.models.Event;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedSeatInventoryTest {
+
+    @Test
+    public void testAddAndRemoveSeat() throws IOException {
+        Path file = Files.createTempFile("seats", ".bin");
+        Files.delete(file);
+        try (MappedSeatInventory inventory = MappedSeatInventory.open(file, 16)) {
+            assertTrue(inventory.add("A1"));
+            assertFalse(inventory.add("A1"));
+            assertTrue(inventory.contains("A1"));
+            assertEquals(1, inventory.availableCount());
+
+            assertTrue(inventory.remove("A1"));
+            assertFalse(inventory.remove("A1"));
+            assertFalse(inventory.contains("A1"));
+            assertEquals(0, inventory.availableCount());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testStateSurvivesReopen() throws IOException {
+        Path file = Files.createTempFile("seats", ".bin");
+        Files.delete(file);
+        try {
+            try (MappedSeatInventory inventory = MappedSeatInventory.open(file, 16)) {
+                inventory.add("A1");
+                inventory.add("A2");
+                inventory.remove("A1");
+            }
+            try (MappedSeatInventory inventory = MappedSeatInventory.open(file, 4)) {
+                assertEquals(16, inventory.getCapacity());
+                assertFalse(inventory.contains("A1"));
+                assertTrue(inventory.contains("A2"));
+                assertEquals(List.of("A2"), inventory.availableSeats());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testTakeAnySeat() throws IOException {
+        Path file = Files.createTempFile("seats", ".bin");
+        Files.delete(file);
+        try (MappedSeatInventory inventory = MappedSeatInventory.open(file, 8)) {
+            assertNull(inventory.takeAny());
+            inventory.add("A1");
+            inventory.add("A2");
+            inventory.add("A3");
+            inventory.remove("A2");
+            List<String> taken = new ArrayList<>();
+            String seat;
+            while ((seat = inventory.takeAny()) != null) {
+                taken.add(seat);
+            }
+            taken.sort(null);
+            assertEquals(List.of("A1", "A3"), taken);
+            assertEquals(0, inventory.availableCount());
+            assertTrue(inventory.add("A3"));
+            assertEquals("A3", inventory.takeAny());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testFullInventory() throws IOException {
+        Path file = Files.createTempFile("seats", ".bin");
+        Files.delete(file);
+        try (MappedSeatInventory inventory = MappedSeatInventory.open(file, 2)) {
+            inventory.add("A1");
+            inventory.add("A2");
+            assertThrows(IllegalStateException.class, () -> inventory.add("A3"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testConcurrentRemoveHasSingleWinner() throws Exception {
+        Path file = Files.createTempFile("seats", ".bin");
+        Files.delete(file);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (MappedSeatInventory inventory = MappedSeatInventory.open(file, 1024)) {
+            for (int i = 0; i < 500; i++) {
+                inventory.add("S" + i);
+            }
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int won = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (inventory.remove("S" + i)) {
+                            won++;
+                        }
+                    }
+                    return won;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertEquals(500, total);
+            assertEquals(0, inventory.availableCount());
+        } finally {
+            executor.shutdown();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testEventWithMappedInventory() throws IOException {
+        Path file = Files.createTempFile("seats", ".bin");
+        Files.delete(file);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Date date = calendar.getTime();
+
+        try (MappedSeatInventory inventory = MappedSeatInventory.open(file, 16)) {
+            Event event = new Event("Rock show", "Band XYZ", date, inventory);
+            event.addSeat("A1");
+
+            assertTrue(event.hasSeat("A1"));
+            assertTrue(event.removeSeat("A1"));
+            assertFalse(event.removeSeat("A1"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.inventory.MappedSeatInventory;
+import ticketSales.metrics.MemoryAccountant;
+import ticketSales.metrics.MemoryAlert;
+import ticketSales.metrics.MemoryBudget;
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoryAccountantTest {
+
+    @Test
+    public void testEstimatesFollowMutations() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        controller.addEventSeat("Rock show", "A1");
+
+        MemoryAccountant accountant = new MemoryAccountant(controller);
+        try {
+            Event rock = controller.findEvent("Rock show");
+            long emptyEvent = accountant.getEventBytes(rock);
+            assertTrue(emptyEvent > 0, "a registered event has a footprint");
+            for (int i = 2; i <= 100; i++) {
+                controller.addEventSeat("Rock show", "A" + i);
+            }
+            long fullEvent = accountant.getEventBytes(rock);
+            assertTrue(fullEvent > emptyEvent, "seats grow the event's footprint");
+
+            User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                    "john.doe@example.com", false);
+            long noTickets = accountant.getUserBytes(usuario);
+            assertTrue(noTickets > 0, "a registered user has a footprint");
+            Ticket ticket = controller.purchaseTicket(usuario, "Rock show", "A1");
+            assertTrue(accountant.getUserBytes(usuario) > noTickets, "tickets grow the user's footprint");
+            assertTrue(accountant.getEventBytes(rock) < fullEvent, "sold seats leave the inventory");
+
+            controller.cancelPurchase(usuario, ticket);
+            assertEquals(noTickets, accountant.getUserBytes(usuario));
+            assertEquals(accountant.getEventBytes(rock), accountant.getEventsBytes());
+            assertEquals(accountant.getUserBytes(admin) + accountant.getUserBytes(usuario),
+                    accountant.getUsersBytes());
+            assertEquals(accountant.getEventsBytes() + accountant.getUsersBytes(), accountant.getCatalogBytes());
+
+            Ticket refunded = controller.purchaseTicket(usuario, "Rock show", "A2");
+            controller.cancelEvent(admin, "Rock show");
+            assertFalse(refunded.isActive());
+            assertEquals(noTickets, accountant.getUserBytes(usuario));
+            Map<String, Double> snapshot = controller.getMetrics().snapshot();
+            assertEquals(accountant.getCatalogBytes(), snapshot.get(MemoryAccountant.CATALOG_METRIC).longValue());
+            assertEquals(accountant.getUsersBytes(), snapshot.get(MemoryAccountant.USERS_METRIC).longValue());
+            assertTrue(snapshot.containsKey("events.count"), "controller gauges are registered");
+        } finally {
+            accountant.close();
+        }
+        assertFalse(controller.getMetrics().snapshot().containsKey(MemoryAccountant.CATALOG_METRIC));
+    }
+
+    @Test
+    public void testAlertsOnceWhenBudgetExceeded() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+
+        MemoryAccountant probe = new MemoryAccountant(controller);
+        long limit = probe.getEventBytes(controller.findEvent("Rock show")) + 1_000;
+        probe.close();
+
+        List<MemoryAlert> alerts = new ArrayList<>();
+        MemoryAccountant accountant = new MemoryAccountant(controller,
+                new MemoryBudget(MemoryBudget.UNLIMITED, limit, MemoryBudget.UNLIMITED));
+        accountant.addAlertListener(alerts::add);
+        try {
+            for (int i = 1; i <= 50; i++) {
+                controller.addEventSeat("Rock show", "A" + i);
+            }
+            assertEquals(1, alerts.size());
+            assertEquals(MemoryAlert.Scope.EVENT, alerts.get(0).getScope());
+            assertEquals("Rock show", alerts.get(0).getName());
+            assertTrue(alerts.get(0).getEstimatedBytes() > limit, "the alert carries the estimate");
+        } finally {
+            accountant.close();
+        }
+    }
+
+    @Test
+    public void testEstimatesFollowLoginChangesAndOffHeapSeats() throws IOException {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Path file = Files.createTempFile("seats", ".bin");
+        Files.delete(file);
+        try (MappedSeatInventory inventory = MappedSeatInventory.open(file, 256)) {
+            Event rock = controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+            Event mapped = controller.registerEvent(admin, "Peça de Teatro", "Drama", calendar.getTime(), inventory);
+            MemoryAccountant accountant = new MemoryAccountant(controller);
+            try {
+                long rockEmpty = accountant.getEventBytes(rock);
+                long mappedEmpty = accountant.getEventBytes(mapped);
+                for (int i = 1; i <= 100; i++) {
+                    controller.addEventSeat("Rock show", "A" + i);
+                    controller.addEventSeat("Peça de Teatro", "A" + i);
+                }
+                assertTrue(accountant.getEventBytes(mapped) - mappedEmpty
+                        < accountant.getEventBytes(rock) - rockEmpty, "mapped seats are kept off the heap");
+
+                controller.updateUser(usuario, "login", "jdoe");
+                controller.purchaseTicket(usuario, "Rock show", "A1");
+                assertEquals(accountant.getUserBytes(admin) + accountant.getUserBytes(usuario),
+                        accountant.getUsersBytes());
+            } finally {
+                accountant.close();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
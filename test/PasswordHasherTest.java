@@ -0,0 +1,44 @@
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.security.PasswordHasher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHasherTest {
+
+    @Test
+    public void testHashAndVerify() {
+        PasswordHasher hasher = new PasswordHasher(1_000);
+        String hash = hasher.hash("password123");
+
+        assertFalse(hash.contains("password123"));
+        assertTrue(hasher.verify("password123", hash));
+        assertFalse(hasher.verify("passwordErrada", hash));
+    }
+
+    @Test
+    public void testHashesAreSalted() {
+        PasswordHasher hasher = new PasswordHasher(1_000);
+
+        assertNotEquals(hasher.hash("password123"), hasher.hash("password123"));
+    }
+
+    @Test
+    public void testNeedsRehashWhenWorkFactorGrows() {
+        String hash = new PasswordHasher(1_000).hash("password123");
+        PasswordHasher stronger = new PasswordHasher(2_000);
+
+        assertTrue(stronger.verify("password123", hash));
+        assertTrue(stronger.needsRehash(hash));
+        assertFalse(stronger.needsRehash(stronger.hash("password123")));
+    }
+
+    @Test
+    public void testMalformedHash() {
+        PasswordHasher hasher = new PasswordHasher(1_000);
+
+        assertFalse(hasher.verify("password123", "password123"));
+        assertTrue(hasher.needsRehash("password123"));
+    }
+}
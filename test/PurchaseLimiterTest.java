@@ -0,0 +1,210 @@
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+import ticketSales.security.PurchaseLimiter;
+import ticketSales.security.SessionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PurchaseLimiterTest {
+
+    private static Date nextYear() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        return calendar.getTime();
+    }
+
+    @Test
+    public void testTicketLimitPerEvent() {
+        Controller controller = new Controller(new SessionManager(), Clock.systemUTC(),
+                new PurchaseLimiter(2, PurchaseLimiter.UNLIMITED, Duration.ofMinutes(1), Clock.systemUTC()));
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        User outro = new User("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+        Event event = controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        controller.registerEvent(admin, "Peça de Teatro", "Grupo ABC", nextYear());
+        for (String seat : List.of("A1", "A2", "A3")) {
+            controller.addEventSeat("Rock show", seat);
+            controller.addEventSeat("Peça de Teatro", seat);
+        }
+
+        controller.purchaseTicket(usuario, "Rock show", "A1");
+        Ticket second = controller.purchaseTicket(usuario, "Rock show", "A2");
+        assertThrows(IllegalArgumentException.class, () -> controller.purchaseTicket(usuario, "Rock show", "A3"));
+        assertTrue(event.hasSeat("A3"));
+        assertNotNull(controller.purchaseTicket(usuario, "Peça de Teatro", "A1"));
+
+        Ticket bought = controller.purchaseTicket(outro, "Rock show", "A3");
+        assertThrows(IllegalArgumentException.class, () -> controller.transferTicket(outro, usuario, bought));
+        assertTrue(outro.holdsTicket(bought));
+
+        assertTrue(controller.cancelPurchase(usuario, second));
+        controller.transferTicket(outro, usuario, bought);
+        assertTrue(usuario.holdsTicket(bought));
+    }
+
+    @Test
+    public void testRequestRateLimit() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        PurchaseLimiter limiter = new PurchaseLimiter(PurchaseLimiter.UNLIMITED, 3, Duration.ofMinutes(1), clock);
+        Controller controller = new Controller(new SessionManager(), clock, limiter);
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+
+        for (int i = 0; i < 3; i++) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> controller.purchaseTicket(usuario, "Missing", "A1"));
+            assertEquals("Event not found.", e.getMessage());
+        }
+        IllegalArgumentException limited = assertThrows(IllegalArgumentException.class,
+                () -> controller.purchaseTicket(usuario, "Missing", "A1"));
+        assertEquals("Too many purchase requests.", limited.getMessage());
+
+        clock.advance(Duration.ofSeconds(59));
+        assertFalse(limiter.tryAcquireRequest(usuario.getId()));
+        assertTrue(limiter.tryAcquireRequest(usuario.getId() + 1));
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(limiter.tryAcquireRequest(usuario.getId()));
+    }
+
+    @Test
+    public void testConcurrentReservationsRespectLimit() throws Exception {
+        PurchaseLimiter limiter = new PurchaseLimiter(50, PurchaseLimiter.UNLIMITED, Duration.ofMinutes(1),
+                Clock.systemUTC());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int reserved = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (limiter.tryReserve(1, 2)) {
+                            reserved++;
+                        }
+                    }
+                    return reserved;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertEquals(50, total);
+            assertEquals(50, limiter.getTicketCount(1, 2));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLimitsFollowUserAcrossLoginChange() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        PurchaseLimiter limiter = new PurchaseLimiter(1, 2, Duration.ofMinutes(1), clock);
+        Controller controller = new Controller(new SessionManager(), clock, limiter);
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        controller.addEventSeats("Rock show", List.of("A1", "A2"));
+
+        controller.purchaseTicket(usuario, "Rock show", "A1");
+        controller.updateUser(usuario, "login", "john");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> controller.purchaseTicket(usuario, "Rock show", "A2"));
+        assertEquals("Ticket limit reached for this event.", e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> controller.purchaseTicket(usuario, "Rock show", "A2"));
+        assertEquals("Too many purchase requests.", e.getMessage());
+    }
+
+    @Test
+    public void testIdleEntriesAreEvicted() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        PurchaseLimiter limiter = new PurchaseLimiter(2, 5, Duration.ofMinutes(1), clock);
+        for (long user = 0; user < 100; user++) {
+            assertTrue(limiter.tryAcquireRequest(user));
+            assertTrue(limiter.tryReserve(user, 7));
+        }
+        assertEquals(100, limiter.getTrackedUsers());
+
+        for (long user = 0; user < 100; user++) {
+            limiter.release(user, 7);
+        }
+        limiter.evictIdle();
+        assertEquals(100, limiter.getTrackedUsers(), "request windows are still current");
+
+        clock.advance(Duration.ofMinutes(1));
+        limiter.evictIdle();
+        assertEquals(0, limiter.getTrackedUsers());
+        assertEquals(0, limiter.getTicketCount(3, 7));
+        assertTrue(limiter.tryReserve(3, 7));
+        assertTrue(limiter.tryReserve(3, 7));
+        assertFalse(limiter.tryReserve(3, 7));
+        limiter.close();
+    }
+
+    @Test
+    public void testCancelledEventReleasesTicketLimit() {
+        PurchaseLimiter limiter = new PurchaseLimiter(2, PurchaseLimiter.UNLIMITED, Duration.ofMinutes(1),
+                Clock.systemUTC());
+        Controller controller = new Controller(new SessionManager(), Clock.systemUTC(), limiter);
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Event event = controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        controller.addEventSeats("Rock show", List.of("A1", "A2"));
+        controller.purchaseTicket(usuario, "Rock show", "A1");
+        controller.purchaseTicket(usuario, "Rock show", "A2");
+        assertEquals(2, limiter.getTicketCount(usuario.getId(), event.getId()));
+
+        assertEquals(2, controller.cancelEvent(admin, "Rock show").getTicketsCancelled());
+        assertEquals(0, limiter.getTicketCount(usuario.getId(), event.getId()));
+    }
+
+    @Test
+    public void testConcurrentRequestsRespectRateLimit() throws Exception {
+        PurchaseLimiter limiter = new PurchaseLimiter(PurchaseLimiter.UNLIMITED, 1, Duration.ofMinutes(1),
+                Clock.systemUTC());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int accepted = 0;
+                    for (long user = 0; user < 2000; user++) {
+                        if (limiter.tryAcquireRequest(user)) {
+                            accepted++;
+                        }
+                    }
+                    return accepted;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertEquals(2000, total);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
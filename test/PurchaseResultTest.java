@@ -0,0 +1,113 @@
+
+import java.lang.management.ManagementFactory;
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.models.PurchaseResult;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PurchaseResultTest {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long probeBytes() {
+        long before = allocatedBytes();
+        return allocatedBytes() - before;
+    }
+
+    private static Controller controllerWithEvent(User admin, int seats) {
+        Controller controller = new Controller();
+        controller.registerUser(admin);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        for (int i = 0; i < seats; i++) {
+            controller.addEventSeat("Rock show", "A" + i);
+        }
+        return controller;
+    }
+
+    @Test
+    public void testResultCodes() {
+        User admin = new User("admin", "password123", "Admin User", "00000000000", "admin@example.com", true);
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901", "john.doe@example.com", false);
+        Controller controller = controllerWithEvent(admin, 1);
+        controller.registerUser(usuario);
+
+        PurchaseResult purchased = controller.tryPurchaseTicket(usuario, "Rock show", new String("A0"));
+        assertTrue(purchased.isSuccess());
+        assertSame(controller.findEvent("Rock show").seatOf("A0"), purchased.getTicket().getSeat());
+        assertSame(PurchaseResult.SEAT_UNAVAILABLE, controller.tryPurchaseTicket(usuario, "Rock show", "A0"));
+        assertSame(PurchaseResult.EVENT_NOT_FOUND, controller.tryPurchaseTicket(usuario, "Peça de Teatro", "A0"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> controller.purchaseTicket(usuario, "Rock show", "A0"));
+        assertEquals("Seat unavailable.", e.getMessage());
+
+        controller.cancelEvent(admin, "Rock show");
+        assertSame(PurchaseResult.NOT_ON_SALE, controller.tryPurchaseTicket(usuario, "Rock show", "A0"));
+    }
+
+    @Test
+    public void testFailedAttemptsDoNotAllocate() {
+        User admin = new User("admin", "password123", "Admin User", "00000000000", "admin@example.com", true);
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901", "john.doe@example.com", false);
+        Controller controller = controllerWithEvent(admin, 1);
+        controller.registerUser(usuario);
+        assertTrue(controller.tryPurchaseTicket(usuario, "Rock show", "A0").isSuccess());
+
+        String seat = "A0";
+        String missing = "Peça de Teatro";
+        for (int i = 0; i < 50_000; i++) {
+            controller.tryPurchaseTicket(usuario, "Rock show", seat);
+            controller.tryPurchaseTicket(usuario, missing, seat);
+        }
+        long probe = probeBytes();
+        long before = allocatedBytes();
+        int failures = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (controller.tryPurchaseTicket(usuario, "Rock show", seat) == PurchaseResult.SEAT_UNAVAILABLE) {
+                failures++;
+            }
+            if (controller.tryPurchaseTicket(usuario, missing, seat) == PurchaseResult.EVENT_NOT_FOUND) {
+                failures++;
+            }
+        }
+        long allocated = allocatedBytes() - before - probe;
+        assertEquals(20_000, failures);
+        assertEquals(0, allocated, allocated + " bytes allocated by failed attempts");
+    }
+
+    @Test
+    public void testSuccessfulPurchaseAllocationIsBounded() {
+        User admin = new User("admin", "password123", "Admin User", "00000000000", "admin@example.com", true);
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901", "john.doe@example.com", false);
+        int seats = 4_000;
+        Controller controller = controllerWithEvent(admin, seats);
+        controller.registerUser(usuario);
+        String[] names = new String[seats];
+        for (int i = 0; i < seats; i++) {
+            names[i] = "A" + i;
+        }
+        for (int i = 0; i < seats / 2; i++) {
+            Ticket ticket = controller.tryPurchaseTicket(usuario, "Rock show", names[i]).getTicket();
+            controller.cancelPurchase(usuario, ticket);
+        }
+        long before = allocatedBytes();
+        for (int i = seats / 2; i < seats; i++) {
+            assertTrue(controller.tryPurchaseTicket(usuario, "Rock show", names[i]).isSuccess());
+        }
+        long perPurchase = (allocatedBytes() - before) / (seats / 2);
+        assertTrue(perPurchase < 4_096, perPurchase + " bytes allocated per purchase");
+    }
+}
@@ -0,0 +1,153 @@
+
+import java.time.Duration;
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.ids.IdGenerator;
+import ticketSales.models.Event;
+import ticketSales.models.EventState;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+import ticketSales.replication.ReplicaController;
+import ticketSales.replication.ReplicationLeader;
+import ticketSales.replication.ReplicationServer;
+import ticketSales.replication.ReplicationSnapshot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaControllerTest {
+
+    @Test
+    public void testFollowerConvergesInProcess() throws InterruptedException {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        controller.addEventSeat("Rock show", "A1");
+        controller.addEventSeat("Rock show", "A2");
+        Ticket kept = controller.purchaseTicket(usuario, "Rock show", "A1");
+
+        ReplicationLeader leader = new ReplicationLeader(controller);
+        ReplicaController replica = new ReplicaController();
+        replica.follow(leader);
+        try {
+            controller.registerEvent(admin, "Peça de Teatro", "Drama", calendar.getTime());
+            controller.addEventSeat("Peça de Teatro", "B1");
+            Ticket cancelled = controller.purchaseTicket(usuario, "Peça de Teatro", "B1");
+            controller.cancelPurchase(usuario, cancelled);
+            controller.purchaseTicket(usuario, "Rock show", "A2");
+            controller.cancelEvent(admin, "Peça de Teatro");
+
+            assertTrue(replica.awaitSequence(leader.awaitAppended(Duration.ofSeconds(5)), Duration.ofSeconds(5)));
+            assertEquals(0, replica.getLagRecords());
+            assertEquals(0, replica.getLagMillis());
+
+            Event rock = replica.findEvent("Rock show");
+            assertNotSame(controller.findEvent("Rock show"), rock);
+            assertEquals(controller.findEvent("Rock show").getId(), rock.getId());
+            assertTrue(rock.getAvailableSeats().isEmpty());
+            assertEquals(1, replica.listAvailableEvents().size());
+            assertEquals(EventState.CANCELLED, replica.findEvent("Peça de Teatro").getState());
+            assertTrue(replica.findEvent("Peça de Teatro").hasSeat("B1"));
+            assertEquals(2, replica.listPurchasedTickets(usuario).size());
+            assertEquals(kept.getId(), replica.listPurchasedTickets("johndoe").get(0).getId());
+        } finally {
+            replica.close();
+            leader.close();
+        }
+    }
+
+    @Test
+    public void testFollowerOverSocketReportsLag() throws Exception {
+        IdGenerator.setDefault(new IdGenerator(1));
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        ReplicationLeader leader = new ReplicationLeader(controller);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        for (int i = 0; i < 500; i++) {
+            controller.addEventSeat("Rock show", "A" + i);
+        }
+
+        leader.awaitAppended(Duration.ofSeconds(5));
+        ReplicaController detached = new ReplicaController();
+        detached.apply(leader.read(0, 10), leader.getLastSequence());
+        assertEquals(10, detached.getAppliedSequence());
+        assertEquals(leader.getLastSequence() - 10, detached.getLagRecords());
+        assertThrows(IllegalArgumentException.class,
+                () -> detached.apply(leader.read(20, 5), leader.getLastSequence()));
+
+        try (ReplicationServer server = new ReplicationServer(leader, 0)) {
+            ReplicaController replica = new ReplicaController();
+            replica.follow(server.getAddress());
+            try {
+                assertTrue(replica.awaitSequence(leader.awaitAppended(Duration.ofSeconds(5)), Duration.ofSeconds(5)));
+                assertEquals(500, replica.findEvent("Rock show").getAvailableSeats().size());
+                controller.findEvent("Rock show").removeSeat("A0");
+                assertTrue(replica.awaitSequence(leader.awaitAppended(Duration.ofSeconds(5)), Duration.ofSeconds(5)));
+                assertFalse(replica.findEvent("Rock show").hasSeat("A0"));
+            } finally {
+                replica.close();
+            }
+        }
+        leader.close();
+    }
+
+    @Test
+    public void testFollowersStartFromSnapshotAfterTruncation() throws Exception {
+        IdGenerator.setDefault(new IdGenerator(1));
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        ReplicationLeader leader = new ReplicationLeader(controller, 16);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        for (int i = 0; i < 40; i++) {
+            controller.addEventSeat("Rock show", "A" + i);
+        }
+        Ticket ticket = controller.purchaseTicket(usuario, "Rock show", "A7");
+        controller.findEvent("Rock show").removeSeat("A8");
+
+        long last = leader.awaitAppended(Duration.ofSeconds(5));
+        assertEquals(last - 16, leader.getTruncatedSequence());
+        assertTrue(leader.read(0, 10).isEmpty(), "truncated records cannot be read");
+        assertTrue(leader.needsSnapshot(0));
+        ReplicationSnapshot snapshot = leader.snapshot();
+        assertEquals(last, snapshot.getSequence());
+        assertEquals(1 + 38 + 1, snapshot.getRecords().size());
+
+        try (ReplicationServer server = new ReplicationServer(leader, 0)) {
+            ReplicaController remote = new ReplicaController();
+            ReplicaController local = new ReplicaController();
+            remote.follow(server.getAddress());
+            local.follow(leader);
+            try {
+                controller.addEventSeat("Rock show", "B1");
+                long appended = leader.awaitAppended(Duration.ofSeconds(5));
+                for (ReplicaController replica : new ReplicaController[] {remote, local}) {
+                    assertTrue(replica.awaitSequence(appended, Duration.ofSeconds(5)));
+                    Event rock = replica.findEvent("Rock show");
+                    assertEquals(39, rock.getAvailableSeatCount());
+                    assertFalse(rock.hasSeat("A8"));
+                    assertTrue(rock.hasSeat("B1"));
+                    assertEquals(ticket.getId(), replica.listPurchasedTickets("johndoe").get(0).getId());
+                }
+            } finally {
+                remote.close();
+                local.close();
+            }
+        }
+        leader.close();
+    }
+}
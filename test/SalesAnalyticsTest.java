@@ -0,0 +1,154 @@
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.analytics.SalesAnalytics;
+import ticketSales.analytics.SalesLedger;
+import ticketSales.analytics.SalesReport;
+import ticketSales.analytics.SalesTotals;
+import ticketSales.controllers.Controller;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalesAnalyticsTest {
+
+    private static final long DAY = 86_400_000L;
+
+    private SalesAnalytics createAnalytics(SalesLedger ledger, Map<String, Integer> seats) {
+        return new SalesAnalytics(ledger, name -> seats.getOrDefault(name, 0), ZoneOffset.UTC, ForkJoinPool.commonPool());
+    }
+
+    @Test
+    public void testAggregatesPerEventDayAndUser() {
+        SalesLedger ledger = new SalesLedger();
+        ledger.recordSale("Rock show", "john", 100.0F, 0);
+        ledger.recordSale("Rock show", "mary", 100.0F, 10);
+        ledger.recordSale("Theater", "john", 50.0F, DAY);
+        ledger.recordCancellation("Rock show", "john", 100.0F, DAY + 10);
+
+        SalesReport report = createAnalytics(ledger, Map.of("Rock show", 3)).refresh();
+
+        SalesTotals rock = report.getByEvent().get("Rock show");
+        assertEquals(2, rock.getTicketsSold());
+        assertEquals(1, rock.getTicketsCancelled());
+        assertEquals(100.0, rock.getNetRevenue(), 0.001);
+        assertEquals(0.5, rock.getCancellationRate(), 0.001);
+        assertEquals(0.25, report.getSellThrough("Rock show"), 0.001);
+
+        assertEquals(2, report.getByDay().get(LocalDate.ofEpochDay(0)).getTicketsSold());
+        assertEquals(1, report.getByDay().get(LocalDate.ofEpochDay(1)).getTicketsCancelled());
+
+        SalesTotals john = report.getByUser().get("john");
+        assertEquals(2, john.getTicketsSold());
+        assertEquals(50.0, john.getNetRevenue(), 0.001);
+    }
+
+    @Test
+    public void testParallelAggregationAcrossChunks() {
+        SalesLedger ledger = new SalesLedger();
+        int entries = SalesLedger.CHUNK_SIZE * 5 + 123;
+        for (int i = 0; i < entries; i++) {
+            if (i % 10 == 0) {
+                ledger.recordCancellation("Event " + (i % 7), "user" + (i % 1000), 10.0F, i * 1000L);
+            } else {
+                ledger.recordSale("Event " + (i % 7), "user" + (i % 1000), 10.0F, i * 1000L);
+            }
+        }
+
+        SalesReport report = createAnalytics(ledger, Map.of()).refresh();
+
+        long sold = 0;
+        long cancelled = 0;
+        for (SalesTotals totals : report.getByEvent().values()) {
+            sold += totals.getTicketsSold();
+            cancelled += totals.getTicketsCancelled();
+        }
+        assertEquals(entries, report.getEntriesProcessed());
+        assertEquals(entries, sold + cancelled);
+        assertEquals((entries + 9) / 10, cancelled);
+        assertEquals(1000, report.getByUser().size());
+
+        long soldPerDay = 0;
+        for (SalesTotals totals : report.getByDay().values()) {
+            soldPerDay += totals.getTicketsSold() + totals.getTicketsCancelled();
+        }
+        assertEquals(entries, soldPerDay);
+    }
+
+    @Test
+    public void testIncrementalRefresh() {
+        SalesLedger ledger = new SalesLedger();
+        SalesAnalytics analytics = createAnalytics(ledger, Map.of());
+        ledger.recordSale("Rock show", "john", 100.0F, 0);
+
+        SalesReport first = analytics.refresh();
+        ledger.recordSale("Rock show", "mary", 100.0F, 0);
+        SalesReport second = analytics.refresh();
+
+        assertEquals(1, first.getByEvent().get("Rock show").getTicketsSold());
+        assertEquals(2, second.getByEvent().get("Rock show").getTicketsSold());
+        assertEquals(2, second.getEntriesProcessed());
+    }
+
+    @Test
+    public void testControllerRecordsSales() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Date date = calendar.getTime();
+        controller.registerEvent(admin, "Rock show", "Band XYZ", date);
+        controller.addEventSeat("Rock show", "A1");
+        controller.addEventSeat("Rock show", "A2");
+        Ticket ticket = controller.purchaseTicket(usuario, "Rock show", "A1");
+        controller.purchaseTicket(usuario, "Rock show", "A2");
+        controller.cancelPurchase(usuario, ticket);
+
+        SalesReport report = new SalesAnalytics(controller).refresh();
+
+        SalesTotals totals = report.getByEvent().get("Rock show");
+        assertEquals(2, totals.getTicketsSold());
+        assertEquals(1, totals.getTicketsCancelled());
+        assertEquals(0.5, report.getSellThrough("Rock show"), 0.001);
+    }
+
+    @Test
+    public void testConcurrentAppendsAreAllVisible() throws InterruptedException {
+        SalesLedger ledger = new SalesLedger();
+        int perThread = SalesLedger.CHUNK_SIZE / 2 + 17;
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String user = "user" + t;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ledger.recordSale("Event " + (i % 3), user, 10.0F, i);
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        SalesReport report = createAnalytics(ledger, Map.of()).refresh();
+        assertEquals(8 * perThread, ledger.size());
+        assertEquals(8, report.getByUser().size());
+        for (SalesTotals totals : report.getByUser().values()) {
+            assertEquals(perThread, totals.getTicketsSold());
+        }
+    }
+}
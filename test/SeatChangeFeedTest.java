@@ -0,0 +1,133 @@
+
+import java.time.Duration;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.feed.SeatChangeBatch;
+import ticketSales.feed.SeatChangeFeed;
+import ticketSales.inventory.SeatChange;
+import ticketSales.models.Event;
+import ticketSales.models.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatChangeFeedTest {
+
+    private static class RecordingSubscriber implements Flow.Subscriber<SeatChangeBatch> {
+        final List<SeatChangeBatch> batches = new CopyOnWriteArrayList<>();
+        final CountDownLatch received;
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingSubscriber(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(SeatChangeBatch item) {
+            batches.add(item);
+            received.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+    private Event createEvent() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Date date = calendar.getTime();
+        return new Event("Rock show", "Band XYZ", date);
+    }
+
+    @Test
+    public void testChangesAreCoalescedPerEvent() throws InterruptedException {
+        Event event = createEvent();
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        try (SeatChangeFeed feed = new SeatChangeFeed(Duration.ZERO, 16)) {
+            feed.attach(event);
+            feed.subscribe(subscriber);
+
+            event.addSeat("A1");
+            event.addSeat("A2");
+            event.removeSeat("A1");
+            feed.flush();
+
+            assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+        }
+        SeatChangeBatch batch = subscriber.batches.get(0);
+        assertEquals("Rock show", batch.getEventName());
+        assertEquals(0, batch.getBaseVersion());
+        assertEquals(3, batch.getToVersion());
+        assertEquals(List.of(new SeatChange(2, "A2", true), new SeatChange(3, "A1", false)), batch.getChanges());
+        assertEquals(1, batch.getAvailableSeats());
+        assertFalse(batch.isSoldOut());
+    }
+
+    @Test
+    public void testSoldOutNotification() throws InterruptedException {
+        Event event = createEvent();
+        RecordingSubscriber subscriber = new RecordingSubscriber(2);
+        try (SeatChangeFeed feed = new SeatChangeFeed(Duration.ZERO, 16)) {
+            feed.attach(event);
+            feed.subscribe(subscriber);
+
+            event.addSeat("A1");
+            feed.flush();
+            event.removeSeat("A1");
+            feed.flush();
+
+            assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+        }
+        SeatChangeBatch last = subscriber.batches.get(1);
+        assertEquals(1, last.getBaseVersion());
+        assertTrue(last.isSoldOut());
+    }
+
+    @Test
+    public void testScheduledFlush() throws InterruptedException {
+        Event event = createEvent();
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        try (SeatChangeFeed feed = new SeatChangeFeed(Duration.ofMillis(10), 16)) {
+            feed.attach(event);
+            feed.subscribe(subscriber);
+            event.addSeat("A1");
+
+            assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testClosingTheControllerCompletesTheFeed() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        try (Controller controller = new Controller()) {
+            User admin = controller.registerUser("admin", "password123", "Admin User",
+                    "00000000000", "admin@example.com", true);
+            Calendar calendar = Calendar.getInstance();
+            calendar.add(Calendar.YEAR, 1);
+            controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+            controller.getSeatChangeFeed().subscribe(subscriber);
+            controller.addEventSeat("Rock show", "A1");
+        }
+        assertTrue(subscriber.received.await(5, TimeUnit.SECONDS), "pending changes are flushed on close");
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+    }
+}
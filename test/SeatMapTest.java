@@ -0,0 +1,146 @@
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.inventory.InMemorySeatInventory;
+import ticketSales.inventory.SeatChange;
+import ticketSales.inventory.SeatMap;
+import ticketSales.inventory.SeatMapDelta;
+import ticketSales.inventory.SeatMapSnapshot;
+import ticketSales.models.Event;
+import ticketSales.models.SeatChangeListener;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatMapTest {
+
+    private Event createEvent() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Date date = calendar.getTime();
+        return new Event("Rock show", "Band XYZ", date);
+    }
+
+    @Test
+    public void testVersionIncreasesOnChanges() {
+        Event event = createEvent();
+        assertEquals(0, event.getSeatMapVersion());
+
+        event.addSeat("A1");
+        event.addSeat("A1");
+        event.removeSeat("A1");
+
+        assertEquals(2, event.getSeatMapVersion());
+    }
+
+    @Test
+    public void testSnapshotIsSharedPerVersion() {
+        Event event = createEvent();
+        event.addSeat("A1");
+        event.addSeat("A2");
+
+        SeatMapSnapshot first = event.getSeatMapSnapshot();
+        SeatMapSnapshot second = event.getSeatMapSnapshot();
+        assertSame(first, second);
+        assertEquals(List.of("A1", "A2"), first.getSeats());
+
+        ByteBuffer bytes = first.getSerialized();
+        assertTrue(bytes.isReadOnly());
+        String json = StandardCharsets.UTF_8.decode(bytes).toString();
+        assertEquals("{\"event\":\"Rock show\",\"version\":2,\"seats\":[\"A1\",\"A2\"]}", json);
+
+        event.removeSeat("A1");
+        SeatMapSnapshot third = event.getSeatMapSnapshot();
+        assertNotSame(first, third);
+        assertEquals(3, third.getVersion());
+        assertEquals(List.of("A2"), third.getSeats());
+    }
+
+    @Test
+    public void testChangesSinceVersion() {
+        Event event = createEvent();
+        event.addSeat("A1");
+        long version = event.getSeatMapVersion();
+        event.addSeat("A2");
+        event.removeSeat("A1");
+
+        SeatMapDelta delta = event.getSeatChangesSince(version);
+        assertFalse(delta.isResyncRequired());
+        assertEquals(3, delta.getToVersion());
+        assertEquals(List.of(new SeatChange(2, "A2", true), new SeatChange(3, "A1", false)), delta.getChanges());
+
+        assertTrue(event.getSeatChangesSince(3).getChanges().isEmpty());
+    }
+
+    @Test
+    public void testResyncWhenHistoryIsExceeded() {
+        InMemorySeatInventory inventory = new InMemorySeatInventory();
+        SeatMap seatMap = new SeatMap("Rock show", inventory, 2);
+        for (String seat : List.of("A1", "A2", "A3")) {
+            inventory.add(seat);
+            seatMap.record(seat);
+        }
+
+        assertTrue(seatMap.changesSince(0).isResyncRequired());
+        assertEquals(2, seatMap.changesSince(1).getChanges().size());
+    }
+
+    @Test
+    public void testHistoryGrowsUpToItsSize() {
+        assertEquals(SeatMap.INITIAL_HISTORY_SIZE, SeatMap.historyLength(0, SeatMap.DEFAULT_HISTORY_SIZE));
+        assertEquals(32, SeatMap.historyLength(17, SeatMap.DEFAULT_HISTORY_SIZE));
+        assertEquals(SeatMap.DEFAULT_HISTORY_SIZE, SeatMap.historyLength(10_000, SeatMap.DEFAULT_HISTORY_SIZE));
+        assertEquals(100, SeatMap.historyLength(70, 100));
+
+        InMemorySeatInventory inventory = new InMemorySeatInventory();
+        SeatMap seatMap = new SeatMap("Rock show", inventory, 100);
+        for (int i = 1; i <= 40; i++) {
+            inventory.add("A" + i);
+            seatMap.record("A" + i);
+        }
+        SeatMapDelta delta = seatMap.changesSince(0);
+        assertFalse(delta.isResyncRequired());
+        assertEquals(40, delta.getChanges().size());
+        assertEquals(new SeatChange(40, "A40", true), delta.getChanges().get(39));
+
+        List<String> more = new ArrayList<>();
+        for (int i = 41; i <= 140; i++) {
+            inventory.add("A" + i);
+            more.add("A" + i);
+        }
+        seatMap.recordAll(more);
+        assertTrue(seatMap.changesSince(39).isResyncRequired());
+        assertEquals(100, seatMap.changesSince(40).getChanges().size());
+        assertEquals(new SeatChange(41, "A41", true), seatMap.changesSince(40).getChanges().get(0));
+    }
+
+    @Test
+    public void testBulkAddIsPublishedOnce() {
+        Event event = createEvent();
+        event.addSeat("A1");
+        List<List<SeatChange>> published = new ArrayList<>();
+        event.addSeatChangeListener(new SeatChangeListener() {
+            @Override
+            public void onSeatChange(Event changed, SeatChange change) {
+                published.add(List.of(change));
+            }
+
+            @Override
+            public void onSeatChanges(Event changed, List<SeatChange> changes) {
+                published.add(changes);
+            }
+        });
+
+        assertEquals(2, event.addSeats(List.of("A1", "A2", "A3")));
+        assertEquals(List.of(List.of(new SeatChange(2, "A2", true), new SeatChange(3, "A3", true))), published);
+        assertEquals(3, event.getSeatMapVersion());
+        assertEquals(0, event.addSeats(List.of("A2")));
+        assertEquals(1, published.size());
+    }
+}
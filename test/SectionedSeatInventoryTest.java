@@ -0,0 +1,209 @@
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.inventory.HotEventPolicy;
+import ticketSales.inventory.SectionedSeatInventory;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SectionedSeatInventoryTest {
+
+    private static List<String> seats(String sections, int perSection) {
+        List<String> seats = new ArrayList<>();
+        for (char section : sections.toCharArray()) {
+            for (int i = 1; i <= perSection; i++) {
+                seats.add(section + String.valueOf(i));
+            }
+        }
+        return seats;
+    }
+
+    @Test
+    public void testSplitsWhenHotAndMergesWhenCool() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        SectionedSeatInventory inventory = new SectionedSeatInventory(
+                new HotEventPolicy(Duration.ofSeconds(1), 100, 10, 0.5, 4), clock,
+                SectionedSeatInventory::sectionOf, Runnable::run);
+        List<String> seats = seats("ABCD", 10);
+        for (String seat : seats) {
+            inventory.add(seat);
+        }
+        clock.advance(Duration.ofSeconds(1));
+        inventory.contains("A1");
+        assertFalse(inventory.isSplit());
+        assertEquals(41.0, inventory.getRequestRate(), 0.001);
+
+        for (int i = 0; i < 200; i++) {
+            inventory.contains("B" + (i % 10 + 1));
+        }
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(inventory.remove("C3"));
+        assertTrue(inventory.isSplit());
+        assertEquals(4, inventory.getShardCount());
+        assertEquals(39, inventory.availableCount());
+        assertFalse(inventory.contains("C3"));
+        assertTrue(inventory.add("C3"));
+        assertEquals(new HashSet<>(seats), new HashSet<>(inventory.availableSeats()));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertNotNull(inventory.takeAny());
+        assertFalse(inventory.isSplit());
+        assertEquals(1, inventory.getSplitCount());
+        assertEquals(39, inventory.availableCount());
+    }
+
+    @Test
+    public void testResizeRunsOffTheRequest() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        List<Runnable> resizes = new ArrayList<>();
+        SectionedSeatInventory inventory = new SectionedSeatInventory(
+                new HotEventPolicy(Duration.ofSeconds(1), 100, 10, 0.5, 4), clock,
+                SectionedSeatInventory::sectionOf, resizes::add);
+        for (String seat : seats("ABCD", 10)) {
+            inventory.add(seat);
+        }
+        for (int i = 0; i < 200; i++) {
+            inventory.contains("B1");
+        }
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(inventory.remove("C3"));
+        assertFalse(inventory.isSplit(), "the request does not wait for the split");
+        assertEquals(1, resizes.size());
+
+        for (int i = 0; i < 200; i++) {
+            inventory.contains("B1");
+        }
+        clock.advance(Duration.ofSeconds(1));
+        inventory.contains("A1");
+        assertEquals(1, resizes.size(), "one resize is pending at a time");
+
+        resizes.remove(0).run();
+        assertTrue(inventory.isSplit());
+        assertEquals(39, inventory.availableCount());
+    }
+
+    @Test
+    public void testSingleSectionIsNotSplit() {
+        SectionedSeatInventory inventory = new SectionedSeatInventory(HotEventPolicy.defaults(), Clock.systemUTC());
+        inventory.add("S1");
+        inventory.add("S2");
+        assertFalse(inventory.split());
+        assertEquals("VIP-", SectionedSeatInventory.sectionOf("VIP-12"));
+        assertEquals("12", SectionedSeatInventory.sectionOf("12"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HotEventPolicy(Duration.ofSeconds(1), 100, 100, 0.5, 4));
+    }
+
+    @Test
+    public void testConcurrentAnySeatSellsEachSeatOnce() throws InterruptedException {
+        SectionedSeatInventory inventory = new SectionedSeatInventory(
+                new HotEventPolicy(Duration.ofHours(1), 100, 10, 0.5, 4), Clock.systemUTC());
+        List<String> seats = seats("ABCDEFGH", 500);
+        for (String seat : seats) {
+            inventory.add(seat);
+        }
+        assertTrue(inventory.split());
+
+        Set<String> taken = ConcurrentHashMap.newKeySet();
+        AtomicBoolean duplicate = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread resizer = new Thread(() -> {
+            while (!done.get()) {
+                inventory.merge();
+                inventory.split();
+            }
+        });
+        List<Thread> buyers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            buyers.add(new Thread(() -> {
+                String seat;
+                while ((seat = inventory.takeAny()) != null) {
+                    if (!taken.add(seat)) {
+                        duplicate.set(true);
+                    }
+                }
+            }));
+        }
+        resizer.start();
+        buyers.forEach(Thread::start);
+        for (Thread buyer : buyers) {
+            buyer.join();
+        }
+        done.set(true);
+        resizer.join();
+
+        assertFalse(duplicate.get(), "no seat is taken twice");
+        assertEquals(new HashSet<>(seats), taken);
+        assertEquals(0, inventory.availableCount());
+    }
+
+    @Test
+    public void testPurchaseAnyTicket() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        controller.addEventSeats("Rock show", seats("AB", 2));
+        SectionedSeatInventory inventory =
+                (SectionedSeatInventory) controller.findEvent("Rock show").getSeatInventory();
+        assertTrue(inventory.split());
+
+        Set<String> sold = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            Ticket ticket = controller.purchaseAnyTicket(usuario, "Rock show");
+            assertTrue(sold.add(ticket.getSeat()), "each seat is sold once");
+        }
+        assertEquals(new HashSet<>(seats("AB", 2)), sold);
+        IllegalArgumentException soldOut = assertThrows(IllegalArgumentException.class,
+                () -> controller.purchaseAnyTicket(usuario, "Rock show"));
+        assertEquals("Seat unavailable.", soldOut.getMessage());
+        assertEquals(1.0, controller.getMetrics().read("events.split"), 0.001);
+    }
+
+    @Test
+    public void testAddAllKeepsTheGivenOrder() {
+        SectionedSeatInventory inventory = new SectionedSeatInventory();
+        inventory.add("A3");
+        inventory.add("B1");
+        assertTrue(inventory.split());
+        assertEquals(List.of("A1", "C1", "A2", "C2"), inventory.addAll(List.of("A1", "B1", "C1", "A2", "C2")));
+    }
+
+    @Test
+    public void testMergesInTheBackgroundWhenTrafficStops() throws InterruptedException {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        SectionedSeatInventory inventory = new SectionedSeatInventory(
+                new HotEventPolicy(Duration.ofMillis(20), 100, 10, 0.5, 4), clock,
+                SectionedSeatInventory::sectionOf, Runnable::run);
+        for (String seat : seats("ABCD", 10)) {
+            inventory.add(seat);
+        }
+        clock.advance(Duration.ofSeconds(1));
+        inventory.contains("A1");
+        assertTrue(inventory.split());
+        clock.advance(Duration.ofSeconds(1));
+        for (int i = 0; i < 250 && inventory.isSplit(); i++) {
+            Thread.sleep(20);
+        }
+        assertFalse(inventory.isSplit(), "an idle split inventory merges without requests");
+        assertEquals(40, inventory.availableCount());
+    }
+}
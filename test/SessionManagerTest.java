@@ -0,0 +1,71 @@
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.models.User;
+import ticketSales.security.Session;
+import ticketSales.security.SessionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionManagerTest {
+
+    private User createUser(String login) {
+        return new User(login, "password123", "John Doe", "12345678901", "john.doe@example.com", false);
+    }
+
+    @Test
+    public void testValidateToken() {
+        SessionManager sessions = new SessionManager(10, Duration.ofMinutes(30), new MutableClock(Instant.parse("2026-01-01T00:00:00Z")));
+        User user = createUser("johndoe");
+
+        Session session = sessions.open(user);
+
+        assertSame(user, sessions.validate(session.getToken()));
+        assertNull(sessions.validate("unknown"));
+        assertNull(sessions.validate(null));
+    }
+
+    @Test
+    public void testSessionExpires() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        SessionManager sessions = new SessionManager(10, Duration.ofMinutes(30), clock);
+        String token = sessions.open(createUser("johndoe")).getToken();
+
+        clock.advance(Duration.ofMinutes(29));
+        assertNotNull(sessions.validate(token));
+        clock.advance(Duration.ofMinutes(1));
+        assertNull(sessions.validate(token));
+    }
+
+    @Test
+    public void testOldestSessionsAreEvicted() {
+        SessionManager sessions = new SessionManager(2, Duration.ofMinutes(30), new MutableClock(Instant.parse("2026-01-01T00:00:00Z")));
+        String first = sessions.open(createUser("a")).getToken();
+        String second = sessions.open(createUser("b")).getToken();
+        String third = sessions.open(createUser("c")).getToken();
+
+        assertEquals(2, sessions.size());
+        assertNull(sessions.validate(first));
+        assertNotNull(sessions.validate(second));
+        assertNotNull(sessions.validate(third));
+    }
+
+    @Test
+    public void testCloseSessions() {
+        SessionManager sessions = new SessionManager(10, Duration.ofMinutes(30), new MutableClock(Instant.parse("2026-01-01T00:00:00Z")));
+        User user = createUser("johndoe");
+        String first = sessions.open(user).getToken();
+        String second = sessions.open(user).getToken();
+        String third = sessions.open(user).getToken();
+
+        sessions.close(first);
+        assertNull(sessions.validate(first));
+
+        sessions.closeAll(user);
+        assertNull(sessions.validate(second));
+        assertNull(sessions.validate(third));
+    }
+}
@@ -0,0 +1,123 @@
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.models.Event;
+import ticketSales.models.PurchaseResult;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+import ticketSales.security.PurchaseLimiter;
+import ticketSales.sharding.ConsistentHashRing;
+import ticketSales.sharding.ShardedController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedControllerTest {
+
+    @Test
+    public void testRingBalancesAndMovesFewKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing(4);
+        ConsistentHashRing grown = ring.withShards(5);
+        int[] counts = new int[4];
+        int moved = 0;
+        int keys = 100_000;
+        for (long key = 0; key < keys; key++) {
+            int shard = ring.shardFor(key);
+            counts[shard]++;
+            int next = grown.shardFor(key);
+            if (next != shard) {
+                assertEquals(4, next);
+                moved++;
+            }
+        }
+        for (int count : counts) {
+            assertTrue(count > keys / 4 * 0.8 && count < keys / 4 * 1.2, "Uneven shard: " + count);
+        }
+        assertTrue(moved > keys / 5 * 0.8 && moved < keys / 5 * 1.2, moved + " keys moved");
+        assertEquals(ring.shardFor(123_456_789L), new ConsistentHashRing(4).shardFor(123_456_789L));
+    }
+
+    @Test
+    public void testOperationsAreRoutedToTheEventShard() {
+        ShardedController sharded = new ShardedController(4);
+        User admin = sharded.registerUser("admin", "password123", "Admin User", "00000000000",
+                "admin@example.com", true);
+        User usuario = sharded.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        assertThrows(IllegalArgumentException.class, () -> sharded.registerUser(usuario));
+        assertThrows(SecurityException.class, () -> sharded.registerEvent(usuario, "Show", "Band", new Date()));
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        for (int i = 0; i < 40; i++) {
+            sharded.registerEvent(admin, "Show " + i, "Band " + i, calendar.getTime());
+            sharded.addEventSeat("Show " + i, "A1");
+        }
+        List<Event> available = sharded.listAvailableEvents();
+        assertEquals(40, available.size());
+        for (int i = 0; i < 40; i++) {
+            assertEquals("Show " + i, available.get(i).getName());
+        }
+        int used = 0;
+        for (Controller shard : sharded.getShards()) {
+            if (!shard.listEvents().isEmpty()) {
+                used++;
+            }
+        }
+        assertTrue(used > 1);
+
+        Event event = sharded.findEvent("Show 7");
+        Controller shard = sharded.shardOf(event);
+        Ticket ticket = sharded.purchaseTicket(usuario, "Show 7", "A1");
+        assertSame(event, ticket.getEvent());
+        assertEquals(1, shard.listEventTickets("Show 7").size());
+        assertSame(PurchaseResult.SEAT_UNAVAILABLE, sharded.tryPurchaseTicket(usuario, "Show 7", "A1"));
+        assertSame(PurchaseResult.EVENT_NOT_FOUND, sharded.tryPurchaseTicket(usuario, "Peça de Teatro", "A1"));
+        sharded.purchaseTicket(usuario, "Show 8", "A1");
+        assertEquals(2, sharded.listPurchasedTickets(usuario).size());
+
+        assertTrue(sharded.cancelPurchase(usuario, ticket));
+        assertTrue(event.hasSeat("A1"));
+        sharded.cancelEvent(admin, "Show 8");
+        assertEquals(39, sharded.listAvailableEvents().size());
+        assertTrue(sharded.listPurchasedTickets(usuario).isEmpty());
+    }
+
+    @Test
+    public void testShardsShareLimiterAndGateKey() {
+        PurchaseLimiter limiter = new PurchaseLimiter(PurchaseLimiter.UNLIMITED, 2, Duration.ofHours(1),
+                Clock.systemUTC());
+        ShardedController sharded = new ShardedController(4, limiter);
+        User admin = sharded.registerUser("admin", "password123", "Admin User", "00000000000",
+                "admin@example.com", true);
+        User usuario = sharded.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        Event first = sharded.registerEvent(admin, "Show 0", "Band 0", calendar.getTime());
+        Event other = first;
+        for (int i = 1; sharded.shardOf(other) == sharded.shardOf(first); i++) {
+            other = sharded.registerEvent(admin, "Show " + i, "Band " + i, calendar.getTime());
+        }
+        sharded.addEventSeat(first.getName(), "A1");
+        sharded.addEventSeat(other.getName(), "A1");
+        sharded.addEventSeat(other.getName(), "A2");
+
+        Ticket ticket = sharded.purchaseTicket(usuario, first.getName(), "A1");
+        sharded.purchaseTicket(usuario, other.getName(), "A1");
+        assertSame(PurchaseResult.TOO_MANY_REQUESTS, sharded.tryPurchaseTicket(usuario, other.getName(), "A2"));
+
+        Controller shard = sharded.shardOf(first);
+        for (Controller each : sharded.getShards()) {
+            assertSame(shard.getGateValidator(), each.getGateValidator());
+        }
+        assertNotNull(shard.getGateValidator().codeOf(ticket));
+        limiter.close();
+    }
+}
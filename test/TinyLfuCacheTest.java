@@ -0,0 +1,101 @@
+
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.cache.CacheStats;
+import ticketSales.cache.TinyLfuCache;
+import ticketSales.controllers.Controller;
+import ticketSales.models.EventDetails;
+import ticketSales.models.EventState;
+import ticketSales.models.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TinyLfuCacheTest {
+
+    @Test
+    public void testPopularEntriesSurviveScan() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100);
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key, String::valueOf);
+            }
+        }
+        for (int key = 1_000; key < 20_000; key++) {
+            cache.get(key, String::valueOf);
+        }
+        assertTrue(cache.size() <= 100);
+        int kept = 0;
+        for (int key = 0; key < 50; key++) {
+            if (cache.getIfPresent(key) != null) {
+                kept++;
+            }
+        }
+        assertTrue(kept >= 45, "Only " + kept + " popular entries kept.");
+        CacheStats stats = cache.stats();
+        assertTrue(stats.getEvictionCount() > 0);
+        assertEquals(20_050, stats.getHitCount() + stats.getMissCount());
+    }
+
+    @Test
+    public void testWeightLimitAndInvalidation() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(1_000, String::length);
+        for (int i = 0; i < 100; i++) {
+            cache.put("key" + i, "x".repeat(50));
+            assertTrue(cache.weightedSize() <= 1_000);
+        }
+        assertTrue(cache.size() <= 20);
+
+        cache.put("a", "value");
+        assertEquals("value", cache.getIfPresent("a"));
+        cache.invalidate("a");
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(1, cache.stats().getInvalidationCount());
+
+        String loaded = cache.get("b", key -> {
+            cache.invalidate(key);
+            return "stale";
+        });
+        assertEquals("stale", loaded);
+        assertNull(cache.getIfPresent("b"));
+        assertNull(cache.get("c", key -> null));
+        assertNull(cache.getIfPresent("c"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    public void testEventDetailsReloadAfterChanges() {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User usuario = controller.registerUser("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        controller.registerEvent(admin, "Rock show", "Band XYZ", calendar.getTime());
+        controller.addEventSeat("Rock show", "A1");
+        controller.addEventSeat("Rock show", "A2");
+
+        EventDetails details = controller.getEventDetails("Rock show");
+        assertEquals(2, details.getAvailableSeats().size());
+        assertSame(details, controller.getEventDetails("Rock show"));
+        assertNull(controller.getEventDetails("Peça de Teatro"));
+
+        controller.purchaseTicket(usuario, "Rock show", "A1");
+        EventDetails afterPurchase = controller.getEventDetails("Rock show");
+        assertEquals(1, afterPurchase.getAvailableSeats().size());
+        assertTrue(afterPurchase.getSeatMapVersion() > details.getSeatMapVersion());
+
+        controller.cancelEvent(admin, "Rock show");
+        assertEquals(EventState.CANCELLED, controller.getEventDetails("Rock show").getState());
+
+        CacheStats stats = controller.getEventDetailsStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(4, stats.getMissCount());
+        assertTrue(stats.getInvalidationCount() >= 2);
+    }
+}
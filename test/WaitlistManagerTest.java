@@ -0,0 +1,170 @@
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.controllers.Controller;
+import ticketSales.models.Event;
+import ticketSales.models.Ticket;
+import ticketSales.models.User;
+import ticketSales.waitlist.SeatHold;
+import ticketSales.waitlist.WaitlistManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WaitlistManagerTest {
+
+    private static Date nextYear() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.YEAR, 1);
+        return calendar.getTime();
+    }
+
+    @Test
+    public void testCancelledSeatIsHeldForFirstWaitingUser() throws InterruptedException {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User buyer = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        User first = new User("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+        User second = new User("bob", "password123", "Bob", "11111111111",
+                "bob@example.com", false);
+        Event event = controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        controller.addEventSeat("Rock show", "A1");
+        Ticket ticket = controller.purchaseTicket(buyer, "Rock show", "A1");
+
+        BlockingQueue<SeatHold> held = new LinkedBlockingQueue<>();
+        controller.getWaitlistManager().addSeatHoldListener(held::add);
+        assertTrue(controller.joinWaitlist(first, "Rock show"));
+        assertTrue(controller.joinWaitlist(second, "Rock show"));
+        assertFalse(controller.joinWaitlist(first, "Rock show"));
+
+        assertTrue(controller.cancelPurchase(buyer, ticket));
+        SeatHold hold = held.poll(5, TimeUnit.SECONDS);
+        assertNotNull(hold);
+        assertSame(first, hold.getUser());
+        assertEquals("A1", hold.getSeat());
+        assertFalse(event.hasSeat("A1"));
+        assertThrows(IllegalArgumentException.class, () -> controller.purchaseTicket(second, "Rock show", "A1"));
+        assertThrows(IllegalArgumentException.class, () -> controller.claimHeldSeat(second, "Rock show"));
+
+        Ticket claimed = controller.claimHeldSeat(first, "Rock show");
+        assertEquals("A1", claimed.getSeat());
+        assertTrue(first.getTickets().contains(claimed));
+        assertThrows(IllegalArgumentException.class, () -> controller.claimHeldSeat(first, "Rock show"));
+    }
+
+    @Test
+    public void testExpiredHoldMovesToNextUserThenPool() throws InterruptedException {
+        Event event = new Event("Rock show", "Band XYZ", nextYear());
+        User first = new User("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+        User second = new User("bob", "password123", "Bob", "11111111111",
+                "bob@example.com", false);
+        try (WaitlistManager waitlists = new WaitlistManager(Clock.systemUTC(), Duration.ofMillis(50))) {
+            BlockingQueue<SeatHold> held = new LinkedBlockingQueue<>();
+            waitlists.addSeatHoldListener(held::add);
+            waitlists.join(event, first);
+            waitlists.join(event, second);
+
+            assertTrue(waitlists.release(event, "A1"));
+            assertSame(first, held.poll(5, TimeUnit.SECONDS).getUser());
+            assertSame(second, held.poll(5, TimeUnit.SECONDS).getUser());
+            assertNull(waitlists.getHold(event, first));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!event.hasSeat("A1") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(event.hasSeat("A1"));
+            assertFalse(waitlists.release(event, "A2"));
+        }
+    }
+
+    @Test
+    public void testLeavingUserIsSkipped() throws InterruptedException {
+        Event event = new Event("Rock show", "Band XYZ", nextYear());
+        User first = new User("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+        User second = new User("bob", "password123", "Bob", "11111111111",
+                "bob@example.com", false);
+        try (WaitlistManager waitlists = new WaitlistManager(Clock.systemUTC())) {
+            BlockingQueue<SeatHold> held = new LinkedBlockingQueue<>();
+            waitlists.addSeatHoldListener(held::add);
+            waitlists.join(event, first);
+            waitlists.join(event, second);
+            assertTrue(waitlists.leave(event, first));
+            assertEquals(1, waitlists.getWaitlist(event).size());
+
+            assertTrue(waitlists.release(event, "A1"));
+            assertSame(second, held.poll(5, TimeUnit.SECONDS).getUser());
+            assertTrue(waitlists.decline(event, second));
+            assertNull(waitlists.getHold(event, second));
+        }
+        assertTrue(event.hasSeat("A1"));
+    }
+
+    @Test
+    public void testClosingTheControllerReturnsHeldSeats() throws InterruptedException {
+        Controller controller = new Controller();
+        User admin = controller.registerUser("admin", "password123", "Admin User",
+                "00000000000", "admin@example.com", true);
+        User buyer = new User("johndoe", "password123", "John Doe", "12345678901",
+                "john.doe@example.com", false);
+        User waiting = new User("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+        Event event = controller.registerEvent(admin, "Rock show", "Band XYZ", nextYear());
+        controller.addEventSeat("Rock show", "A1");
+        Ticket ticket = controller.purchaseTicket(buyer, "Rock show", "A1");
+        BlockingQueue<SeatHold> held = new LinkedBlockingQueue<>();
+        controller.getWaitlistManager().addSeatHoldListener(held::add);
+        assertTrue(controller.joinWaitlist(waiting, "Rock show"));
+        assertTrue(controller.cancelPurchase(buyer, ticket));
+        assertNotNull(held.poll(5, TimeUnit.SECONDS));
+        assertFalse(event.hasSeat("A1"));
+
+        controller.close();
+        assertTrue(event.hasSeat("A1"));
+        assertTrue(controller.getWaitlistManager().join(event, buyer));
+        assertFalse(controller.getWaitlistManager().release(event, "A2"), "closed waitlists take no seats");
+    }
+
+    @Test
+    public void testHoldsExpireByTheClock() throws InterruptedException {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        Event event = new Event("Rock show", "Band XYZ", nextYear());
+        User first = new User("janedoe", "password123", "Jane Doe", "10987654321",
+                "jane.doe@example.com", false);
+        User second = new User("bob", "password123", "Bob", "11111111111",
+                "bob@example.com", false);
+        try (WaitlistManager waitlists = new WaitlistManager(clock, Duration.ofHours(1))) {
+            BlockingQueue<SeatHold> held = new LinkedBlockingQueue<>();
+            waitlists.addSeatHoldListener(held::add);
+            waitlists.join(event, first);
+            waitlists.join(event, second);
+            assertTrue(waitlists.release(event, "A1"));
+            SeatHold hold = held.poll(5, TimeUnit.SECONDS);
+            assertSame(first, hold.getUser());
+            assertEquals(clock.millis() + Duration.ofHours(1).toMillis(), hold.getExpiresAt());
+            assertEquals(0, waitlists.advance());
+
+            clock.advance(Duration.ofHours(1));
+            assertNull(waitlists.claim(event, first), "an expired hold cannot be claimed");
+            assertSame(second, held.poll(5, TimeUnit.SECONDS).getUser());
+
+            clock.advance(Duration.ofHours(1));
+            assertEquals(1, waitlists.advance());
+            assertNull(waitlists.getHold(event, second));
+            assertTrue(event.hasSeat("A1"));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ticketSales.simulation.SalesSample;
+import ticketSales.simulation.SimulatedOperation;
+import ticketSales.simulation.SimulationReport;
+import ticketSales.simulation.WorkloadConfig;
+import ticketSales.simulation.WorkloadSimulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkloadSimulatorTest {
+
+    @Test
+    public void testGenerationIsReproducible() {
+        WorkloadConfig config = new WorkloadConfig().withSeed(7).withOperations(2_000);
+        List<SimulatedOperation> first = new WorkloadSimulator(config).generate();
+        assertEquals(first, new WorkloadSimulator(config).generate());
+        assertNotEquals(first, new WorkloadSimulator(config.withSeed(8)).generate());
+
+        int hottest = 0;
+        int coldest = 0;
+        for (SimulatedOperation operation : first) {
+            if (operation.getEvent() == 0) {
+                hottest++;
+            } else if (operation.getEvent() == config.getEvents() - 1) {
+                coldest++;
+            }
+        }
+        assertTrue(hottest > 3 * coldest, hottest + " vs " + coldest);
+    }
+
+    @Test
+    public void testConcurrentRunIsHealthy() throws InterruptedException {
+        WorkloadConfig config = new WorkloadConfig().withUsers(50).withEvents(3, 40).withOperations(1_500)
+                .withConcurrency(4).withRates(0.1, 0.1)
+                .withSeatSelection(WorkloadConfig.SeatSelection.FRONT_FIRST);
+        SimulationReport report = new WorkloadSimulator(config).run();
+
+        assertTrue(report.isHealthy(), report.toString());
+        assertEquals(1_500, report.getOperations());
+        assertTrue(report.getPurchases() > 0);
+        assertTrue(report.getConflicts() > 0);
+        assertTrue(report.getLatencyPercentile(50) <= report.getLatencyPercentile(99));
+        assertTrue(report.getLatencyPercentile(99) <= report.getLatencyPercentile(100));
+
+        List<SalesSample> sales = report.getSalesOverTime();
+        SalesSample last = sales.get(sales.size() - 1);
+        assertEquals(1_500, last.getOperationsCompleted());
+        assertEquals(report.getPurchases() - report.getCancellations(), last.getSeatsSold());
+        assertTrue(last.getSeatsSold() <= 120);
+    }
+}